@@ -24,6 +24,8 @@ import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcServerAddress;
 import alluxio.grpc.ListStatusPRequest;
 import alluxio.grpc.ListStatusPResponse;
+import alluxio.grpc.LoadFileRequest;
+import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.LoadRequest;
 import alluxio.grpc.LoadResponse;
 import alluxio.grpc.MoveBlockRequest;
@@ -178,6 +180,15 @@ public interface BlockWorkerClient extends Closeable {
    */
   ListenableFuture<LoadResponse> load(LoadRequest request);
 
+  /**
+   * load files into alluxio.
+   *
+   * @param request the load file request
+   * @return listenable future of LoadFileResponse
+   * @throws StatusRuntimeException if any error occurs
+   */
+  ListenableFuture<LoadFileResponse> loadFile(LoadFileRequest request);
+
   /**
    * get file status.
    *
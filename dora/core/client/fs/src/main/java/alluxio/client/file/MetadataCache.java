@@ -12,14 +12,20 @@
 package alluxio.client.file;
 
 import alluxio.AlluxioURI;
+import alluxio.util.FormatUtils;
+import alluxio.wire.FileInfo;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
@@ -27,20 +33,32 @@ import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Cache for metadata of paths.
+ * <p>
+ * The expiration time of an entry is decided by the longest configured path prefix
+ * covering it, falling back to the default expiration time. When a persistent store is
+ * given, cached metadata is also written to it and misses in memory are served from it,
+ * so that a restarted client starts with a warm cache.
  */
 @ThreadSafe
 public final class MetadataCache {
   private static final Logger LOG = LoggerFactory.getLogger(MetadataCache.class);
+  /** Marks a path known not to exist, only kept in memory. */
+  static final URIStatus NOT_FOUND_STATUS = new URIStatus(new FileInfo().setCompleted(true));
 
   private class CachedItem {
     private URIStatus mStatus = null;
     private List<URIStatus> mDirStatuses = null;
+    private long mStatusExpirationTimeMs = Long.MAX_VALUE;
+    private long mDirStatusesExpirationTimeMs = Long.MAX_VALUE;
 
     /**
      * @return the metadata of the path
      */
     @Nullable
     public URIStatus getStatus() {
+      if (mStatus != null && mStatusExpirationTimeMs <= System.currentTimeMillis()) {
+        return null;
+      }
       return mStatus;
     }
 
@@ -49,6 +67,9 @@ public final class MetadataCache {
      */
     @Nullable
     public List<URIStatus> getDirStatuses() {
+      if (mDirStatuses != null && mDirStatusesExpirationTimeMs <= System.currentTimeMillis()) {
+        return null;
+      }
       return mDirStatuses;
     }
 
@@ -56,30 +77,37 @@ public final class MetadataCache {
      *  Puts the status into cache.
      *
      *  @param status the metadata of the path
+     *  @param expirationTimeMs the absolute time in milliseconds the status expires at
      */
-    public void setStatus(URIStatus status) {
+    public void setStatus(URIStatus status, long expirationTimeMs) {
       mStatus = status;
+      mStatusExpirationTimeMs = expirationTimeMs;
     }
 
     /**
      *  Puts the directory status into cache.
      *
      *  @param statuses the metadata list
+     *  @param expirationTimeMs the absolute time in milliseconds the list expires at
      */
-    public void setDirStatuses(List<URIStatus> statuses) {
+    public void setDirStatuses(List<URIStatus> statuses, long expirationTimeMs) {
       mDirStatuses = statuses;
+      mDirStatusesExpirationTimeMs = expirationTimeMs;
     }
   }
 
   private final Cache<String, CachedItem> mCache;
+  private final long mExpirationTimeMs;
+  /** Expiration time in milliseconds of paths under each prefix. */
+  private final Map<String, Long> mPathExpirationTimesMs;
+  @Nullable
+  private final RocksMetadataCacheStore mStore;
 
   /**
    * @param maxSize the max size of the cache
    */
   public MetadataCache(int maxSize) {
-    mCache = CacheBuilder.newBuilder()
-        .maximumSize(maxSize)
-        .build();
+    this(maxSize, Long.MAX_VALUE);
   }
 
   /**
@@ -87,10 +115,50 @@ public final class MetadataCache {
    * @param expirationTimeMs the expiration time (in milliseconds) of the cached item
    */
   public MetadataCache(int maxSize, long expirationTimeMs) {
-    mCache = CacheBuilder.newBuilder()
-        .maximumSize(maxSize)
-        .expireAfterWrite(expirationTimeMs, TimeUnit.MILLISECONDS)
-        .build();
+    this(maxSize, expirationTimeMs, ImmutableMap.of(), null);
+  }
+
+  /**
+   * @param maxSize the max size of the cache
+   * @param expirationTimeMs the default expiration time (in milliseconds) of the cached item
+   * @param pathExpirationTimesMs the expiration time (in milliseconds) of items under
+   *        each path prefix, overriding the default one
+   * @param store the persistent store to write through to, or null to only cache in memory;
+   *        requires a finite default expiration time
+   */
+  public MetadataCache(int maxSize, long expirationTimeMs,
+      Map<String, Long> pathExpirationTimesMs, @Nullable RocksMetadataCacheStore store) {
+    Preconditions.checkArgument(expirationTimeMs > 0, "expiration time should be positive");
+    Preconditions.checkArgument(store == null || expirationTimeMs != Long.MAX_VALUE,
+        "expiration time should be finite to persist metadata");
+    mExpirationTimeMs = expirationTimeMs;
+    mPathExpirationTimesMs = ImmutableMap.copyOf(pathExpirationTimesMs);
+    mStore = store;
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().maximumSize(maxSize);
+    long maxExpirationTimeMs = mPathExpirationTimesMs.values().stream()
+        .reduce(expirationTimeMs, Math::max);
+    if (maxExpirationTimeMs != Long.MAX_VALUE) {
+      builder.expireAfterWrite(maxExpirationTimeMs, TimeUnit.MILLISECONDS);
+    }
+    mCache = builder.build();
+  }
+
+  /**
+   * Parses path expiration times in the format of {@code <path prefix>=<duration>}.
+   *
+   * @param pathExpirationTimes the path expiration times
+   * @return the expiration time in milliseconds of each path prefix
+   */
+  public static Map<String, Long> parsePathExpirationTimes(List<String> pathExpirationTimes) {
+    Map<String, Long> expirationTimesMs = new HashMap<>();
+    for (String entry : pathExpirationTimes) {
+      int separator = entry.lastIndexOf('=');
+      Preconditions.checkArgument(separator > 0 && separator < entry.length() - 1,
+          "Invalid path expiration time %s, expecting <path prefix>=<duration>", entry);
+      expirationTimesMs.put(entry.substring(0, separator).trim(),
+          FormatUtils.parseTimeSize(entry.substring(separator + 1).trim()));
+    }
+    return expirationTimesMs;
   }
 
   /**
@@ -103,6 +171,13 @@ public final class MetadataCache {
     if (item != null && item.getStatus() != null) {
       return item.getStatus();
     }
+    if (mStore != null) {
+      URIStatus status = mStore.get(path.getPath(), System.currentTimeMillis());
+      if (status != null) {
+        cacheStatus(path.getPath(), status);
+      }
+      return status;
+    }
     return null;
   }
 
@@ -119,11 +194,9 @@ public final class MetadataCache {
    * @param status the status to be cached
    */
   public void put(String path, URIStatus status) {
-    try {
-      CachedItem item = mCache.get(path, () -> new CachedItem());
-      item.setStatus(status);
-    } catch (ExecutionException e) {
-      LOG.warn("Failed to cache meta data for path {}", path);
+    long expirationTimeMs = cacheStatus(path, status);
+    if (mStore != null && status != NOT_FOUND_STATUS) {
+      mStore.put(path, status, expirationTimeMs);
     }
   }
 
@@ -134,14 +207,9 @@ public final class MetadataCache {
    * @param statuses the list status results
    */
   public void put(AlluxioURI dir, List<URIStatus> statuses) {
-    try {
-      CachedItem item = mCache.get(dir.getPath(), () -> new CachedItem());
-      item.setDirStatuses(statuses);
-      for (URIStatus status : statuses) {
-        put(status.getPath(), status);
-      }
-    } catch (ExecutionException e) {
-      LOG.warn("Failed to cache metadata for dir {}", dir.getPath());
+    long expirationTimeMs = cacheDirStatuses(dir.getPath(), statuses);
+    if (mStore != null) {
+      mStore.put(dir.getPath(), statuses, expirationTimeMs);
     }
   }
 
@@ -164,6 +232,13 @@ public final class MetadataCache {
     if (item != null && item.getDirStatuses() != null) {
       return item.getDirStatuses();
     }
+    if (mStore != null) {
+      List<URIStatus> statuses = mStore.listStatus(dir, System.currentTimeMillis());
+      if (statuses != null) {
+        cacheDirStatuses(dir, statuses);
+      }
+      return statuses;
+    }
     return null;
   }
 
@@ -183,6 +258,9 @@ public final class MetadataCache {
    */
   public void invalidate(String path) {
     mCache.invalidate(path);
+    if (mStore != null) {
+      mStore.invalidate(path);
+    }
   }
 
   /**
@@ -190,6 +268,70 @@ public final class MetadataCache {
    */
   public void invalidateAll() {
     mCache.invalidateAll();
+    if (mStore != null) {
+      mStore.invalidateAll();
+    }
+  }
+
+  /**
+   * Caches the status in memory.
+   *
+   * @return the absolute expiration time of the status in milliseconds
+   */
+  private long cacheStatus(String path, URIStatus status) {
+    long expirationTimeMs = getExpirationTimeMs(path);
+    try {
+      CachedItem item = mCache.get(path, () -> new CachedItem());
+      item.setStatus(status, expirationTimeMs);
+    } catch (ExecutionException e) {
+      LOG.warn("Failed to cache meta data for path {}", path);
+    }
+    return expirationTimeMs;
+  }
+
+  /**
+   * Caches the list status results and the status of each child in memory.
+   *
+   * @return the absolute expiration time of the list status results in milliseconds
+   */
+  private long cacheDirStatuses(String dir, List<URIStatus> statuses) {
+    long expirationTimeMs = getExpirationTimeMs(dir);
+    try {
+      CachedItem item = mCache.get(dir, () -> new CachedItem());
+      item.setDirStatuses(statuses, expirationTimeMs);
+      for (URIStatus status : statuses) {
+        cacheStatus(status.getPath(), status);
+      }
+    } catch (ExecutionException e) {
+      LOG.warn("Failed to cache metadata for dir {}", dir);
+    }
+    return expirationTimeMs;
+  }
+
+  /**
+   * @param path the path
+   * @return the absolute expiration time in milliseconds of metadata of the path cached now
+   */
+  private long getExpirationTimeMs(String path) {
+    long ttlMs = mExpirationTimeMs;
+    int longestPrefix = -1;
+    for (Map.Entry<String, Long> entry : mPathExpirationTimesMs.entrySet()) {
+      String prefix = entry.getKey();
+      if (prefix.length() > longestPrefix && hasPrefix(path, prefix)) {
+        longestPrefix = prefix.length();
+        ttlMs = entry.getValue();
+      }
+    }
+    long nowMs = System.currentTimeMillis();
+    return ttlMs > Long.MAX_VALUE - nowMs ? Long.MAX_VALUE : nowMs + ttlMs;
+  }
+
+  private static boolean hasPrefix(String path, String prefix) {
+    if (!path.startsWith(prefix)) {
+      return false;
+    }
+    return path.length() == prefix.length() || prefix.endsWith("/")
+        || path.charAt(prefix.length()) == '/';
   }
 
   /**
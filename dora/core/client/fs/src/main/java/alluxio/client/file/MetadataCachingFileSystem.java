@@ -33,10 +33,10 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.util.FileSystemOptionsUtils;
 import alluxio.util.ThreadUtils;
 import alluxio.wire.BlockLocationInfo;
-import alluxio.wire.FileInfo;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +49,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -59,11 +60,11 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
   private static final Logger LOG = LoggerFactory.getLogger(MetadataCachingFileSystem.class);
   private static final int THREAD_KEEPALIVE_SECOND = 60;
   private static final int THREAD_TERMINATION_TIMEOUT_MS = 10000;
-  private static final URIStatus NOT_FOUND_STATUS = new URIStatus(
-      new FileInfo().setCompleted(true));
 
   private final FileSystemContext mFsContext;
   private final MetadataCache mMetadataCache;
+  @Nullable
+  private final RocksMetadataCacheStore mMetadataCacheStore;
   private final ExecutorService mAccessTimeUpdater;
   private final boolean mDisableUpdateFileAccessTime;
 
@@ -79,11 +80,25 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
         "%s should not be zero to enable metadata caching file system",
         PropertyKey.USER_METADATA_CACHE_MAX_SIZE.getName());
 
-    mMetadataCache = mFsContext.getClusterConf()
-        .isSet(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME)
-        ? new MetadataCache(maxSize, mFsContext.getClusterConf()
-            .getMs(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME))
-        : new MetadataCache(maxSize);
+    AlluxioConfiguration conf = mFsContext.getClusterConf();
+    long expirationTimeMs = conf.isSet(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME)
+        ? conf.getMs(PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME) : Long.MAX_VALUE;
+    boolean persistent = conf.isSet(PropertyKey.USER_METADATA_CACHE_PERSISTENT_DIR);
+    Preconditions.checkArgument(!persistent || expirationTimeMs != Long.MAX_VALUE,
+        "%s should be set to enable %s, otherwise persisted metadata never expires",
+        PropertyKey.USER_METADATA_CACHE_EXPIRATION_TIME.getName(),
+        PropertyKey.USER_METADATA_CACHE_PERSISTENT_DIR.getName());
+    mMetadataCacheStore = persistent
+        ? RocksMetadataCacheStore.open(
+            conf.getString(PropertyKey.USER_METADATA_CACHE_PERSISTENT_DIR),
+            conf.getBytes(PropertyKey.USER_METADATA_CACHE_PERSISTENT_MAX_SIZE))
+        : null;
+    mMetadataCache = new MetadataCache(maxSize, expirationTimeMs,
+        conf.isSet(PropertyKey.USER_METADATA_CACHE_PATH_EXPIRATION_TIMES)
+            ? MetadataCache.parsePathExpirationTimes(
+                conf.getList(PropertyKey.USER_METADATA_CACHE_PATH_EXPIRATION_TIMES))
+            : ImmutableMap.of(),
+        mMetadataCacheStore);
     int masterClientThreads = mFsContext.getClusterConf()
         .getInt(PropertyKey.USER_FILE_MASTER_CLIENT_POOL_SIZE_MAX);
     mDisableUpdateFileAccessTime = mFsContext.getClusterConf()
@@ -147,10 +162,10 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
         status = mDelegatedFileSystem.getStatus(path, options);
         mMetadataCache.put(path, status);
       } catch (FileDoesNotExistException e) {
-        mMetadataCache.put(path, NOT_FOUND_STATUS);
+        mMetadataCache.put(path, MetadataCache.NOT_FOUND_STATUS);
         throw e;
       }
-    } else if (status == NOT_FOUND_STATUS) {
+    } else if (status == MetadataCache.NOT_FOUND_STATUS) {
       throw new FileDoesNotExistException("Path \"" + path.getPath() + "\" does not exist.");
     } else if (options.getUpdateTimestamps()) {
       // Asynchronously send an RPC to master to update the access time.
@@ -251,6 +266,9 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
   public synchronized void close() throws IOException {
     if (!mDelegatedFileSystem.isClosed()) {
       ThreadUtils.shutdownAndAwaitTermination(mAccessTimeUpdater, THREAD_TERMINATION_TIMEOUT_MS);
+      if (mMetadataCacheStore != null) {
+        mMetadataCacheStore.close();
+      }
       mDelegatedFileSystem.close();
     }
   }
@@ -0,0 +1,477 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.grpc.FileInfo;
+import alluxio.grpc.GrpcUtils;
+import alluxio.grpc.ListStatusPResponse;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Longs;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A local-disk tier of {@link MetadataCache} backed by RocksDB, which survives client restarts.
+ * <p>
+ * Statuses are stored as {@link alluxio.grpc.FileInfo} protos prefixed by their absolute
+ * expiration time, and directory listings as {@link ListStatusPResponse} protos.
+ * The store is bounded in bytes with two generations kept in separate column families:
+ * new entries go to the current generation, entries read from the old generation are
+ * copied to the current one, and when the current generation reaches half of the capacity
+ * the old generation is dropped as a whole and takes over as the empty current generation.
+ * <p>
+ * RocksDB allows a single instance per directory, so the store of a directory is shared by
+ * all the clients in the process and closed when the last of them closes it. A directory
+ * used by another process can't be opened, and clients then keep metadata in memory only.
+ */
+@ThreadSafe
+public final class RocksMetadataCacheStore implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(RocksMetadataCacheStore.class);
+  private static final byte STATUS_KEY_PREFIX = 'S';
+  private static final byte LIST_KEY_PREFIX = 'L';
+  private static final byte[] CURRENT_GENERATION_KEY =
+      "CURRENT_GENERATION".getBytes(StandardCharsets.UTF_8);
+  private static final List<byte[]> GENERATION_NAMES = ImmutableList.of(
+      "GENERATION_0".getBytes(StandardCharsets.UTF_8),
+      "GENERATION_1".getBytes(StandardCharsets.UTF_8));
+  private static final int DEFAULT_COLUMN_INDEX = 0;
+  /** The open stores by directory, also guarding their reference counts. */
+  private static final Map<String, RocksMetadataCacheStore> OPEN_STORES = new HashMap<>();
+
+  private final String mDir;
+  /** The number of clients using the store, guarded by {@link #OPEN_STORES}. */
+  private int mRefCount;
+
+  private final long mCapacityBytes;
+  private final DBOptions mDbOptions;
+  private final ColumnFamilyOptions mColumnOptions;
+  private final WriteOptions mWriteOptions;
+  private final RocksDB mDb;
+  private final ColumnFamilyHandle mDefaultColumn;
+  /** Column family of each generation, replaced when the generation is dropped. */
+  private final ColumnFamilyHandle[] mGenerations;
+  private final AtomicLong[] mGenerationBytes;
+  /** Taken exclusively to drop a generation, shared by all other operations. */
+  private final ReadWriteLock mGenerationLock = new ReentrantReadWriteLock();
+  private volatile int mCurrent;
+
+  /**
+   * Opens the store in the given directory, creating it if it does not exist. If the store is
+   * already open in this process, it is shared and its capacity is left unchanged.
+   *
+   * @param dir the local directory of the store
+   * @param capacityBytes the maximum size of the store in bytes
+   * @return the store, to be closed by the caller, or null if it can't be opened
+   */
+  @Nullable
+  public static RocksMetadataCacheStore open(String dir, long capacityBytes) {
+    Preconditions.checkArgument(capacityBytes > 0, "capacity should be positive");
+    String path = Paths.get(dir).toAbsolutePath().normalize().toString();
+    synchronized (OPEN_STORES) {
+      RocksMetadataCacheStore store = OPEN_STORES.get(path);
+      if (store == null) {
+        store = create(path, capacityBytes);
+        if (store == null) {
+          return null;
+        }
+        OPEN_STORES.put(path, store);
+      } else if (store.mCapacityBytes != capacityBytes) {
+        LOG.warn("Metadata cache store in {} is already open with capacity {}, ignoring {}",
+            path, store.mCapacityBytes, capacityBytes);
+      }
+      store.mRefCount++;
+      return store;
+    }
+  }
+
+  /**
+   * Creates a store in the given directory, without sharing it with the clients in the process.
+   *
+   * @param dir the local directory of the store
+   * @param capacityBytes the maximum size of the store in bytes
+   * @return the store, or null if it can't be opened, e.g. as another process holds its lock
+   */
+  @VisibleForTesting
+  @Nullable
+  static RocksMetadataCacheStore create(String dir, long capacityBytes) {
+    RocksDB.loadLibrary();
+    DBOptions dbOptions = new DBOptions()
+        .setCreateIfMissing(true)
+        .setCreateMissingColumnFamilies(true);
+    ColumnFamilyOptions columnOptions = new ColumnFamilyOptions()
+        .setCompressionType(CompressionType.LZ4_COMPRESSION);
+    List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+    descriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY));
+    for (byte[] name : GENERATION_NAMES) {
+      descriptors.add(new ColumnFamilyDescriptor(name, columnOptions));
+    }
+    List<ColumnFamilyHandle> handles = new ArrayList<>();
+    try {
+      Files.createDirectories(Paths.get(dir));
+      RocksDB db = RocksDB.open(dbOptions, dir, descriptors, handles);
+      return new RocksMetadataCacheStore(dir, capacityBytes, dbOptions, columnOptions, db,
+          handles);
+    } catch (IOException | RocksDBException e) {
+      handles.forEach(ColumnFamilyHandle::close);
+      columnOptions.close();
+      dbOptions.close();
+      LOG.warn("Couldn't open metadata cache store in {}, keeping metadata in memory only: {}",
+          dir, e.toString());
+      return null;
+    }
+  }
+
+  private RocksMetadataCacheStore(String dir, long capacityBytes, DBOptions dbOptions,
+      ColumnFamilyOptions columnOptions, RocksDB db, List<ColumnFamilyHandle> handles)
+      throws RocksDBException {
+    mDir = dir;
+    mCapacityBytes = capacityBytes;
+    mDbOptions = dbOptions;
+    mColumnOptions = columnOptions;
+    mWriteOptions = new WriteOptions();
+    mDb = db;
+    mDefaultColumn = handles.get(DEFAULT_COLUMN_INDEX);
+    mGenerations = new ColumnFamilyHandle[GENERATION_NAMES.size()];
+    mGenerationBytes = new AtomicLong[GENERATION_NAMES.size()];
+    for (int i = 0; i < mGenerations.length; i++) {
+      mGenerations[i] = handles.get(i + 1);
+      mGenerationBytes[i] = new AtomicLong(
+          mDb.getLongProperty(mGenerations[i], "rocksdb.estimate-live-data-size")
+          + mDb.getLongProperty(mGenerations[i], "rocksdb.cur-size-all-mem-tables"));
+    }
+    byte[] current = mDb.get(mDefaultColumn, CURRENT_GENERATION_KEY);
+    mCurrent = current == null ? 0 : current[0];
+  }
+
+  /**
+   * @param path the path
+   * @param nowMs the current time in milliseconds
+   * @return the stored status of the path, or null if it is not stored or has expired
+   */
+  @Nullable
+  public URIStatus get(String path, long nowMs) {
+    byte[] value = getValue(key(STATUS_KEY_PREFIX, path), nowMs);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return new URIStatus(GrpcUtils.fromProto(FileInfo.parseFrom(
+          Arrays.copyOfRange(value, Long.BYTES, value.length))));
+    } catch (InvalidProtocolBufferException e) {
+      LOG.warn("Dropping corrupted cached status of {}", path, e);
+      invalidate(path);
+      return null;
+    }
+  }
+
+  /**
+   * @param dir the directory
+   * @param nowMs the current time in milliseconds
+   * @return the stored listing of the directory, or null if it is not stored or has expired
+   */
+  @Nullable
+  public List<URIStatus> listStatus(String dir, long nowMs) {
+    byte[] value = getValue(key(LIST_KEY_PREFIX, dir), nowMs);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return ListStatusPResponse.parseFrom(Arrays.copyOfRange(value, Long.BYTES, value.length))
+          .getFileInfosList().stream()
+          .map(info -> new URIStatus(GrpcUtils.fromProto(info)))
+          .collect(Collectors.toList());
+    } catch (InvalidProtocolBufferException e) {
+      LOG.warn("Dropping corrupted cached listing of {}", dir, e);
+      invalidate(dir);
+      return null;
+    }
+  }
+
+  /**
+   * @param value a stored value
+   * @return the absolute expiration time of the value in milliseconds
+   */
+  static long getExpirationTimeMs(byte[] value) {
+    return Longs.fromBytes(value[0], value[1], value[2], value[3],
+        value[4], value[5], value[6], value[7]);
+  }
+
+  /**
+   * Stores the status of a path.
+   *
+   * @param path the path
+   * @param status the status
+   * @param expirationTimeMs the absolute time in milliseconds the entry expires at
+   */
+  public void put(String path, URIStatus status, long expirationTimeMs) {
+    if (!isSerializable(status)) {
+      LOG.debug("Skipping persisting incomplete status of {}", path);
+      return;
+    }
+    putValue(key(STATUS_KEY_PREFIX, path),
+        value(expirationTimeMs, GrpcUtils.toProto(status.getFileInfo()).toByteArray()));
+  }
+
+  /**
+   * Stores the listing of a directory.
+   *
+   * @param dir the directory
+   * @param statuses the statuses of the children
+   * @param expirationTimeMs the absolute time in milliseconds the entry expires at
+   */
+  public void put(String dir, List<URIStatus> statuses, long expirationTimeMs) {
+    ListStatusPResponse.Builder listing = ListStatusPResponse.newBuilder();
+    for (URIStatus status : statuses) {
+      if (!isSerializable(status)) {
+        LOG.debug("Skipping persisting listing of {} with incomplete status", dir);
+        return;
+      }
+      listing.addFileInfos(GrpcUtils.toProto(status.getFileInfo()));
+    }
+    putValue(key(LIST_KEY_PREFIX, dir), value(expirationTimeMs, listing.build().toByteArray()));
+  }
+
+  /**
+   * Removes the status and the listing of a path.
+   *
+   * @param path the path
+   */
+  public void invalidate(String path) {
+    mGenerationLock.readLock().lock();
+    try (WriteBatch batch = new WriteBatch()) {
+      for (ColumnFamilyHandle generation : mGenerations) {
+        batch.delete(generation, key(STATUS_KEY_PREFIX, path));
+        batch.delete(generation, key(LIST_KEY_PREFIX, path));
+      }
+      mDb.write(mWriteOptions, batch);
+    } catch (RocksDBException e) {
+      LOG.warn("Failed to invalidate cached metadata of {}", path, e);
+    } finally {
+      mGenerationLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public void invalidateAll() {
+    mGenerationLock.writeLock().lock();
+    try {
+      for (int i = 0; i < mGenerations.length; i++) {
+        dropGeneration(i);
+      }
+    } finally {
+      mGenerationLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return the approximate size of the store in bytes
+   */
+  public long getSizeBytes() {
+    return Arrays.stream(mGenerationBytes).mapToLong(AtomicLong::get).sum();
+  }
+
+  /**
+   * Releases the store, closing it once all the clients sharing it have released it.
+   */
+  @Override
+  public void close() {
+    synchronized (OPEN_STORES) {
+      if (mRefCount == 0 || --mRefCount > 0) {
+        return;
+      }
+      OPEN_STORES.remove(mDir);
+    }
+    mGenerationLock.writeLock().lock();
+    try {
+      mDefaultColumn.close();
+      for (ColumnFamilyHandle generation : mGenerations) {
+        generation.close();
+      }
+      mDb.close();
+      mWriteOptions.close();
+      mColumnOptions.close();
+      mDbOptions.close();
+    } finally {
+      mGenerationLock.writeLock().unlock();
+    }
+  }
+
+  @Nullable
+  private byte[] getValue(byte[] key, long nowMs) {
+    mGenerationLock.readLock().lock();
+    try {
+      int current = mCurrent;
+      byte[] value = mDb.get(mGenerations[current], key);
+      if (value == null) {
+        value = mDb.get(mGenerations[1 - current], key);
+        if (value != null && getExpirationTimeMs(value) > nowMs) {
+          // keep entries that are still read when the old generation gets dropped
+          long size = key.length + value.length;
+          if (mGenerationBytes[current].addAndGet(size) <= mCapacityBytes / 2) {
+            mDb.put(mGenerations[current], mWriteOptions, key, value);
+          } else {
+            mGenerationBytes[current].addAndGet(-size);
+          }
+        }
+      }
+      if (value == null || getExpirationTimeMs(value) <= nowMs) {
+        return null;
+      }
+      return value;
+    } catch (RocksDBException e) {
+      LOG.warn("Failed to read cached metadata", e);
+      return null;
+    } finally {
+      mGenerationLock.readLock().unlock();
+    }
+  }
+
+  private void putValue(byte[] key, byte[] value) {
+    long size = key.length + value.length;
+    if (size > mCapacityBytes / 2) {
+      LOG.debug("Skipping persisting metadata of {} larger than the generation size",
+          new String(key, StandardCharsets.UTF_8));
+      return;
+    }
+    while (true) {
+      mGenerationLock.readLock().lock();
+      try {
+        int current = mCurrent;
+        // an overwritten entry no longer takes space in the generation
+        byte[] oldValue = mDb.get(mGenerations[current], key);
+        long delta = oldValue == null ? size : size - key.length - oldValue.length;
+        if (mGenerationBytes[current].addAndGet(delta) <= mCapacityBytes / 2) {
+          mDb.put(mGenerations[current], mWriteOptions, key, value);
+          return;
+        }
+        mGenerationBytes[current].addAndGet(-delta);
+      } catch (RocksDBException e) {
+        LOG.warn("Failed to store metadata of {}", new String(key, StandardCharsets.UTF_8), e);
+        return;
+      } finally {
+        mGenerationLock.readLock().unlock();
+      }
+      if (!rotate(size)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Drops the old generation and makes it the new current generation, unless the current
+   * generation already has room for the entry.
+   *
+   * @param size the size of the entry to add
+   * @return whether the current generation may have room for the entry
+   */
+  private boolean rotate(long size) {
+    mGenerationLock.writeLock().lock();
+    try {
+      int current = mCurrent;
+      if (mGenerationBytes[current].get() + size <= mCapacityBytes / 2) {
+        // rotated by another thread
+        return true;
+      }
+      int old = 1 - current;
+      if (!dropGeneration(old)) {
+        return false;
+      }
+      mDb.put(mDefaultColumn, mWriteOptions, CURRENT_GENERATION_KEY, new byte[] {(byte) old});
+      mCurrent = old;
+      return true;
+    } catch (RocksDBException e) {
+      LOG.warn("Failed to switch metadata cache generation", e);
+      return false;
+    } finally {
+      mGenerationLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Drops all the entries of a generation. Must be called with the write lock held.
+   *
+   * @param index the index of the generation
+   * @return whether the generation is dropped
+   */
+  private boolean dropGeneration(int index) {
+    try {
+      mDb.dropColumnFamily(mGenerations[index]);
+      mGenerations[index].close();
+      mGenerations[index] = mDb.createColumnFamily(
+          new ColumnFamilyDescriptor(GENERATION_NAMES.get(index), mColumnOptions));
+      mGenerationBytes[index].set(0);
+      return true;
+    } catch (RocksDBException e) {
+      LOG.warn("Failed to drop metadata cache generation {}", index, e);
+      return false;
+    }
+  }
+
+  /**
+   * Statuses received from the cluster are always complete, yet a status partially filled
+   * by the client can't be converted to a proto and is only cached in memory.
+   */
+  private static boolean isSerializable(URIStatus status) {
+    alluxio.wire.FileInfo info = status.getFileInfo();
+    return info.getName() != null && info.getPath() != null && info.getUfsPath() != null
+        && info.getOwner() != null && info.getGroup() != null
+        && info.getPersistenceState() != null && info.getTtlAction() != null
+        && info.getUfsFingerprint() != null;
+  }
+
+  private static byte[] key(byte prefix, String path) {
+    byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+    byte[] key = new byte[pathBytes.length + 1];
+    key[0] = prefix;
+    System.arraycopy(pathBytes, 0, key, 1, pathBytes.length);
+    return key;
+  }
+
+  private static byte[] value(long expirationTimeMs, byte[] proto) {
+    byte[] value = new byte[Long.BYTES + proto.length];
+    System.arraycopy(Longs.toByteArray(expirationTimeMs), 0, value, 0, Long.BYTES);
+    System.arraycopy(proto, 0, value, Long.BYTES, proto.length);
+    return value;
+  }
+}
@@ -300,6 +300,17 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Get page ids by the given file id, among the pages holding a range of the file.
+   * @param fileId file identifier
+   * @param offset the start of the range in the file
+   * @param end the end of the range in the file, exclusive
+   * @return a list of page ids which belongs to the file and overlaps the range
+   */
+  default List<PageId> getCachedPageIdsByFileId(String fileId, long offset, long end) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Deletes a page from the cache.
    *
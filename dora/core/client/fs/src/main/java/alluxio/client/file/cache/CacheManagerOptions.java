@@ -12,11 +12,13 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.filter.CacheFilter;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * Options for initiating local cache manager.
@@ -26,6 +28,9 @@ public class CacheManagerOptions {
   private boolean mAsyncWriteEnabled;
   private int mAsyncWriteThreads;
   private CacheEvictorOptions mCacheEvictorOptions;
+  @Nullable
+  private CacheFilter mCacheFilter;
+  private boolean mCompactIndexEnabled;
   private int mMaxEvictionRetries;
   private long mPageSize;
   private List<PageStoreOptions> mPageStoreOptions;
@@ -53,11 +58,14 @@ public class CacheManagerOptions {
         .setMaxEvictionRetries(conf.getInt(PropertyKey.USER_CLIENT_CACHE_EVICTION_RETRIES))
         .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED))
+        .setCompactIndexEnabled(
+            conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_COMPACT_INDEX_ENABLED))
         .setTtlEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_TTL_ENABLED))
         .setTtlCheckIntervalSeconds(
             conf.getLong(PropertyKey.USER_CLIENT_CACHE_TTL_CHECK_INTERVAL_SECONDS))
         .setTtlThresholdSeconds(conf.getLong(PropertyKey.USER_CLIENT_CACHE_TTL_THRESHOLD_SECONDS))
         .setCacheEvictorOptions(cacheEvictorOptions)
+        .setCacheFilter(CacheFilter.create(conf))
         .setPageStoreOptions(PageStoreOptions.create(conf));
     return options;
   }
@@ -81,6 +89,8 @@ public class CacheManagerOptions {
         .setMaxEvictionRetries(conf.getInt(PropertyKey.WORKER_PAGE_STORE_EVICTION_RETRIES))
         .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_QUOTA_ENABLED))
+        .setCompactIndexEnabled(
+            conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_COMPACT_INDEX_ENABLED))
         .setCacheEvictorOptions(cacheEvictorOptions)
         .setPageStoreOptions(PageStoreOptions.createForWorkerPageStore(conf));
     return options;
@@ -120,6 +130,13 @@ public class CacheManagerOptions {
     return mQuotaEnabled;
   }
 
+  /**
+   * @return if pages are indexed by the compact meta store
+   */
+  public boolean isCompactIndexEnabled() {
+    return mCompactIndexEnabled;
+  }
+
   /**
    * @return if cache ttl is enabled
    */
@@ -170,6 +187,15 @@ public class CacheManagerOptions {
     return mCacheEvictorOptions;
   }
 
+  /**
+   * @return the filter deciding whether pages are admitted into a full cache,
+   *         or null to admit every page
+   */
+  @Nullable
+  public CacheFilter getCacheFilter() {
+    return mCacheFilter;
+  }
+
   /**
    * @param isAsyncRestoreEnabled
    * @return the updated options
@@ -206,6 +232,15 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param cacheFilter
+   * @return the updated options
+   */
+  public CacheManagerOptions setCacheFilter(@Nullable CacheFilter cacheFilter) {
+    mCacheFilter = cacheFilter;
+    return this;
+  }
+
   /**
    * @param maxEvictionRetries
    * @return the updated options
@@ -224,6 +259,15 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param isCompactIndexEnabled
+   * @return the updated options
+   */
+  public CacheManagerOptions setCompactIndexEnabled(boolean isCompactIndexEnabled) {
+    mCompactIndexEnabled = isCompactIndexEnabled;
+    return this;
+  }
+
   /**
    * @param isQuotaEnabled
    * @return the updated options
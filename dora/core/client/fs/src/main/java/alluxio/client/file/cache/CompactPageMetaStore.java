@@ -0,0 +1,597 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import alluxio.client.file.cache.allocator.Allocator;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A metadata store for pages keeping its index in primitive arrays instead of one
+ * {@link PageInfo} and several map entries per page, which takes around 60 bytes of heap per
+ * page in a handful of long-lived arrays.
+ * <p>
+ * File IDs are interned to numbers, each page is a slot in parallel arrays, and pages are
+ * indexed by an open-addressing hash table of slots. {@link PageInfo}s are only created when
+ * requested. Instead of consulting the evictor of the storage directories, this store evicts
+ * with the CLOCK algorithm, an approximation of LRU: getting a page only sets its reference
+ * bit, and pages of each directory are kept in a ring swept by a clock hand which evicts the
+ * first page not referenced since the last sweep. Temporary pages are not evictable until
+ * their file is committed.
+ * <p>
+ * Like {@link DefaultPageMetaStore}, this implementation is not thread safe and requires
+ * synchronizations on external callers by acquiring the associated lock. Getting pages only
+ * requires the read lock.
+ */
+@NotThreadSafe
+public class CompactPageMetaStore implements PageMetaStore {
+  private static final int NONE = -1;
+  private static final byte FLAG_REFERENCED = 1;
+  private static final byte FLAG_TEMPORARY = 2;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final ImmutableList<PageStoreDir> mDirs;
+  private final Allocator mAllocator;
+  private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+  /** The number of logical bytes used. */
+  private final AtomicLong mBytes = new AtomicLong(0);
+
+  /** Interned file IDs. */
+  private final Map<String, Integer> mFileNumbers = new HashMap<>();
+  private final List<String> mFileIds = new ArrayList<>();
+  private final Deque<Integer> mFreeFileNumbers = new ArrayDeque<>();
+  /** First page of each file, pages of a file are linked by mFileNext and mFilePrev. */
+  private int[] mFileHead = new int[0];
+
+  /** Interned cache scopes. */
+  private final Map<CacheScope, Integer> mScopeNumbers = new HashMap<>();
+  private final List<CacheScope> mScopes = new ArrayList<>();
+
+  // Page slots, a free slot has a file number of NONE and is linked into mFreeSlot by mFileNext
+  private int[] mFile;
+  private long[] mPageIndex;
+  private int[] mSize;
+  private long[] mCreatedTime;
+  private byte[] mDir;
+  private int[] mScope;
+  private byte[] mFlags;
+  private int[] mFilePrev;
+  private int[] mFileNext;
+  /** Ring of the evictable pages of a directory. */
+  private int[] mClockPrev;
+  private int[] mClockNext;
+  private int mFreeSlot = NONE;
+  private int mNextUnusedSlot;
+  private int mNumPages;
+
+  /** Clock hand of each directory. */
+  private final int[] mClockHand;
+
+  /** Open-addressing hash table of slot + 1, 0 for an empty bucket. */
+  private int[] mTable;
+
+  /**
+   * @param dirs storage directories
+   */
+  public CompactPageMetaStore(List<PageStoreDir> dirs) {
+    this(dirs, new HashAllocator(dirs));
+  }
+
+  /**
+   * @param dirs storage directories
+   * @param allocator storage allocator
+   */
+  public CompactPageMetaStore(List<PageStoreDir> dirs, Allocator allocator) {
+    mDirs = ImmutableList.copyOf(requireNonNull(dirs));
+    Preconditions.checkArgument(mDirs.size() <= Byte.MAX_VALUE,
+        "At most %s directories are supported", Byte.MAX_VALUE);
+    mAllocator = requireNonNull(allocator);
+    mClockHand = new int[mDirs.size()];
+    allocateArrays(INITIAL_CAPACITY);
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(), this::numPages);
+  }
+
+  @Override
+  public ReentrantReadWriteLock getLock() {
+    return mLock;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public boolean hasPage(PageId pageId) {
+    return find(pageId) != NONE;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void addPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo, false);
+    pageInfo.getLocalCacheDir().putPage(pageInfo);
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void addTempPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo, true);
+    pageInfo.getLocalCacheDir().putTempPage(pageInfo);
+  }
+
+  private void addPageInternal(PageId pageId, PageInfo pageInfo, boolean isTemporary) {
+    Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
+    Preconditions.checkArgument(pageInfo.getPageSize() <= Integer.MAX_VALUE,
+        "page size %s is too large", pageInfo.getPageSize());
+    int existing = find(pageId);
+    if (existing != NONE) {
+      removeSlot(existing);
+    }
+    int slot = allocateSlot();
+    int file = internFile(pageId.getFileId());
+    mFile[slot] = file;
+    mPageIndex[slot] = pageId.getPageIndex();
+    mSize[slot] = (int) pageInfo.getPageSize();
+    mCreatedTime[slot] = pageInfo.getCreatedTimestamp();
+    mDir[slot] = (byte) dirIndex(pageInfo.getLocalCacheDir());
+    mScope[slot] = internScope(pageInfo.getScope());
+    mFlags[slot] = isTemporary ? FLAG_TEMPORARY : 0;
+    linkFile(slot, file);
+    if (!isTemporary) {
+      linkClock(slot);
+    }
+    insert(slot);
+    mNumPages++;
+    mBytes.addAndGet(pageInfo.getPageSize());
+    Metrics.SPACE_USED.inc(pageInfo.getPageSize());
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void commitFile(String fileId, String newFileId) throws PageNotFoundException {
+    Integer file = mFileNumbers.get(fileId);
+    if (file == null) {
+      throw new PageNotFoundException(
+          String.format("No Pages found for file %s when committing", fileId));
+    }
+    int target;
+    if (mFileNumbers.containsKey(newFileId)) {
+      target = mFileNumbers.get(newFileId);
+    } else {
+      // pages are indexed by file number, so renaming the file keeps them in place
+      mFileNumbers.remove(fileId);
+      mFileNumbers.put(newFileId, file);
+      mFileIds.set(file, newFileId);
+      target = file;
+    }
+    for (int slot = mFileHead[file]; slot != NONE; ) {
+      int next = mFileNext[slot];
+      if (target != file) {
+        remove(slot);
+        unlinkFile(slot);
+        mFile[slot] = target;
+        linkFile(slot, target);
+        insert(slot);
+      }
+      if ((mFlags[slot] & FLAG_TEMPORARY) != 0) {
+        mFlags[slot] &= ~FLAG_TEMPORARY;
+        linkClock(slot);
+      }
+      slot = next;
+    }
+    if (target != file) {
+      releaseFile(file);
+    }
+  }
+
+  @Override
+  public List<PageStoreDir> getStoreDirs() {
+    return mDirs;
+  }
+
+  @Override
+  public PageStoreDir allocate(String fileId, long fileLength) {
+    return mAllocator.allocate(fileId, fileLength);
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
+    int slot = find(pageId);
+    if (slot == NONE) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    // only sets a bit, which is safe under the read lock
+    mFlags[slot] |= FLAG_REFERENCED;
+    return toPageInfo(slot);
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo removePage(PageId pageId, boolean isTemporary) throws PageNotFoundException {
+    int slot = find(pageId);
+    if (slot == NONE) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    PageInfo pageInfo = toPageInfo(slot);
+    removeSlot(slot);
+    if (isTemporary) {
+      pageInfo.getLocalCacheDir().deleteTempPage(pageInfo);
+    } else {
+      pageInfo.getLocalCacheDir().deletePage(pageInfo);
+    }
+    return pageInfo;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public PageInfo removePage(PageId pageId) throws PageNotFoundException {
+    return removePage(pageId, false);
+  }
+
+  @Override
+  public long bytes() {
+    return mBytes.get();
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public long numPages() {
+    return mNumPages;
+  }
+
+  @Override
+  @GuardedBy("getLock()")
+  public void reset() {
+    mBytes.set(0);
+    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
+    mFileNumbers.clear();
+    mFileIds.clear();
+    mFreeFileNumbers.clear();
+    mFileHead = new int[0];
+    mScopeNumbers.clear();
+    mScopes.clear();
+    mFreeSlot = NONE;
+    mNextUnusedSlot = 0;
+    mNumPages = 0;
+    allocateArrays(INITIAL_CAPACITY);
+  }
+
+  @Override
+  @Nullable
+  @GuardedBy("getLock()")
+  public PageInfo evict(CacheScope scope, PageStoreDir pageStoreDir) {
+    int dir = dirIndex(pageStoreDir);
+    int hand = mClockHand[dir];
+    if (hand == NONE) {
+      return null;
+    }
+    // each page is passed at most twice, once to clear its reference bit
+    while ((mFlags[hand] & FLAG_REFERENCED) != 0) {
+      mFlags[hand] &= ~FLAG_REFERENCED;
+      hand = mClockNext[hand];
+    }
+    mClockHand[dir] = hand;
+    return toPageInfo(hand);
+  }
+
+  @Override
+  public Optional<CacheUsage> getUsage() {
+    return Optional.of(new Usage());
+  }
+
+  /**
+   * @return the number of bytes of heap taken by the index, excluding interned file IDs
+   */
+  public long getIndexSizeBytes() {
+    long slotBytes = Integer.BYTES * 7L + Long.BYTES * 2L + 2L;
+    return slotBytes * mFile.length + (long) Integer.BYTES * (mTable.length + mFileHead.length);
+  }
+
+  private PageInfo toPageInfo(int slot) {
+    return new PageInfo(new PageId(mFileIds.get(mFile[slot]), mPageIndex[slot]), mSize[slot],
+        mScopes.get(mScope[slot]), mDirs.get(mDir[slot]), mCreatedTime[slot]);
+  }
+
+  private void removeSlot(int slot) {
+    remove(slot);
+    if ((mFlags[slot] & FLAG_TEMPORARY) == 0) {
+      unlinkClock(slot);
+    }
+    int file = mFile[slot];
+    unlinkFile(slot);
+    if (mFileHead[file] == NONE) {
+      releaseFile(file);
+    }
+    mNumPages--;
+    mBytes.addAndGet(-mSize[slot]);
+    Metrics.SPACE_USED.dec(mSize[slot]);
+    mFile[slot] = NONE;
+    mFileNext[slot] = mFreeSlot;
+    mFreeSlot = slot;
+  }
+
+  private int dirIndex(PageStoreDir dir) {
+    for (int i = 0; i < mDirs.size(); i++) {
+      if (mDirs.get(i) == dir) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException(String.format("Unknown page store dir %s", dir));
+  }
+
+  private int internFile(String fileId) {
+    Integer file = mFileNumbers.get(fileId);
+    if (file != null) {
+      return file;
+    }
+    if (mFreeFileNumbers.isEmpty()) {
+      file = mFileIds.size();
+      mFileIds.add(fileId);
+      if (file >= mFileHead.length) {
+        int oldLength = mFileHead.length;
+        mFileHead = Arrays.copyOf(mFileHead, Math.max(16, oldLength * 2));
+        Arrays.fill(mFileHead, oldLength, mFileHead.length, NONE);
+      }
+    } else {
+      file = mFreeFileNumbers.pop();
+      mFileIds.set(file, fileId);
+    }
+    mFileNumbers.put(fileId, file);
+    return file;
+  }
+
+  private void releaseFile(int file) {
+    mFileNumbers.remove(mFileIds.get(file));
+    mFileIds.set(file, null);
+    mFileHead[file] = NONE;
+    mFreeFileNumbers.push(file);
+  }
+
+  private int internScope(CacheScope scope) {
+    return mScopeNumbers.computeIfAbsent(scope, s -> {
+      mScopes.add(s);
+      return mScopes.size() - 1;
+    });
+  }
+
+  private void linkFile(int slot, int file) {
+    int head = mFileHead[file];
+    mFilePrev[slot] = NONE;
+    mFileNext[slot] = head;
+    if (head != NONE) {
+      mFilePrev[head] = slot;
+    }
+    mFileHead[file] = slot;
+  }
+
+  private void unlinkFile(int slot) {
+    int prev = mFilePrev[slot];
+    int next = mFileNext[slot];
+    if (prev == NONE) {
+      mFileHead[mFile[slot]] = next;
+    } else {
+      mFileNext[prev] = next;
+    }
+    if (next != NONE) {
+      mFilePrev[next] = prev;
+    }
+  }
+
+  /**
+   * Inserts the page right behind the clock hand, so it is the last page to be swept.
+   */
+  private void linkClock(int slot) {
+    int dir = mDir[slot];
+    int hand = mClockHand[dir];
+    if (hand == NONE) {
+      mClockPrev[slot] = slot;
+      mClockNext[slot] = slot;
+      mClockHand[dir] = slot;
+      return;
+    }
+    int prev = mClockPrev[hand];
+    mClockPrev[slot] = prev;
+    mClockNext[slot] = hand;
+    mClockNext[prev] = slot;
+    mClockPrev[hand] = slot;
+  }
+
+  private void unlinkClock(int slot) {
+    int dir = mDir[slot];
+    int next = mClockNext[slot];
+    if (next == slot) {
+      mClockHand[dir] = NONE;
+      return;
+    }
+    int prev = mClockPrev[slot];
+    mClockNext[prev] = next;
+    mClockPrev[next] = prev;
+    if (mClockHand[dir] == slot) {
+      mClockHand[dir] = next;
+    }
+  }
+
+  private int allocateSlot() {
+    if (mFreeSlot != NONE) {
+      int slot = mFreeSlot;
+      mFreeSlot = mFileNext[slot];
+      return slot;
+    }
+    if (mNextUnusedSlot == mFile.length) {
+      grow(mFile.length * 2);
+    }
+    return mNextUnusedSlot++;
+  }
+
+  private void allocateArrays(int capacity) {
+    mFile = new int[capacity];
+    mPageIndex = new long[capacity];
+    mSize = new int[capacity];
+    mCreatedTime = new long[capacity];
+    mDir = new byte[capacity];
+    mScope = new int[capacity];
+    mFlags = new byte[capacity];
+    mFilePrev = new int[capacity];
+    mFileNext = new int[capacity];
+    mClockPrev = new int[capacity];
+    mClockNext = new int[capacity];
+    mTable = new int[capacity * 2];
+    Arrays.fill(mClockHand, NONE);
+  }
+
+  private void grow(int capacity) {
+    mFile = Arrays.copyOf(mFile, capacity);
+    mPageIndex = Arrays.copyOf(mPageIndex, capacity);
+    mSize = Arrays.copyOf(mSize, capacity);
+    mCreatedTime = Arrays.copyOf(mCreatedTime, capacity);
+    mDir = Arrays.copyOf(mDir, capacity);
+    mScope = Arrays.copyOf(mScope, capacity);
+    mFlags = Arrays.copyOf(mFlags, capacity);
+    mFilePrev = Arrays.copyOf(mFilePrev, capacity);
+    mFileNext = Arrays.copyOf(mFileNext, capacity);
+    mClockPrev = Arrays.copyOf(mClockPrev, capacity);
+    mClockNext = Arrays.copyOf(mClockNext, capacity);
+    // keeps the load factor of the table at most 1/2
+    mTable = new int[capacity * 2];
+    for (int slot = 0; slot < mNextUnusedSlot; slot++) {
+      if (mFile[slot] != NONE) {
+        insert(slot);
+      }
+    }
+  }
+
+  private int find(PageId pageId) {
+    Integer file = mFileNumbers.get(pageId.getFileId());
+    if (file == null) {
+      return NONE;
+    }
+    long pageIndex = pageId.getPageIndex();
+    int mask = mTable.length - 1;
+    for (int bucket = bucket(file, pageIndex); ; bucket = (bucket + 1) & mask) {
+      int slot = mTable[bucket] - 1;
+      if (slot == NONE) {
+        return NONE;
+      }
+      if (mFile[slot] == file && mPageIndex[slot] == pageIndex) {
+        return slot;
+      }
+    }
+  }
+
+  private void insert(int slot) {
+    int mask = mTable.length - 1;
+    int bucket = bucket(mFile[slot], mPageIndex[slot]);
+    while (mTable[bucket] != 0) {
+      bucket = (bucket + 1) & mask;
+    }
+    mTable[bucket] = slot + 1;
+  }
+
+  /**
+   * Removes the slot from the hash table, shifting back the following entries of the cluster.
+   */
+  private void remove(int slot) {
+    int mask = mTable.length - 1;
+    int bucket = bucket(mFile[slot], mPageIndex[slot]);
+    while (mTable[bucket] != slot + 1) {
+      bucket = (bucket + 1) & mask;
+    }
+    int hole = bucket;
+    for (int next = (hole + 1) & mask; mTable[next] != 0; next = (next + 1) & mask) {
+      int entry = mTable[next] - 1;
+      int home = bucket(mFile[entry], mPageIndex[entry]);
+      // moves the entry into the hole unless its home bucket lies cyclically in (hole, next]
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        mTable[hole] = mTable[next];
+        hole = next;
+      }
+    }
+    mTable[hole] = 0;
+  }
+
+  private int bucket(int file, long pageIndex) {
+    long h = (file * 0x9e3779b97f4a7c15L) ^ (pageIndex * 0xc2b2ae3d27d4eb4fL);
+    return (int) (h ^ (h >>> 32)) & (mTable.length - 1);
+  }
+
+  class Usage implements CacheUsage {
+
+    @Override
+    public long used() {
+      return bytes();
+    }
+
+    @Override
+    public long available() {
+      return capacity() - used();
+    }
+
+    @Override
+    public long capacity() {
+      return mDirs.stream().mapToLong(PageStoreDir::getCapacityBytes).sum();
+    }
+
+    @Override
+    public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
+      if (partition instanceof FilePartition) {
+        Integer file = mFileNumbers.get(((FilePartition) partition).getIdentifier());
+        long used = 0;
+        for (int slot = file == null ? NONE : mFileHead[file]; slot != NONE;
+            slot = mFileNext[slot]) {
+          used += mSize[slot];
+        }
+        long capacity = capacity();
+        long available = capacity - bytes();
+        return Optional.of(new ImmutableCacheUsageView(used, available, capacity));
+      }
+      if (partition instanceof DirPartition) {
+        int dirIndex = ((DirPartition) partition).getIdentifier();
+        if (dirIndex < 0 || dirIndex >= mDirs.size()) {
+          return Optional.empty();
+        }
+        return mDirs.get(dirIndex).getUsage();
+      }
+      return Optional.empty();
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Bytes used in the cache. */
+    private static final Counter SPACE_USED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT.getName());
+  }
+}
@@ -166,8 +166,7 @@ public class LocalCacheFileInStream extends FileInStream {
     mBufferEndOffset = position + bytesRead;
     int dataReadFromBuffer = Math.min(bytesRead, length);
     targetBuffer.writeBytes(mBuffer, 0, dataReadFromBuffer);
-    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_IN_STREAM_BUFFER.getName())
-        .mark(dataReadFromBuffer);
+    MetricKey.CLIENT_CACHE_BYTES_READ_IN_STREAM_BUFFER.meter().mark(dataReadFromBuffer);
     return dataReadFromBuffer;
   }
 
@@ -193,7 +192,7 @@ public class LocalCacheFileInStream extends FileInStream {
         mCacheManager.get(pageId, currentPageOffset, bytesToReadInPage, bytesBuffer, mCacheContext);
     stopwatch.stop();
     if (bytesRead > 0) {
-      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesRead);
+      MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.meter().mark(bytesRead);
       if (cacheContext != null) {
         cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(), BYTE,
             bytesRead);
@@ -211,8 +210,7 @@ public class LocalCacheFileInStream extends FileInStream {
     if (page.length > 0) {
       bytesBuffer.writeBytes(page, currentPageOffset, bytesToReadInPage);
       // cache misses
-      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
-          .mark(bytesToReadInPage);
+      MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.meter().mark(bytesToReadInPage);
       if (cacheContext != null) {
         cacheContext.incrementCounter(
             MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getMetricName(), BYTE,
@@ -394,7 +392,7 @@ public class LocalCacheFileInStream extends FileInStream {
       totalBytesRead += bytesRead;
     }
     // Bytes read from external, may be larger than requests due to reading complete pages
-    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.getName()).mark(totalBytesRead);
+    MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.meter().mark(totalBytesRead);
     if (totalBytesRead != pageSize) {
       throw new IOException("Failed to read complete page from external storage. Bytes read: "
           + totalBytesRead + " Page size: " + pageSize);
@@ -412,10 +410,8 @@ public class LocalCacheFileInStream extends FileInStream {
       MetricsSystem.registerGaugeIfAbsent(
           MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_HIT_RATE.getName()),
           () -> {
-            long cacheHits = MetricsSystem.meter(
-                MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).getCount();
-            long cacheMisses = MetricsSystem.meter(
-                MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName()).getCount();
+            long cacheHits = MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.meter().getCount();
+            long cacheMisses = MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.meter().getCount();
             long total = cacheHits + cacheMisses;
             if (total > 0) {
               return cacheHits / (1.0 * total);
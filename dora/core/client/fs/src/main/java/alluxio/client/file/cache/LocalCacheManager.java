@@ -20,6 +20,7 @@ import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.filter.CacheFilter;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheQuota;
 import alluxio.client.quota.CacheScope;
@@ -29,11 +30,11 @@ import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.file.ByteArrayTargetBuffer;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.CounterHandle;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.LockResource;
 
-import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
@@ -43,6 +44,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
@@ -101,6 +103,9 @@ public class LocalCacheManager implements CacheManager {
   /** State of this cache. */
   private final AtomicReference<CacheManager.State> mState = new AtomicReference<>();
   private final CacheManagerOptions mOptions;
+  /** Decides whether to cache a page when it requires evicting another, null to always cache. */
+  @Nullable
+  private final CacheFilter mCacheFilter;
 
   /**
    * @param options the options of local cache manager
@@ -135,6 +140,7 @@ public class LocalCacheManager implements CacheManager {
     mPageMetaStore = pageMetaStore;
     mPageStoreDirs = pageMetaStore.getStoreDirs();
     mOptions = options;
+    mCacheFilter = options.getCacheFilter();
     mCacheSize = mPageStoreDirs.stream().map(PageStoreDir::getCapacityBytes).reduce(0L, Long::sum);
     for (int i = 0; i < LOCK_SIZE; i++) {
       mPageLocks[i] = new ReentrantReadWriteLock(true /* fair ordering */);
@@ -217,6 +223,7 @@ public class LocalCacheManager implements CacheManager {
     NO_SPACE_LEFT,
     OK,
     OTHER,
+    REJECTED,
   }
 
   /**
@@ -257,9 +264,6 @@ public class LocalCacheManager implements CacheManager {
     if (!mOptions.isAsyncWriteEnabled()) {
       boolean ok = putInternal(pageId, page, cacheContext);
       LOG.debug("put({},{} bytes) exits: {}", pageId, page.position() - originPosition, ok);
-      if (!ok) {
-        Metrics.PUT_ERRORS.inc();
-      }
       return ok;
     }
 
@@ -269,10 +273,7 @@ public class LocalCacheManager implements CacheManager {
     try {
       mAsyncCacheExecutor.get().submit(() -> {
         try {
-          boolean ok = putInternal(pageId, page, cacheContext);
-          if (!ok) {
-            Metrics.PUT_ERRORS.inc();
-          }
+          putInternal(pageId, page, cacheContext);
         } finally {
           mPendingRequests.remove(pageId);
         }
@@ -306,6 +307,10 @@ public class LocalCacheManager implements CacheManager {
           // note that, we only evict one item a time in putAttempt. So it is possible the evicted
           // page is not large enough to cover the space needed by this page. Try again
           continue;
+        case REJECTED:
+          // the page is not worth evicting another page, which is not an error.
+          Metrics.PUT_ADMISSION_REJECTED.inc();
+          return false;
         case NO_SPACE_LEFT:
           // failed put attempt due to "No space left on device" error. This can happen on
           // misconfiguration (e.g., cache capacity is larger than what's available), disk issues,
@@ -317,6 +322,7 @@ public class LocalCacheManager implements CacheManager {
         case OTHER:
           // fall through intentionally
         default:
+          Metrics.PUT_ERRORS.inc();
           return false;
       }
     }
@@ -325,6 +331,7 @@ public class LocalCacheManager implements CacheManager {
     } else if (result == PutResult.INSUFFICIENT_SPACE_EVICTED) {
       Metrics.PUT_INSUFFICIENT_SPACE_ERRORS.inc();
     }
+    Metrics.PUT_ERRORS.inc();
     return false;
   }
 
@@ -361,6 +368,11 @@ public class LocalCacheManager implements CacheManager {
             Metrics.PUT_EVICTION_ERRORS.inc();
             return PutResult.OTHER;
           }
+          if (mCacheFilter != null
+              && !mCacheFilter.admit(pageId, victimPageInfo.getPageId())) {
+            LOG.debug("{} is not admitted over victim {}", pageId, victimPageInfo.getPageId());
+            return PutResult.REJECTED;
+          }
         }
       }
       if (scopeToEvict == null) {
@@ -368,8 +380,7 @@ public class LocalCacheManager implements CacheManager {
           int bytesToWrite = page.remaining();
           pageStoreDir.getPageStore().put(pageId, page, cacheContext.isTemporary());
           // Bytes written to the cache
-          MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_WRITTEN_CACHE.getName())
-              .mark(bytesToWrite);
+          MetricKey.CLIENT_CACHE_BYTES_WRITTEN_CACHE.meter().mark(bytesToWrite);
           return PutResult.OK;
         } catch (ResourceExhaustedException e) {
           undoAddPage(pageId);
@@ -416,10 +427,9 @@ public class LocalCacheManager implements CacheManager {
       try {
         pageStoreDir.getPageStore().delete(victim);
         // Bytes evicted from the cache
-        MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_EVICTED.getName())
-            .mark(victimPageInfo.getPageSize());
+        MetricKey.CLIENT_CACHE_BYTES_EVICTED.meter().mark(victimPageInfo.getPageSize());
         // Errors when adding pages
-        MetricsSystem.meter(MetricKey.CLIENT_CACHE_PAGES_EVICTED.getName()).mark();
+        MetricKey.CLIENT_CACHE_PAGES_EVICTED.meter().mark();
       } catch (IOException | PageNotFoundException e) {
         if (scopeToEvict == null) {
           // Failed to evict page, remove new page from metastore as there will not be enough space
@@ -440,8 +450,7 @@ public class LocalCacheManager implements CacheManager {
         int bytesToWrite = page.remaining();
         pageStoreDir.getPageStore().put(pageId, page, cacheContext.isTemporary());
         // Bytes written to the cache
-        MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_WRITTEN_CACHE.getName())
-            .mark(bytesToWrite);
+        MetricKey.CLIENT_CACHE_BYTES_WRITTEN_CACHE.meter().mark(bytesToWrite);
         return PutResult.OK;
       } catch (ResourceExhaustedException e) {
         undoAddPage(pageId);
@@ -482,6 +491,14 @@ public class LocalCacheManager implements CacheManager {
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer buffer,
       CacheContext cacheContext) {
+    if (mCacheFilter != null) {
+      mCacheFilter.onAccess(pageId);
+    }
+    return getInternal(pageId, pageOffset, bytesToRead, buffer, cacheContext);
+  }
+
+  private int getInternal(PageId pageId, int pageOffset, int bytesToRead,
+      ReadTargetBuffer buffer, CacheContext cacheContext) {
     Preconditions.checkArgument(pageOffset <= mOptions.getPageSize(),
         "Read exceeds page boundary: offset=%s size=%s", pageOffset, mOptions.getPageSize());
     Preconditions.checkArgument(bytesToRead <= buffer.remaining(),
@@ -496,6 +513,9 @@ public class LocalCacheManager implements CacheManager {
     ReadWriteLock pageLock = getPageLock(pageId);
     long startTime = System.nanoTime();
     try (LockResource r = new LockResource(pageLock.readLock())) {
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_PAGE_LOCK_WAIT_TIME_NS.getMetricName(), NANO,
+          System.nanoTime() - startTime);
       PageInfo pageInfo;
       try (LockResource r2 = new LockResource(mPageMetaStore.getLock().readLock())) {
         pageInfo = mPageMetaStore.getPageInfo(pageId); //check if page exists and refresh LRU items
@@ -517,7 +537,7 @@ public class LocalCacheManager implements CacheManager {
         }
         return -1;
       }
-      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesRead);
+      MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.meter().mark(bytesRead);
       cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(), BYTE,
           bytesRead);
       LOG.debug("get({},pageOffset={}) exits", pageId, pageOffset);
@@ -538,8 +558,12 @@ public class LocalCacheManager implements CacheManager {
       return bytesRead;
     }
     ReadWriteLock pageLock = getPageLock(pageId);
+    long lockStartTime = System.nanoTime();
     try (LockResource r = new LockResource(pageLock.writeLock())) {
-      bytesRead = get(pageId, pageOffset, bytesToRead,
+      cacheContext.incrementCounter(
+          MetricKey.CLIENT_CACHE_PAGE_LOCK_WAIT_TIME_NS.getMetricName(), NANO,
+          System.nanoTime() - lockStartTime);
+      bytesRead = getInternal(pageId, pageOffset, bytesToRead,
           buffer, cacheContext);
       if (bytesRead > 0) {
         return bytesRead;
@@ -551,8 +575,7 @@ public class LocalCacheManager implements CacheManager {
       long timeElapse = System.nanoTime() - startTime;
       // cache misses
       buffer.writeBytes(page, pageOffset, bytesToRead);
-      MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName())
-          .mark(bytesToRead);
+      MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.meter().mark(bytesToRead);
       cacheContext.incrementCounter(
           MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getMetricName(), BYTE,
           bytesToRead);
@@ -706,10 +729,23 @@ public class LocalCacheManager implements CacheManager {
   @Override
   public List<PageId> getCachedPageIdsByFileId(String fileId, long fileLength) {
     //ceiling round the result
-    int numOfPages = (int) ((fileLength - 1) / mOptions.getPageSize()) + 1;
-    List<PageId> pageIds = new ArrayList<>(numOfPages);
+    long numOfPages = (fileLength - 1) / mOptions.getPageSize() + 1;
+    return getCachedPageIds(fileId, 0, numOfPages);
+  }
+
+  @Override
+  public List<PageId> getCachedPageIdsByFileId(String fileId, long offset, long end) {
+    if (end <= offset) {
+      return Collections.emptyList();
+    }
+    return getCachedPageIds(fileId, offset / mOptions.getPageSize(),
+        (end - 1) / mOptions.getPageSize() + 1);
+  }
+
+  private List<PageId> getCachedPageIds(String fileId, long fromPage, long toPage) {
+    List<PageId> pageIds = new ArrayList<>((int) (toPage - fromPage));
     try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
-      for (long pageIndex = 0; pageIndex < numOfPages; pageIndex++) {
+      for (long pageIndex = fromPage; pageIndex < toPage; pageIndex++) {
         PageId pageId = new PageId(fileId, pageIndex);
         if (mPageMetaStore.hasPage(pageId)) {
           pageIds.add(pageId);
@@ -819,72 +855,71 @@ public class LocalCacheManager implements CacheManager {
   }
 
   private static final class Metrics {
-    // Note that only counter/guage can be added here.
-    // Both meter and timer need to be used inline
-    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    // Metrics are kept as handles since new meters and timers are created after
+    // {@link MetricsSystem#resetAllMetrics()}
     /** Total number of bytes discarded when restoring the page store. */
-    private static final Counter BYTE_DISCARDED =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_BYTES_DISCARDED.getName());
+    private static final CounterHandle BYTE_DISCARDED =
+        MetricKey.CLIENT_CACHE_BYTES_DISCARDED.counter();
     /** Errors when cleaning up a failed get operation. */
-    private static final Counter CLEANUP_GET_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_CLEANUP_GET_ERRORS.getName());
+    private static final CounterHandle CLEANUP_GET_ERRORS =
+        MetricKey.CLIENT_CACHE_CLEANUP_GET_ERRORS.counter();
     /** Errors when cleaning up a failed put operation. */
-    private static final Counter CLEANUP_PUT_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_CLEANUP_PUT_ERRORS.getName());
+    private static final CounterHandle CLEANUP_PUT_ERRORS =
+        MetricKey.CLIENT_CACHE_CLEANUP_PUT_ERRORS.counter();
     /** Errors when deleting pages. */
-    private static final Counter DELETE_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_DELETE_ERRORS.getName());
+    private static final CounterHandle DELETE_ERRORS =
+        MetricKey.CLIENT_CACHE_DELETE_ERRORS.counter();
     /** Errors when deleting pages due to absence. */
-    private static final Counter DELETE_NON_EXISTING_PAGE_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_DELETE_NON_EXISTING_PAGE_ERRORS.getName());
+    private static final CounterHandle DELETE_NON_EXISTING_PAGE_ERRORS =
+        MetricKey.CLIENT_CACHE_DELETE_NON_EXISTING_PAGE_ERRORS.counter();
     /** Errors when cache is not ready to delete pages. */
-    private static final Counter DELETE_NOT_READY_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_DELETE_NOT_READY_ERRORS.getName());
+    private static final CounterHandle DELETE_NOT_READY_ERRORS =
+        MetricKey.CLIENT_CACHE_DELETE_NOT_READY_ERRORS.counter();
     /** Errors when deleting pages due to failed delete in page stores. */
-    private static final Counter DELETE_STORE_DELETE_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_DELETE_FROM_STORE_ERRORS.getName());
+    private static final CounterHandle DELETE_STORE_DELETE_ERRORS =
+        MetricKey.CLIENT_CACHE_DELETE_FROM_STORE_ERRORS.counter();
     /** Errors when getting pages. */
-    private static final Counter GET_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_GET_ERRORS.getName());
+    private static final CounterHandle GET_ERRORS = MetricKey.CLIENT_CACHE_GET_ERRORS.counter();
     /** Errors when cache is not ready to get pages. */
-    private static final Counter GET_NOT_READY_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_GET_NOT_READY_ERRORS.getName());
+    private static final CounterHandle GET_NOT_READY_ERRORS =
+        MetricKey.CLIENT_CACHE_GET_NOT_READY_ERRORS.counter();
     /** Errors when getting pages due to failed read from page stores. */
-    private static final Counter GET_STORE_READ_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_GET_STORE_READ_ERRORS.getName());
+    private static final CounterHandle GET_STORE_READ_ERRORS =
+        MetricKey.CLIENT_CACHE_GET_STORE_READ_ERRORS.counter();
     /** Total number of pages discarded when restoring the page store. */
-    private static final Counter PAGE_DISCARDED =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PAGES_DISCARDED.getName());
+    private static final CounterHandle PAGE_DISCARDED =
+        MetricKey.CLIENT_CACHE_PAGES_DISCARDED.counter();
     /** Errors when adding pages. */
-    private static final Counter PUT_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_ERRORS.getName());
+    private static final CounterHandle PUT_ERRORS = MetricKey.CLIENT_CACHE_PUT_ERRORS.counter();
     /** Errors when adding pages due to failed injection to async write queue. */
-    private static final Counter PUT_ASYNC_REJECTION_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_ASYNC_REJECTION_ERRORS.getName());
+    private static final CounterHandle PUT_ASYNC_REJECTION_ERRORS =
+        MetricKey.CLIENT_CACHE_PUT_ASYNC_REJECTION_ERRORS.counter();
     /** Errors when adding pages due to failed eviction. */
-    private static final Counter PUT_EVICTION_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_EVICTION_ERRORS.getName());
+    private static final CounterHandle PUT_EVICTION_ERRORS =
+        MetricKey.CLIENT_CACHE_PUT_EVICTION_ERRORS.counter();
+    /** Pages not added because the admission filter rejected them. */
+    private static final CounterHandle PUT_ADMISSION_REJECTED =
+        MetricKey.CLIENT_CACHE_PUT_ADMISSION_REJECTED.counter();
     /** Errors when adding pages due to benign racing eviction. */
-    private static final Counter PUT_BENIGN_RACING_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_BENIGN_RACING_ERRORS.getName());
+    private static final CounterHandle PUT_BENIGN_RACING_ERRORS =
+        MetricKey.CLIENT_CACHE_PUT_BENIGN_RACING_ERRORS.counter();
     /** Errors when adding pages due to insufficient space made after eviction. */
-    private static final Counter PUT_INSUFFICIENT_SPACE_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_INSUFFICIENT_SPACE_ERRORS.getName());
+    private static final CounterHandle PUT_INSUFFICIENT_SPACE_ERRORS =
+        MetricKey.CLIENT_CACHE_PUT_INSUFFICIENT_SPACE_ERRORS.counter();
     /** Errors when cache is not ready to add pages. */
-    private static final Counter PUT_NOT_READY_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_NOT_READY_ERRORS.getName());
+    private static final CounterHandle PUT_NOT_READY_ERRORS =
+        MetricKey.CLIENT_CACHE_PUT_NOT_READY_ERRORS.counter();
     /** Errors when adding pages due to failed deletes in page store. */
-    private static final Counter PUT_STORE_DELETE_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_STORE_DELETE_ERRORS.getName());
+    private static final CounterHandle PUT_STORE_DELETE_ERRORS =
+        MetricKey.CLIENT_CACHE_PUT_STORE_DELETE_ERRORS.counter();
     /** Errors when adding pages due to failed writes to page store. */
-    private static final Counter PUT_STORE_WRITE_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_STORE_WRITE_ERRORS.getName());
+    private static final CounterHandle PUT_STORE_WRITE_ERRORS =
+        MetricKey.CLIENT_CACHE_PUT_STORE_WRITE_ERRORS.counter();
     /** Errors when adding pages due to failed writes but before reaching cache capacity. */
-    private static final Counter PUT_STORE_WRITE_NO_SPACE_ERRORS =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_PUT_STORE_WRITE_NO_SPACE_ERRORS.getName());
+    private static final CounterHandle PUT_STORE_WRITE_NO_SPACE_ERRORS =
+        MetricKey.CLIENT_CACHE_PUT_STORE_WRITE_NO_SPACE_ERRORS.counter();
     /** State of the cache. */
-    private static final Counter STATE =
-        MetricsSystem.counter(MetricKey.CLIENT_CACHE_STATE.getName());
+    private static final CounterHandle STATE = MetricKey.CLIENT_CACHE_STATE.counter();
 
     private static void registerGauges(long cacheSize, PageMetaStore pageMetaStore) {
       MetricsSystem.registerGaugeIfAbsent(
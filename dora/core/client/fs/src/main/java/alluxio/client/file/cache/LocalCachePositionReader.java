@@ -173,7 +173,7 @@ public class LocalCachePositionReader implements PositionReader {
       totalBytesRead += bytesRead;
     }
     // Bytes read from external, may be larger than requests due to reading complete pages
-    MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.getName()).mark(totalBytesRead);
+    MetricKey.CLIENT_CACHE_BYTES_READ_EXTERNAL.meter().mark(totalBytesRead);
     if (totalBytesRead != pageSize) {
       throw new FailedPreconditionRuntimeException(
           "Failed to read complete page from external storage. Bytes read: "
@@ -192,10 +192,8 @@ public class LocalCachePositionReader implements PositionReader {
     MetricsSystem.registerGaugeIfAbsent(
         MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_HIT_RATE.getName()),
         () -> {
-          long cacheHits = MetricsSystem.meter(
-              MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).getCount();
-          long cacheMisses = MetricsSystem.meter(
-              MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.getName()).getCount();
+          long cacheHits = MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.meter().getCount();
+          long cacheMisses = MetricKey.CLIENT_CACHE_BYTES_REQUESTED_EXTERNAL.meter().getCount();
           long total = cacheHits + cacheMisses;
           if (total > 0) {
             return cacheHits / (1.0 * total);
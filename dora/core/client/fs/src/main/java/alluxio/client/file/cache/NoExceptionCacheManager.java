@@ -163,6 +163,11 @@ public class NoExceptionCacheManager implements CacheManager {
     return mCacheManager.getCachedPageIdsByFileId(fileId, fileLength);
   }
 
+  @Override
+  public List<PageId> getCachedPageIdsByFileId(String fileId, long offset, long end) {
+    return mCacheManager.getCachedPageIdsByFileId(fileId, offset, end);
+  }
+
   @Override
   public Optional<CacheUsage> getUsage() {
     return mCacheManager.getUsage();
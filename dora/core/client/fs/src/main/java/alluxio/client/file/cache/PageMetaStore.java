@@ -11,6 +11,8 @@
 
 package alluxio.client.file.cache;
 
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.UnevictableCacheEvictor;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheScope;
 import alluxio.exception.PageNotFoundException;
@@ -18,6 +20,7 @@ import alluxio.exception.PageNotFoundException;
 import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.stream.Collectors;
 
 /**
  * The metadata store for pages stored in cache.
@@ -29,6 +32,15 @@ public interface PageMetaStore extends CacheStatus {
    * @return an instance of MetaStore
    */
   static PageMetaStore create(CacheManagerOptions options) throws IOException {
+    if (options.isCompactIndexEnabled() && !options.isQuotaEnabled()) {
+      // the compact store tracks recency itself, the evictors of the dirs are never consulted
+      CacheEvictorOptions evictorOptions =
+          new CacheEvictorOptions().setEvictorClass(UnevictableCacheEvictor.class);
+      return new CompactPageMetaStore(options.getPageStoreOptions().stream()
+          .map(pageStoreOptions -> PageStoreDir.createPageStoreDir(evictorOptions,
+              pageStoreOptions))
+          .collect(Collectors.toList()));
+    }
     List<PageStoreDir> dirs = PageStoreDir.createPageStoreDirs(options);
     if (options.isQuotaEnabled()) {
       return new QuotaPageMetaStore(options.getCacheEvictorOptions(), dirs);
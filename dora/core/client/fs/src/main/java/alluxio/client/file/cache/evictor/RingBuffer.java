@@ -0,0 +1,78 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded, lossy ring buffer recording events from many threads without locking, drained by
+ * one thread at a time. Events offered while the buffer is full are dropped.
+ *
+ * @param <E> the type of the events
+ */
+@ThreadSafe
+final class RingBuffer<E> {
+  private final AtomicReferenceArray<E> mBuffer;
+  private final int mMask;
+  /** Number of slots claimed by producers. */
+  private final AtomicLong mWriteCount = new AtomicLong();
+  /** Number of slots consumed, only updated by the draining thread. */
+  private volatile long mReadCount;
+
+  /**
+   * @param capacity the capacity of the buffer, must be a power of two
+   */
+  RingBuffer(int capacity) {
+    mBuffer = new AtomicReferenceArray<>(capacity);
+    mMask = capacity - 1;
+  }
+
+  /**
+   * Records an event if there is room for it.
+   *
+   * @param event the event
+   * @return the number of pending events after the offer, or -1 if the event is dropped
+   */
+  int offer(E event) {
+    long write = mWriteCount.get();
+    long pending = write - mReadCount;
+    if (pending >= mBuffer.length() || !mWriteCount.compareAndSet(write, write + 1)) {
+      return -1;
+    }
+    mBuffer.lazySet((int) write & mMask, event);
+    return (int) pending + 1;
+  }
+
+  /**
+   * Consumes the pending events. Must not be called by more than one thread at a time.
+   *
+   * @param consumer the consumer of the events
+   */
+  void drainTo(Consumer<E> consumer) {
+    long read = mReadCount;
+    long write = mWriteCount.get();
+    for (; read < write; read++) {
+      int index = (int) read & mMask;
+      E event = mBuffer.get(index);
+      if (event == null) {
+        // the producer claimed the slot but has not published the event yet
+        break;
+      }
+      mBuffer.lazySet(index, null);
+      consumer.accept(event);
+    }
+    mReadCount = read;
+  }
+}
@@ -0,0 +1,222 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.filter.FrequencySketch;
+import alluxio.resource.LockResource;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Scan-resistant W-TinyLFU client-side cache eviction policy.
+ * <p>
+ * New pages enter a small LRU window, and pages leaving the window move to the probation
+ * segment of a segmented LRU. Pages accessed again while in probation are promoted to the
+ * protected segment, which takes most of the cache. To make room, the least recently used page
+ * of the window competes with the least recently used page of the main segments, and the one
+ * accessed less often according to a {@link FrequencySketch} is evicted. A scan therefore only
+ * displaces pages in the window and the least valuable pages in probation.
+ * <p>
+ * Accesses on the read path are recorded in striped lock-free {@link RingBuffer}s and replayed
+ * in batches by whichever thread acquires the lock, so readers never wait for one another.
+ */
+@ThreadSafe
+public class WindowTinyLFUCacheEvictor implements CacheEvictor {
+  private static final double WINDOW_RATIO = 0.01;
+  private static final double PROTECTED_RATIO = 0.8;
+  private static final int BUFFER_SIZE = 16;
+  private static final int DRAIN_THRESHOLD = BUFFER_SIZE / 2;
+  private static final int INITIAL_SKETCH_SIZE = 1024;
+
+  private final RingBuffer<PageId>[] mReadBuffers;
+  private final int mReadBufferMask;
+  private final ReentrantLock mLock = new ReentrantLock();
+  private final FrequencySketch mSketch = new FrequencySketch(INITIAL_SKETCH_SIZE);
+  @GuardedBy("mLock")
+  private final Map<PageId, Segment> mSegments = new HashMap<>();
+  @GuardedBy("mLock")
+  private final LinkedHashSet<PageId> mWindow = new LinkedHashSet<>();
+  @GuardedBy("mLock")
+  private final LinkedHashSet<PageId> mProbation = new LinkedHashSet<>();
+  @GuardedBy("mLock")
+  private final LinkedHashSet<PageId> mProtected = new LinkedHashSet<>();
+
+  private enum Segment {
+    WINDOW,
+    PROBATION,
+    PROTECTED,
+  }
+
+  /**
+   * Constructor.
+   * @param options
+   */
+  @SuppressWarnings("unchecked")
+  public WindowTinyLFUCacheEvictor(CacheEvictorOptions options) {
+    int buffers = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+    mReadBuffers = new RingBuffer[buffers];
+    for (int i = 0; i < buffers; i++) {
+      mReadBuffers[i] = new RingBuffer<>(BUFFER_SIZE);
+    }
+    mReadBufferMask = buffers - 1;
+  }
+
+  @Override
+  public void updateOnGet(PageId pageId) {
+    long threadId = Thread.currentThread().getId();
+    int index = (int) (threadId ^ (threadId >>> 16)) & mReadBufferMask;
+    int pending = mReadBuffers[index].offer(pageId);
+    if ((pending < 0 || pending >= DRAIN_THRESHOLD) && mLock.tryLock()) {
+      try {
+        drainReadBuffers();
+      } finally {
+        mLock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public void updateOnPut(PageId pageId) {
+    try (LockResource r = new LockResource(mLock)) {
+      drainReadBuffers();
+      if (mSegments.containsKey(pageId)) {
+        onAccess(pageId);
+        return;
+      }
+      mSketch.increment(pageId.hashCode());
+      mSegments.put(pageId, Segment.WINDOW);
+      mWindow.add(pageId);
+      mSketch.ensureCapacity(mSegments.size());
+      int windowSize = Math.max(1, (int) (mSegments.size() * WINDOW_RATIO));
+      Iterator<PageId> iterator = mWindow.iterator();
+      while (mWindow.size() > windowSize) {
+        PageId candidate = iterator.next();
+        iterator.remove();
+        mProbation.add(candidate);
+        mSegments.put(candidate, Segment.PROBATION);
+      }
+    }
+  }
+
+  @Override
+  public void updateOnDelete(PageId pageId) {
+    try (LockResource r = new LockResource(mLock)) {
+      Segment segment = mSegments.remove(pageId);
+      if (segment != null) {
+        getQueue(segment).remove(pageId);
+      }
+    }
+  }
+
+  @Nullable
+  @Override
+  public PageId evict() {
+    try (LockResource r = new LockResource(mLock)) {
+      drainReadBuffers();
+      PageId candidate = first(mWindow);
+      PageId victim = mProbation.isEmpty() ? first(mProtected) : first(mProbation);
+      if (candidate == null || victim == null) {
+        return candidate == null ? victim : candidate;
+      }
+      // ties evict the new page, as a page seen as often as the victim is not worth a miss
+      return mSketch.frequency(candidate.hashCode()) > mSketch.frequency(victim.hashCode())
+          ? victim : candidate;
+    }
+  }
+
+  @Nullable
+  @Override
+  public PageId evictMatching(Predicate<PageId> criterion) {
+    try (LockResource r = new LockResource(mLock)) {
+      drainReadBuffers();
+      for (Segment segment : Segment.values()) {
+        for (PageId candidate : getQueue(segment)) {
+          if (criterion.test(candidate)) {
+            return candidate;
+          }
+        }
+      }
+      return null;
+    }
+  }
+
+  @Override
+  public void reset() {
+    try (LockResource r = new LockResource(mLock)) {
+      for (RingBuffer<PageId> buffer : mReadBuffers) {
+        buffer.drainTo(pageId -> { });
+      }
+      mSegments.clear();
+      mWindow.clear();
+      mProbation.clear();
+      mProtected.clear();
+    }
+  }
+
+  @GuardedBy("mLock")
+  private void drainReadBuffers() {
+    for (RingBuffer<PageId> buffer : mReadBuffers) {
+      buffer.drainTo(this::onAccess);
+    }
+  }
+
+  @GuardedBy("mLock")
+  private void onAccess(PageId pageId) {
+    mSketch.increment(pageId.hashCode());
+    Segment segment = mSegments.get(pageId);
+    if (segment == null) {
+      // deleted after the access was recorded
+      return;
+    }
+    LinkedHashSet<PageId> queue = getQueue(segment);
+    queue.remove(pageId);
+    if (segment != Segment.PROBATION) {
+      queue.add(pageId);
+      return;
+    }
+    mProtected.add(pageId);
+    mSegments.put(pageId, Segment.PROTECTED);
+    int mainSize = mProbation.size() + mProtected.size();
+    Iterator<PageId> iterator = mProtected.iterator();
+    while (mProtected.size() > Math.max(1, (int) (mainSize * PROTECTED_RATIO))) {
+      PageId demoted = iterator.next();
+      iterator.remove();
+      mProbation.add(demoted);
+      mSegments.put(demoted, Segment.PROBATION);
+    }
+  }
+
+  private LinkedHashSet<PageId> getQueue(Segment segment) {
+    switch (segment) {
+      case WINDOW:
+        return mWindow;
+      case PROBATION:
+        return mProbation;
+      default:
+        return mProtected;
+    }
+  }
+
+  @Nullable
+  private static PageId first(LinkedHashSet<PageId> queue) {
+    return queue.isEmpty() ? null : queue.iterator().next();
+  }
+}
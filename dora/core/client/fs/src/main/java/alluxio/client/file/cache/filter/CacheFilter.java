@@ -12,13 +12,15 @@
 package alluxio.client.file.cache.filter;
 
 import alluxio.client.file.URIStatus;
+import alluxio.client.file.cache.PageId;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.util.CommonUtils;
 
 /**
  * The Cache Filter interface which is used to determine
- * whether a particular file (URI) needs to be cached.
+ * whether a particular file (URI) needs to be cached,
+ * and whether a page is worth caching over the page it would evict.
  */
 public interface CacheFilter {
 
@@ -41,4 +43,20 @@ public interface CacheFilter {
    * @return whether uriStatus needs to be cached
    */
   boolean needsCache(URIStatus uriStatus);
+
+  /**
+   * Records an access to a page, whether it is cached or not.
+   * @param pageId the page accessed
+   */
+  default void onAccess(PageId pageId) {}
+
+  /**
+   * Whether a page should be cached when caching it requires evicting another page.
+   * @param candidate the page to be cached
+   * @param victim the page to be evicted to make room for the candidate
+   * @return whether the candidate should be cached
+   */
+  default boolean admit(PageId candidate, PageId victim) {
+    return true;
+  }
 }
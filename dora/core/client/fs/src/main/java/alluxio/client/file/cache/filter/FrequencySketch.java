@@ -0,0 +1,147 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A count-min sketch estimating how often items were seen recently, with 4-bit counters.
+ * <p>
+ * Every item maps to one counter in each of four rows, all sharing one table of longs
+ * holding 16 counters each, and its frequency is estimated by the smallest of them. Once
+ * the number of recorded accesses reaches the sample size, all counters are halved so that
+ * the estimates favor recent history.
+ */
+@ThreadSafe
+public final class FrequencySketch {
+  private static final long[] SEEDS = new long[] {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int MAX_COUNT = 15;
+  private static final int SAMPLE_SIZE_FACTOR = 10;
+
+  private volatile AtomicLongArray mTable;
+  private volatile int mSampleSize;
+  private final AtomicInteger mSize = new AtomicInteger();
+
+  /**
+   * @param expectedItems the number of items expected to be tracked at the same time
+   */
+  public FrequencySketch(long expectedItems) {
+    Preconditions.checkArgument(expectedItems > 0, "expectedItems should be positive");
+    allocate(expectedItems);
+  }
+
+  /**
+   * Grows the sketch if it is too small to track the given number of items, forgetting all
+   * frequencies recorded so far.
+   *
+   * @param expectedItems the number of items expected to be tracked at the same time
+   */
+  public synchronized void ensureCapacity(long expectedItems) {
+    if (tableSize(expectedItems) > mTable.length()) {
+      allocate(expectedItems);
+      mSize.set(0);
+    }
+  }
+
+  private void allocate(long expectedItems) {
+    int tableSize = tableSize(expectedItems);
+    mTable = new AtomicLongArray(tableSize);
+    mSampleSize = (int) Math.min((long) tableSize * SAMPLE_SIZE_FACTOR, Integer.MAX_VALUE);
+  }
+
+  private static int tableSize(long expectedItems) {
+    return Integer.highestOneBit((int) Math.min(Math.max(expectedItems, 16), 1 << 30) - 1) << 1;
+  }
+
+  /**
+   * @param hash the hash of the item
+   * @return the estimated number of times the item was seen, at most 15
+   */
+  public int frequency(long hash) {
+    AtomicLongArray table = mTable;
+    int mask = table.length() - 1;
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < SEEDS.length; i++) {
+      long h = rehash(hash, i);
+      frequency = Math.min(frequency, (int) ((table.get((int) h & mask) >>> offset(h)) & 0xfL));
+    }
+    return frequency;
+  }
+
+  /**
+   * Records an access to the item, halving all counters every sample size accesses.
+   *
+   * @param hash the hash of the item
+   */
+  public void increment(long hash) {
+    AtomicLongArray table = mTable;
+    int mask = table.length() - 1;
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      long h = rehash(hash, i);
+      added |= incrementAt(table, (int) h & mask, offset(h));
+    }
+    if (added && mSize.incrementAndGet() >= mSampleSize) {
+      reset();
+    }
+  }
+
+  /**
+   * @return the sample size after which counters are halved
+   */
+  public int getSampleSize() {
+    return mSampleSize;
+  }
+
+  private static boolean incrementAt(AtomicLongArray table, int index, int offset) {
+    long mask = 0xfL << offset;
+    while (true) {
+      long value = table.get(index);
+      if ((value & mask) == mask) {
+        return false;
+      }
+      if (table.compareAndSet(index, value, value + (1L << offset))) {
+        return true;
+      }
+    }
+  }
+
+  private synchronized void reset() {
+    if (mSize.get() < mSampleSize) {
+      // halved by another thread
+      return;
+    }
+    AtomicLongArray table = mTable;
+    for (int i = 0; i < table.length(); i++) {
+      long value;
+      do {
+        value = table.get(i);
+      } while (!table.compareAndSet(i, value, (value >>> 1) & RESET_MASK));
+    }
+    mSize.updateAndGet(size -> size / 2);
+  }
+
+  private static int offset(long h) {
+    return (int) (h >>> 60) << 2;
+  }
+
+  private static long rehash(long hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    return h ^ (h >>> 29);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import alluxio.client.file.URIStatus;
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.FormatUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A TinyLFU cache filter, caching every file but only admitting a page into a full cache
+ * if it was accessed more often recently than the page it would evict. A one-off scan
+ * therefore can't flush the frequently accessed pages out of the cache.
+ * <p>
+ * Access frequencies are estimated by a {@link FrequencySketch} sized by the number of pages
+ * the cache holds.
+ */
+@ThreadSafe
+public class TinyLfuCacheFilter implements CacheFilter {
+  private final FrequencySketch mSketch;
+
+  /**
+   * @param conf the Alluxio Configuration
+   * @param cacheConfigFile the cache config file, not used by this filter
+   */
+  public TinyLfuCacheFilter(AlluxioConfiguration conf, String cacheConfigFile) {
+    this(getMaxPages(conf));
+  }
+
+  /**
+   * @param maxPages the number of pages the cache holds
+   */
+  @VisibleForTesting
+  public TinyLfuCacheFilter(long maxPages) {
+    mSketch = new FrequencySketch(maxPages);
+  }
+
+  @Override
+  public boolean needsCache(URIStatus uriStatus) {
+    return true;
+  }
+
+  @Override
+  public void onAccess(PageId pageId) {
+    mSketch.increment(hash(pageId));
+  }
+
+  @Override
+  public boolean admit(PageId candidate, PageId victim) {
+    return mSketch.frequency(hash(candidate)) > mSketch.frequency(hash(victim));
+  }
+
+  /**
+   * @param pageId the page
+   * @return the estimated number of recent accesses to the page
+   */
+  @VisibleForTesting
+  int frequency(PageId pageId) {
+    return mSketch.frequency(hash(pageId));
+  }
+
+  private static long hash(PageId pageId) {
+    return pageId.getFileId().hashCode() * 0x9e3779b97f4a7c15L + pageId.getPageIndex();
+  }
+
+  private static long getMaxPages(AlluxioConfiguration conf) {
+    long cacheSize = conf.getList(PropertyKey.USER_CLIENT_CACHE_SIZE).stream()
+        .mapToLong(FormatUtils::parseSpaceSize).sum();
+    return Math.max(1, cacheSize / conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE));
+  }
+}
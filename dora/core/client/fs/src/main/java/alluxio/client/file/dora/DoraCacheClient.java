@@ -32,6 +32,7 @@ import alluxio.grpc.ListStatusPRequest;
 import alluxio.grpc.ReadRequest;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.resource.CloseableResource;
+import alluxio.trace.ReadTracer;
 import alluxio.wire.WorkerNetAddress;
 
 import java.io.IOException;
@@ -50,6 +51,7 @@ public class DoraCacheClient {
   private final WorkerLocationPolicy mWorkerLocationPolicy;
 
   private final boolean mNettyTransEnabled;
+  private final double mTraceSampleRatio;
 
   /**
    * Constructor.
@@ -64,6 +66,8 @@ public class DoraCacheClient {
         PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES);
     mNettyTransEnabled =
         context.getClusterConf().getBoolean(PropertyKey.USER_NETTY_DATA_TRANSMISSION_ENABLED);
+    mTraceSampleRatio =
+        context.getClusterConf().getDouble(PropertyKey.USER_READ_TRACE_SAMPLE_RATIO);
   }
 
   /**
@@ -75,14 +79,10 @@ public class DoraCacheClient {
    */
   public PositionReadFileInStream getInStream(URIStatus status,
       Protocol.OpenUfsBlockOptions ufsOptions) {
-    WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.getPath());
-    // Construct the partial read request
-    NettyDataReader reader;
-    if (mNettyTransEnabled) {
-      reader = createNettyDataReader(workerNetAddress, ufsOptions);
-    } else {
+    if (!mNettyTransEnabled) {
       throw new UnsupportedOperationException("Grpc dora reader not implemented");
     }
+    NettyDataReader reader = createNettyDataReader(status, ufsOptions);
     return new PositionReadFileInStream(reader, status.getLength());
   }
 
@@ -99,9 +99,7 @@ public class DoraCacheClient {
   public DoraCachePositionReader createNettyPositionReader(URIStatus status,
       Protocol.OpenUfsBlockOptions ufsOptions,
       CloseableSupplier<PositionReader> externalPositionReader) {
-    WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.getPath());
-    // Construct the partial read request
-    NettyDataReader reader = createNettyDataReader(workerNetAddress, ufsOptions);
+    NettyDataReader reader = createNettyDataReader(status, ufsOptions);
     return new DoraCachePositionReader(reader, status.getLength(), externalPositionReader);
   }
 
@@ -115,14 +113,22 @@ public class DoraCacheClient {
     return new GrpcDataReader.Factory(mContext, workerNetAddress, builder);
   }
 
-  private NettyDataReader createNettyDataReader(
-      WorkerNetAddress workerNetAddress,
+  /**
+   * Looks up the worker of a file and creates a reader from it. If the lookup is sampled, the
+   * first read of the reader is traced too, so that the lookup is recorded in its trace.
+   */
+  private NettyDataReader createNettyDataReader(URIStatus status,
       Protocol.OpenUfsBlockOptions ufsOptions) {
+    boolean sampled = ReadTracer.sample(mTraceSampleRatio);
+    long startNs = System.nanoTime();
+    WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.getPath());
+    long ringLookupNs = sampled ? System.nanoTime() - startNs : NettyDataReader.NOT_SAMPLED;
+    // Construct the partial read request
     Protocol.ReadRequest.Builder builder = Protocol.ReadRequest.newBuilder()
         .setBlockId(DUMMY_BLOCK_ID)
         .setOpenUfsBlockOptions(ufsOptions)
         .setChunkSize(mChunkSize);
-    return new NettyDataReader(mContext, workerNetAddress, builder);
+    return new NettyDataReader(mContext, workerNetAddress, builder, ringLookupNs);
   }
 
   /**
@@ -13,20 +13,31 @@ package alluxio.client.file.dora.netty;
 
 import alluxio.PositionReader;
 import alluxio.client.file.FileSystemContext;
+import alluxio.conf.PropertyKey;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.proto.dataserver.Protocol;
+import alluxio.trace.ReadStage;
+import alluxio.trace.ReadTrace;
+import alluxio.trace.ReadTracer;
 import alluxio.wire.WorkerNetAddress;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 /**
  * Positioned Netty data reader.
  */
 public class NettyDataReader implements PositionReader {
+  /** The ring lookup time of a reader whose first read is not sampled by the lookup. */
+  public static final long NOT_SAMPLED = -1;
+
   private final FileSystemContext mContext;
   private final WorkerNetAddress mAddress;
   private final Supplier<Protocol.ReadRequest.Builder> mRequestBuilder;
+  private final double mTraceSampleRatio;
+  /** The ring lookup time to record in the trace of the first read, until it is taken. */
+  private final AtomicLong mRingLookupNs;
 
   /**
    * Constructor.
@@ -37,10 +48,27 @@ public class NettyDataReader implements PositionReader {
    */
   public NettyDataReader(FileSystemContext context, WorkerNetAddress address,
       Protocol.ReadRequest.Builder requestBuilder) {
+    this(context, address, requestBuilder, NOT_SAMPLED);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param context
+   * @param address
+   * @param requestBuilder
+   * @param ringLookupNs the time taken to look up the worker of this reader if the lookup was
+   *        sampled, in which case the first read is traced with it, or {@link #NOT_SAMPLED}
+   */
+  public NettyDataReader(FileSystemContext context, WorkerNetAddress address,
+      Protocol.ReadRequest.Builder requestBuilder, long ringLookupNs) {
     mContext = context;
     mAddress = address;
     // clone the builder so that the initial values does not get overridden
     mRequestBuilder = requestBuilder::clone;
+    mTraceSampleRatio =
+        context.getClusterConf().getDouble(PropertyKey.USER_READ_TRACE_SAMPLE_RATIO);
+    mRingLookupNs = new AtomicLong(ringLookupNs);
   }
 
   @Override
@@ -49,9 +77,27 @@ public class NettyDataReader implements PositionReader {
         .setLength(length)
         .setOffset(position)
         .clearCancel();
+    long ringLookupNs =
+        mRingLookupNs.get() == NOT_SAMPLED ? NOT_SAMPLED : mRingLookupNs.getAndSet(NOT_SAMPLED);
+    ReadTrace trace = null;
+    if (ringLookupNs != NOT_SAMPLED || ReadTracer.sample(mTraceSampleRatio)) {
+      trace = ReadTracer.client().start(ReadTracer.newTraceId(),
+          String.format("%s@%d+%d from %s", builder.getOpenUfsBlockOptions().getUfsPath(),
+              position, length, mAddress.getHost()));
+      if (ringLookupNs != NOT_SAMPLED) {
+        trace.record(ReadStage.RING_LOOKUP, ringLookupNs);
+      }
+      builder.setTraceId(trace.getTraceId());
+    }
     NettyDataReaderStateMachine clientStateMachine =
-        new NettyDataReaderStateMachine(mContext, mAddress, builder, buffer);
-    clientStateMachine.run();
+        new NettyDataReaderStateMachine(mContext, mAddress, builder, buffer, trace);
+    try {
+      clientStateMachine.run();
+    } finally {
+      if (trace != null) {
+        ReadTracer.client().finish(trace);
+      }
+    }
     int bytesRead = clientStateMachine.getBytesRead();
     PartialReadException exception = clientStateMachine.getException();
     if (exception != null) {
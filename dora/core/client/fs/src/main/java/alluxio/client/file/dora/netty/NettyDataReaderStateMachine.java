@@ -25,6 +25,8 @@ import alluxio.file.ReadTargetBuffer;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.proto.dataserver.Protocol;
+import alluxio.trace.ReadStage;
+import alluxio.trace.ReadTrace;
 import alluxio.util.CommonUtils;
 import alluxio.util.network.NettyUtils;
 import alluxio.util.proto.ProtoMessage;
@@ -91,6 +93,10 @@ public class NettyDataReaderStateMachine {
   private Throwable mLastException;
   @Nullable
   private TriggerEvent mLastExceptionTrigger;
+  @Nullable
+  private final ReadTrace mTrace;
+  private long mRequestSentNs;
+  private long mFirstDataNs;
 
   enum State {
     CREATED,
@@ -179,7 +185,26 @@ public class NettyDataReaderStateMachine {
       WorkerNetAddress address,
       Protocol.ReadRequest.Builder requestBuilder,
       ReadTargetBuffer buffer) {
+    this(context, address, requestBuilder, buffer, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param context
+   * @param address
+   * @param requestBuilder
+   * @param buffer
+   * @param trace the trace to record the stages of the request to, or null if not sampled
+   */
+  public NettyDataReaderStateMachine(
+      FileSystemContext context,
+      WorkerNetAddress address,
+      Protocol.ReadRequest.Builder requestBuilder,
+      ReadTargetBuffer buffer,
+      @Nullable ReadTrace trace) {
     mContext = context;
+    mTrace = trace;
     AlluxioConfiguration conf = context.getClusterConf();
     mReadTimeoutMs = conf.getMs(PropertyKey.USER_NETWORK_NETTY_TIMEOUT_MS);
     mMaxPacketsInFlight = conf.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS);
@@ -378,6 +403,7 @@ public class NettyDataReaderStateMachine {
   }
 
   void acquireNettyChannel() {
+    long startNs = System.nanoTime();
     try {
       mChannel = mContext.acquireNettyChannel(mAddress);
       mChannel.pipeline().addLast(new PacketReadHandler(mResponseEventQueue, mMaxPacketsInFlight));
@@ -385,12 +411,16 @@ public class NettyDataReaderStateMachine {
       fireNext(mTriggerEventsWithParam.mChannelUnavailableEvent, ioe);
       return;
     }
+    if (mTrace != null) {
+      mTrace.record(ReadStage.CHANNEL_ACQUIRE, System.nanoTime() - startNs);
+    }
     fireNext(TriggerEvent.CHANNEL_AVAILABLE);
   }
 
   void sendRequest() {
     Preconditions.checkNotNull(mChannel, "channel has not been acquired");
     Protocol.ReadRequest readRequest = mRequestBuilder.get().clearCancel().build();
+    mRequestSentNs = System.nanoTime();
     mChannel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(readRequest)))
         .addListener((ChannelFutureListener) future -> {
           if (!future.isSuccess()) {
@@ -428,6 +458,10 @@ public class NettyDataReaderStateMachine {
 
   void onReceivedData(ByteBuf buf, Transition<State, TriggerEvent> transition) {
     Preconditions.checkState(TriggerEvent.DATA_AVAILABLE == transition.getTrigger());
+    if (mTrace != null && mFirstDataNs == 0) {
+      mFirstDataNs = System.nanoTime();
+      mTrace.record(ReadStage.FIRST_BYTE, mFirstDataNs - mRequestSentNs);
+    }
     int bytesToWrite = buf.readableBytes();
     try {
       mOutputBuffer.writeBytes(buf);
@@ -512,6 +546,9 @@ public class NettyDataReaderStateMachine {
 
   void onTerminatedNormally(Transition<State, TriggerEvent> transition) {
     Preconditions.checkNotNull(mChannel, "terminated normally but channel is null");
+    if (mTrace != null && mFirstDataNs != 0) {
+      mTrace.record(ReadStage.TRANSFER, System.nanoTime() - mFirstDataNs);
+    }
     if (mChannel.isOpen()) {
       mChannel.pipeline().removeLast();
       NettyUtils.enableAutoRead(mChannel);
@@ -112,6 +112,22 @@ public class MetadataCacheTest {
     assertNotContain(FILE);
   }
 
+  @Test
+  public void expirePerPath() throws Exception {
+    // paths under /dir1 expire after 1ms, paths under /dir1/dir2 never expire.
+    mCache = new MetadataCache(100, Long.MAX_VALUE, MetadataCache.parsePathExpirationTimes(
+        Arrays.asList("/dir1=1ms", "/dir1/dir2=1day")), null);
+
+    mCache.put(FILE, FILE_STATUS);
+    mCache.put(DIR1_FILE, DIR1_FILE_STATUS);
+    mCache.put(DIR1_DIR2_FILE, DIR1_DIR2_FILE_STATUS);
+
+    Thread.sleep(2);
+    assertContain(FILE);
+    assertNotContain(DIR1_FILE);
+    assertContain(DIR1_DIR2_FILE);
+  }
+
   @Test
   public void evict() {
     // cache capacity is 1, evict the first cached item when the second is written.
@@ -0,0 +1,172 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.grpc.FileInfo;
+import alluxio.grpc.GrpcUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RocksMetadataCacheStoreTest {
+  private static final String DIR = "/dir";
+  private static final URIStatus DIR_STATUS = status(DIR, true, 0);
+  private static final URIStatus FILE_STATUS = status("/dir/file", false, 1024);
+  private static final URIStatus DIR2_STATUS = status("/dir/dir2", true, 0);
+  private static final long NOW = 1000;
+  private static final long EXPIRATION = 2000;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private RocksMetadataCacheStore mStore;
+
+  @Before
+  public void before() {
+    mStore = RocksMetadataCacheStore.open(mTemp.getRoot().getAbsolutePath(), 1024 * 1024);
+  }
+
+  @After
+  public void after() {
+    mStore.close();
+  }
+
+  @Test
+  public void putAndGet() {
+    assertNull(mStore.get(DIR, NOW));
+    mStore.put(DIR, DIR_STATUS, EXPIRATION);
+    assertEquals(DIR_STATUS, mStore.get(DIR, NOW));
+
+    assertNull(mStore.listStatus(DIR, NOW));
+    List<URIStatus> children = Arrays.asList(FILE_STATUS, DIR2_STATUS);
+    mStore.put(DIR, children, EXPIRATION);
+    assertEquals(children, mStore.listStatus(DIR, NOW));
+    assertEquals(DIR_STATUS, mStore.get(DIR, NOW));
+  }
+
+  @Test
+  public void expire() {
+    mStore.put(DIR, DIR_STATUS, EXPIRATION);
+    mStore.put(DIR, Arrays.asList(FILE_STATUS), EXPIRATION);
+    assertNull(mStore.get(DIR, EXPIRATION));
+    assertNull(mStore.listStatus(DIR, EXPIRATION));
+  }
+
+  @Test
+  public void invalidate() {
+    mStore.put(DIR, DIR_STATUS, EXPIRATION);
+    mStore.put(DIR, Arrays.asList(FILE_STATUS), EXPIRATION);
+    mStore.put(FILE_STATUS.getPath(), FILE_STATUS, EXPIRATION);
+    mStore.invalidate(DIR);
+    assertNull(mStore.get(DIR, NOW));
+    assertNull(mStore.listStatus(DIR, NOW));
+    assertNotNull(mStore.get(FILE_STATUS.getPath(), NOW));
+
+    mStore.invalidateAll();
+    assertNull(mStore.get(FILE_STATUS.getPath(), NOW));
+  }
+
+  @Test
+  public void reopen() {
+    mStore.put(DIR, DIR_STATUS, EXPIRATION);
+    mStore.put(DIR, Arrays.asList(FILE_STATUS, DIR2_STATUS), EXPIRATION);
+    mStore.close();
+    mStore = RocksMetadataCacheStore.open(mTemp.getRoot().getAbsolutePath(), 1024 * 1024);
+    assertEquals(DIR_STATUS, mStore.get(DIR, NOW));
+    assertEquals(Arrays.asList(FILE_STATUS, DIR2_STATUS), mStore.listStatus(DIR, NOW));
+  }
+
+  @Test
+  public void sharedInProcess() {
+    // a second client opening the same directory shares the store instead of failing on the lock
+    RocksMetadataCacheStore other =
+        RocksMetadataCacheStore.open(mTemp.getRoot().getAbsolutePath(), 1024 * 1024);
+    assertSame(mStore, other);
+    mStore.put(DIR, DIR_STATUS, EXPIRATION);
+    other.close();
+    assertEquals(DIR_STATUS, mStore.get(DIR, NOW));
+  }
+
+  @Test
+  public void lockedByOtherStore() {
+    // a separate store in the same directory, like one of another process, can't take the lock
+    assertNull(RocksMetadataCacheStore.create(mTemp.getRoot().getAbsolutePath(), 1024 * 1024));
+    mStore.put(DIR, DIR_STATUS, EXPIRATION);
+    assertEquals(DIR_STATUS, mStore.get(DIR, NOW));
+  }
+
+  @Test
+  public void lockedByOtherProcess() throws Exception {
+    mStore.close();
+    String dir = mTemp.newFolder().getAbsolutePath();
+    try (Options options = new Options().setCreateIfMissing(true);
+         RocksDB db = RocksDB.open(options, dir)) {
+      assertNull(RocksMetadataCacheStore.open(dir, 1024 * 1024));
+    }
+    mStore = RocksMetadataCacheStore.open(dir, 1024 * 1024);
+    assertNotNull(mStore);
+  }
+
+  @Test
+  public void overwrite() {
+    mStore.put(DIR, DIR_STATUS, EXPIRATION);
+    long size = mStore.getSizeBytes();
+    for (int i = 0; i < 100; i++) {
+      mStore.put(DIR, DIR_STATUS, EXPIRATION);
+    }
+    assertEquals(size, mStore.getSizeBytes());
+  }
+
+  @Test
+  public void boundedSize() {
+    mStore.close();
+    long capacity = 64 * 1024;
+    mStore = RocksMetadataCacheStore.open(mTemp.getRoot().getAbsolutePath(), capacity);
+    mStore.put(DIR, DIR_STATUS, Long.MAX_VALUE);
+    for (int i = 0; i < 10000; i++) {
+      String path = "/dir/file" + i;
+      mStore.put(path, status(path, false, i), Long.MAX_VALUE);
+      // keeps reading the directory so that it survives dropping old entries
+      assertEquals(DIR_STATUS, mStore.get(DIR, NOW));
+      assertTrue(mStore.getSizeBytes() <= capacity);
+    }
+    assertNull(mStore.get("/dir/file0", NOW));
+    assertNotNull(mStore.get("/dir/file9999", NOW));
+  }
+
+  @Test
+  public void incompleteStatus() {
+    // a status not converted from a proto is not persisted
+    mStore.put(DIR, new URIStatus(new alluxio.wire.FileInfo().setPath(DIR)), EXPIRATION);
+    assertNull(mStore.get(DIR, NOW));
+  }
+
+  private static URIStatus status(String path, boolean folder, long length) {
+    return new URIStatus(GrpcUtils.fromProto(FileInfo.newBuilder()
+        .setPath(path).setName(path.substring(path.lastIndexOf('/') + 1))
+        .setFolder(folder).setLength(length).setCompleted(true).build()));
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.file;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.UnevictableCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Gauge;
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Tests for the {@link CompactPageMetaStore} class.
+ */
+public class CompactPageMetaStoreTest {
+  private final PageId mPage = new PageId("1L", 2L);
+  private PageStoreDir mPageStoreDir;
+  private PageInfo mPageInfo;
+  private CompactPageMetaStore mMetaStore;
+  private Gauge mCachedPageGauge;
+
+  @Rule
+  public TemporaryFolder mTempFolder = new TemporaryFolder();
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+    mPageStoreDir =
+        PageStoreDir.createPageStoreDir(
+            new CacheEvictorOptions().setEvictorClass(UnevictableCacheEvictor.class),
+            new PageStoreOptions().setRootDir(
+                Paths.get(mTempFolder.getRoot().getAbsolutePath())));
+    mPageInfo = new PageInfo(mPage, 1024, mPageStoreDir);
+    mMetaStore = new CompactPageMetaStore(ImmutableList.of(mPageStoreDir));
+    mCachedPageGauge =
+        MetricsSystem.METRIC_REGISTRY.getGauges().get(MetricKey.CLIENT_CACHE_PAGES.getName());
+  }
+
+  @Test
+  public void addNew() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    assertTrue(mMetaStore.hasPage(mPage));
+    assertEquals(mPageInfo, mMetaStore.getPageInfo(mPage));
+    assertEquals(1L, mCachedPageGauge.getValue());
+    assertEquals(1024, mMetaStore.bytes());
+  }
+
+  @Test
+  public void addExist() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.addPage(mPage, mPageInfo);
+    assertTrue(mMetaStore.hasPage(mPage));
+    assertEquals(1L, mCachedPageGauge.getValue());
+    assertEquals(1024, mMetaStore.bytes());
+  }
+
+  @Test
+  public void removeExist() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    assertEquals(mPageInfo, mMetaStore.removePage(mPage));
+    assertFalse(mMetaStore.hasPage(mPage));
+    assertEquals(0L, mCachedPageGauge.getValue());
+    assertEquals(0, mMetaStore.bytes());
+  }
+
+  @Test
+  public void removeNotExist() {
+    assertThrows(PageNotFoundException.class, () -> mMetaStore.removePage(mPage));
+    assertThrows(PageNotFoundException.class, () -> mMetaStore.getPageInfo(mPage));
+  }
+
+  @Test
+  public void evictClock() throws Exception {
+    PageId page0 = new PageId("0", 0);
+    PageId page1 = new PageId("0", 1);
+    PageId page2 = new PageId("0", 2);
+    mMetaStore.addPage(page0, new PageInfo(page0, 1, mPageStoreDir));
+    mMetaStore.addPage(page1, new PageInfo(page1, 1, mPageStoreDir));
+    mMetaStore.addPage(page2, new PageInfo(page2, 1, mPageStoreDir));
+    assertEquals(page0, mMetaStore.evict(mPageStoreDir).getPageId());
+    // a referenced page gets a second chance
+    mMetaStore.getPageInfo(page0);
+    assertEquals(page1, mMetaStore.evict(mPageStoreDir).getPageId());
+    mMetaStore.removePage(page1);
+    assertEquals(page2, mMetaStore.evict(mPageStoreDir).getPageId());
+    mMetaStore.removePage(page2);
+    assertEquals(page0, mMetaStore.evict(mPageStoreDir).getPageId());
+    mMetaStore.removePage(page0);
+    assertNull(mMetaStore.evict(mPageStoreDir));
+  }
+
+  @Test
+  public void commitFile() throws Exception {
+    PageId tempPage = new PageId("temp", 0);
+    mMetaStore.addTempPage(tempPage, new PageInfo(tempPage, 1, mPageStoreDir));
+    // temporary pages are not evictable
+    assertNull(mMetaStore.evict(mPageStoreDir));
+    mMetaStore.commitFile("temp", "committed");
+    assertFalse(mMetaStore.hasPage(tempPage));
+    PageId committedPage = new PageId("committed", 0);
+    assertTrue(mMetaStore.hasPage(committedPage));
+    assertEquals(committedPage, mMetaStore.evict(mPageStoreDir).getPageId());
+    assertThrows(PageNotFoundException.class, () -> mMetaStore.commitFile("temp", "other"));
+  }
+
+  @Test
+  public void commitFileToExistingFile() throws Exception {
+    PageId existingPage = new PageId("committed", 0);
+    mMetaStore.addPage(existingPage, new PageInfo(existingPage, 1, mPageStoreDir));
+    PageId tempPage = new PageId("temp", 1);
+    mMetaStore.addTempPage(tempPage, new PageInfo(tempPage, 2, mPageStoreDir));
+    mMetaStore.commitFile("temp", "committed");
+    assertTrue(mMetaStore.hasPage(existingPage));
+    assertTrue(mMetaStore.hasPage(new PageId("committed", 1)));
+    assertEquals(Optional.of(3L), mMetaStore.getUsage()
+        .flatMap(usage -> usage.partitionedBy(file("committed")))
+        .map(CacheUsage::used));
+  }
+
+  @Test
+  public void fileCacheUsage() {
+    for (int i = 0; i < 5; i++) {
+      PageId page = new PageId("1", i);
+      mMetaStore.addPage(page, new PageInfo(page, Constants.KB, mPageStoreDir));
+    }
+    assertEquals(Optional.of((long) Constants.KB * 5), mMetaStore.getUsage()
+        .flatMap(usage -> usage.partitionedBy(file("1")))
+        .map(CacheUsage::used));
+    assertEquals(Optional.of(0L), mMetaStore.getUsage()
+        .flatMap(usage -> usage.partitionedBy(file("2")))
+        .map(CacheUsage::used));
+  }
+
+  @Test
+  public void manyPages() throws Exception {
+    int numFiles = 50;
+    int pagesPerFile = 200;
+    for (int f = 0; f < numFiles; f++) {
+      for (int i = 0; i < pagesPerFile; i++) {
+        PageId page = new PageId(Integer.toString(f), i);
+        mMetaStore.addPage(page, new PageInfo(page, 1, mPageStoreDir));
+      }
+    }
+    assertEquals(numFiles * pagesPerFile, mMetaStore.numPages());
+    Random random = new Random(0);
+    int removed = 0;
+    for (int f = 0; f < numFiles; f++) {
+      for (int i = 0; i < pagesPerFile; i++) {
+        if (random.nextBoolean()) {
+          mMetaStore.removePage(new PageId(Integer.toString(f), i));
+          removed++;
+        }
+      }
+    }
+    random = new Random(0);
+    for (int f = 0; f < numFiles; f++) {
+      for (int i = 0; i < pagesPerFile; i++) {
+        assertEquals(!random.nextBoolean(),
+            mMetaStore.hasPage(new PageId(Integer.toString(f), i)));
+      }
+    }
+    assertEquals(numFiles * pagesPerFile - removed, mMetaStore.numPages());
+    assertEquals(numFiles * pagesPerFile - removed, mMetaStore.bytes());
+  }
+
+  @Test
+  public void reset() {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.reset();
+    assertFalse(mMetaStore.hasPage(mPage));
+    assertEquals(0, mMetaStore.numPages());
+    assertEquals(0, mMetaStore.bytes());
+    assertNull(mMetaStore.evict(mPageStoreDir));
+  }
+}
@@ -25,6 +25,7 @@ import alluxio.client.file.cache.evictor.CacheEvictor;
 import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
 import alluxio.client.file.cache.evictor.LRUCacheEvictor;
 import alluxio.client.file.cache.evictor.UnevictableCacheEvictor;
+import alluxio.client.file.cache.filter.TinyLfuCacheFilter;
 import alluxio.client.file.cache.store.LocalPageStore;
 import alluxio.client.file.cache.store.LocalPageStoreDir;
 import alluxio.client.file.cache.store.PageStoreDir;
@@ -238,6 +239,29 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(PAGE2, mBuf);
   }
 
+  @Test
+  public void putEvictRejectedByFilter() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, String.valueOf(PAGE_SIZE_BYTES));
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_FILTER_CLASS, TinyLfuCacheFilter.class.getName());
+    mCacheManager = createLocalCacheManager();
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    // a page accessed less often than the cached one is not worth evicting it
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertFalse(mCacheManager.put(PAGE_ID2, PAGE2));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    // once accessed more often, the page is cached
+    for (int i = 0; i < 3; i++) {
+      assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    }
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    assertEquals(0, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+  }
+
   @Test
   public void putSmallPages() throws Exception {
     // Cache size is only one full page, but should be able to store multiple small pages
@@ -1090,6 +1114,24 @@ public final class LocalCacheManagerTest {
             0).get(0));
   }
 
+  @Test
+  public void listPageIdsInRange() throws Exception {
+    mCacheManager = createLocalCacheManager();
+    String fileId = PAGE_ID1.getFileId();
+    for (long pageIndex : new long[] {0, 5, 6}) {
+      mCacheManager.put(new PageId(fileId, pageIndex), PAGE1);
+    }
+    assertEquals(ImmutableList.of(new PageId(fileId, 5), new PageId(fileId, 6)),
+        mCacheManager.getCachedPageIdsByFileId(fileId, 5 * PAGE_SIZE_BYTES + 1,
+            6 * PAGE_SIZE_BYTES + 1));
+    assertEquals(ImmutableList.of(new PageId(fileId, 5)),
+        mCacheManager.getCachedPageIdsByFileId(fileId, PAGE_SIZE_BYTES, 6 * PAGE_SIZE_BYTES));
+    assertEquals(0,
+        mCacheManager.getCachedPageIdsByFileId(fileId, PAGE_SIZE_BYTES, 5 * PAGE_SIZE_BYTES)
+            .size());
+    assertEquals(0, mCacheManager.getCachedPageIdsByFileId(fileId, 0, 0).size());
+  }
+
   /**
    * A PageStore where put can throw IOException on put or delete.
    */
@@ -0,0 +1,142 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.WindowTinyLFUCacheEvictor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for the {@link WindowTinyLFUCacheEvictor} class.
+ */
+public final class WindowTinyLFUCacheEvictorTest {
+  private WindowTinyLFUCacheEvictor mEvictor;
+  private final PageId mFirst = new PageId("1L", 2L);
+  private final PageId mSecond = new PageId("3L", 4L);
+  private final PageId mThird = new PageId("5L", 6L);
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    mEvictor = new WindowTinyLFUCacheEvictor(new CacheEvictorOptions());
+  }
+
+  @Test
+  public void evictEmpty() {
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void evictPutOrder() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    mEvictor.updateOnPut(mThird);
+    // the newest page is not accessed more often than the oldest one, so it is not admitted
+    Assert.assertEquals(mThird, mEvictor.evict());
+    mEvictor.updateOnDelete(mThird);
+    Assert.assertEquals(mFirst, mEvictor.evict());
+    mEvictor.updateOnDelete(mFirst);
+    Assert.assertEquals(mSecond, mEvictor.evict());
+    mEvictor.updateOnDelete(mSecond);
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void evictLessFrequent() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    mEvictor.updateOnGet(mFirst);
+    mEvictor.updateOnGet(mFirst);
+    mEvictor.updateOnPut(mThird);
+    // the first page is the least recently used but the most frequently used
+    Assert.assertNotEquals(mFirst, mEvictor.evict());
+  }
+
+  @Test
+  public void evictMatching() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    mEvictor.updateOnPut(mThird);
+    Assert.assertEquals(mSecond, mEvictor.evictMatching(mSecond::equals));
+    mEvictor.updateOnDelete(mSecond);
+    Assert.assertNull(mEvictor.evictMatching(mSecond::equals));
+  }
+
+  @Test
+  public void reset() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnGet(mFirst);
+    mEvictor.reset();
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void scanResistance() {
+    int capacity = 100;
+    Set<PageId> cached = new HashSet<>();
+    List<PageId> hotPages = new ArrayList<>();
+    for (int i = 0; i < capacity; i++) {
+      PageId page = new PageId("hot", i);
+      hotPages.add(page);
+      put(page, cached, capacity);
+    }
+    for (int round = 0; round < 3; round++) {
+      hotPages.forEach(mEvictor::updateOnGet);
+    }
+    for (int i = 0; i < capacity * 10; i++) {
+      put(new PageId("scan", i), cached, capacity);
+    }
+    long hotPagesCached = hotPages.stream().filter(cached::contains).count();
+    Assert.assertTrue("only " + hotPagesCached + " hot pages are cached after a scan",
+        hotPagesCached >= capacity * 0.9);
+  }
+
+  @Test
+  public void concurrentGet() throws Exception {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < 10000; j++) {
+          mEvictor.updateOnGet(j % 2 == 0 ? mFirst : mSecond);
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    PageId victim = mEvictor.evict();
+    Assert.assertTrue(mFirst.equals(victim) || mSecond.equals(victim));
+  }
+
+  private void put(PageId page, Set<PageId> cached, int capacity) {
+    if (cached.size() >= capacity) {
+      PageId victim = mEvictor.evict();
+      mEvictor.updateOnDelete(victim);
+      cached.remove(victim);
+    }
+    mEvictor.updateOnPut(page);
+    cached.add(page);
+  }
+}
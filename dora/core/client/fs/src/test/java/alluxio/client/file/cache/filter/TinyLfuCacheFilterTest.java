@@ -0,0 +1,73 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.PageId;
+
+import org.junit.Test;
+
+public final class TinyLfuCacheFilterTest {
+  private static final PageId PAGE_ID1 = new PageId("1L", 0L);
+  private static final PageId PAGE_ID2 = new PageId("1L", 1L);
+  private static final PageId PAGE_ID3 = new PageId("2L", 0L);
+
+  private final TinyLfuCacheFilter mFilter = new TinyLfuCacheFilter(1024);
+
+  @Test
+  public void frequency() {
+    assertEquals(0, mFilter.frequency(PAGE_ID1));
+    mFilter.onAccess(PAGE_ID1);
+    mFilter.onAccess(PAGE_ID1);
+    mFilter.onAccess(PAGE_ID2);
+    assertEquals(2, mFilter.frequency(PAGE_ID1));
+    assertEquals(1, mFilter.frequency(PAGE_ID2));
+    assertEquals(0, mFilter.frequency(PAGE_ID3));
+  }
+
+  @Test
+  public void saturate() {
+    for (int i = 0; i < 100; i++) {
+      mFilter.onAccess(PAGE_ID1);
+    }
+    assertEquals(15, mFilter.frequency(PAGE_ID1));
+  }
+
+  @Test
+  public void admit() {
+    mFilter.onAccess(PAGE_ID1);
+    mFilter.onAccess(PAGE_ID1);
+    mFilter.onAccess(PAGE_ID2);
+    assertFalse(mFilter.admit(PAGE_ID2, PAGE_ID1));
+    assertTrue(mFilter.admit(PAGE_ID1, PAGE_ID2));
+    // ties keep the cached page
+    mFilter.onAccess(PAGE_ID2);
+    assertFalse(mFilter.admit(PAGE_ID2, PAGE_ID1));
+  }
+
+  @Test
+  public void age() {
+    FrequencySketch sketch = new FrequencySketch(1024);
+    for (int i = 0; i < 8; i++) {
+      sketch.increment(1L);
+    }
+    assertEquals(8, sketch.frequency(1L));
+    // accesses to other items eventually halve the counters
+    for (long i = 2; i < sketch.getSampleSize(); i++) {
+      sketch.increment(i);
+    }
+    assertTrue(sketch.frequency(1L) <= 4);
+  }
+}
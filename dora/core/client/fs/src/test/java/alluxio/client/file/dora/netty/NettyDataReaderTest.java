@@ -29,10 +29,15 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.exception.status.UnknownException;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.RPCMessage;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.proto.dataserver.Protocol;
+import alluxio.trace.ReadStage;
 import alluxio.util.CommonUtils;
 import alluxio.util.WaitForOptions;
 import alluxio.util.proto.ProtoMessage;
@@ -221,6 +226,32 @@ public class NettyDataReaderTest {
     checkResult("helloworld".getBytes(), byteArray);
   }
 
+  @Test
+  public void ringLookupTracedWithFirstRead() throws Exception {
+    final int length = 10;
+    final long offset = 0;
+    byte[] byteArray = new byte[length];
+    mReader = new NettyDataReader(mFsContext, mWorkerAddress, mRequestBuilder, 1000);
+    long ringLookups = ringLookupCount();
+    // the read is traced although the sample ratio is 0, as its ring lookup was sampled
+    ServerState start = new WaitForRequestState(
+        mRequestBuilder.clone().setLength(length).setOffset(offset).build(), true);
+    start.andThen(new SendDataState("helloworld".getBytes()))
+        .andThen(new EofState());
+    Future<Throwable> serverFault = mStateDriver.run(start);
+    int bytesRead = mReader.read(offset, byteArray, length);
+
+    assertNull(serverFault.get());
+    assertEquals(length, bytesRead);
+    assertEquals(ringLookups + 1, ringLookupCount());
+  }
+
+  private static long ringLookupCount() {
+    return MetricsSystem.timer(Metric.getMetricNameWithTags(
+        MetricKey.CLIENT_READ_STAGE_TIME.getName(), MetricInfo.TAG_STAGE,
+        ReadStage.RING_LOOKUP.name())).getCount();
+  }
+
   private void checkResult(byte[] expected, byte[] actual) {
     assertTrue(expected.length <= actual.length);
     for (int i = 0; i < expected.length; i++) {
@@ -286,18 +317,34 @@ public class NettyDataReaderTest {
     private final Protocol.ReadRequest mExpectedRequest;
 
     public WaitForRequestState(Protocol.ReadRequest readRequest) {
-      this(Constants.SECOND_MS * 10, readRequest);
+      this(Constants.SECOND_MS * 10, readRequest, false);
+    }
+
+    public WaitForRequestState(Protocol.ReadRequest readRequest, boolean traced) {
+      this(Constants.SECOND_MS * 10, readRequest, traced);
     }
 
     public WaitForRequestState(int timeout, Protocol.ReadRequest readRequest) {
+      this(timeout, readRequest, false);
+    }
+
+    /**
+     * @param timeout the time to wait for the request
+     * @param readRequest the expected request, without a trace id
+     * @param traced whether the request is expected to carry a trace id
+     */
+    public WaitForRequestState(int timeout, Protocol.ReadRequest readRequest, boolean traced) {
       mExpectedRequest = readRequest;
       action((cd, cs) -> {
         try {
           CommonUtils.waitFor("read request", () -> {
             RPCProtoMessage message = cd.getChannel().readOutbound();
-            return message != null
-                && message.getType() == RPCMessage.Type.RPC_READ_REQUEST
-                && mExpectedRequest.equals(message.getMessage().asReadRequest());
+            if (message == null || message.getType() != RPCMessage.Type.RPC_READ_REQUEST) {
+              return false;
+            }
+            Protocol.ReadRequest request = message.getMessage().asReadRequest();
+            return request.hasTraceId() == traced
+                && mExpectedRequest.equals(request.toBuilder().clearTraceId().build());
           }, WaitForOptions.defaults().setTimeoutMs(timeout));
         } catch (TimeoutException timeoutException) {
           throw new RuntimeException("waiting for read request timed out",
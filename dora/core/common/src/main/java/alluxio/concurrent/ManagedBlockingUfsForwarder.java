@@ -37,6 +37,7 @@ import alluxio.underfs.options.OpenOptions;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ForkJoinPool;
@@ -402,6 +403,17 @@ public class ManagedBlockingUfsForwarder implements UnderFileSystem {
     }.get();
   }
 
+  @Override
+  public Iterator<UfsStatus> listStatusIterator(String path, ListOptions options)
+      throws IOException {
+    return new ManagedBlockingUfsMethod<Iterator<UfsStatus>>() {
+      @Override
+      public Iterator<UfsStatus> execute() throws IOException {
+        return mUfs.listStatusIterator(path, options);
+      }
+    }.get();
+  }
+
   @Override
   public boolean mkdirs(String path) throws IOException {
     return new ManagedBlockingUfsMethod<Boolean>() {
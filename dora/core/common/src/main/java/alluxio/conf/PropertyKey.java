@@ -705,6 +705,25 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.ALL)
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .build();
+  public static final PropertyKey METRICS_PROMETHEUS_CACHE_DURATION =
+      durationBuilder(Name.METRICS_PROMETHEUS_CACHE_DURATION)
+          .setDefaultValue("5sec")
+          .setDescription("How long the output of the Prometheus metrics endpoint "
+              + "/metrics/prometheus is reused for following scrapes. Set to 0 to render the "
+              + "metrics on every scrape.")
+          .setScope(Scope.ALL)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey METRICS_TIMER_HDR_HISTOGRAM_ENABLED =
+      booleanBuilder(Name.METRICS_TIMER_HDR_HISTOGRAM_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether timers record durations into HdrHistogram recorders instead "
+              + "of the default exponentially decaying reservoir. This makes latency "
+              + "percentiles exact and lock-free to record, at the cost of more memory per "
+              + "timer.")
+          .setScope(Scope.ALL)
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
   public static final PropertyKey NETWORK_CONNECTION_AUTH_TIMEOUT =
       durationBuilder(Name.NETWORK_CONNECTION_AUTH_TIMEOUT)
           .setDefaultValue("30sec")
@@ -1089,6 +1108,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey UNDERFS_LISTING_PARALLELISM =
+      intBuilder(Name.UNDERFS_LISTING_PARALLELISM)
+          .setDefaultValue(16)
+          .setDescription("The maximum number of directories listed concurrently by a single "
+              + "recursive listing of a hierarchical under file system. Listings of one under "
+              + "file system share this limit, and are run on a shared pool sized by "
+              + Name.UNDERFS_IO_THREADS + ". Set to 0 to list directories one at a time.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_LOGGING_THRESHOLD =
       durationBuilder(Name.UNDERFS_LOGGING_THRESHOLD)
           .setDefaultValue("10s")
@@ -1649,6 +1678,47 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_S3_PARALLEL_READ_MAX_PARTS =
+      intBuilder(Name.UNDERFS_S3_PARALLEL_READ_MAX_PARTS)
+          .setDefaultValue(8)
+          .setDescription("The maximum number of ranged GET requests issued concurrently for "
+              + "a single position read of S3A. Reads of at least twice "
+              + Name.UNDERFS_S3_PARALLEL_READ_PART_SIZE + " are split into parts which are "
+              + "fetched on the S3 parallel read threads. Set to 1 to read with a single "
+              + "request.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_S3_PARALLEL_READ_PART_SIZE =
+      dataSizeBuilder(Name.UNDERFS_S3_PARALLEL_READ_PART_SIZE)
+          .setDefaultValue("4MB")
+          .setDescription("The size of each ranged GET request of a parallel S3A position "
+              + "read.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_S3_PARALLEL_READ_THREADS_MAX =
+      intBuilder(Name.UNDERFS_S3_PARALLEL_READ_THREADS_MAX)
+          .setDefaultValue(32)
+          .setDescription("The maximum number of threads fetching the parts of parallel S3A "
+              + "position reads, shared by all reads of a UFS. They are separate from the "
+              + "upload threads, so reads do not delay uploads, and they add to "
+              + Name.UNDERFS_S3_THREADS_MAX + " in the number of connections to S3. The "
+              + "threads are not used when " + Name.UNDERFS_S3_PARALLEL_READ_MAX_PARTS
+              + " is 1.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_S3_PARALLEL_READ_TARGET_THROUGHPUT =
+      dataSizeBuilder(Name.UNDERFS_S3_PARALLEL_READ_TARGET_THROUGHPUT)
+          .setDefaultValue("1GB")
+          .setDescription("The throughput per second a parallel S3A position read aims for. "
+              + "The number of concurrent parts is this divided by the throughput observed on "
+              + "a single connection, capped by " + Name.UNDERFS_S3_PARALLEL_READ_MAX_PARTS
+              + ". It should not exceed the network bandwidth of the host.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_KODO_REQUESTS_MAX =
       intBuilder(Name.UNDERFS_KODO_REQUESTS_MAX)
           .setDefaultValue(64)
@@ -2431,6 +2501,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.MASTER)
           .setIsHidden(true)
           .build();
+  public static final PropertyKey MASTER_EMBEDDED_JOURNAL_APPLY_PARALLELISM =
+      intBuilder(Name.MASTER_EMBEDDED_JOURNAL_APPLY_PARALLELISM)
+          .setDefaultValue(4)
+          .setDescription("The number of threads applying the journal entries of a Raft log "
+              + "entry to the masters. Entries of different masters are applied in parallel, "
+              + "the entries of each master in journal order, and a log entry is fully applied "
+              + "before the next one. Set to 1 to apply all entries one by one.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_EMBEDDED_JOURNAL_WRITE_INFLIGHT_BATCHES_MAX =
+      intBuilder(Name.MASTER_EMBEDDED_JOURNAL_WRITE_INFLIGHT_BATCHES_MAX)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of journal entry batches the journal writer sends "
+              + "to the cluster before the earliest of them is committed. Sending batches "
+              + "while earlier ones are being replicated hides the consensus round-trip under "
+              + "heavy metadata load. Set to 1 to wait for each batch before sending the next.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT =
       durationBuilder(Name.MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT)
           .setDefaultValue("30sec")
@@ -2621,6 +2711,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
         .setScope(Scope.MASTER)
         .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_CHECKPOINT_INCREMENTAL =
+      booleanBuilder(Name.MASTER_METASTORE_ROCKS_CHECKPOINT_INCREMENTAL)
+        .setDefaultValue(false)
+        .setDescription(format("Whether to keep the compressed SST files of the last rocksdb "
+            + "checkpoint on local disk, so that the next checkpoint only compresses the SST "
+            + "files created since. Only applies when %s is enabled.",
+            Name.MASTER_METASTORE_ROCKS_PARALLEL_BACKUP))
+        .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+        .setScope(Scope.MASTER)
+        .build();
   public static final PropertyKey MASTER_METASTORE_ROCKS_PARALLEL_BACKUP_THREADS =
       intBuilder(Name.MASTER_METASTORE_ROCKS_PARALLEL_BACKUP_THREADS)
         .setDefaultSupplier(() -> Math.min(16,
@@ -2698,6 +2798,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_INODE_LISTING_BATCH_SIZE =
+      intBuilder(Name.MASTER_METASTORE_ROCKS_INODE_LISTING_BATCH_SIZE)
+          .setDefaultValue(256)
+          .setDescription("When listing a directory in the RocksDB inode store, the number of "
+              + "children whose inodes are fetched together in one multi-get.")
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_METASTORE_ROCKS_INODE_LISTING_READAHEAD_SIZE =
+      dataSizeBuilder(Name.MASTER_METASTORE_ROCKS_INODE_LISTING_READAHEAD_SIZE)
+          .setDefaultValue("2MB")
+          .setDescription("The read-ahead size (in bytes) used when scanning the edges of a "
+              + "directory to list its children in the RocksDB inode store.")
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_INODE_INHERIT_OWNER_AND_GROUP =
       booleanBuilder(Name.MASTER_METASTORE_INODE_INHERIT_OWNER_AND_GROUP)
           .setDefaultValue(true)
@@ -4034,6 +4148,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_FILE_SYSTEM_PATH_CACHE_SIZE =
+      intBuilder(Name.MASTER_FILE_SYSTEM_PATH_CACHE_SIZE)
+          .setDefaultValue(0)
+          .setDescription("Maximum number of paths whose inode ids are cached by the master. "
+              + "Locking a cached path looks up each inode by its cached id instead of looking "
+              + "up the edge from its parent, the id is verified against the inode after the "
+              + "edge is locked. The cache is disabled when set to 0.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_FILE_SYSTEM_MERGE_INODE_JOURNALS =
       booleanBuilder(Name.MASTER_FILE_SYSTEM_MERGE_INODE_JOURNALS)
           .setDefaultValue(true)
@@ -4459,6 +4583,24 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "worker.")
           .build();
 
+  public static final PropertyKey WORKER_READ_TRACE_SLOW_THRESHOLD =
+      durationBuilder(Name.WORKER_READ_TRACE_SLOW_THRESHOLD)
+          .setDefaultValue("1sec")
+          .setDescription("Sampled read requests taking longer than this on the worker are kept "
+              + "with their stage timings, and listed by the slow_reads REST endpoint of the "
+              + "worker. Requests are sampled by the clients, see "
+              + Name.USER_READ_TRACE_SAMPLE_RATIO + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_READ_TRACE_SLOW_READS_RETAINED =
+      intBuilder(Name.WORKER_READ_TRACE_SLOW_READS_RETAINED)
+          .setDefaultValue(100)
+          .setDescription("The number of most recent slow read requests kept by the worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.WORKER)
+          .build();
+
   public static final PropertyKey WORKER_NETWORK_FLOWCONTROL_WINDOW =
       dataSizeBuilder(Name.WORKER_NETWORK_FLOWCONTROL_WINDOW)
           .setDefaultValue("2MB")
@@ -4711,7 +4853,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The strategy that worker uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
               + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`,"
+              + "`alluxio.client.file.cache.evictor.WindowTinyLFUCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
@@ -4756,6 +4899,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_COMPACT_INDEX_ENABLED =
+      booleanBuilder(Name.WORKER_PAGE_STORE_COMPACT_INDEX_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to index pages in compact primitive tables to reduce the "
+              + "heap used per cached page. Pages are then evicted by an approximation of LRU "
+              + "and the configured evictor is not used. Ignored when quota is enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_QUOTA_ENABLED =
       booleanBuilder(Name.WORKER_PAGE_STORE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -5141,6 +5293,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_UFS_LOAD_FOREGROUND_WAIT_MAX =
+      durationBuilder(Name.WORKER_UFS_LOAD_FOREGROUND_WAIT_MAX)
+          .setDefaultValue("100ms")
+          .setDescription("UFS reads of load jobs on a Dora worker wait for the UFS reads of "
+              + "client requests in progress on the same worker to finish, so that client "
+              + "reads are served first. This is the longest time a load job read waits before "
+              + "it proceeds regardless.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS =
       durationBuilder(Name.WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS)
           .setAlias("alluxio.worker.ufs.block.open.timeout.ms")
@@ -5359,6 +5521,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey PROXY_S3_COMPLETE_MULTIPART_UPLOAD_MERGE_PARALLELISM =
+      intBuilder(Name.PROXY_S3_COMPLETE_MULTIPART_UPLOAD_MERGE_PARALLELISM)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of parts read concurrently while merging the "
+              + "parts of a multipart upload in CompleteMultipartUpload of the v2 S3 API.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey PROXY_S3_COMPLETE_MULTIPART_UPLOAD_MIN_PART_SIZE =
       dataSizeBuilder(Name.PROXY_S3_COMPLETE_MULTIPART_UPLOAD_MIN_PART_SIZE)
           .setDefaultValue("5MB")
@@ -5419,6 +5589,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
                   .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
                   .setScope(Scope.SERVER)
                   .build();
+  public static final PropertyKey PROXY_S3_V2_GET_OBJECT_POSITION_READ_ENABLED =
+      booleanBuilder(Name.PROXY_S3_V2_GET_OBJECT_POSITION_READ_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("If enabled, GetObject in the v2 Alluxio S3 proxy reads the "
+              + "requested range with position reads into direct buffers handed to the web "
+              + "server, instead of copying a file stream through heap buffers. Falls back to "
+              + "the file stream when the file system does not support position reads.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey PROXY_STREAM_CACHE_TIMEOUT_MS =
       durationBuilder(Name.PROXY_STREAM_CACHE_TIMEOUT_MS)
           .setAlias("alluxio.proxy.stream.cache.timeout.ms")
@@ -5896,7 +6076,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The strategy that client uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
               + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`,"
+              + "`alluxio.client.file.cache.evictor.WindowTinyLFUCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -6059,6 +6240,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_COMPACT_INDEX_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_COMPACT_INDEX_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to index pages in compact primitive tables to reduce the "
+              + "heap used per cached page. Pages are then evicted by an approximation of LRU "
+              + "and the configured evictor is not used. Ignored when quota is enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_QUOTA_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -6232,6 +6422,35 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_METADATA_CACHE_PATH_EXPIRATION_TIMES =
+      listBuilder(Name.USER_METADATA_CACHE_PATH_EXPIRATION_TIMES)
+          .setDescription(String.format("A comma-separated list of <path prefix>=<duration> "
+              + "overriding %s for metadata of paths under the prefix, e.g. "
+              + "/datasets=1day,/tmp=10sec. The longest matching prefix wins.",
+              Name.USER_METADATA_CACHE_EXPIRATION_TIME))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_METADATA_CACHE_PERSISTENT_DIR =
+      stringBuilder(Name.USER_METADATA_CACHE_PERSISTENT_DIR)
+          .setDescription(String.format("A local directory to persist cached metadata in, "
+              + "so that a restarted client starts with a warm metadata cache. Requires %s to "
+              + "be set, so that persisted metadata expires. Clients in the same process "
+              + "share the directory, while a client that can't open it, e.g. as another "
+              + "process uses it, keeps metadata in memory only. Metadata is only kept in "
+              + "memory if the value is not set.",
+              Name.USER_METADATA_CACHE_EXPIRATION_TIME))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_METADATA_CACHE_PERSISTENT_MAX_SIZE =
+      dataSizeBuilder(Name.USER_METADATA_CACHE_PERSISTENT_MAX_SIZE)
+          .setDefaultValue("1GB")
+          .setDescription(String.format("Maximum size of the metadata persisted in %s.",
+              Name.USER_METADATA_CACHE_PERSISTENT_DIR))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_METRICS_COLLECTION_ENABLED =
       booleanBuilder(Name.USER_METRICS_COLLECTION_ENABLED)
           .setDefaultValue(true)
@@ -6858,6 +7077,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "Libfuse2 (value=\"2\") and Libfuse3 (value=\"3\", default value) are supported.")
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey FUSE_JNIFUSE_MAX_IDLE_THREADS =
+      intBuilder(Name.FUSE_JNIFUSE_MAX_IDLE_THREADS)
+          .setDefaultValue(64)
+          .setDescription("The maximum number of idle libfuse service threads kept around to "
+              + "serve concurrent FUSE requests. Only used with libfuse3 where it is passed "
+              + "as the max_idle_threads mount option unless that option is already set "
+              + "explicitly. Raise it for highly concurrent small file reads.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey FUSE_SHARED_CACHING_READER_ENABLED =
       booleanBuilder(Name.FUSE_SHARED_CACHING_READER_ENABLED)
           .setDefaultValue(false)
@@ -6915,6 +7144,39 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey FUSE_READ_AHEAD_MAX_SIZE =
+      dataSizeBuilder(Name.FUSE_READ_AHEAD_MAX_SIZE)
+          .setDefaultValue("8MB")
+          .setDescription(format("The largest single read-ahead issued by a FUSE position "
+              + "reader (%s=true) once it detects sequential reads of a file handle. The "
+              + "read-ahead window starts small and doubles up to this size while the handle "
+              + "keeps reading sequentially. A value of 0 disables read-ahead.",
+              Name.FUSE_POSITION_READ_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey FUSE_READ_AHEAD_MEMORY_BUDGET =
+      dataSizeBuilder(Name.FUSE_READ_AHEAD_MEMORY_BUDGET)
+          .setDefaultValue("512MB")
+          .setDescription("The total memory the FUSE process may hold in read-ahead buffers "
+              + "across all open file handles. Handles that cannot reserve memory within "
+              + "this budget read without read-ahead.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey FUSE_SEQUENTIAL_READ_REORDER_TIMEOUT =
+      durationBuilder(Name.FUSE_SEQUENTIAL_READ_REORDER_TIMEOUT)
+          .setDefaultValue("0ms")
+          .setDescription("When multiple libfuse threads serve reads of the same file handle, "
+              + "the kernel read-ahead requests may arrive out of order. A sequential "
+              + "FUSE reader waits up to this long for an in-flight read of a preceding "
+              + "offset before serving a later one, so the underlying stream does not seek "
+              + "back and forth. The wait adds latency to concurrent random reads of one "
+              + "handle, so it is disabled by default. A value smaller than or equal to zero "
+              + "disables the wait.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey FUSE_STAT_CACHE_REFRESH_INTERVAL =
       durationBuilder(Name.FUSE_STAT_CACHE_REFRESH_INTERVAL)
           .setDefaultValue("5min")
@@ -7144,6 +7406,37 @@ public final class PropertyKey implements Comparable<PropertyKey> {
       .setDefaultValue("1d")
       .setScope(Scope.MASTER)
       .build();
+  public static final PropertyKey JOB_CHECKPOINT_INTERVAL =
+      durationBuilder(Name.JOB_CHECKPOINT_INTERVAL)
+          .setDescription("The interval at which the scheduler journals the progress of the "
+              + "running load and copy jobs. A job restarted after a failover resumes from its "
+              + "last checkpoint instead of from the beginning.")
+          .setDefaultValue("1min")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_SCHEDULER_MAX_RUNNING_JOBS =
+      intBuilder(Name.JOB_SCHEDULER_MAX_RUNNING_JOBS)
+          .setDescription("The maximum number of load and copy jobs the scheduler accepts at "
+              + "the same time. Submitting more jobs fails until some of them finish.")
+          .setDefaultValue(100)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_SCHEDULER_WORKER_SLOT_CAPACITY =
+      dataSizeBuilder(Name.JOB_SCHEDULER_WORKER_SLOT_CAPACITY)
+          .setDescription("The amount of worker capacity backing one job task slot. A worker "
+              + "runs as many job tasks at the same time as its capacity divided by this value, "
+              + "bounded by " + Name.JOB_SCHEDULER_WORKER_MAX_SLOTS + ".")
+          .setDefaultValue("32GB")
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_SCHEDULER_WORKER_MAX_SLOTS =
+      intBuilder(Name.JOB_SCHEDULER_WORKER_MAX_SLOTS)
+          .setDescription("The maximum number of job tasks running on one worker at the same "
+              + "time. Workers which do not report their capacity get this many slots.")
+          .setDefaultValue(16)
+          .setScope(Scope.MASTER)
+          .build();
 
   //
   // Job service
@@ -7526,6 +7819,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.WORKER)
           .build();
 
+  public static final PropertyKey USER_READ_TRACE_SAMPLE_RATIO =
+      doubleBuilder(Name.USER_READ_TRACE_SAMPLE_RATIO)
+          .setDefaultValue(0.0)
+          .setDescription("The ratio of Netty read requests which are traced, between 0 and 1. "
+              + "The time spent in each stage of a traced request, on both the client and the "
+              + "worker, is recorded in the Client.ReadStageTime and Worker.ReadStageTime "
+              + "timers.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.CLIENT)
+          .build();
+
   public static final PropertyKey USER_NETWORK_NETTY_CHANNEL_POOL_SIZE_MAX =
       intBuilder(Name.USER_NETWORK_NETTY_CHANNEL_POOL_SIZE_MAX)
           .setDefaultValue(1024)
@@ -7655,6 +7959,34 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.WORKER)
           .build();
 
+  public static final PropertyKey DORA_LOAD_TASK_BATCH_SIZE =
+      dataSizeBuilder(Name.DORA_LOAD_TASK_BATCH_SIZE)
+          .setDefaultValue("128MB")
+          .setDescription("A task of a load job carries files assigned to the same worker "
+              + "until their total size reaches this size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.MASTER)
+          .build();
+
+  public static final PropertyKey DORA_LOAD_TASK_BATCH_FILES =
+      intBuilder(Name.DORA_LOAD_TASK_BATCH_FILES)
+          .setDefaultValue(1000)
+          .setDescription("The maximum number of files or file ranges in a task of a load job. "
+              + "The load job also takes at most this many files from its listing each time it "
+              + "schedules tasks.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.MASTER)
+          .build();
+
+  public static final PropertyKey DORA_LOAD_FILE_SPLIT_SIZE =
+      dataSizeBuilder(Name.DORA_LOAD_FILE_SPLIT_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("Files larger than this are loaded by a load job in ranges of this "
+              + "size, rounded down to whole pages, which the worker loads in parallel.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.MASTER)
+          .build();
+
   /**
    * @deprecated This key is used for testing. It is always deprecated.
    */
@@ -7700,6 +8032,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.metrics.executor.task.warn.size";
     public static final String METRICS_EXECUTOR_TASK_WARN_FREQUENCY =
         "alluxio.metrics.executor.task.warn.frequency";
+    public static final String METRICS_PROMETHEUS_CACHE_DURATION =
+        "alluxio.metrics.prometheus.cache.duration";
+    public static final String METRICS_TIMER_HDR_HISTOGRAM_ENABLED =
+        "alluxio.metrics.timer.hdr.histogram.enabled";
     public static final String NETWORK_CONNECTION_AUTH_TIMEOUT =
         "alluxio.network.connection.auth.timeout";
     public static final String NETWORK_CONNECTION_HEALTH_CHECK_TIMEOUT =
@@ -7773,6 +8109,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String UNDERFS_EVENTUAL_CONSISTENCY_RETRY_MAX_SLEEP_MS =
         "alluxio.underfs.eventual.consistency.retry.max.sleep";
     public static final String UNDERFS_LISTING_LENGTH = "alluxio.underfs.listing.length";
+    public static final String UNDERFS_LISTING_PARALLELISM =
+        "alluxio.underfs.listing.parallelism";
     public static final String UNDERFS_LOGGING_THRESHOLD = "alluxio.underfs.logging.threshold";
     public static final String UNDERFS_GCS_DEFAULT_MODE = "alluxio.underfs.gcs.default.mode";
     public static final String UNDERFS_GCS_DIRECTORY_SUFFIX =
@@ -7881,6 +8219,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String UNDERFS_S3_PROXY_PORT = "alluxio.underfs.s3.proxy.port";
     public static final String UNDERFS_S3_REGION = "alluxio.underfs.s3.region";
     public static final String UNDERFS_S3_THREADS_MAX = "alluxio.underfs.s3.threads.max";
+    public static final String UNDERFS_S3_PARALLEL_READ_MAX_PARTS =
+        "alluxio.underfs.s3.parallel.read.max.parts";
+    public static final String UNDERFS_S3_PARALLEL_READ_PART_SIZE =
+        "alluxio.underfs.s3.parallel.read.part.size";
+    public static final String UNDERFS_S3_PARALLEL_READ_TARGET_THROUGHPUT =
+        "alluxio.underfs.s3.parallel.read.target.throughput";
+    public static final String UNDERFS_S3_PARALLEL_READ_THREADS_MAX =
+        "alluxio.underfs.s3.parallel.read.threads.max";
     public static final String UNDERFS_S3_UPLOAD_THREADS_MAX =
         "alluxio.underfs.s3.upload.threads.max";
     public static final String KODO_ENDPOINT = "alluxio.underfs.kodo.endpoint";
@@ -8108,6 +8454,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.embedded.journal.write.local.first.enabled";
     public static final String MASTER_EMBEDDED_JOURNAL_WRITE_REMOTE_ENABLED =
         "alluxio.master.embedded.journal.write.remote.enabled";
+    public static final String MASTER_EMBEDDED_JOURNAL_APPLY_PARALLELISM =
+        "alluxio.master.embedded.journal.apply.parallelism";
+    public static final String MASTER_EMBEDDED_JOURNAL_WRITE_INFLIGHT_BATCHES_MAX =
+        "alluxio.master.embedded.journal.write.inflight.batches.max";
     public static final String MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT =
         "alluxio.master.embedded.journal.write.timeout";
     public static final String MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_CHUNK_SIZE =
@@ -8165,6 +8515,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metastore.rocks.checkpoint.compression.level";
     public static final String MASTER_METASTORE_ROCKS_PARALLEL_BACKUP =
         "alluxio.master.metastore.rocks.parallel.backup";
+    public static final String MASTER_METASTORE_ROCKS_CHECKPOINT_INCREMENTAL =
+        "alluxio.master.metastore.rocks.checkpoint.incremental";
     public static final String MASTER_METASTORE_ROCKS_PARALLEL_BACKUP_THREADS =
         "alluxio.master.metastore.rocks.parallel.backup.threads";
     public static final String MASTER_METASTORE_INODE_CACHE_EVICT_BATCH_SIZE =
@@ -8181,6 +8533,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metastore.inode.enumerator.buffer.count";
     public static final String MASTER_METASTORE_ITERATOR_READAHEAD_SIZE =
         "alluxio.master.metastore.iterator.readahead.size";
+    public static final String MASTER_METASTORE_ROCKS_INODE_LISTING_BATCH_SIZE =
+        "alluxio.master.metastore.rocks.inode.listing.batch.size";
+    public static final String MASTER_METASTORE_ROCKS_INODE_LISTING_READAHEAD_SIZE =
+        "alluxio.master.metastore.rocks.inode.listing.readahead.size";
     public static final String MASTER_METASTORE_INODE_INHERIT_OWNER_AND_GROUP =
         "alluxio.master.metastore.inode.inherit.owner.and.group";
     public static final String MASTER_METASTORE_ROCKS_BLOCK_META_BLOOM_FILTER =
@@ -8374,6 +8730,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.filesystem.operation.retry.cache.enabled";
     public static final String MASTER_FILE_SYSTEM_OPERATION_RETRY_CACHE_SIZE =
         "alluxio.master.filesystem.operation.retry.cache.size";
+    public static final String MASTER_FILE_SYSTEM_PATH_CACHE_SIZE =
+        "alluxio.master.filesystem.path.cache.size";
     public static final String MASTER_FILE_SYSTEM_MERGE_INODE_JOURNALS =
         "alluxio.master.filesystem.merge.inode.journals";
 
@@ -8524,6 +8882,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.network.netty.writer.buffer.size.packets";
     public static final String WORKER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS =
         "alluxio.worker.network.netty.reader.buffer.size.packets";
+    public static final String WORKER_READ_TRACE_SLOW_THRESHOLD =
+        "alluxio.worker.read.trace.slow.threshold";
+    public static final String WORKER_READ_TRACE_SLOW_READS_RETAINED =
+        "alluxio.worker.read.trace.slow.reads.retained";
     public static final String WORKER_NETWORK_FLOWCONTROL_WINDOW =
         "alluxio.worker.network.flowcontrol.window";
     public static final String WORKER_NETWORK_KEEPALIVE_TIME_MS =
@@ -8604,6 +8966,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.page.store.overhead";
     public static final String WORKER_PAGE_STORE_PAGE_SIZE =
         "alluxio.worker.page.store.page.size";
+    public static final String WORKER_PAGE_STORE_COMPACT_INDEX_ENABLED =
+        "alluxio.worker.page.store.compact.index.enabled";
     public static final String WORKER_PAGE_STORE_QUOTA_ENABLED =
         "alluxio.worker.page.store.quota.enabled";
     public static final String WORKER_PAGE_STORE_SIZES =
@@ -8666,6 +9030,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_WEB_PORT = "alluxio.worker.web.port";
     public static final String WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS =
         "alluxio.worker.ufs.block.open.timeout";
+    public static final String WORKER_UFS_LOAD_FOREGROUND_WAIT_MAX =
+        "alluxio.worker.ufs.load.foreground.wait.max";
     public static final String WORKER_UFS_INSTREAM_CACHE_EXPIRATION_TIME =
         "alluxio.worker.ufs.instream.cache.expiration.time";
     public static final String WORKER_UFS_INSTREAM_CACHE_ENABLED =
@@ -8693,6 +9059,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.proxy.s3.complete.multipart.upload.keepalive.enabled";
     public static final String PROXY_S3_COMPLETE_MULTIPART_UPLOAD_KEEPALIVE_TIME_INTERVAL =
         "alluxio.proxy.s3.complete.multipart.upload.keepalive.time.interval";
+    public static final String PROXY_S3_COMPLETE_MULTIPART_UPLOAD_MERGE_PARALLELISM =
+        "alluxio.proxy.s3.complete.multipart.upload.merge.parallelism";
     public static final String PROXY_S3_COMPLETE_MULTIPART_UPLOAD_MIN_PART_SIZE =
         "alluxio.proxy.s3.complete.multipart.upload.min.part.size";
     public static final String PROXY_S3_COMPLETE_MULTIPART_UPLOAD_POOL_SIZE =
@@ -8703,6 +9071,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.proxy.s3.bucket.naming.restrictions.enabled";
     public static final String PROXY_S3_TAGGING_RESTRICTIONS_ENABLED =
         "alluxio.proxy.s3.tagging.restrictions.enabled";
+    public static final String PROXY_S3_V2_GET_OBJECT_POSITION_READ_ENABLED =
+        "alluxio.proxy.s3.v2.get.object.position.read.enabled";
     public static final String PROXY_STREAM_CACHE_TIMEOUT_MS =
         "alluxio.proxy.stream.cache.timeout";
     public static final String PROXY_WEB_BIND_HOST = "alluxio.proxy.web.bind.host";
@@ -8810,6 +9180,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.instream_buffer_size";
     public static final String USER_CLIENT_CACHE_PAGE_SIZE =
         "alluxio.user.client.cache.page.size";
+    public static final String USER_CLIENT_CACHE_COMPACT_INDEX_ENABLED =
+        "alluxio.user.client.cache.compact.index.enabled";
     public static final String USER_CLIENT_CACHE_QUOTA_ENABLED =
         "alluxio.user.client.cache.quota.enabled";
     public static final String USER_CLIENT_CACHE_TTL_ENABLED =
@@ -8898,6 +9270,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.metadata.cache.max.size";
     public static final String USER_METADATA_CACHE_EXPIRATION_TIME =
         "alluxio.user.metadata.cache.expiration.time";
+    public static final String USER_METADATA_CACHE_PATH_EXPIRATION_TIMES =
+        "alluxio.user.metadata.cache.path.expiration.times";
+    public static final String USER_METADATA_CACHE_PERSISTENT_DIR =
+        "alluxio.user.metadata.cache.persistent.dir";
+    public static final String USER_METADATA_CACHE_PERSISTENT_MAX_SIZE =
+        "alluxio.user.metadata.cache.persistent.max.size";
     public static final String USER_METRICS_COLLECTION_ENABLED =
         "alluxio.user.metrics.collection.enabled";
     public static final String USER_METRICS_HEARTBEAT_INTERVAL_MS =
@@ -9026,6 +9404,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String FUSE_DEBUG_ENABLED = "alluxio.fuse.debug.enabled";
     public static final String FUSE_FS_NAME = "alluxio.fuse.fs.name";
     public static final String FUSE_JNIFUSE_ENABLED = "alluxio.fuse.jnifuse.enabled";
+    public static final String FUSE_JNIFUSE_MAX_IDLE_THREADS =
+        "alluxio.fuse.jnifuse.max.idle.threads";
     public static final String FUSE_SHARED_CACHING_READER_ENABLED
         = "alluxio.fuse.shared.caching.reader.enabled";
     public static final String FUSE_LOGGING_THRESHOLD = "alluxio.fuse.logging.threshold";
@@ -9037,6 +9417,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.fuse.mount.point";
     public static final String FUSE_POSITION_READ_ENABLED =
         "alluxio.fuse.position.read.enabled";
+    public static final String FUSE_READ_AHEAD_MAX_SIZE =
+        "alluxio.fuse.read.ahead.max.size";
+    public static final String FUSE_READ_AHEAD_MEMORY_BUDGET =
+        "alluxio.fuse.read.ahead.memory.budget";
+    public static final String FUSE_SEQUENTIAL_READ_REORDER_TIMEOUT =
+        "alluxio.fuse.sequential.read.reorder.timeout";
     public static final String FUSE_STAT_CACHE_REFRESH_INTERVAL =
         "alluxio.fuse.stat.cache.refresh.interval";
     public static final String FUSE_UMOUNT_TIMEOUT =
@@ -9092,6 +9478,13 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     // new job service
     public static final String JOB_BATCH_SIZE = "alluxio.job.batch.size";
     public static final String JOB_RETENTION_TIME = "alluxio.job.retention.time";
+    public static final String JOB_CHECKPOINT_INTERVAL = "alluxio.job.checkpoint.interval";
+    public static final String JOB_SCHEDULER_MAX_RUNNING_JOBS =
+        "alluxio.job.scheduler.max.running.jobs";
+    public static final String JOB_SCHEDULER_WORKER_SLOT_CAPACITY =
+        "alluxio.job.scheduler.worker.slot.capacity";
+    public static final String JOB_SCHEDULER_WORKER_MAX_SLOTS =
+        "alluxio.job.scheduler.worker.max.slots";
 
     //
     // Job service
@@ -9193,6 +9586,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
 
     public static final String USER_NETTY_DATA_TRANSMISSION_ENABLED =
         "alluxio.user.netty.data.transmission.enabled";
+    public static final String USER_READ_TRACE_SAMPLE_RATIO =
+        "alluxio.user.read.trace.sample.ratio";
 
     public static final String USER_NETWORK_NETTY_CHANNEL_POOL_DISABLED =
         "alluxio.user.network.netty.channel.pool.disabled";
@@ -9230,6 +9625,13 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String DORA_UFS_LIST_STATUS_CACHE_NR_DIRS =
         "alluxio.dora.ufs.list.status.cache.nr.dirs";
 
+    public static final String DORA_LOAD_TASK_BATCH_SIZE =
+        "alluxio.dora.load.task.batch.size";
+    public static final String DORA_LOAD_TASK_BATCH_FILES =
+        "alluxio.dora.load.task.batch.files";
+    public static final String DORA_LOAD_FILE_SPLIT_SIZE =
+        "alluxio.dora.load.file.split.size";
+
     private Name() {} // prevent instantiation
   }
 
@@ -0,0 +1,73 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import com.codahale.metrics.Counter;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link MetricHandle} to a {@link Counter}.
+ */
+@ThreadSafe
+public final class CounterHandle extends MetricHandle<Counter> {
+  /**
+   * @param name the name of the counter, without the instance and host prefix
+   */
+  public CounterHandle(String name) {
+    super(name);
+  }
+
+  /**
+   * Increments the counter by one.
+   */
+  public void inc() {
+    get().inc();
+  }
+
+  /**
+   * Increments the counter by {@code n}.
+   *
+   * @param n the amount to increment by
+   */
+  public void inc(long n) {
+    get().inc(n);
+  }
+
+  /**
+   * Decrements the counter by one.
+   */
+  public void dec() {
+    get().dec();
+  }
+
+  /**
+   * Decrements the counter by {@code n}.
+   *
+   * @param n the amount to decrement by
+   */
+  public void dec(long n) {
+    get().dec(n);
+  }
+
+  /**
+   * @return the current count
+   */
+  public long getCount() {
+    return get().getCount();
+  }
+
+  @Override
+  protected Counter resolve(String name) {
+    return MetricsSystem.counter(name);
+  }
+}
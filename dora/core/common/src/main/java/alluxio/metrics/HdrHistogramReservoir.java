@@ -0,0 +1,149 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.google.common.base.Preconditions;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link Reservoir} which records every value into an HdrHistogram {@link Recorder}.
+ *
+ * Unlike the sampling reservoirs, recording takes no lock and the percentiles are accurate to the
+ * configured number of significant digits over all the values recorded since creation. The
+ * interval histograms are merged into the accumulated histogram when a snapshot is taken.
+ */
+@ThreadSafe
+public class HdrHistogramReservoir implements Reservoir {
+  /** Number of values returned by {@link Snapshot#getValues()}. */
+  private static final int SNAPSHOT_VALUES = 1028;
+  private static final int DEFAULT_SIGNIFICANT_DIGITS = 2;
+
+  private final Recorder mRecorder;
+  @GuardedBy("this")
+  private final Histogram mAccumulated;
+  @GuardedBy("this")
+  private Histogram mInterval;
+
+  /**
+   * Creates a reservoir with two significant digits of precision.
+   */
+  public HdrHistogramReservoir() {
+    this(DEFAULT_SIGNIFICANT_DIGITS);
+  }
+
+  /**
+   * @param significantDigits the number of significant decimal digits to keep, between 0 and 5
+   */
+  public HdrHistogramReservoir(int significantDigits) {
+    Preconditions.checkArgument(significantDigits >= 0 && significantDigits <= 5,
+        "significantDigits must be between 0 and 5: %s", significantDigits);
+    mRecorder = new Recorder(significantDigits);
+    mAccumulated = new Histogram(significantDigits);
+  }
+
+  @Override
+  public int size() {
+    return getSnapshot().size();
+  }
+
+  @Override
+  public void update(long value) {
+    mRecorder.recordValue(Math.max(value, 0));
+  }
+
+  @Override
+  public synchronized Snapshot getSnapshot() {
+    mInterval = mRecorder.getIntervalHistogram(mInterval);
+    mAccumulated.add(mInterval);
+    return new HdrSnapshot(mAccumulated.copy());
+  }
+
+  /**
+   * A {@link Snapshot} of an accumulated histogram.
+   */
+  private static final class HdrSnapshot extends Snapshot {
+    private final Histogram mHistogram;
+
+    private HdrSnapshot(Histogram histogram) {
+      mHistogram = histogram;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+      Preconditions.checkArgument(quantile >= 0.0 && quantile <= 1.0,
+          "%s is not in [0..1]", quantile);
+      if (mHistogram.getTotalCount() == 0) {
+        return 0.0;
+      }
+      return mHistogram.getValueAtPercentile(quantile * 100);
+    }
+
+    /**
+     * The histogram does not keep the individual values, so this returns values evenly spaced
+     * by rank, which have the same distribution as the recorded values.
+     */
+    @Override
+    public long[] getValues() {
+      int size = (int) Math.min(mHistogram.getTotalCount(), SNAPSHOT_VALUES);
+      long[] values = new long[size];
+      for (int i = 0; i < size; i++) {
+        values[i] = mHistogram.getValueAtPercentile((i + 0.5) * 100 / size);
+      }
+      return values;
+    }
+
+    @Override
+    public int size() {
+      return (int) Math.min(mHistogram.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getMax() {
+      return mHistogram.getTotalCount() == 0 ? 0 : mHistogram.getMaxValue();
+    }
+
+    @Override
+    public double getMean() {
+      return mHistogram.getTotalCount() == 0 ? 0.0 : mHistogram.getMean();
+    }
+
+    @Override
+    public long getMin() {
+      return mHistogram.getTotalCount() == 0 ? 0 : mHistogram.getMinValue();
+    }
+
+    @Override
+    public double getStdDev() {
+      return mHistogram.getTotalCount() == 0 ? 0.0 : mHistogram.getStdDeviation();
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+      try (PrintWriter out =
+          new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+        for (long value : getValues()) {
+          out.printf("%d%n", value);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link Timer} which also counts the recorded durations in fixed latency buckets, so they can
+ * be exported as a cumulative histogram instead of a sampled snapshot.
+ */
+@ThreadSafe
+public class HistogramTimer extends Timer {
+  /** Upper bounds of the buckets in nanoseconds, the last bucket has no upper bound. */
+  private static final long[] BUCKET_BOUNDS_NS = {
+      TimeUnit.MICROSECONDS.toNanos(100),
+      TimeUnit.MICROSECONDS.toNanos(250),
+      TimeUnit.MICROSECONDS.toNanos(500),
+      TimeUnit.MILLISECONDS.toNanos(1),
+      TimeUnit.MICROSECONDS.toNanos(2500),
+      TimeUnit.MILLISECONDS.toNanos(5),
+      TimeUnit.MILLISECONDS.toNanos(10),
+      TimeUnit.MILLISECONDS.toNanos(25),
+      TimeUnit.MILLISECONDS.toNanos(50),
+      TimeUnit.MILLISECONDS.toNanos(100),
+      TimeUnit.MILLISECONDS.toNanos(250),
+      TimeUnit.MILLISECONDS.toNanos(500),
+      TimeUnit.SECONDS.toNanos(1),
+      TimeUnit.MILLISECONDS.toNanos(2500),
+      TimeUnit.SECONDS.toNanos(5),
+      TimeUnit.SECONDS.toNanos(10),
+      TimeUnit.SECONDS.toNanos(30),
+      TimeUnit.SECONDS.toNanos(60),
+  };
+
+  private final BucketReservoir mBuckets;
+
+  /**
+   * Creates a timer sampling with an {@link ExponentiallyDecayingReservoir}, like the default
+   * {@link Timer}.
+   */
+  public HistogramTimer() {
+    this(new ExponentiallyDecayingReservoir());
+  }
+
+  /**
+   * @param reservoir the reservoir sampling the durations for snapshots
+   */
+  public HistogramTimer(Reservoir reservoir) {
+    this(new BucketReservoir(reservoir));
+  }
+
+  private HistogramTimer(BucketReservoir buckets) {
+    super(new StripedMeter(), new Histogram(buckets), Clock.defaultClock());
+    mBuckets = buckets;
+  }
+
+  /**
+   * @return the upper bounds of the buckets in nanoseconds, not including the last bucket which
+   *         has no upper bound
+   */
+  public static long[] getBucketBoundsNs() {
+    return BUCKET_BOUNDS_NS.clone();
+  }
+
+  /**
+   * @return the number of durations in each bucket, not cumulative, with one more element than
+   *         {@link #getBucketBoundsNs()} for the durations above the last bound
+   */
+  public long[] getBucketCounts() {
+    return mBuckets.getCounts();
+  }
+
+  /**
+   * @return the sum of all recorded durations in nanoseconds
+   */
+  public long getSumNs() {
+    return mBuckets.mSum.sum();
+  }
+
+  /**
+   * A reservoir which counts every update in its bucket before passing it to the delegate.
+   */
+  private static final class BucketReservoir implements Reservoir {
+    private final Reservoir mDelegate;
+    private final LongAdder[] mCounts = new LongAdder[BUCKET_BOUNDS_NS.length + 1];
+    private final LongAdder mSum = new LongAdder();
+
+    private BucketReservoir(Reservoir delegate) {
+      mDelegate = delegate;
+      for (int i = 0; i < mCounts.length; i++) {
+        mCounts[i] = new LongAdder();
+      }
+    }
+
+    @Override
+    public int size() {
+      return mDelegate.size();
+    }
+
+    @Override
+    public void update(long value) {
+      int index = Arrays.binarySearch(BUCKET_BOUNDS_NS, value);
+      // A value equal to a bound belongs to that bucket, others to the first larger bound
+      mCounts[index >= 0 ? index : -index - 1].increment();
+      mSum.add(value);
+      mDelegate.update(value);
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+      return mDelegate.getSnapshot();
+    }
+
+    private long[] getCounts() {
+      long[] counts = new long[mCounts.length];
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = mCounts[i].sum();
+      }
+      return counts;
+    }
+  }
+}
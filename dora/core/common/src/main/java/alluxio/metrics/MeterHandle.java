@@ -0,0 +1,57 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import com.codahale.metrics.Meter;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link MetricHandle} to a {@link Meter}.
+ */
+@ThreadSafe
+public final class MeterHandle extends MetricHandle<Meter> {
+  /**
+   * @param name the name of the meter, without the instance and host prefix
+   */
+  public MeterHandle(String name) {
+    super(name);
+  }
+
+  /**
+   * Marks the occurrence of an event.
+   */
+  public void mark() {
+    get().mark();
+  }
+
+  /**
+   * Marks the occurrence of a given number of events.
+   *
+   * @param n the number of events
+   */
+  public void mark(long n) {
+    get().mark(n);
+  }
+
+  /**
+   * @return the number of events which have been marked
+   */
+  public long getCount() {
+    return get().getCount();
+  }
+
+  @Override
+  protected Meter resolve(String name) {
+    return MetricsSystem.meter(name);
+  }
+}
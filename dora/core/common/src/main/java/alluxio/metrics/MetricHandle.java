@@ -0,0 +1,85 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import com.codahale.metrics.Metric;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A pre-resolved reference to a metric in the {@link MetricsSystem}.
+ *
+ * Looking a metric up by name qualifies the name with the instance and host and then goes
+ * through the registry map on every call. A handle does the lookup once and keeps the resolved
+ * metric until the metrics system replaces or removes metrics, e.g. in
+ * {@link MetricsSystem#resetAllMetrics()}, after which the next call resolves it again. This makes
+ * it safe to keep handles in static fields, which is not the case for the metrics themselves.
+ *
+ * @param <T> the type of the metric
+ */
+@ThreadSafe
+public abstract class MetricHandle<T extends Metric> {
+  private final String mName;
+  private volatile Resolved<T> mResolved;
+
+  /**
+   * @param name the name of the metric, without the instance and host prefix
+   */
+  protected MetricHandle(String name) {
+    mName = Preconditions.checkNotNull(name, "name");
+  }
+
+  /**
+   * @return the name of the metric, without the instance and host prefix
+   */
+  public String getName() {
+    return mName;
+  }
+
+  /**
+   * Gets the current metric. The returned metric should not be kept, since it may be replaced
+   * in the metrics system.
+   *
+   * @return the metric this handle refers to
+   */
+  public T get() {
+    Resolved<T> resolved = mResolved;
+    long generation = MetricsSystem.getGeneration();
+    if (resolved != null && resolved.mGeneration == generation) {
+      return resolved.mMetric;
+    }
+    // The generation is read before resolving, so a replacement racing with this call leaves a
+    // stale generation behind and the metric is resolved again on the next call.
+    T metric = resolve(mName);
+    mResolved = new Resolved<>(metric, generation);
+    return metric;
+  }
+
+  /**
+   * Gets or registers the metric in the metrics system.
+   *
+   * @param name the name of the metric, without the instance and host prefix
+   * @return the metric
+   */
+  protected abstract T resolve(String name);
+
+  private static final class Resolved<T> {
+    private final T mMetric;
+    private final long mGeneration;
+
+    private Resolved(T metric, long generation) {
+      mMetric = metric;
+      mGeneration = generation;
+    }
+  }
+}
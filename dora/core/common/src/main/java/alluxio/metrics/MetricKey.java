@@ -57,6 +57,11 @@ public final class MetricKey implements Comparable<MetricKey> {
   /** Whether the metric can be aggregated at cluster level. */
   private final boolean mIsClusterAggregated;
 
+  /** Handles to the metric of this key, created on first use. */
+  private volatile MeterHandle mMeterHandle;
+  private volatile CounterHandle mCounterHandle;
+  private volatile TimerHandle mTimerHandle;
+
   /**
    * @param name name of this metric
    * @param description description of this metric
@@ -134,6 +139,43 @@ public final class MetricKey implements Comparable<MetricKey> {
     return mName;
   }
 
+  /**
+   * @return a handle to the meter with the name of this key
+   */
+  public MeterHandle meter() {
+    MeterHandle handle = mMeterHandle;
+    if (handle == null) {
+      // Racing threads may create separate handles, which all refer to the same meter
+      handle = new MeterHandle(mName);
+      mMeterHandle = handle;
+    }
+    return handle;
+  }
+
+  /**
+   * @return a handle to the counter with the name of this key
+   */
+  public CounterHandle counter() {
+    CounterHandle handle = mCounterHandle;
+    if (handle == null) {
+      handle = new CounterHandle(mName);
+      mCounterHandle = handle;
+    }
+    return handle;
+  }
+
+  /**
+   * @return a handle to the timer with the name of this key
+   */
+  public TimerHandle timer() {
+    TimerHandle handle = mTimerHandle;
+    if (handle == null) {
+      handle = new TimerHandle(mName);
+      mTimerHandle = handle;
+    }
+    return handle;
+  }
+
   /**
    * @return the name of the Metric without instance prefix
    */
@@ -2117,8 +2159,22 @@ public final class MetricKey implements Comparable<MetricKey> {
               + "Use this metric to monitor the RPC pressure on worker.")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey WORKER_READ_STAGE_TIME =
+      new Builder("Worker.ReadStageTime")
+          .setDescription("Time spent by the worker in each stage of serving sampled Netty read "
+              + "requests, tagged by the stage. Requests are sampled by the clients with "
+              + "alluxio.user.read.trace.sample.ratio.")
+          .setMetricType(MetricType.TIMER)
+          .build();
 
   // Client metrics
+  public static final MetricKey CLIENT_READ_STAGE_TIME =
+      new Builder("Client.ReadStageTime")
+          .setDescription("Time spent by the client in each stage of sampled Netty read "
+              + "requests, tagged by the stage. See alluxio.user.read.trace.sample.ratio.")
+          .setMetricType(MetricType.TIMER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_BLOCK_READ_CHUNK_REMOTE =
       new Builder("Client.BlockReadChunkRemote")
           .setDescription(String.format("The timer statistics of reading block data in chunks "
@@ -2209,6 +2265,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PAGE_LOCK_WAIT_TIME_NS =
+      new Builder("Client.CachePageLockWaitTimeNanos")
+          .setDescription("Time in nanoseconds spent waiting for the lock of a page before "
+              + "reading it from the client cache.")
+          .setMetricType(MetricType.METER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_BYTES_DISCARDED =
       new Builder("Client.CacheBytesDiscarded")
           .setDescription("Total number of bytes discarded when restoring the page store.")
@@ -2397,6 +2460,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_PUT_ADMISSION_REJECTED =
+      new Builder("Client.CachePutAdmissionRejected")
+          .setDescription("Number of pages not put in the client cache because the cache filter "
+              + "estimated them to be accessed less often than the pages they would evict.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_PUT_BENIGN_RACING_ERRORS =
       new Builder("Client.CachePutBenignRacingErrors")
           .setDescription("Number of failures when adding pages due to racing eviction. This error"
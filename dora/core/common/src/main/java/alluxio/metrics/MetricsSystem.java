@@ -51,6 +51,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -80,6 +81,11 @@ public final class MetricsSystem {
   // A map that records all the metrics that should be reported and aggregated at leading master
   // from full metric name to its metric type
   private static final Map<String, MetricType> SHOULD_REPORT_METRICS = new ConcurrentHashMap<>();
+  // Timers created with a non-default supplier, so they are recreated the same on reset
+  private static final Map<String, MetricRegistry.MetricSupplier<Timer>> TIMER_SUPPLIERS =
+      new ConcurrentHashMap<>();
+  // Changes whenever metrics are replaced or removed, see getGeneration()
+  private static final AtomicLong GENERATION = new AtomicLong();
   // A pattern to get the <instance_type>.<metric_name> from the full metric name
   private static final Pattern METRIC_NAME_PATTERN = Pattern.compile("^(.*?[.].*?)[.].*");
   // A flag telling whether metrics have been reported yet.
@@ -486,6 +492,14 @@ public final class MetricsSystem {
     return Joiner.on(".").join(instance, name, sSourceNameSupplier.get());
   }
 
+  /**
+   * @return the source name appended to the metric names of this process, which is the host name
+   *         for servers and the application id for clients
+   */
+  public static String getSourceName() {
+    return sSourceNameSupplier.get();
+  }
+
   /**
    * Checks if the poll period is smaller that the minimal poll period which is 1 second.
    *
@@ -599,12 +613,13 @@ public final class MetricsSystem {
    * Get or add meter with the given name.
    * Please don't save the Meter instance since
    * the returned Meter instance may not be used due to {@link #resetAllMetrics}
+   * and use a {@link MeterHandle} instead when the meter is updated on a hot path.
    *
    * @param name the name of the metric
    * @return a meter object with the qualified metric name
    */
   public static Meter meter(String name) {
-    return METRIC_REGISTRY.meter(getMetricName(name));
+    return METRIC_REGISTRY.meter(getMetricName(name), StripedMeter::new);
   }
 
   /**
@@ -625,19 +640,20 @@ public final class MetricsSystem {
     if (shouldReport) {
       SHOULD_REPORT_METRICS.putIfAbsent(fullName, MetricType.METER);
     }
-    return METRIC_REGISTRY.meter(fullName);
+    return METRIC_REGISTRY.meter(fullName, StripedMeter::new);
   }
 
   /**
    * Get or add timer with the given name.
    * Please don't save the Timer instance since
    * the returned Timer instance may not be used due to {@link #resetAllMetrics}
+   * and use a {@link TimerHandle} instead when the timer is updated on a hot path.
    *
    * @param name the name of the metric
    * @return a timer object with the qualified metric name
    */
   public static Timer timer(String name) {
-    return METRIC_REGISTRY.timer(getMetricName(name));
+    return METRIC_REGISTRY.timer(getMetricName(name), MetricsSystem::newTimer);
   }
 
   /**
@@ -647,11 +663,32 @@ public final class MetricsSystem {
    * @return a timer object with the qualified metric name
    */
   public static Timer uniformTimer(String name) {
-    return METRIC_REGISTRY.timer(getMetricName(name),
-            () -> {
-              Timer timer = new Timer(new UniformReservoir());
-              return timer;
-            });
+    String fullName = getMetricName(name);
+    MetricRegistry.MetricSupplier<Timer> supplier =
+        () -> new HistogramTimer(new UniformReservoir());
+    TIMER_SUPPLIERS.putIfAbsent(fullName, supplier);
+    return METRIC_REGISTRY.timer(fullName, supplier);
+  }
+
+  /**
+   * @return a new timer, recording into an HdrHistogram if
+   *         {@link PropertyKey#METRICS_TIMER_HDR_HISTOGRAM_ENABLED} is set
+   */
+  private static Timer newTimer() {
+    if (Configuration.getBoolean(PropertyKey.METRICS_TIMER_HDR_HISTOGRAM_ENABLED)) {
+      return new HistogramTimer(new HdrHistogramReservoir());
+    }
+    return new HistogramTimer();
+  }
+
+  /**
+   * The generation of the registered metrics, which changes every time metrics are replaced or
+   * removed so that {@link MetricHandle}s know to resolve their metric again.
+   *
+   * @return the current generation
+   */
+  static long getGeneration() {
+    return GENERATION.get();
   }
 
   /**
@@ -735,7 +772,9 @@ public final class MetricsSystem {
    * @return true if the metric was removed, false otherwise
    */
   public static synchronized boolean removeMetrics(String name) {
-    return METRIC_REGISTRY.remove(name);
+    boolean removed = METRIC_REGISTRY.remove(name);
+    GENERATION.incrementAndGet();
+    return removed;
   }
 
   /**
@@ -962,16 +1001,20 @@ public final class MetricsSystem {
     }
 
     // No reset logic exist in Meter, a remove and add combination is needed
-    for (String meterName : METRIC_REGISTRY.getMeters().keySet()) {
-      METRIC_REGISTRY.remove(meterName);
-      METRIC_REGISTRY.meter(meterName);
+    for (Map.Entry<String, Meter> entry : METRIC_REGISTRY.getMeters().entrySet()) {
+      METRIC_REGISTRY.remove(entry.getKey());
+      METRIC_REGISTRY.meter(entry.getKey(),
+          entry.getValue() instanceof StripedMeter ? StripedMeter::new : Meter::new);
     }
 
     // No reset logic exist in Timer, a remove and add combination is needed
     for (String timerName : METRIC_REGISTRY.getTimers().keySet()) {
       METRIC_REGISTRY.remove(timerName);
-      METRIC_REGISTRY.timer(timerName);
+      METRIC_REGISTRY.timer(timerName,
+          TIMER_SUPPLIERS.getOrDefault(timerName, MetricsSystem::newTimer));
     }
+    // Bumped after the new metrics are registered so handles cannot cache the old ones
+    GENERATION.incrementAndGet();
 
     // Reset the InstrumentedExecutorServices last as it needs to keep the
     // reference to the new metrics objects
@@ -991,6 +1034,8 @@ public final class MetricsSystem {
       METRIC_REGISTRY.remove(name);
     }
     EXECUTOR_SERVICES.clear();
+    TIMER_SUPPLIERS.clear();
+    GENERATION.incrementAndGet();
   }
 
   /**
@@ -1004,6 +1049,7 @@ public final class MetricsSystem {
     for (String gauge : METRIC_REGISTRY.getGauges().keySet()) {
       METRIC_REGISTRY.remove(gauge);
     }
+    GENERATION.incrementAndGet();
   }
 
   /**
@@ -0,0 +1,130 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.EWMA;
+import com.codahale.metrics.Meter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link Meter} which only adds to a striped counter when marked. The default meter reads the
+ * clock and updates three moving averages on every mark; this meter computes the moving averages
+ * lazily when a rate is read, spreading the events marked since the last read evenly over the
+ * elapsed ticks.
+ */
+@ThreadSafe
+public class StripedMeter extends Meter {
+  private static final long TICK_INTERVAL_NS = TimeUnit.SECONDS.toNanos(5);
+
+  private final LongAdder mCount = new LongAdder();
+  private final Clock mClock;
+  private final long mStartTime;
+
+  @GuardedBy("this")
+  private final EWMA mOneMinuteRate = EWMA.oneMinuteEWMA();
+  @GuardedBy("this")
+  private final EWMA mFiveMinuteRate = EWMA.fiveMinuteEWMA();
+  @GuardedBy("this")
+  private final EWMA mFifteenMinuteRate = EWMA.fifteenMinuteEWMA();
+  @GuardedBy("this")
+  private long mLastTick;
+  @GuardedBy("this")
+  private long mLastTickCount;
+
+  /**
+   * Creates a meter using the default clock.
+   */
+  public StripedMeter() {
+    this(Clock.defaultClock());
+  }
+
+  /**
+   * @param clock the clock to measure rates with
+   */
+  public StripedMeter(Clock clock) {
+    super(clock);
+    mClock = clock;
+    mStartTime = clock.getTick();
+    mLastTick = mStartTime;
+  }
+
+  @Override
+  public void mark() {
+    mCount.increment();
+  }
+
+  @Override
+  public void mark(long n) {
+    mCount.add(n);
+  }
+
+  @Override
+  public long getCount() {
+    return mCount.sum();
+  }
+
+  @Override
+  public double getMeanRate() {
+    long count = getCount();
+    if (count == 0) {
+      return 0.0;
+    }
+    double elapsed = mClock.getTick() - mStartTime;
+    return count / elapsed * TimeUnit.SECONDS.toNanos(1);
+  }
+
+  @Override
+  public synchronized double getOneMinuteRate() {
+    tickIfNecessary();
+    return mOneMinuteRate.getRate(TimeUnit.SECONDS);
+  }
+
+  @Override
+  public synchronized double getFiveMinuteRate() {
+    tickIfNecessary();
+    return mFiveMinuteRate.getRate(TimeUnit.SECONDS);
+  }
+
+  @Override
+  public synchronized double getFifteenMinuteRate() {
+    tickIfNecessary();
+    return mFifteenMinuteRate.getRate(TimeUnit.SECONDS);
+  }
+
+  @GuardedBy("this")
+  private void tickIfNecessary() {
+    long ticks = (mClock.getTick() - mLastTick) / TICK_INTERVAL_NS;
+    if (ticks <= 0) {
+      return;
+    }
+    mLastTick += ticks * TICK_INTERVAL_NS;
+    long count = mCount.sum();
+    long delta = count - mLastTickCount;
+    mLastTickCount = count;
+    long perTick = delta / ticks;
+    long remainder = delta - perTick * ticks;
+    for (long i = 0; i < ticks; i++) {
+      long n = i == ticks - 1 ? perTick + remainder : perTick;
+      mOneMinuteRate.update(n);
+      mFiveMinuteRate.update(n);
+      mFifteenMinuteRate.update(n);
+      mOneMinuteRate.tick();
+      mFiveMinuteRate.tick();
+      mFifteenMinuteRate.tick();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import com.codahale.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link MetricHandle} to a {@link Timer}.
+ */
+@ThreadSafe
+public final class TimerHandle extends MetricHandle<Timer> {
+  /**
+   * @param name the name of the timer, without the instance and host prefix
+   */
+  public TimerHandle(String name) {
+    super(name);
+  }
+
+  /**
+   * Records a duration.
+   *
+   * @param duration the length of the duration
+   * @param unit the unit of {@code duration}
+   */
+  public void update(long duration, TimeUnit unit) {
+    get().update(duration, unit);
+  }
+
+  /**
+   * Starts timing. The duration is recorded to the timer which is current when timing starts.
+   *
+   * @return a context which records the duration when closed
+   */
+  public Timer.Context time() {
+    return get().time();
+  }
+
+  /**
+   * @return the number of recorded durations
+   */
+  public long getCount() {
+    return get().getCount();
+  }
+
+  @Override
+  protected Timer resolve(String name) {
+    return MetricsSystem.timer(name);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+/**
+ * The stages of serving a Netty read request whose durations are recorded in a {@link ReadTrace}.
+ */
+public enum ReadStage {
+  /** Client: finding the worker of a file in the hash ring. */
+  RING_LOOKUP,
+  /** Client: acquiring a Netty channel to the worker. */
+  CHANNEL_ACQUIRE,
+  /** Client: from sending the request until the first data arrives. */
+  FIRST_BYTE,
+  /** Client: from the first data until the request completes. */
+  TRANSFER,
+  /** Worker: waiting in the executor queue before the request is served. */
+  WORKER_QUEUE,
+  /** Worker: opening the reader of the file. */
+  READER_OPEN,
+  /** Worker: waiting for the locks of the pages read. */
+  PAGE_LOCK_WAIT,
+  /** Worker: reading the pages from the page store, including waiting for their locks. */
+  PAGE_STORE_READ,
+  /** Worker: fetching the pages missing in the cache from the UFS. */
+  UFS_READ,
+  /** The whole request on either side. */
+  TOTAL,
+}
@@ -0,0 +1,120 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The timings of the stages of a sampled read request. Durations of the same stage add up, so a
+ * stage can be recorded once per page or packet.
+ */
+@ThreadSafe
+public final class ReadTrace {
+  private static final ReadStage[] STAGES = ReadStage.values();
+
+  private final long mTraceId;
+  private final String mDescription;
+  private final long mStartTimeMs;
+  private final long mStartNs;
+  private final AtomicLongArray mStageNs = new AtomicLongArray(STAGES.length);
+
+  /**
+   * @param traceId the id of the trace, shared by the client and the worker
+   * @param description what is read
+   */
+  ReadTrace(long traceId, String description) {
+    mTraceId = traceId;
+    mDescription = Preconditions.checkNotNull(description, "description");
+    mStartTimeMs = System.currentTimeMillis();
+    mStartNs = System.nanoTime();
+  }
+
+  /**
+   * Adds time spent in a stage.
+   *
+   * @param stage the stage
+   * @param nanos the time spent in nanoseconds
+   */
+  public void record(ReadStage stage, long nanos) {
+    mStageNs.addAndGet(stage.ordinal(), Math.max(nanos, 0));
+  }
+
+  /**
+   * Records the total time of the request, since this trace was created.
+   *
+   * @return the total time in nanoseconds
+   */
+  long finish() {
+    long total = System.nanoTime() - mStartNs;
+    mStageNs.set(ReadStage.TOTAL.ordinal(), total);
+    return total;
+  }
+
+  /**
+   * @return the id of the trace
+   */
+  public long getTraceId() {
+    return mTraceId;
+  }
+
+  /**
+   * @return what is read
+   */
+  public String getDescription() {
+    return mDescription;
+  }
+
+  /**
+   * @return the wall clock time the request started in milliseconds
+   */
+  public long getStartTimeMs() {
+    return mStartTimeMs;
+  }
+
+  /**
+   * @param stage the stage
+   * @return the time spent in the stage in nanoseconds
+   */
+  public long getStageNs(ReadStage stage) {
+    return mStageNs.get(stage.ordinal());
+  }
+
+  /**
+   * @return the time spent in each recorded stage in milliseconds, in the order of the stages
+   */
+  public Map<String, Double> getStagesMs() {
+    Map<String, Double> stages = new LinkedHashMap<>();
+    for (ReadStage stage : STAGES) {
+      long nanos = getStageNs(stage);
+      if (nanos > 0) {
+        stages.put(stage.name(), nanos / 1_000_000.0);
+      }
+    }
+    return stages;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("traceId", mTraceId)
+        .add("description", mDescription)
+        .add("startTimeMs", mStartTimeMs)
+        .add("stagesMs", getStagesMs())
+        .toString();
+  }
+}
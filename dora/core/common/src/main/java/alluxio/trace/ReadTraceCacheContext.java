@@ -0,0 +1,62 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import alluxio.client.file.CacheContext;
+import alluxio.metrics.MetricKey;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A {@link CacheContext} which adds the time reported by the cache to the stages of a
+ * {@link ReadTrace}.
+ */
+public class ReadTraceCacheContext extends CacheContext {
+  private static final String PAGE_LOCK_WAIT =
+      MetricKey.CLIENT_CACHE_PAGE_LOCK_WAIT_TIME_NS.getMetricName();
+  private static final String PAGE_STORE_READ =
+      MetricKey.CLIENT_CACHE_PAGE_READ_CACHE_TIME_NS.getMetricName();
+  private static final String UFS_READ =
+      MetricKey.CLIENT_CACHE_PAGE_READ_EXTERNAL_TIME_NS.getMetricName();
+
+  private final ReadTrace mTrace;
+
+  /**
+   * @param trace the trace to record the time to
+   */
+  public ReadTraceCacheContext(ReadTrace trace) {
+    mTrace = Preconditions.checkNotNull(trace, "trace");
+  }
+
+  /**
+   * @return a context recording to the trace of the current thread, or the default context if
+   *         the current request is not sampled
+   */
+  public static CacheContext forCurrentTrace() {
+    ReadTrace trace = ReadTracer.current();
+    return trace == null ? CacheContext.defaults() : new ReadTraceCacheContext(trace);
+  }
+
+  @Override
+  public void incrementCounter(String name, StatsUnit unit, long value) {
+    if (unit != StatsUnit.NANO) {
+      return;
+    }
+    if (PAGE_STORE_READ.equals(name)) {
+      mTrace.record(ReadStage.PAGE_STORE_READ, value);
+    } else if (UFS_READ.equals(name)) {
+      mTrace.record(ReadStage.UFS_READ, value);
+    } else if (PAGE_LOCK_WAIT.equals(name)) {
+      mTrace.record(ReadStage.PAGE_LOCK_WAIT, value);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.TimerHandle;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Starts and finishes {@link ReadTrace}s of sampled read requests. The stage timings of finished
+ * traces are recorded into a timer per stage, and the slowest recent traces are kept for
+ * inspection.
+ *
+ * Clients decide which requests are sampled and pass the trace id to the worker in the read
+ * request, so a sampled request is traced on both sides under the same id.
+ */
+@ThreadSafe
+public final class ReadTracer {
+  private static final Logger LOG = LoggerFactory.getLogger(ReadTracer.class);
+
+  /** The trace of the request served by the current thread, if it is sampled. */
+  private static final ThreadLocal<ReadTrace> CURRENT = new ThreadLocal<>();
+
+  private final TimerHandle[] mStageTimers = new TimerHandle[ReadStage.values().length];
+  private final long mSlowThresholdNs;
+  private final int mSlowReadsRetained;
+  @GuardedBy("mSlowReads")
+  private final Deque<ReadTrace> mSlowReads = new ArrayDeque<>();
+
+  /**
+   * @param stageTimeKey the metric key of the stage timers
+   * @param slowThresholdMs requests taking at least this long are kept as slow reads
+   * @param slowReadsRetained the number of most recent slow reads kept, or 0 to keep none
+   */
+  @VisibleForTesting
+  public ReadTracer(MetricKey stageTimeKey, long slowThresholdMs, int slowReadsRetained) {
+    Preconditions.checkArgument(slowReadsRetained >= 0,
+        "slowReadsRetained must be non-negative: %s", slowReadsRetained);
+    for (ReadStage stage : ReadStage.values()) {
+      mStageTimers[stage.ordinal()] = new TimerHandle(Metric.getMetricNameWithTags(
+          stageTimeKey.getName(), MetricInfo.TAG_STAGE, stage.name()));
+    }
+    mSlowThresholdNs = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    mSlowReadsRetained = slowReadsRetained;
+  }
+
+  /**
+   * @return the tracer of client read requests
+   */
+  public static ReadTracer client() {
+    return ClientHolder.INSTANCE;
+  }
+
+  /**
+   * @return the tracer of read requests served by the worker
+   */
+  public static ReadTracer worker() {
+    return WorkerHolder.INSTANCE;
+  }
+
+  /**
+   * @param ratio the ratio of requests to sample, between 0 and 1
+   * @return whether to sample the next request
+   */
+  public static boolean sample(double ratio) {
+    return ratio > 0 && ThreadLocalRandom.current().nextDouble() < ratio;
+  }
+
+  /**
+   * @return a new non-zero trace id
+   */
+  public static long newTraceId() {
+    long id;
+    do {
+      id = ThreadLocalRandom.current().nextLong();
+    } while (id == 0);
+    return id;
+  }
+
+  /**
+   * @return the trace of the request served by the current thread, or null if the request is
+   *         not sampled
+   */
+  @Nullable
+  public static ReadTrace current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Makes a trace the current one of this thread until the returned scope is closed.
+   *
+   * @param trace the trace, or null if the request is not sampled
+   * @return the scope which restores the previous trace when closed
+   */
+  public static Scope activate(@Nullable ReadTrace trace) {
+    ReadTrace previous = CURRENT.get();
+    CURRENT.set(trace);
+    return () -> CURRENT.set(previous);
+  }
+
+  /**
+   * Starts tracing a request.
+   *
+   * @param traceId the id of the trace
+   * @param description what is read
+   * @return the trace
+   */
+  public ReadTrace start(long traceId, String description) {
+    return new ReadTrace(traceId, description);
+  }
+
+  /**
+   * Records time spent in a stage outside of a request trace.
+   *
+   * @param stage the stage
+   * @param nanos the time spent in nanoseconds
+   */
+  public void record(ReadStage stage, long nanos) {
+    mStageTimers[stage.ordinal()].update(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Finishes a trace, recording its stage timings and keeping it if it is slow.
+   *
+   * @param trace the trace
+   */
+  public void finish(ReadTrace trace) {
+    long total = trace.finish();
+    for (ReadStage stage : ReadStage.values()) {
+      long nanos = trace.getStageNs(stage);
+      if (nanos > 0) {
+        record(stage, nanos);
+      }
+    }
+    if (mSlowReadsRetained > 0 && total >= mSlowThresholdNs) {
+      LOG.debug("Slow read: {}", trace);
+      synchronized (mSlowReads) {
+        if (mSlowReads.size() >= mSlowReadsRetained) {
+          mSlowReads.removeLast();
+        }
+        mSlowReads.addFirst(trace);
+      }
+    }
+  }
+
+  /**
+   * @return the most recent slow reads, newest first
+   */
+  public List<ReadTrace> getSlowReads() {
+    synchronized (mSlowReads) {
+      return ImmutableList.copyOf(mSlowReads);
+    }
+  }
+
+  /**
+   * Restores the previous trace of the thread when closed.
+   */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private static final class ClientHolder {
+    private static final ReadTracer INSTANCE =
+        new ReadTracer(MetricKey.CLIENT_READ_STAGE_TIME, 0, 0);
+  }
+
+  private static final class WorkerHolder {
+    private static final ReadTracer INSTANCE = new ReadTracer(MetricKey.WORKER_READ_STAGE_TIME,
+        Configuration.getMs(PropertyKey.WORKER_READ_TRACE_SLOW_THRESHOLD),
+        Configuration.getInt(PropertyKey.WORKER_READ_TRACE_SLOW_READS_RETAINED));
+  }
+}
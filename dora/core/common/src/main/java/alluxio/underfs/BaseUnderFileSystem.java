@@ -16,6 +16,8 @@ import alluxio.Constants;
 import alluxio.SyncInfo;
 import alluxio.collections.Pair;
 import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.security.authorization.AccessControlList;
 import alluxio.security.authorization.AclEntry;
 import alluxio.security.authorization.DefaultAccessControlList;
@@ -24,21 +26,26 @@ import alluxio.underfs.options.DeleteOptions;
 import alluxio.underfs.options.ListOptions;
 import alluxio.underfs.options.MkdirsOptions;
 import alluxio.underfs.options.OpenOptions;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.io.PathUtils;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.ArrayDeque;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -57,6 +64,12 @@ public abstract class BaseUnderFileSystem implements UnderFileSystem {
   /** UFS Configuration options. */
   protected final UnderFileSystemConfiguration mUfsConf;
 
+  /** The maximum number of directories listed concurrently by recursive listings. */
+  private final int mListingParallelism;
+
+  /** Permits shared by all recursive listings of this ufs. */
+  private final Semaphore mListingPermits;
+
   /**
    * Constructs an {@link BaseUnderFileSystem}.
    *
@@ -66,6 +79,8 @@ public abstract class BaseUnderFileSystem implements UnderFileSystem {
   protected BaseUnderFileSystem(AlluxioURI uri, UnderFileSystemConfiguration ufsConf) {
     mUri = Preconditions.checkNotNull(uri, "uri");
     mUfsConf = Preconditions.checkNotNull(ufsConf, "ufsConf");
+    mListingParallelism = Math.max(0, mUfsConf.getInt(PropertyKey.UNDERFS_LISTING_PARALLELISM));
+    mListingPermits = new Semaphore(mListingParallelism);
   }
 
   @Override
@@ -169,38 +184,54 @@ public abstract class BaseUnderFileSystem implements UnderFileSystem {
     if (!options.isRecursive()) {
       return listStatus(path);
     }
-    path = validatePath(path);
+    Iterator<UfsStatus> statuses = listStatusIterator(path, options);
+    if (statuses == null) {
+      return null;
+    }
     List<UfsStatus> returnPaths = new ArrayList<>();
-    // Each element is a pair of (full path, UfsStatus)
-    Queue<Pair<String, UfsStatus>> pathsToProcess = new ArrayDeque<>();
+    try {
+      statuses.forEachRemaining(returnPaths::add);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return returnPaths.toArray(new UfsStatus[0]);
+  }
+
+  @Override
+  @Nullable
+  public Iterator<UfsStatus> listStatusIterator(String path, ListOptions options)
+      throws IOException {
+    if (!options.isRecursive()) {
+      return iterate(listStatus(path), options);
+    }
+    path = validatePath(path);
     // We call list initially, so we can return null if the path doesn't denote a directory
     UfsStatus[] statuses = listStatus(path);
     if (statuses == null) {
       return null;
-    } else {
-      for (UfsStatus status : statuses) {
-        pathsToProcess.add(new Pair<>(PathUtils.concatPath(path, status.getName()), status));
-      }
     }
-    while (!pathsToProcess.isEmpty()) {
-      final Pair<String, UfsStatus> pathToProcessPair = pathsToProcess.remove();
-      final String pathToProcess = pathToProcessPair.getFirst();
-      UfsStatus pathStatus = pathToProcessPair.getSecond();
-      int beginIndex = path.endsWith(AlluxioURI.SEPARATOR) ? path.length() : path.length() + 1;
-      returnPaths.add(pathStatus.setName(pathToProcess.substring(beginIndex)));
-
-      if (pathStatus.isDirectory()) {
-        // Add all of its subpaths
-        UfsStatus[] children = listStatus(pathToProcess);
-        if (children != null) {
-          for (UfsStatus child : children) {
-            pathsToProcess.add(
-                new Pair<>(PathUtils.concatPath(pathToProcess, child.getName()), child));
-          }
-        }
-      }
+    return new ParallelUfsTreeIterator(path, statuses, this::listStatus, ListingPool.INSTANCE,
+        mListingPermits, mListingParallelism, options.getStartAfter());
+  }
+
+  /**
+   * @param statuses the statuses of a listing, or null if the path is not a directory
+   * @param options the options of the listing
+   * @return an iterator over the statuses, in name order after the start of the options if set
+   */
+  @Nullable
+  static Iterator<UfsStatus> iterate(@Nullable UfsStatus[] statuses, ListOptions options) {
+    if (statuses == null) {
+      return null;
     }
-    return returnPaths.toArray(new UfsStatus[0]);
+    String startAfter = options.getStartAfter();
+    if (startAfter == null) {
+      return Iterators.forArray(statuses);
+    }
+    return Arrays.stream(statuses)
+        .filter(status -> status.getName().compareTo(startAfter) > 0)
+        .sorted(Comparator.comparing(UfsStatus::getName))
+        .iterator();
   }
 
   @Override
@@ -254,4 +285,13 @@ public abstract class BaseUnderFileSystem implements UnderFileSystem {
   protected static String validatePath(String path) {
     return new AlluxioURI(path).toString();
   }
+
+  /**
+   * The work-stealing pool shared by recursive listings of all under file systems.
+   */
+  private static final class ListingPool {
+    private static final ForkJoinPool INSTANCE = new ForkJoinPool(
+        Configuration.getInt(PropertyKey.UNDERFS_IO_THREADS),
+        ThreadFactoryUtils.buildFjp("ufs-listing-%d", true), null, true);
+  }
 }
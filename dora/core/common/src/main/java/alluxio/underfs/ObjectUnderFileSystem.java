@@ -49,6 +49,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
@@ -592,6 +593,14 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     return listInternal(path, options);
   }
 
+  @Override
+  @Nullable
+  public Iterator<UfsStatus> listStatusIterator(String path, ListOptions options)
+      throws IOException {
+    // Object stores list recursively with a single flat listing, no tree walk is needed
+    return iterate(listStatus(path, options), options);
+  }
+
   @Override
   public boolean mkdirs(String path, MkdirsOptions options) throws IOException {
     if (path == null) {
@@ -0,0 +1,249 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.util.io.PathUtils;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Walks a directory tree of a hierarchical under file system, listing directories ahead of the
+ * consumer on a shared executor.
+ *
+ * <p>
+ * Statuses are returned in the same breadth-first order as a sequential walk, with names relative
+ * to the root of the walk. Directories are listed in that order as well, up to
+ * {@code prefetch} at a time ahead of the consumer. The {@link Semaphore} is shared by all walks
+ * of one under file system and bounds how many listings it runs concurrently; when no permit is
+ * available the consumer lists the next directory itself. A failed listing is thrown from
+ * {@link #hasNext()} or {@link #next()} as an {@link UncheckedIOException}.
+ * <p>
+ * Given a name to start after, statuses are instead returned in the order of their paths,
+ * starting after that name. Directories whose whole subtree is before the name are not listed.
+ */
+@NotThreadSafe
+public final class ParallelUfsTreeIterator implements Iterator<UfsStatus> {
+  /**
+   * Lists the direct children of a directory.
+   */
+  @FunctionalInterface
+  public interface Lister {
+    /**
+     * @param path the full path of the directory
+     * @return the children of the directory, or null if the path is no longer a directory
+     */
+    @Nullable
+    UfsStatus[] list(String path) throws IOException;
+  }
+
+  private static final Comparator<Entry> PATH_ORDER = Comparator.comparing(entry -> entry.mPath);
+
+  private final Lister mLister;
+  private final Executor mExecutor;
+  private final Semaphore mPermits;
+  private final int mPrefetch;
+  private final int mNameBeginIndex;
+  /** The full path to start after, or null to walk breadth first. */
+  @Nullable
+  private final String mStartAfter;
+  /** Entries not yet returned, in the order they are returned. */
+  private final Queue<Entry> mPending;
+  /** Directories in {@link #mPending} which have not been submitted for listing yet. */
+  private final Queue<Entry> mUnsubmitted;
+  /** Number of submitted listings whose results have not been consumed. */
+  private int mInFlight;
+
+  /**
+   * @param root the full path of the directory to walk
+   * @param rootChildren the children of the root directory
+   * @param lister lists a single directory
+   * @param executor the executor to list directories on
+   * @param permits the permits limiting concurrent listings of the under file system
+   * @param prefetch the maximum number of directories listed ahead of the consumer
+   */
+  public ParallelUfsTreeIterator(String root, UfsStatus[] rootChildren, Lister lister,
+      Executor executor, Semaphore permits, int prefetch) {
+    this(root, rootChildren, lister, executor, permits, prefetch, null);
+  }
+
+  /**
+   * @param root the full path of the directory to walk
+   * @param rootChildren the children of the root directory
+   * @param lister lists a single directory
+   * @param executor the executor to list directories on
+   * @param permits the permits limiting concurrent listings of the under file system
+   * @param prefetch the maximum number of directories listed ahead of the consumer
+   * @param startAfter the name relative to the root to start after, or null to walk breadth
+   *        first
+   */
+  public ParallelUfsTreeIterator(String root, UfsStatus[] rootChildren, Lister lister,
+      Executor executor, Semaphore permits, int prefetch, @Nullable String startAfter) {
+    mLister = Preconditions.checkNotNull(lister, "lister");
+    mExecutor = Preconditions.checkNotNull(executor, "executor");
+    mPermits = Preconditions.checkNotNull(permits, "permits");
+    mPrefetch = prefetch;
+    mNameBeginIndex = root.endsWith(AlluxioURI.SEPARATOR) ? root.length() : root.length() + 1;
+    if (startAfter == null) {
+      mStartAfter = null;
+      mPending = new ArrayDeque<>();
+      mUnsubmitted = new ArrayDeque<>();
+    } else {
+      mStartAfter = startAfter.isEmpty() ? "" : PathUtils.concatPath(root, startAfter);
+      mPending = new PriorityQueue<>(PATH_ORDER);
+      mUnsubmitted = new PriorityQueue<>(PATH_ORDER);
+    }
+    enqueue(root, rootChildren);
+    submitAhead();
+  }
+
+  @Override
+  public boolean hasNext() {
+    skipEntriesBeforeStart();
+    return !mPending.isEmpty();
+  }
+
+  @Override
+  public UfsStatus next() {
+    skipEntriesBeforeStart();
+    if (mPending.isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    Entry entry = mPending.remove();
+    expand(entry);
+    return entry.mStatus.setName(entry.mPath.substring(mNameBeginIndex));
+  }
+
+  /**
+   * Walks the directories before the start which hold paths after it, without returning them.
+   */
+  private void skipEntriesBeforeStart() {
+    while (!mPending.isEmpty() && mPending.peek().mBeforeStart) {
+      expand(mPending.remove());
+    }
+  }
+
+  private void expand(Entry entry) {
+    if (entry.mStatus.isDirectory()) {
+      enqueue(entry.mPath, getChildren(entry));
+    }
+    submitAhead();
+  }
+
+  @Nullable
+  private UfsStatus[] getChildren(Entry dir) {
+    if (dir.mChildren == null) {
+      // Directories are submitted in order, so an unsubmitted one is always the next in line
+      Preconditions.checkState(mUnsubmitted.poll() == dir,
+          "Directory %s is not the next one to list", dir.mPath);
+      try {
+        return mLister.list(dir.mPath);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    mInFlight--;
+    try {
+      return dir.mChildren.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw new UncheckedIOException((IOException) e.getCause());
+      }
+      throw e;
+    }
+  }
+
+  private void enqueue(String parent, @Nullable UfsStatus[] children) {
+    if (children == null) {
+      return;
+    }
+    for (UfsStatus child : children) {
+      String path = PathUtils.concatPath(parent, child.getName());
+      boolean beforeStart = mStartAfter != null && path.compareTo(mStartAfter) <= 0;
+      if (beforeStart && !(child.isDirectory() && hasPathsAfterStart(path))) {
+        continue;
+      }
+      Entry entry = new Entry(path, child, beforeStart);
+      mPending.add(entry);
+      if (child.isDirectory()) {
+        mUnsubmitted.add(entry);
+      }
+    }
+  }
+
+  private void submitAhead() {
+    while (mInFlight < mPrefetch && !mUnsubmitted.isEmpty() && mPermits.tryAcquire()) {
+      Entry dir = mUnsubmitted.peek();
+      CompletableFuture<UfsStatus[]> future = new CompletableFuture<>();
+      try {
+        mExecutor.execute(() -> {
+          try {
+            future.complete(mLister.list(dir.mPath));
+          } catch (Throwable t) {
+            future.completeExceptionally(t);
+          } finally {
+            mPermits.release();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // The consumer will list this directory itself
+        mPermits.release();
+        return;
+      }
+      mUnsubmitted.remove();
+      dir.mChildren = future;
+      mInFlight++;
+    }
+  }
+
+  /**
+   * @param dir the full path of a directory not after the start
+   * @return whether paths under the directory may be after the start
+   */
+  private boolean hasPathsAfterStart(String dir) {
+    String prefix = dir + AlluxioURI.SEPARATOR;
+    // either the start is under the directory, or all paths under it compare the same to
+    // the start as their common prefix does
+    return mStartAfter.startsWith(prefix) || prefix.compareTo(mStartAfter) > 0;
+  }
+
+  private static final class Entry {
+    private final String mPath;
+    private final UfsStatus mStatus;
+    /** Whether the entry is only walked for its children after the start. */
+    private final boolean mBeforeStart;
+    @Nullable
+    private CompletableFuture<UfsStatus[]> mChildren;
+
+    private Entry(String path, UfsStatus status, boolean beforeStart) {
+      mPath = path;
+      mStatus = status;
+      mBeforeStart = beforeStart;
+    }
+  }
+}
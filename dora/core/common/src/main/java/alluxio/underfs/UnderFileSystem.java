@@ -39,6 +39,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -653,6 +654,26 @@ public interface UnderFileSystem extends Closeable {
   @Nullable
   UfsStatus[] listStatus(String path, ListOptions options) throws IOException;
 
+  /**
+   * Returns an iterator over the statuses of the files and directories in the directory denoted
+   * by this abstract pathname, with options. The statuses are the same as the ones returned by
+   * {@link #listStatus(String, ListOptions)}, but a recursive listing may return them before the
+   * whole tree has been listed. An {@link java.io.UncheckedIOException} is thrown from the
+   * iterator if listing a subdirectory fails. If {@link ListOptions#getStartAfter()} is set, the
+   * statuses are returned in the order of their names, starting after that name.
+   *
+   * @param path the abstract pathname to list
+   * @param options for list directory
+   * @return An iterator over statuses naming the files and directories in the directory denoted
+   *         by this abstract pathname. Returns {@code null} if this abstract pathname does not
+   *         denote a directory.
+   */
+  @Nullable
+  default Iterator<UfsStatus> listStatusIterator(String path, ListOptions options)
+      throws IOException {
+    return BaseUnderFileSystem.iterate(listStatus(path, options), options);
+  }
+
   /**
    * Returns an array of statuses of the files and directories in the directory denoted by this
    * abstract pathname, with options.
@@ -20,9 +20,12 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.runtime.AlluxioRuntimeException;
 import alluxio.exception.status.UnimplementedException;
+import alluxio.metrics.CounterHandle;
 import alluxio.metrics.Metric;
 import alluxio.metrics.MetricInfo;
 import alluxio.metrics.MetricsSystem;
+import alluxio.metrics.TimerHandle;
+import alluxio.security.User;
 import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.security.authorization.AccessControlList;
 import alluxio.security.authorization.AclEntry;
@@ -36,16 +39,22 @@ import alluxio.underfs.options.MkdirsOptions;
 import alluxio.underfs.options.OpenOptions;
 import alluxio.util.SecurityUtils;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 
 /**
@@ -63,6 +72,9 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
   private final String mPath;
   private final String mEscapedPath;
   private final long mLoggingThreshold;
+  /** Handles to the metrics of calls without a user tag, keyed by method name. */
+  private final Map<String, TimerHandle> mTimers = new ConcurrentHashMap<>();
+  private final Map<String, CounterHandle> mFailureCounters = new ConcurrentHashMap<>();
 
   /**
    * Creates a new {@link UnderFileSystemWithLogging} which forwards all calls to the provided
@@ -819,6 +831,92 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     });
   }
 
+  @Override
+  @Nullable
+  public Iterator<UfsStatus> listStatusIterator(final String path, final ListOptions options)
+      throws IOException {
+    return call(new UfsCallable<Iterator<UfsStatus>>() {
+      @Override
+      public Iterator<UfsStatus> call() throws IOException {
+        Iterator<UfsStatus> statuses = mUnderFileSystem.listStatusIterator(path, options);
+        if (statuses == null) {
+          return null;
+        }
+        return new ListStatusIterator(path, options, Iterators.filter(statuses, status -> {
+          if (status.getName().contains("?")) {
+            LOG.warn("Ignoring {} while listing {} since it contains '?'", status.getName(),
+                path);
+            return false;
+          }
+          return true;
+        }));
+      }
+
+      @Override
+      public String methodName() {
+        return "ListStatus";
+      }
+
+      @Override
+      public String toString() {
+        return String.format("path=%s, options=%s", path, options);
+      }
+    });
+  }
+
+  /**
+   * Iterates over a listing, which may list subdirectories on the way. Each step is timed and
+   * logged as a listing, and a failed step is counted as a failed listing.
+   */
+  private final class ListStatusIterator implements Iterator<UfsStatus> {
+    private final String mPath;
+    private final ListOptions mOptions;
+    private final Iterator<UfsStatus> mStatuses;
+
+    private ListStatusIterator(String path, ListOptions options, Iterator<UfsStatus> statuses) {
+      mPath = path;
+      mOptions = options;
+      mStatuses = statuses;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iterate(mStatuses::hasNext);
+    }
+
+    @Override
+    public UfsStatus next() {
+      return iterate(mStatuses::next);
+    }
+
+    private <T> T iterate(Supplier<T> step) {
+      try {
+        return call(new UfsCallable<T>() {
+          @Override
+          public T call() throws IOException {
+            try {
+              return step.get();
+            } catch (UncheckedIOException e) {
+              throw e.getCause();
+            }
+          }
+
+          @Override
+          public String methodName() {
+            return "ListStatus";
+          }
+
+          @Override
+          public String toString() {
+            return String.format("path=%s, options=%s", mPath, mOptions);
+          }
+        });
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
   @Nullable
   private UfsStatus[] filterInvalidPaths(UfsStatus[] statuses, String listedPath) {
     // This is a temporary fix to prevent us from choking on paths containing '?'.
@@ -1286,7 +1384,8 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     long startMs = System.currentTimeMillis();
     long durationMs;
     LOG.debug("Enter: {}({})", methodName, callable);
-    try (Timer.Context ctx = MetricsSystem.timer(getQualifiedMetricName(methodName)).time()) {
+    String user = getAuthenticatedUserName();
+    try (Timer.Context ctx = getTimer(methodName, user).time()) {
       T ret = callable.call();
       durationMs = System.currentTimeMillis() - startMs;
       LOG.debug("Exit (OK): {}({}) in {} ms", methodName, callable, durationMs);
@@ -1297,7 +1396,7 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
       return ret;
     } catch (IOException e) {
       durationMs = System.currentTimeMillis() - startMs;
-      MetricsSystem.counter(getQualifiedFailureMetricName(methodName)).inc();
+      getFailureCounter(methodName, user).inc();
       LOG.debug("Exit (Error): {}({}) in {} ms, Error={}",
           methodName, callable, durationMs, e.toString());
       if (durationMs >= mLoggingThreshold) {
@@ -1313,26 +1412,72 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     return mUnderFileSystem.isSeekable();
   }
 
-  // TODO(calvin): General tag logic should be in getMetricName
-  private String getQualifiedMetricName(String metricName) {
+  /**
+   * @param methodName the name of the called method
+   * @param user the user calling the method, or null if the call has no user tag
+   * @return the timer for calls of the method
+   */
+  private Timer getTimer(String methodName, @Nullable String user) {
+    if (user != null) {
+      return MetricsSystem.timer(getQualifiedMetricName(methodName, user));
+    }
+    TimerHandle handle = mTimers.get(methodName);
+    if (handle == null) {
+      handle = mTimers.computeIfAbsent(methodName,
+          name -> new TimerHandle(getQualifiedMetricName(name, null)));
+    }
+    return handle.get();
+  }
+
+  /**
+   * @param methodName the name of the called method
+   * @param user the user calling the method, or null if the call has no user tag
+   * @return the counter of failed calls of the method
+   */
+  private Counter getFailureCounter(String methodName, @Nullable String user) {
+    if (user != null) {
+      return MetricsSystem.counter(getQualifiedFailureMetricName(methodName, user));
+    }
+    CounterHandle handle = mFailureCounters.get(methodName);
+    if (handle == null) {
+      handle = mFailureCounters.computeIfAbsent(methodName,
+          name -> new CounterHandle(getQualifiedFailureMetricName(name, null)));
+    }
+    return handle.get();
+  }
+
+  /**
+   * @return the name of the authenticated client user to tag metrics with, or null if there is
+   *         none
+   */
+  @Nullable
+  private String getAuthenticatedUserName() {
     try {
-      if (SecurityUtils.isAuthenticationEnabled(mConf)
-          && AuthenticatedClientUser.get(mConf) != null) {
-        return Metric.getMetricNameWithTags(metricName, MetricInfo.TAG_USER,
-            AuthenticatedClientUser.get(mConf).getName(), MetricInfo.TAG_UFS,
-            mEscapedPath, MetricInfo.TAG_UFS_TYPE,
-            mUnderFileSystem.getUnderFSType());
+      if (SecurityUtils.isAuthenticationEnabled(mConf)) {
+        User user = AuthenticatedClientUser.get(mConf);
+        return user == null ? null : user.getName();
       }
     } catch (IOException e) {
       // fall through
     }
+    return null;
+  }
+
+  // TODO(calvin): General tag logic should be in getMetricName
+  private String getQualifiedMetricName(String metricName, @Nullable String user) {
+    if (user != null) {
+      return Metric.getMetricNameWithTags(metricName, MetricInfo.TAG_USER,
+          user, MetricInfo.TAG_UFS,
+          mEscapedPath, MetricInfo.TAG_UFS_TYPE,
+          mUnderFileSystem.getUnderFSType());
+    }
     return Metric.getMetricNameWithTags(metricName, MetricInfo.TAG_UFS,
         mEscapedPath, MetricInfo.TAG_UFS_TYPE,
         mUnderFileSystem.getUnderFSType());
   }
 
   // TODO(calvin): This should not be in this class
-  private String getQualifiedFailureMetricName(String metricName) {
-    return getQualifiedMetricName(metricName + "Failures");
+  private String getQualifiedFailureMetricName(String metricName, @Nullable String user) {
+    return getQualifiedMetricName(metricName + "Failures", user);
   }
 }
@@ -16,6 +16,7 @@ import alluxio.annotation.PublicApi;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -26,6 +27,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 public final class ListOptions {
   // Whether to list a directory and all its sub-directories
   private boolean mRecursive;
+  // If set, statuses are listed in path order starting after this name
+  @Nullable
+  private String mStartAfter;
 
   /**
    * @return the default {@link ListOptions}
@@ -59,6 +63,29 @@ public final class ListOptions {
     return this;
   }
 
+  /**
+   * @return the name relative to the listed directory to list after, or null to list all
+   *         statuses in the order of the under file system
+   */
+  @Nullable
+  public String getStartAfter() {
+    return mStartAfter;
+  }
+
+  /**
+   * Sets the name to list after, honored by
+   * {@link alluxio.underfs.UnderFileSystem#listStatusIterator}. When set, statuses are listed in
+   * the order of their names, starting after the given name. An empty name lists all statuses
+   * in that order.
+   *
+   * @param startAfter the name relative to the listed directory to list after
+   * @return the updated option object
+   */
+  public ListOptions setStartAfter(@Nullable String startAfter) {
+    mStartAfter = startAfter;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -68,18 +95,20 @@ public final class ListOptions {
       return false;
     }
     ListOptions that = (ListOptions) o;
-    return Objects.equal(mRecursive, that.mRecursive);
+    return Objects.equal(mRecursive, that.mRecursive)
+        && Objects.equal(mStartAfter, that.mStartAfter);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mRecursive);
+    return Objects.hashCode(mRecursive, mStartAfter);
   }
 
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add("recursive", mRecursive)
+        .add("startAfter", mStartAfter)
         .toString();
   }
 }
@@ -13,9 +13,9 @@ package alluxio.worker.dora;
 
 import alluxio.exception.AccessControlException;
 import alluxio.grpc.File;
-import alluxio.grpc.FileFailure;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.Route;
 import alluxio.grpc.RouteFailure;
 import alluxio.grpc.UfsReadOptions;
@@ -89,13 +89,13 @@ public interface DoraWorker extends DataWorker, SessionCleanable {
       throws IOException, AccessControlException;
 
   /**
-   * Loads files from UFS to Alluxio.
+   * Loads files from UFS to Alluxio. Pages already cached are not read again.
    *
    * @param files   the files to load
    * @param options
-   * @return a list of failed files
+   * @return the response with the failed files and the bytes skipped as cached
    */
-  ListenableFuture<List<FileFailure>> load(List<File> files, UfsReadOptions options);
+  ListenableFuture<LoadFileResponse> load(List<File> files, UfsReadOptions options);
 
   /**
    * Copies files from src to dst.
@@ -0,0 +1,69 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import com.codahale.metrics.Snapshot;
+import org.junit.Test;
+
+import java.time.Duration;
+
+/**
+ * Unit tests for {@link HdrHistogramReservoir}.
+ */
+public final class HdrHistogramReservoirTest {
+  @Test
+  public void empty() {
+    Snapshot snapshot = new HdrHistogramReservoir().getSnapshot();
+    assertEquals(0, snapshot.size());
+    assertEquals(0, snapshot.getMax());
+    assertEquals(0.0, snapshot.getMedian(), 0.0);
+    assertEquals(0, snapshot.getValues().length);
+  }
+
+  @Test
+  public void percentiles() {
+    HdrHistogramReservoir reservoir = new HdrHistogramReservoir(3);
+    for (int i = 1; i <= 10000; i++) {
+      reservoir.update(i);
+    }
+    Snapshot snapshot = reservoir.getSnapshot();
+    assertEquals(10000, snapshot.size());
+    assertEquals(5000, snapshot.getMedian(), 5);
+    assertEquals(9900, snapshot.get99thPercentile(), 10);
+    assertEquals(1, snapshot.getMin());
+    assertEquals(10000, snapshot.getMax(), 10);
+    assertEquals(5000.5, snapshot.getMean(), 5);
+    assertEquals(1028, snapshot.getValues().length);
+  }
+
+  @Test
+  public void accumulatesAcrossSnapshots() {
+    HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+    reservoir.update(100);
+    assertEquals(1, reservoir.getSnapshot().size());
+    reservoir.update(200);
+    reservoir.update(-1);
+    Snapshot snapshot = reservoir.getSnapshot();
+    assertEquals(3, snapshot.size());
+    assertEquals(0, snapshot.getMin());
+  }
+
+  @Test
+  public void timer() {
+    HistogramTimer timer = new HistogramTimer(new HdrHistogramReservoir());
+    timer.update(Duration.ofMillis(3));
+    assertEquals(1, timer.getCount());
+    assertEquals(3_000_000, timer.getSnapshot().getMax(), 30_000);
+  }
+}
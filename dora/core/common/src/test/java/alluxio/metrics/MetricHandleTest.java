@@ -0,0 +1,101 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link MetricHandle}.
+ */
+public final class MetricHandleTest {
+  @Before
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+  }
+
+  @Test
+  public void resolvesRegisteredMetric() {
+    MeterHandle meter = new MeterHandle("Worker.HandleMeter");
+    meter.mark(3);
+    assertSame(MetricsSystem.meter("Worker.HandleMeter"), meter.get());
+    assertEquals(3, MetricsSystem.meter("Worker.HandleMeter").getCount());
+
+    CounterHandle counter = new CounterHandle("Worker.HandleCounter");
+    counter.inc(5);
+    counter.dec();
+    assertEquals(4, MetricsSystem.counter("Worker.HandleCounter").getCount());
+
+    TimerHandle timer = new TimerHandle("Worker.HandleTimer");
+    timer.update(1, TimeUnit.MILLISECONDS);
+    try (Timer.Context ctx = timer.time()) {
+      // nothing to time
+    }
+    assertEquals(2, MetricsSystem.timer("Worker.HandleTimer").getCount());
+  }
+
+  @Test
+  public void followsResetAllMetrics() {
+    MeterHandle meter = new MeterHandle("Worker.HandleResetMeter");
+    meter.mark(10);
+    Meter before = meter.get();
+    MetricsSystem.resetAllMetrics();
+    assertNotSame(before, meter.get());
+    assertEquals(0, meter.getCount());
+    meter.mark();
+    assertEquals(1, MetricsSystem.meter("Worker.HandleResetMeter").getCount());
+    assertTrue(meter.get() instanceof StripedMeter);
+  }
+
+  @Test
+  public void followsRemoval() {
+    CounterHandle counter = new CounterHandle("Worker.HandleRemovedCounter");
+    counter.inc();
+    MetricsSystem.removeMetrics(MetricsSystem.getMetricName("Worker.HandleRemovedCounter"));
+    counter.inc();
+    assertEquals(1, MetricsSystem.counter("Worker.HandleRemovedCounter").getCount());
+
+    MetricsSystem.clearAllMetrics();
+    counter.inc(2);
+    assertEquals(2, MetricsSystem.counter("Worker.HandleRemovedCounter").getCount());
+  }
+
+  @Test
+  public void metricKeyReusesHandles() {
+    MetricKey key = MetricKey.CLIENT_CACHE_BYTES_READ_CACHE;
+    assertSame(key.meter(), key.meter());
+    assertSame(key.counter(), key.counter());
+    assertSame(key.timer(), key.timer());
+    assertEquals(key.getName(), key.meter().getName());
+    key.meter().mark(7);
+    assertEquals(7, MetricsSystem.meter(key.getName()).getCount());
+  }
+
+  @Test
+  public void resetKeepsUniformTimer() {
+    Timer timer = MetricsSystem.uniformTimer("Worker.HandleUniformTimer");
+    timer.update(1, TimeUnit.SECONDS);
+    MetricsSystem.resetAllMetrics();
+    Timer reset = MetricsSystem.timer("Worker.HandleUniformTimer");
+    assertNotSame(timer, reset);
+    assertEquals(0, reset.getCount());
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.codahale.metrics.Clock;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link StripedMeter}.
+ */
+public final class StripedMeterTest {
+  private static final class ManualClock extends Clock {
+    private long mTick;
+
+    @Override
+    public long getTick() {
+      return mTick;
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+      mTick += unit.toNanos(duration);
+    }
+  }
+
+  @Test
+  public void count() {
+    StripedMeter meter = new StripedMeter();
+    meter.mark();
+    meter.mark(41);
+    assertEquals(42, meter.getCount());
+  }
+
+  @Test
+  public void constantRate() {
+    ManualClock clock = new ManualClock();
+    StripedMeter meter = new StripedMeter(clock);
+    // two events per second for a minute, read once at the end
+    for (int i = 0; i < 60; i++) {
+      meter.mark(2);
+      clock.advance(1, TimeUnit.SECONDS);
+    }
+    assertEquals(2.0, meter.getOneMinuteRate(), 0.001);
+    assertEquals(2.0, meter.getFiveMinuteRate(), 0.001);
+    assertEquals(2.0, meter.getFifteenMinuteRate(), 0.001);
+    assertEquals(2.0, meter.getMeanRate(), 0.001);
+  }
+
+  @Test
+  public void decaysWithoutEvents() {
+    ManualClock clock = new ManualClock();
+    StripedMeter meter = new StripedMeter(clock);
+    meter.mark(100);
+    clock.advance(5, TimeUnit.SECONDS);
+    double rate = meter.getOneMinuteRate();
+    assertTrue(rate > 0);
+    clock.advance(10, TimeUnit.MINUTES);
+    assertTrue(meter.getOneMinuteRate() < rate / 100);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link ReadTracer}.
+ */
+public final class ReadTracerTest {
+  @Before
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+  }
+
+  @Test
+  public void sample() {
+    for (int i = 0; i < 100; i++) {
+      assertFalse(ReadTracer.sample(0));
+      assertTrue(ReadTracer.sample(1));
+      assertNotEquals(0, ReadTracer.newTraceId());
+    }
+  }
+
+  @Test
+  public void recordStages() {
+    ReadTracer tracer = new ReadTracer(MetricKey.WORKER_READ_STAGE_TIME, 0, 0);
+    ReadTrace trace = tracer.start(1, "file");
+    trace.record(ReadStage.PAGE_STORE_READ, TimeUnit.MILLISECONDS.toNanos(1));
+    trace.record(ReadStage.PAGE_STORE_READ, TimeUnit.MILLISECONDS.toNanos(2));
+    trace.record(ReadStage.UFS_READ, TimeUnit.MILLISECONDS.toNanos(4));
+    tracer.finish(trace);
+
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(3), trace.getStageNs(ReadStage.PAGE_STORE_READ));
+    assertEquals(3.0, trace.getStagesMs().get(ReadStage.PAGE_STORE_READ.name()), 0);
+    assertNull(trace.getStagesMs().get(ReadStage.READER_OPEN.name()));
+    assertTrue(trace.getStageNs(ReadStage.TOTAL) > 0);
+    assertEquals(1, stageTimerCount(ReadStage.PAGE_STORE_READ));
+    assertEquals(1, stageTimerCount(ReadStage.UFS_READ));
+    assertEquals(1, stageTimerCount(ReadStage.TOTAL));
+    assertEquals(0, stageTimerCount(ReadStage.READER_OPEN));
+
+    tracer.record(ReadStage.RING_LOOKUP, 100);
+    assertEquals(1, stageTimerCount(ReadStage.RING_LOOKUP));
+  }
+
+  @Test
+  public void keepRecentSlowReads() {
+    ReadTracer tracer = new ReadTracer(MetricKey.WORKER_READ_STAGE_TIME, 0, 2);
+    ReadTrace first = tracer.start(1, "first");
+    tracer.finish(first);
+    ReadTrace second = tracer.start(2, "second");
+    tracer.finish(second);
+    ReadTrace third = tracer.start(3, "third");
+    tracer.finish(third);
+
+    List<ReadTrace> slowReads = tracer.getSlowReads();
+    assertEquals(2, slowReads.size());
+    assertSame(third, slowReads.get(0));
+    assertSame(second, slowReads.get(1));
+  }
+
+  @Test
+  public void ignoreFastReads() {
+    ReadTracer tracer = new ReadTracer(MetricKey.WORKER_READ_STAGE_TIME,
+        TimeUnit.HOURS.toMillis(1), 10);
+    tracer.finish(tracer.start(1, "fast"));
+    assertTrue(tracer.getSlowReads().isEmpty());
+  }
+
+  @Test
+  public void activate() {
+    ReadTracer tracer = new ReadTracer(MetricKey.WORKER_READ_STAGE_TIME, 0, 0);
+    ReadTrace outer = tracer.start(1, "outer");
+    ReadTrace inner = tracer.start(2, "inner");
+    assertNull(ReadTracer.current());
+    try (ReadTracer.Scope outerScope = ReadTracer.activate(outer)) {
+      assertSame(outer, ReadTracer.current());
+      try (ReadTracer.Scope innerScope = ReadTracer.activate(inner)) {
+        assertSame(inner, ReadTracer.current());
+      }
+      assertSame(outer, ReadTracer.current());
+    }
+    assertNull(ReadTracer.current());
+  }
+
+  private static long stageTimerCount(ReadStage stage) {
+    return MetricsSystem.timer(Metric.getMetricNameWithTags(
+        MetricKey.WORKER_READ_STAGE_TIME.getName(), MetricInfo.TAG_STAGE, stage.name()))
+        .getCount();
+  }
+}
@@ -0,0 +1,256 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.util.io.PathUtils;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+
+/**
+ * Tests for the {@link ParallelUfsTreeIterator} class.
+ */
+public final class ParallelUfsTreeIteratorTest {
+  private static final String ROOT = "/root";
+
+  /** Children names of each directory, directories end with a slash. */
+  private final Map<String, List<String>> mTree = new HashMap<>();
+  private ExecutorService mExecutor;
+
+  @Before
+  public void before() {
+    mExecutor = Executors.newFixedThreadPool(8);
+    // root has a, b/ and c/, b/ has d/ and e, c/ has f, d/ has g
+    mTree.put(ROOT, Arrays.asList("a", "b/", "c/"));
+    mTree.put("/root/b", Arrays.asList("d/", "e"));
+    mTree.put("/root/c", Arrays.asList("f"));
+    mTree.put("/root/b/d", Arrays.asList("g"));
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  /**
+   * Tests that statuses are returned breadth first with names relative to the root.
+   */
+  @Test
+  public void breadthFirstOrder() throws Exception {
+    List<String> expected = Arrays.asList("a", "b", "c", "b/d", "b/e", "c/f", "b/d/g");
+    assertEquals(expected, walk(this::list, MoreExecutors.directExecutor(), new Semaphore(0), 0));
+    for (int prefetch : new int[] {1, 2, 16}) {
+      assertEquals(expected, walk(this::list, mExecutor, new Semaphore(prefetch), prefetch));
+    }
+  }
+
+  /**
+   * Tests that statuses are returned in path order given a name to start after.
+   */
+  @Test
+  public void pathOrder() throws Exception {
+    // '!' sorts before '/', so b! is between b and the paths under b
+    mTree.put(ROOT, Arrays.asList("c/", "b!", "a", "b/"));
+    List<String> expected = Arrays.asList("a", "b", "b!", "b/d", "b/d/g", "b/e", "c", "c/f");
+    assertEquals(expected,
+        walk(this::list, MoreExecutors.directExecutor(), new Semaphore(0), 0, ""));
+    for (int prefetch : new int[] {1, 2, 16}) {
+      assertEquals(expected,
+          walk(this::list, mExecutor, new Semaphore(prefetch), prefetch, ""));
+    }
+  }
+
+  /**
+   * Tests that a walk starting after a name skips the paths up to it without listing the
+   * directories holding no path after it.
+   */
+  @Test
+  public void startAfter() throws Exception {
+    mTree.put(ROOT, Arrays.asList("a", "b!", "b/", "c/"));
+    List<String> listed = Collections.synchronizedList(new ArrayList<>());
+    ParallelUfsTreeIterator.Lister lister = path -> {
+      listed.add(path);
+      return list(path);
+    };
+    assertEquals(Arrays.asList("b/d/g", "b/e", "c", "c/f"),
+        walk(lister, mExecutor, new Semaphore(4), 4, "b/d"));
+    assertEquals(Arrays.asList("b/e", "c", "c/f"),
+        walk(lister, MoreExecutors.directExecutor(), new Semaphore(0), 0, "b/d/g"));
+
+    listed.clear();
+    assertEquals(Arrays.asList("c", "c/f"),
+        walk(lister, mExecutor, new Semaphore(4), 4, "b/e"));
+    // b holds the start, while nothing under b/d is after it
+    assertTrue(listed.contains("/root/b"));
+    assertFalse(listed.contains("/root/b/d"));
+
+    listed.clear();
+    assertEquals(Arrays.asList("b/d", "b/d/g", "b/e", "c", "c/f"),
+        walk(lister, MoreExecutors.directExecutor(), new Semaphore(0), 0, "b!"));
+    assertEquals(Collections.emptyList(),
+        walk(lister, MoreExecutors.directExecutor(), new Semaphore(0), 0, "c/f"));
+  }
+
+  /**
+   * Tests that a large tree is walked in the same order regardless of the parallelism.
+   */
+  @Test
+  public void stableOrder() throws Exception {
+    mTree.clear();
+    buildTree(ROOT, 4, 5);
+    List<String> sequential =
+        walk(this::list, MoreExecutors.directExecutor(), new Semaphore(0), 0);
+    assertEquals(5 + 25 + 125 + 625, sequential.size());
+    assertEquals(sequential, walk(this::list, mExecutor, new Semaphore(8), 8));
+    assertEquals(sequential, walk(this::list, mExecutor, new Semaphore(2), 64));
+  }
+
+  /**
+   * Tests that the permits bound the number of concurrent listings.
+   */
+  @Test
+  public void boundedConcurrency() throws Exception {
+    mTree.clear();
+    buildTree(ROOT, 3, 6);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    Semaphore permits = new Semaphore(3);
+    ParallelUfsTreeIterator.Lister lister = path -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      running.decrementAndGet();
+      return list(path);
+    };
+    assertEquals(6 + 36 + 216, walk(lister, mExecutor, permits, 16).size());
+    // Three listings on the executor and one by the consumer itself
+    assertTrue(maxRunning.get() <= 4);
+    assertTrue(permits.tryAcquire(3, 10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Tests that a failed listing is thrown to the consumer and its permit is returned.
+   */
+  @Test
+  public void listingFailure() throws Exception {
+    Semaphore permits = new Semaphore(4);
+    ParallelUfsTreeIterator.Lister lister = path -> {
+      if (path.equals("/root/b/d")) {
+        throw new IOException("injected");
+      }
+      return list(path);
+    };
+    try {
+      walk(lister, mExecutor, permits, 4);
+      fail("Expected the listing of /root/b/d to fail");
+    } catch (UncheckedIOException e) {
+      assertEquals("injected", e.getCause().getMessage());
+    }
+    assertTrue(permits.tryAcquire(4, 10, TimeUnit.SECONDS));
+  }
+
+  /**
+   * Tests that the consumer lists directories itself when the executor rejects them.
+   */
+  @Test
+  public void rejectedExecution() throws Exception {
+    Semaphore permits = new Semaphore(4);
+    List<String> names = walk(this::list, command -> {
+      throw new RejectedExecutionException();
+    }, permits, 4);
+    assertEquals(Arrays.asList("a", "b", "c", "b/d", "b/e", "c/f", "b/d/g"), names);
+    assertEquals(4, permits.availablePermits());
+  }
+
+  /**
+   * Tests that a directory removed during the walk is skipped.
+   */
+  @Test
+  public void removedDirectory() throws Exception {
+    mTree.remove("/root/b");
+    List<String> names =
+        walk(this::list, MoreExecutors.directExecutor(), new Semaphore(0), 0);
+    assertEquals(Arrays.asList("a", "b", "c", "c/f"), names);
+  }
+
+  private List<String> walk(ParallelUfsTreeIterator.Lister lister,
+      Executor executor, Semaphore permits, int prefetch)
+      throws IOException {
+    return walk(lister, executor, permits, prefetch, null);
+  }
+
+  private List<String> walk(ParallelUfsTreeIterator.Lister lister,
+      Executor executor, Semaphore permits, int prefetch, @Nullable String startAfter)
+      throws IOException {
+    ParallelUfsTreeIterator iterator = new ParallelUfsTreeIterator(ROOT, lister.list(ROOT),
+        lister, executor, permits, prefetch, startAfter);
+    List<String> names = new ArrayList<>();
+    iterator.forEachRemaining(status -> names.add(status.getName()));
+    return names;
+  }
+
+  private UfsStatus[] list(String path) {
+    List<String> children = mTree.get(path);
+    if (children == null) {
+      return null;
+    }
+    UfsStatus[] statuses = new UfsStatus[children.size()];
+    for (int i = 0; i < statuses.length; i++) {
+      String name = children.get(i);
+      statuses[i] = name.endsWith("/")
+          ? new UfsDirectoryStatus(name.substring(0, name.length() - 1), "owner", "group",
+              (short) 0755)
+          : new UfsFileStatus(name, "", 0L, 0L, "owner", "group", (short) 0644, 0L);
+    }
+    return statuses;
+  }
+
+  private void buildTree(String path, int depth, int fanOut) {
+    List<String> children = new ArrayList<>();
+    for (int i = 0; i < fanOut; i++) {
+      if (depth > 1) {
+        children.add("dir" + i + "/");
+        buildTree(PathUtils.concatPath(path, "dir" + i), depth - 1, fanOut);
+      } else {
+        children.add("file" + i);
+      }
+    }
+    mTree.put(path, children);
+  }
+}
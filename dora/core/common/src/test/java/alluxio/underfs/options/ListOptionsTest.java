@@ -12,6 +12,7 @@
 package alluxio.underfs.options;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import alluxio.test.util.CommonUtils;
 
@@ -31,6 +32,7 @@ public final class ListOptionsTest {
     ListOptions options = ListOptions.defaults();
 
     assertEquals(false, options.isRecursive());
+    assertNull(options.getStartAfter());
   }
 
   /**
@@ -47,6 +49,9 @@ public final class ListOptionsTest {
     recursive = true;
     options.setRecursive(recursive);
     assertEquals(recursive, options.isRecursive());
+
+    options.setStartAfter("a/b");
+    assertEquals("a/b", options.getStartAfter());
   }
 
   @Test
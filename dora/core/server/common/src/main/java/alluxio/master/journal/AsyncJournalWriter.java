@@ -37,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
@@ -79,8 +80,10 @@ public final class AsyncJournalWriter {
     }
 
     public void setError(Throwable exc) {
-      mIsCompleted.setException(exc);
-      mError = exc;
+      // the ticket may have been completed by a flush which finished meanwhile
+      if (mIsCompleted.setException(exc)) {
+        mError = exc;
+      }
     }
 
     /**
@@ -126,6 +129,17 @@ public final class AsyncJournalWriter {
    * Invariant: {@code mWriteCounter >= mFlushCounter}
    */
   private long mWriteCounter;
+  /**
+   * Represents the count of entries submitted to the journal writer, some of which may not be
+   * flushed yet. This counter is only accessed by the dedicated journal thread.
+   * Invariant: {@code mWriteCounter >= mSubmitCounter >= mFlushCounter}
+   */
+  private long mSubmitCounter;
+  /**
+   * Represents the count of entries the journal sinks were last flushed at.
+   * This counter is only accessed by the dedicated journal thread.
+   */
+  private long mSinkFlushCounter;
   /** Maximum number of nanoseconds for a batch flush. */
   private final long mFlushBatchTimeNs;
 
@@ -173,6 +187,8 @@ public final class AsyncJournalWriter {
     mCounter = new AtomicLong(0);
     mFlushCounter = new AtomicLong(0);
     mWriteCounter = 0L;
+    mSubmitCounter = 0L;
+    mSinkFlushCounter = 0L;
     mFlushBatchTimeNs = TimeUnit.NANOSECONDS.convert(
         Configuration.getMs(PropertyKey.MASTER_JOURNAL_FLUSH_BATCH_TIME_MS),
         TimeUnit.MILLISECONDS);
@@ -317,23 +333,35 @@ public final class AsyncJournalWriter {
 
         // Either written new entries or previous flush had been failed.
         if (mFlushCounter.get() < mWriteCounter) {
-          try (Timer.Context ctx = MetricsSystem
-              .timer(MetricKey.MASTER_JOURNAL_FLUSH_TIMER.getName()).time()) {
-            mJournalWriter.flush();
+          if (!mQueue.isEmpty() && !mStopFlushing) {
+            // More entries are waiting. Submit the written ones and go on writing while they
+            // are being flushed, tickets are released as the flushes complete.
+            if (mSubmitCounter < mWriteCounter) {
+              long submitCounter = mWriteCounter;
+              // timed until the flush completes, the same as a blocking flush
+              Timer.Context ctx = MetricsSystem
+                  .timer(MetricKey.MASTER_JOURNAL_FLUSH_TIMER.getName()).time();
+              CompletableFuture<Void> flushed = mJournalWriter.flushAsync();
+              mSubmitCounter = submitCounter;
+              flushed.whenComplete((result, e) -> ctx.stop());
+              flushed.thenRun(() -> onFlushed(submitCounter));
+            }
+          } else {
+            try (Timer.Context ctx = MetricsSystem
+                .timer(MetricKey.MASTER_JOURNAL_FLUSH_TIMER.getName()).time()) {
+              mJournalWriter.flush();
+            }
+            mSubmitCounter = mWriteCounter;
+            mFlushCounter.accumulateAndGet(mWriteCounter, Math::max);
           }
+        }
+        if (mSinkFlushCounter < mFlushCounter.get()) {
           JournalUtils.sinkFlush(mJournalSinks);
-          mFlushCounter.set(mWriteCounter);
+          mSinkFlushCounter = mFlushCounter.get();
         }
 
         // Notify tickets that have been served to wake up.
-        Iterator<FlushTicket> ticketIterator = mTicketSet.iterator();
-        while (ticketIterator.hasNext()) {
-          FlushTicket ticket = ticketIterator.next();
-          if (ticket.getTargetCounter() <= mFlushCounter.get()) {
-            ticket.setCompleted();
-            ticketIterator.remove();
-          }
-        }
+        releaseFlushedTickets();
       } catch (IOException | JournalClosedException exc) {
         // Add the error logging here since the actual flush error may be overwritten
         // by the future meaningless ratis.protocol.AlreadyClosedException
@@ -354,6 +382,27 @@ public final class AsyncJournalWriter {
     }
   }
 
+  /**
+   * Called once the entries up to the given counter are flushed by an asynchronous flush.
+   *
+   * @param flushCounter the counter flushed
+   */
+  private void onFlushed(long flushCounter) {
+    mFlushCounter.accumulateAndGet(flushCounter, Math::max);
+    releaseFlushedTickets();
+  }
+
+  private void releaseFlushedTickets() {
+    Iterator<FlushTicket> ticketIterator = mTicketSet.iterator();
+    while (ticketIterator.hasNext()) {
+      FlushTicket ticket = ticketIterator.next();
+      if (ticket.getTargetCounter() <= mFlushCounter.get()) {
+        ticket.setCompleted();
+        ticketIterator.remove();
+      }
+    }
+  }
+
   /**
    * Submits a ticket to flush thread and waits until ticket is served.
    *
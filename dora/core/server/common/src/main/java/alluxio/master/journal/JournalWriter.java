@@ -16,6 +16,7 @@ import alluxio.proto.journal.Journal.JournalEntry;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for a class that can write and flush journal entries.
@@ -33,4 +34,15 @@ public interface JournalWriter extends Closeable {
    * Flushes all the entries written to the underlying storage.
    */
   void flush() throws IOException, JournalClosedException;
+
+  /**
+   * Submits all the entries written to the underlying storage without waiting for them to be
+   * persisted. Writers which cannot have several flushes outstanding flush synchronously.
+   *
+   * @return a future which completes once the entries are persisted
+   */
+  default CompletableFuture<Void> flushAsync() throws IOException, JournalClosedException {
+    flush();
+    return CompletableFuture.completedFuture(null);
+  }
 }
@@ -12,6 +12,8 @@
 package alluxio.master.journal.raft;
 
 import alluxio.ProcessUtils;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.master.journal.AbstractCatchupThread;
 import alluxio.master.journal.CatchupFuture;
 import alluxio.master.journal.JournalEntryAssociation;
@@ -20,18 +22,31 @@ import alluxio.master.journal.Journaled;
 import alluxio.master.journal.sink.JournalSink;
 import alluxio.proto.journal.Journal;
 import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -43,6 +58,10 @@ import javax.annotation.concurrent.ThreadSafe;
  * when it wants new entries to be processed. These buffered entries will be applied to masters
  * when this applier is resumed.
  *
+ * Entries handed over together are applied to different masters in parallel, see
+ * {@link PropertyKey#MASTER_EMBEDDED_JOURNAL_APPLY_PARALLELISM}. The entries of each master are
+ * applied in journal order, and all of them are applied before the call returns.
+ *
  * TODO(ggezer): Extend with on-disk buffering.
  */
 @ThreadSafe
@@ -55,6 +74,12 @@ public class BufferedJournalApplier {
   /** Resume will acquire exclusive lock when can't finish after this much time. */
   private static final int RESUME_LOCK_TIME_LIMIT_MS = 30000;
 
+  /** Resume and catch-up apply buffered entries together in groups of up to this many. */
+  private static final int BUFFER_APPLY_BATCH_SIZE = 1024;
+
+  /** Apply threads exit when idle for this long, e.g. on a primary master. */
+  private static final long APPLY_THREAD_KEEP_ALIVE_SECONDS = 60;
+
   /** Journals managed by this applier. */
   private final Map<String, RaftJournal> mJournals;
   /** A supplier of journal sinks for this applier. */
@@ -80,6 +105,10 @@ public class BufferedJournalApplier {
   /** Used to synchronize buffer state. */
   private final ReentrantLock mStateLock = new ReentrantLock(true);
 
+  /** Applies entries of different masters in parallel, null to apply entries one by one. */
+  @Nullable
+  private final ExecutorService mApplyExecutor;
+
   /**
    * Creates a buffered applier over given journals.
    *
@@ -90,6 +119,19 @@ public class BufferedJournalApplier {
       Supplier<Set<JournalSink>> journalSinks) {
     mJournals = journals;
     mJournalSinks = journalSinks;
+    int parallelism = Configuration.getInt(PropertyKey.MASTER_EMBEDDED_JOURNAL_APPLY_PARALLELISM);
+    Preconditions.checkArgument(parallelism > 0, "%s must be positive",
+        PropertyKey.Name.MASTER_EMBEDDED_JOURNAL_APPLY_PARALLELISM);
+    if (parallelism == 1) {
+      mApplyExecutor = null;
+    } else {
+      // the calling thread applies the entries of one master itself
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism - 1, parallelism - 1,
+          APPLY_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+          ThreadFactoryUtils.build("journal-apply-%d", true));
+      executor.allowCoreThreadTimeOut(true);
+      mApplyExecutor = executor;
+    }
   }
 
   /**
@@ -99,15 +141,28 @@ public class BufferedJournalApplier {
    * @param journalEntry the journal entry
    */
   public void processJournalEntry(Journal.JournalEntry journalEntry) {
+    processJournalEntries(Collections.singletonList(journalEntry));
+  }
+
+  /**
+   * Processes given journal entries for applying. Entries could be applied or buffered based on
+   * buffer's state. Entries of different masters are applied in parallel.
+   *
+   * @param journalEntries the journal entries, in journal order
+   */
+  public void processJournalEntries(List<Journal.JournalEntry> journalEntries) {
+    if (journalEntries.isEmpty()) {
+      return;
+    }
     try (LockResource stateLock = new LockResource(mStateLock)) {
       if (mSuspended) {
         // New entry submissions are monitored by catch-up threads.
         synchronized (mSuspendBuffer) {
-          mSuspendBuffer.offer(journalEntry);
+          mSuspendBuffer.addAll(journalEntries);
           mSuspendBuffer.notifyAll();
         }
       } else {
-        applyToMaster(journalEntry);
+        applyToMasters(journalEntries);
       }
     }
   }
@@ -168,7 +223,7 @@ public class BufferedJournalApplier {
       }
 
       while (!mSuspendBuffer.isEmpty()) {
-        applyToMaster(mSuspendBuffer.remove());
+        applyToMasters(pollSuspendBuffer(Long.MAX_VALUE));
 
         // Check whether to lock the state now.
         boolean lockSubmission = !mStateLock.isHeldByCurrentThread()
@@ -226,28 +281,95 @@ public class BufferedJournalApplier {
   }
 
   /**
-   * Applies the entry to master and updates last applied sequence.
+   * Removes the next buffered entries to apply together, stopping once the given sequence is
+   * reached.
+   */
+  private List<Journal.JournalEntry> pollSuspendBuffer(long endSequence) {
+    List<Journal.JournalEntry> entries = new ArrayList<>();
+    long lastSequence = mLastAppliedSequence;
+    while (entries.size() < BUFFER_APPLY_BATCH_SIZE && lastSequence < endSequence) {
+      Journal.JournalEntry entry = mSuspendBuffer.poll();
+      if (entry == null) {
+        break;
+      }
+      entries.add(entry);
+      lastSequence = entry.getSequenceNumber();
+    }
+    return entries;
+  }
+
+  /**
+   * Applies the entries to masters and updates last applied sequence. Entries of different
+   * masters are applied in parallel, the entries of each master in the given order.
    * Calls to it should be serialized.
    */
-  private void applyToMaster(Journal.JournalEntry entry) {
-    String masterName;
-    try {
-      masterName = JournalEntryAssociation.getMasterForEntry(entry);
-    } catch (Exception t) {
-      ProcessUtils.fatalError(LOG, t, "Unrecognized journal entry: %s", entry);
-      throw new IllegalStateException();
+  private void applyToMasters(List<Journal.JournalEntry> entries) {
+    if (entries.isEmpty()) {
+      return;
     }
+    Map<String, List<Journal.JournalEntry>> entriesByMaster = new LinkedHashMap<>();
+    for (Journal.JournalEntry entry : entries) {
+      entriesByMaster.computeIfAbsent(getMasterName(entry), name -> new ArrayList<>())
+          .add(entry);
+    }
+    if (mApplyExecutor == null || entriesByMaster.size() == 1) {
+      entriesByMaster.forEach(this::applyToMaster);
+    } else {
+      List<Future<?>> futures = new ArrayList<>(entriesByMaster.size() - 1);
+      Map.Entry<String, List<Journal.JournalEntry>> ownEntries = null;
+      for (Map.Entry<String, List<Journal.JournalEntry>> masterEntries
+          : entriesByMaster.entrySet()) {
+        if (ownEntries == null) {
+          ownEntries = masterEntries;
+          continue;
+        }
+        futures.add(mApplyExecutor.submit(
+            () -> applyToMaster(masterEntries.getKey(), masterEntries.getValue())));
+      }
+      applyToMaster(ownEntries.getKey(), ownEntries.getValue());
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Interrupted while applying journal entries.", e);
+        } catch (ExecutionException e) {
+          Throwables.throwIfUnchecked(e.getCause());
+          throw new RuntimeException(e.getCause());
+        }
+      }
+    }
+    for (Journal.JournalEntry entry : entries) {
+      JournalUtils.sinkAppend(mJournalSinks, entry);
+    }
+    // Store last applied sequence.
+    mLastAppliedSequence = entries.get(entries.size() - 1).getSequenceNumber();
+  }
+
+  private void applyToMaster(String masterName, List<Journal.JournalEntry> entries) {
+    for (Journal.JournalEntry entry : entries) {
+      applyToMaster(masterName, entry);
+    }
+  }
+
+  private void applyToMaster(String masterName, Journal.JournalEntry entry) {
     try {
       Journaled master = mJournals.get(masterName).getStateMachine();
       LOG.trace("Applying entry to master {}: {} ", masterName, entry);
       master.processJournalEntry(entry);
-      JournalUtils.sinkAppend(mJournalSinks, entry);
     } catch (Exception t) {
       JournalUtils.handleJournalReplayFailure(LOG, t,
           "Failed to apply journal entry to master %s. Entry: %s", masterName, entry);
     }
-    // Store last applied sequence.
-    mLastAppliedSequence = entry.getSequenceNumber();
+  }
+
+  private static String getMasterName(Journal.JournalEntry entry) {
+    try {
+      return JournalEntryAssociation.getMasterForEntry(entry);
+    } catch (Exception t) {
+      ProcessUtils.fatalError(LOG, t, "Unrecognized journal entry: %s", entry);
+      throw new IllegalStateException();
+    }
   }
 
   /**
@@ -257,6 +379,9 @@ public class BufferedJournalApplier {
     try (LockResource stateLock = new LockResource(mStateLock)) {
       cancelCatchup();
       mSuspendBuffer.clear();
+      if (mApplyExecutor != null) {
+        mApplyExecutor.shutdownNow();
+      }
     }
   }
 
@@ -304,7 +429,7 @@ public class BufferedJournalApplier {
 
           // Catch up as much as possible.
           while (!mSuspendBuffer.isEmpty() && mLastAppliedSequence < mCatchUpEndSequence) {
-            applyToMaster(mSuspendBuffer.remove());
+            applyToMasters(pollSuspendBuffer(mCatchUpEndSequence));
           }
         }
       }
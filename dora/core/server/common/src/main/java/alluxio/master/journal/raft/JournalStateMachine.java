@@ -65,6 +65,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -144,6 +145,8 @@ public class JournalStateMachine extends BaseStateMachine {
   private volatile long mSnapshotLastIndex = -1;
   /** Used to control applying to masters. */
   private BufferedJournalApplier mJournalApplier;
+  /** Entries of the commit being applied, handed to the applier together. */
+  private final List<JournalEntry> mPendingEntries = new ArrayList<>();
   private final SimpleStateMachineStorage mStorage = new SimpleStateMachineStorage();
   private RaftGroupId mRaftGroupId;
   private RaftServer mServer;
@@ -493,14 +496,16 @@ public class JournalStateMachine extends BaseStateMachine {
     }
     try {
       applyEntry(entry);
+      mJournalApplier.processJournalEntries(mPendingEntries);
     } finally {
+      mPendingEntries.clear();
       Preconditions.checkState(commit.getLogEntry().getIndex() > mLastAppliedCommitIndex);
       mLastAppliedCommitIndex = commit.getLogEntry().getIndex();
     }
   }
 
   /**
-   * Applies the journal entry, ignoring empty entries and expanding multi-entries.
+   * Collects the journal entry for applying, ignoring empty entries and expanding multi-entries.
    *
    * @param entry the entry to apply
    */
@@ -556,7 +561,7 @@ public class JournalStateMachine extends BaseStateMachine {
 
     mNextSequenceNumberToRead++;
     if (!mIgnoreApplys) {
-      mJournalApplier.processJournalEntry(entry);
+      mPendingEntries.add(entry);
     }
   }
 
@@ -12,7 +12,10 @@
 package alluxio.master.journal.raft;
 
 import org.apache.ratis.protocol.RaftPeerId;
+import org.apache.ratis.server.protocol.TermIndex;
 import org.apache.ratis.statemachine.impl.SimpleStateMachineStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
@@ -23,7 +26,9 @@ import java.util.concurrent.CompletableFuture;
  * Helper class for raft journal operations.
  */
 public class RaftJournalUtils {
+  private static final Logger LOG = LoggerFactory.getLogger(RaftJournalUtils.class);
   public static final String RAFT_DIR = "raft";
+  private static final String PARTIAL_SNAPSHOT_SUFFIX = ".partial";
 
   private RaftJournalUtils() {
     // prevent instantiation
@@ -68,13 +73,45 @@ public class RaftJournalUtils {
    * @throws IOException if error occurred while creating the snapshot file
    */
   public static File createTempSnapshotFile(SimpleStateMachineStorage storage) throws IOException {
+    return File.createTempFile("raft_snapshot_" + System.currentTimeMillis() + "_",
+        ".dat", getTempSnapshotDir(storage));
+  }
+
+  /**
+   * Gets the file to download a snapshot to. A download which stops part way leaves the file
+   * behind, so that downloading the same snapshot from the same source again resumes where it
+   * stopped. Partial downloads of any other snapshot are deleted.
+   *
+   * @param storage the snapshot storage
+   * @param termIndex the term and index of the snapshot
+   * @param source the source of the snapshot
+   * @return the partial snapshot file, which may not exist yet
+   * @throws IOException if error occurred while creating the snapshot directory
+   */
+  public static File getPartialSnapshotFile(SimpleStateMachineStorage storage,
+      TermIndex termIndex, String source) throws IOException {
+    File tempDir = getTempSnapshotDir(storage);
+    String name = String.format("raft_snapshot_%d_%d_%s%s", termIndex.getTerm(),
+        termIndex.getIndex(), source.replaceAll("[^A-Za-z0-9.-]", "_"), PARTIAL_SNAPSHOT_SUFFIX);
+    File[] stale = tempDir.listFiles(
+        (dir, fileName) -> fileName.endsWith(PARTIAL_SNAPSHOT_SUFFIX) && !fileName.equals(name));
+    if (stale != null) {
+      for (File file : stale) {
+        if (!file.delete()) {
+          LOG.warn("Failed to delete partial snapshot file {}", file);
+        }
+      }
+    }
+    return new File(tempDir, name);
+  }
+
+  private static File getTempSnapshotDir(SimpleStateMachineStorage storage) throws IOException {
     File tempDir = new File(storage.getSmDir().getParentFile(), "tmp");
     if (!tempDir.isDirectory() && !tempDir.mkdir()) {
       throw new IOException(
           "Cannot create temporary snapshot directory at " + tempDir.getAbsolutePath());
     }
-    return File.createTempFile("raft_snapshot_" + System.currentTimeMillis() + "_",
-        ".dat", tempDir);
+    return tempDir;
   }
 
   /**
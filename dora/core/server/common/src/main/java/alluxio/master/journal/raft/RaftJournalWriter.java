@@ -26,7 +26,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -36,6 +42,17 @@ import javax.annotation.concurrent.NotThreadSafe;
 /**
  * Class for writing entries to the Raft journal. Written entries are aggregated until flush is
  * called, then they are submitted as a single unit.
+ *
+ * Up to {@link PropertyKey#MASTER_EMBEDDED_JOURNAL_WRITE_INFLIGHT_BATCHES_MAX} submitted batches
+ * may wait for the cluster at once, so that the next batch is formed and sent while earlier ones
+ * are being replicated. Batches are committed in the order they are sent. The size at which
+ * {@link #write} sends a batch adapts to the load: it grows when the writer has to wait for a
+ * free slot and shrinks when batches are committed faster than they are formed.
+ *
+ * Once a batch fails, no new batch is sent until it is committed: a later batch committed
+ * without it would leave a gap in the sequence numbers, which the state machine cannot apply
+ * past. The batches in flight are then sent again one at a time, each once the previous one is
+ * committed.
  */
 @NotThreadSafe
 public class RaftJournalWriter implements JournalWriter {
@@ -48,12 +65,24 @@ public class RaftJournalWriter implements JournalWriter {
   // journal entry size max is the hard limit set by underlying ratis
   // we use a smaller value to guarantee we don't pass the hard limit
   private static final long FLUSH_BATCH_SIZE = MASTER_EMBEDDED_JOURNAL_ENTRY_SIZE_MAX / 3;
+  // batches sent while the cluster keeps up are as small as FLUSH_BATCH_SIZE >> this
+  private static final int MAX_FLUSH_BATCH_SHIFT = 6;
+  private static final int MAX_INFLIGHT_BATCHES =
+      Configuration.getInt(PropertyKey.MASTER_EMBEDDED_JOURNAL_WRITE_INFLIGHT_BATCHES_MAX);
 
   private final AtomicLong mNextSequenceNumberToWrite;
   private final AtomicLong mLastSubmittedSequenceNumber = new AtomicLong(-1);
   private final AtomicLong mLastCommittedSequenceNumber = new AtomicLong(-1);
 
   private final RaftJournalAppender mClient;
+  /** Batches sent to the cluster which are not known to be committed yet, oldest first. */
+  private final Deque<Batch> mInflightBatches = new ConcurrentLinkedDeque<>();
+  /** Whether the batches in flight have to be sent again, because waiting for one failed. */
+  private boolean mResendInflightBatches = false;
+  /** Whether the cluster failed a batch in flight, set by the reply callbacks. */
+  private volatile boolean mBatchFailed = false;
+  /** {@link #write} sends a batch once it is larger than FLUSH_BATCH_SIZE >> this. */
+  private int mFlushBatchShift = 0;
 
   private volatile boolean mClosed = false;
   private JournalEntry.Builder mJournalEntryBuilder; // gets build across successive writes
@@ -77,8 +106,8 @@ public class RaftJournalWriter implements JournalWriter {
     }
     Preconditions.checkState(entry.getAllFields().size() <= 2,
         "Raft journal entries should never set multiple fields, but found %s", entry);
-    if (mCurrentJournalEntrySize.get() > FLUSH_BATCH_SIZE) {
-      flush();
+    if (mCurrentJournalEntrySize.get() > FLUSH_BATCH_SIZE >> mFlushBatchShift) {
+      sendBatch();
     }
     if (mJournalEntryBuilder == null) {
       mJournalEntryBuilder = JournalEntry.newBuilder();
@@ -102,36 +131,154 @@ public class RaftJournalWriter implements JournalWriter {
     if (mClosed) {
       throw new JournalClosedException("Cannot flush. Journal writer has been closed");
     }
-    if (mJournalEntryBuilder != null) {
-      long flushSN = mNextSequenceNumberToWrite.get() - 1;
+    sendBatch();
+    Batch batch;
+    while ((batch = mInflightBatches.peekFirst()) != null) {
+      waitForCommit(batch);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> flushAsync() throws IOException, JournalClosedException {
+    if (mClosed) {
+      throw new JournalClosedException("Cannot flush. Journal writer has been closed");
+    }
+    sendBatch();
+    Batch last = mInflightBatches.peekLast();
+    return last == null ? CompletableFuture.completedFuture(null) : last.mCommitted;
+  }
+
+  /**
+   * Sends the entries written since the last batch, waiting for a free slot if too many batches
+   * are in flight.
+   */
+  private void sendBatch() throws IOException {
+    if (mResendInflightBatches || mBatchFailed) {
+      resendInflightBatches();
+    }
+    if (mJournalEntryBuilder == null) {
+      return;
+    }
+    if (mInflightBatches.isEmpty()) {
+      // the cluster keeps up with the batches, send smaller ones to commit entries sooner
+      mFlushBatchShift = Math.min(mFlushBatchShift + 1, MAX_FLUSH_BATCH_SHIFT);
+    } else if (mInflightBatches.size() >= MAX_INFLIGHT_BATCHES) {
+      // the cluster is the bottleneck, send larger batches to make fewer round-trips
+      mFlushBatchShift = Math.max(mFlushBatchShift - 1, 0);
+      while (mInflightBatches.size() >= MAX_INFLIGHT_BATCHES) {
+        waitForCommit(mInflightBatches.peekFirst());
+      }
+    }
+    JournalEntry entry = mJournalEntryBuilder.build();
+    Message message = Message.valueOf(UnsafeByteOperations.unsafeWrap(entry.toByteArray()));
+    LOG.trace("Flushing entry {} ({})", entry, message);
+    send(message, mNextSequenceNumberToWrite.get() - 1);
+    mJournalEntryBuilder = null;
+  }
+
+  /**
+   * Sends the batches in flight again after one of them failed, one at a time. If a batch fails
+   * again, it and the batches after it are left in flight for the next flush to send.
+   */
+  private void resendInflightBatches() throws IOException {
+    // wait until none of the batches sent before the failure is pending, so that none of them is
+    // committed after the batches sent again
+    for (Batch batch : mInflightBatches) {
       try {
-        // It is ok to submit the same entries multiple times because we de-duplicate by sequence
-        // number when applying them. This could happen if submit fails and we re-submit the same
-        // entry on retry.
-        JournalEntry entry = mJournalEntryBuilder.build();
-        Message message = Message.valueOf(UnsafeByteOperations.unsafeWrap(entry.toByteArray()));
-        mLastSubmittedSequenceNumber.set(flushSN);
-        LOG.trace("Flushing entry {} ({})", entry, message);
-        RaftClientReply reply = mClient.sendAsync(message)
-            .get(MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT, TimeUnit.MILLISECONDS);
-        if (reply.getException() != null) {
-          throw reply.getException();
-        }
-        mLastCommittedSequenceNumber.set(flushSN);
+        batch.mReply.get(MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT, TimeUnit.MILLISECONDS);
+      } catch (ExecutionException e) {
+        // the batch is sent again below
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
         throw new IOException(e);
-      } catch (ExecutionException e) {
-        throw new IOException(e.getCause());
       } catch (TimeoutException e) {
         throw new IOException(String.format(
             "Timed out after waiting %s milliseconds for journal entries to be processed",
             MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT), e);
       }
-      mJournalEntryBuilder = null;
+    }
+    List<Batch> batches = new ArrayList<>(mInflightBatches);
+    mInflightBatches.clear();
+    mResendInflightBatches = false;
+    mBatchFailed = false;
+    LOG.debug("Sending {} journal entry batches again", batches.size());
+    for (int i = 0; i < batches.size(); i++) {
+      Batch batch = batches.get(i);
+      if (batch.mCommitted.isDone() && !batch.mCommitted.isCompletedExceptionally()) {
+        continue;
+      }
+      // It is ok to submit the same entries multiple times because we de-duplicate by sequence
+      // number when applying them.
+      Batch resent = send(batch.mMessage, batch.mLastSequenceNumber);
+      try {
+        waitForCommit(resent);
+      } catch (IOException e) {
+        mInflightBatches.addAll(batches.subList(i + 1, batches.size()));
+        throw e;
+      }
     }
   }
 
+  private Batch send(Message message, long lastSequenceNumber) throws IOException {
+    mLastSubmittedSequenceNumber.set(lastSequenceNumber);
+    CompletableFuture<RaftClientReply> reply = mClient.sendAsync(message);
+    CompletableFuture<Void> committed = reply.thenAccept(r -> {
+      if (r.getException() != null) {
+        throw new CompletionException(r.getException());
+      }
+    });
+    committed.whenComplete((r, e) -> {
+      if (e != null) {
+        // stops sendBatch from sending new batches on top of the failed one
+        mBatchFailed = true;
+      }
+    });
+    Batch previous = mInflightBatches.peekLast();
+    if (previous != null) {
+      // a batch counts as committed only once all batches sent before it are
+      committed = previous.mCommitted.thenCombine(committed, (a, b) -> null);
+    }
+    Batch batch = new Batch(message, lastSequenceNumber, reply, committed);
+    mInflightBatches.addLast(batch);
+    committed.thenRun(() -> onCommitted(batch));
+    return batch;
+  }
+
+  /**
+   * Waits for a batch to be committed. If it fails, the batches in flight are sent again by the
+   * next flush.
+   */
+  private void waitForCommit(Batch batch) throws IOException {
+    try {
+      RaftClientReply reply = batch.mReply.get(MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT,
+          TimeUnit.MILLISECONDS);
+      if (reply.getException() != null) {
+        throw reply.getException();
+      }
+    } catch (InterruptedException e) {
+      mResendInflightBatches = true;
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      mResendInflightBatches = true;
+      throw new IOException(e.getCause());
+    } catch (TimeoutException e) {
+      mResendInflightBatches = true;
+      throw new IOException(String.format(
+          "Timed out after waiting %s milliseconds for journal entries to be processed",
+          MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT), e);
+    } catch (IOException e) {
+      mResendInflightBatches = true;
+      throw e;
+    }
+    onCommitted(batch);
+  }
+
+  private void onCommitted(Batch batch) {
+    mInflightBatches.remove(batch);
+    mLastCommittedSequenceNumber.accumulateAndGet(batch.mLastSequenceNumber, Math::max);
+  }
+
   @Override
   public void close() {
     if (mClosed) {
@@ -151,6 +298,25 @@ public class RaftJournalWriter implements JournalWriter {
     return mNextSequenceNumberToWrite.get();
   }
 
+  /**
+   * A batch of journal entries sent to the cluster.
+   */
+  private static final class Batch {
+    private final Message mMessage;
+    private final long mLastSequenceNumber;
+    private final CompletableFuture<RaftClientReply> mReply;
+    /** Completes when this batch and all batches sent before it are committed. */
+    private final CompletableFuture<Void> mCommitted;
+
+    Batch(Message message, long lastSequenceNumber, CompletableFuture<RaftClientReply> reply,
+        CompletableFuture<Void> committed) {
+      mMessage = message;
+      mLastSequenceNumber = lastSequenceNumber;
+      mReply = reply;
+      mCommitted = committed;
+    }
+  }
+
   private void closeClient() {
     try {
       mClient.close();
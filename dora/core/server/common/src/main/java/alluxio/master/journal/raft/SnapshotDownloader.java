@@ -50,12 +50,16 @@ public class SnapshotDownloader<S, R> implements ClientResponseObserver<S, R> {
   private final Function<Long, S> mMessageBuilder;
   private final Function<R, SnapshotData> mDataGetter;
   private final String mSource;
+  /** Whether an interrupted download can be resumed, only one such download runs at a time. */
+  private final boolean mResumable;
 
   /** The term and index for the latest journal entry included in the snapshot. */
   private TermIndex mTermIndex;
   private File mTempFile;
   private FileOutputStream mOutputStream;
   private long mBytesWritten = 0;
+  /** Bytes kept from an earlier attempt, discarded again if this attempt makes no progress. */
+  private long mResumeOffset = 0;
   private StreamObserver<S> mStream;
   private SnapshotInfo mSnapshotToInstall;
 
@@ -72,7 +76,7 @@ public class SnapshotDownloader<S, R> implements ClientResponseObserver<S, R> {
       String source) {
     return new SnapshotDownloader<>(storage,
         offset -> UploadSnapshotPResponse.newBuilder().setOffsetReceived(offset).build(),
-        UploadSnapshotPRequest::getData, stream, source);
+        UploadSnapshotPRequest::getData, stream, source, false);
   }
 
   /**
@@ -86,16 +90,18 @@ public class SnapshotDownloader<S, R> implements ClientResponseObserver<S, R> {
       forFollower(SimpleStateMachineStorage storage, String source) {
     return new SnapshotDownloader<>(storage,
         offset -> DownloadSnapshotPRequest.newBuilder().setOffsetReceived(offset).build(),
-        DownloadSnapshotPResponse::getData, null, source);
+        DownloadSnapshotPResponse::getData, null, source, true);
   }
 
   private SnapshotDownloader(SimpleStateMachineStorage storage, Function<Long, S> messageBuilder,
-      Function<R, SnapshotData> dataGetter, StreamObserver<S> stream, String source) {
+      Function<R, SnapshotData> dataGetter, StreamObserver<S> stream, String source,
+      boolean resumable) {
     mStorage = storage;
     mMessageBuilder = messageBuilder;
     mDataGetter = dataGetter;
     mStream = stream;
     mSource = source;
+    mResumable = resumable;
   }
 
   @Override
@@ -105,19 +111,30 @@ public class SnapshotDownloader<S, R> implements ClientResponseObserver<S, R> {
     } catch (Exception e) {
       mStream.onError(e);
       mFuture.completeExceptionally(e);
-      cleanup();
+      // the data received may be inconsistent, start over next time
+      cleanup(false);
     }
   }
 
-  private void cleanup() {
+  /**
+   * @param keepPartialFile whether to keep the data downloaded so far, so that downloading the
+   *        same snapshot again resumes from it
+   */
+  private void cleanup(boolean keepPartialFile) {
     if (mOutputStream != null) {
       try {
         mOutputStream.close();
       } catch (IOException ioException) {
         LOG.error("Error closing snapshot file {}", mTempFile, ioException);
       }
+      mOutputStream = null;
     }
-    if (mTempFile != null && !mTempFile.delete()) {
+    if (mResumable && keepPartialFile && mTempFile != null) {
+      LOG.info("Keeping {} bytes downloaded for snapshot {} in {}", mTempFile.length(),
+          mTermIndex, mTempFile);
+      return;
+    }
+    if (mTempFile != null && mTempFile.exists() && !mTempFile.delete()) {
       LOG.error("Error deleting snapshot file {}", mTempFile.getPath());
     }
   }
@@ -127,13 +144,23 @@ public class SnapshotDownloader<S, R> implements ClientResponseObserver<S, R> {
         mDataGetter.apply(response).getSnapshotTerm(),
         mDataGetter.apply(response).getSnapshotIndex());
     if (mTermIndex == null) {
-      LOG.info("Downloading new snapshot {} from {}", termIndex, mSource);
       mTermIndex = termIndex;
-      // start a new file
-      mTempFile = RaftJournalUtils.createTempSnapshotFile(mStorage);
-
-      mTempFile.deleteOnExit();
-      mStream.onNext(mMessageBuilder.apply(0L));
+      if (mResumable) {
+        mTempFile = RaftJournalUtils.getPartialSnapshotFile(mStorage, termIndex, mSource);
+        // resume from the data downloaded by an earlier attempt, if any
+        mBytesWritten = mTempFile.length();
+        mResumeOffset = mBytesWritten;
+      } else {
+        mTempFile = RaftJournalUtils.createTempSnapshotFile(mStorage);
+        mTempFile.deleteOnExit();
+      }
+      if (mBytesWritten > 0) {
+        LOG.info("Resuming download of snapshot {} from {} at offset {}", termIndex, mSource,
+            mBytesWritten);
+      } else {
+        LOG.info("Downloading new snapshot {} from {}", termIndex, mSource);
+      }
+      mStream.onNext(mMessageBuilder.apply(mBytesWritten));
     } else {
       if (!termIndex.equals(mTermIndex)) {
         throw new IOException(String.format(
@@ -147,7 +174,7 @@ public class SnapshotDownloader<S, R> implements ClientResponseObserver<S, R> {
       // write the chunk
       if (mOutputStream == null) {
         LOG.info("Start writing to temporary file {}", mTempFile.getPath());
-        mOutputStream = new FileOutputStream(mTempFile);
+        mOutputStream = new FileOutputStream(mTempFile, true);
       }
       long position = mOutputStream.getChannel().position();
       if (position != mDataGetter.apply(response).getOffset()) {
@@ -179,7 +206,7 @@ public class SnapshotDownloader<S, R> implements ClientResponseObserver<S, R> {
   @Override
   public void onError(Throwable t) {
     mFuture.completeExceptionally(t);
-    cleanup();
+    cleanup(mBytesWritten > mResumeOffset);
   }
 
   @Override
@@ -187,7 +214,7 @@ public class SnapshotDownloader<S, R> implements ClientResponseObserver<S, R> {
     if (mOutputStream != null) {
       mFuture.completeExceptionally(
           new IllegalStateException("Request completed with unfinished upload"));
-      cleanup();
+      cleanup(mBytesWritten > mResumeOffset);
     }
   }
 
@@ -56,6 +56,7 @@ public class SnapshotUploader<S, R>
   private final long mLength;
   private final SnapshotInfo mSnapshotInfo;
   private long mOffset = 0;
+  private boolean mStarted = false;
   private StreamObserver<S> mStream;
   private final CompletableFuture<SnapshotInfo> mCompletionFuture = new CompletableFuture<>();
 
@@ -120,6 +121,12 @@ public class SnapshotUploader<S, R>
           String.format("Snapshot file %s does not exist", mSnapshotFile.getPath()));
     }
     long offsetReceived = mOffsetGetter.apply(value);
+    if (!mStarted && offsetReceived > 0 && offsetReceived <= mLength) {
+      // the receiver kept the data of an earlier attempt to download this snapshot
+      LOG.info("Resuming upload of {} at offset {}", mSnapshotFile, offsetReceived);
+      mOffset = offsetReceived;
+    }
+    mStarted = true;
     // TODO(feng): implement better flow control
     if (mOffset != offsetReceived) {
       throw new InvalidArgumentException(
@@ -0,0 +1,312 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics.sink;
+
+import alluxio.metrics.HistogramTimer;
+import alluxio.metrics.Metric;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Sampling;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Renders a {@link MetricRegistry} in the Prometheus text exposition format.
+ *
+ * <p>
+ * Alluxio encodes the tags and the source of a metric into its registry name, such as
+ * {@code Worker.BytesReadUfs.UFS:s3:%2F%2Fbucket.worker-1}. The name is mapped back to the
+ * {@link MetricKey} name as the metric family, here {@code Worker_BytesReadUfs}, with the tags
+ * and the source as labels. Meters are exported as counters, timers as histograms of seconds when
+ * they are {@link HistogramTimer}s and as summaries otherwise. The parsed names are kept between
+ * renders, so only new metrics are parsed.
+ */
+@NotThreadSafe
+public final class PrometheusExposition {
+  private static final String SOURCE_LABEL = "source";
+  private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.99, 0.999};
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final String[] BUCKET_BOUNDS;
+
+  static {
+    long[] boundsNs = HistogramTimer.getBucketBoundsNs();
+    BUCKET_BOUNDS = new String[boundsNs.length];
+    for (int i = 0; i < boundsNs.length; i++) {
+      BUCKET_BOUNDS[i] =
+          BigDecimal.valueOf(boundsNs[i]).movePointLeft(9).stripTrailingZeros().toPlainString();
+    }
+  }
+
+  private final MetricRegistry mRegistry;
+  /** Parsed registry names, replaced on each render to drop removed metrics. */
+  private Map<String, Series> mSeries = new HashMap<>();
+
+  /**
+   * @param registry the registry to render
+   */
+  public PrometheusExposition(MetricRegistry registry) {
+    mRegistry = registry;
+  }
+
+  /**
+   * Renders all metrics of the registry.
+   *
+   * @param out the builder to append the exposition to
+   */
+  public void render(StringBuilder out) {
+    Map<String, Series> series = new HashMap<>();
+    Map<String, Family> families = new TreeMap<>();
+    mRegistry.getMetrics().forEach((name, metric) -> {
+      Series s = mSeries.get(name);
+      if (s == null) {
+        s = Series.parse(name);
+      }
+      series.put(name, s);
+      if (metric instanceof Gauge) {
+        Double value = toDouble(((Gauge<?>) metric).getValue());
+        if (value != null) {
+          family(families, s, "", "gauge").sample(s.mFamily, s.mLabels, null, value);
+        }
+      } else if (metric instanceof Counter) {
+        family(families, s, "", "gauge")
+            .sample(s.mFamily, s.mLabels, null, ((Counter) metric).getCount());
+      } else if (metric instanceof Meter) {
+        family(families, s, "_total", "counter")
+            .sample(s.mFamily + "_total", s.mLabels, null, ((Meter) metric).getCount());
+      } else if (metric instanceof HistogramTimer) {
+        addHistogram(family(families, s, "_seconds", "histogram"), s, (HistogramTimer) metric);
+      } else if (metric instanceof Timer) {
+        addSummary(family(families, s, "_seconds", "summary"), s.mFamily + "_seconds", s.mLabels,
+            (Timer) metric, NANOS_PER_SECOND);
+      } else if (metric instanceof Histogram) {
+        addSummary(family(families, s, "", "summary"), s.mFamily, s.mLabels,
+            (Histogram) metric, 1);
+      }
+    });
+    mSeries = series;
+    for (Family family : families.values()) {
+      family.appendTo(out);
+    }
+  }
+
+  private static Family family(Map<String, Family> families, Series series, String suffix,
+      String type) {
+    String name = series.mFamily + suffix;
+    Family family = families.computeIfAbsent(name, n -> new Family(n, type, series.mHelp));
+    if (!family.mType.equals(type)) {
+      // Another metric of a different kind got the same name, keep both apart by their type
+      name = name + "_" + type;
+      family = families.computeIfAbsent(name, n -> new Family(n, type, series.mHelp));
+    }
+    return family;
+  }
+
+  private static void addHistogram(Family family, Series series, HistogramTimer timer) {
+    long[] counts = timer.getBucketCounts();
+    long cumulative = 0;
+    for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+      cumulative += counts[i];
+      family.sample(family.mName + "_bucket", series.mLabels, "le=\"" + BUCKET_BOUNDS[i] + "\"",
+          cumulative);
+    }
+    cumulative += counts[BUCKET_BOUNDS.length];
+    family.sample(family.mName + "_bucket", series.mLabels, "le=\"+Inf\"", cumulative);
+    family.sample(family.mName + "_sum", series.mLabels, null,
+        timer.getSumNs() / NANOS_PER_SECOND);
+    family.sample(family.mName + "_count", series.mLabels, null, cumulative);
+  }
+
+  private static void addSummary(Family family, String name, String labels,
+      Sampling sampling, double divisor) {
+    Snapshot snapshot = sampling.getSnapshot();
+    for (double quantile : QUANTILES) {
+      family.sample(name, labels, "quantile=\"" + quantile + "\"",
+          snapshot.getValue(quantile) / divisor);
+    }
+    family.sample(name + "_count", labels, null, sampling instanceof Timer
+        ? ((Timer) sampling).getCount() : ((Histogram) sampling).getCount());
+  }
+
+  @Nullable
+  private static Double toDouble(Object value) {
+    if (value instanceof Number) {
+      return ((Number) value).doubleValue();
+    }
+    if (value instanceof Boolean) {
+      return (Boolean) value ? 1.0 : 0.0;
+    }
+    return null;
+  }
+
+  private static String formatValue(double value) {
+    if (Double.isNaN(value)) {
+      return "NaN";
+    }
+    if (Double.isInfinite(value)) {
+      return value > 0 ? "+Inf" : "-Inf";
+    }
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+
+  /**
+   * @param name a metric or label name
+   * @param allowColon whether colons are allowed, as in metric names
+   * @return the name with characters not allowed by Prometheus replaced by underscores
+   */
+  static String sanitizeName(String name, boolean allowColon) {
+    StringBuilder sb = new StringBuilder(name.length() + 1);
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_'
+          || (allowColon && c == ':') || (i > 0 && c >= '0' && c <= '9');
+      if (i == 0 && c >= '0' && c <= '9') {
+        sb.append('_');
+        valid = true;
+      }
+      sb.append(valid ? c : '_');
+    }
+    return sb.toString();
+  }
+
+  private static String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  /**
+   * The family name and the rendered labels of a registry name.
+   */
+  static final class Series {
+    private final String mFamily;
+    /** The labels without braces, empty if there are none. */
+    private final String mLabels;
+    @Nullable
+    private final String mHelp;
+
+    private Series(String family, String labels, @Nullable String help) {
+      mFamily = family;
+      mLabels = labels;
+      mHelp = help;
+    }
+
+    static Series parse(String name) {
+      String[] pieces = name.split("\\.");
+      if (pieces.length < 2 || !isInstance(pieces[0])) {
+        return new Series(sanitizeName(name, true), "", null);
+      }
+      String source = null;
+      int end = pieces.length;
+      if (!pieces[0].equals(MetricsSystem.InstanceType.MASTER.toString())
+          && !pieces[0].equals(MetricsSystem.CLUSTER)) {
+        String localSource = MetricsSystem.getSourceName();
+        if (name.endsWith("." + localSource)
+            && name.length() > pieces[0].length() + pieces[1].length() + localSource.length() + 2) {
+          source = localSource;
+          end = pieces.length - localSource.split("\\.", -1).length;
+        } else if (pieces.length > 2) {
+          source = pieces[pieces.length - 1];
+          end = pieces.length - 1;
+        }
+      }
+      String key = pieces[0] + "." + pieces[1];
+      StringBuilder family = new StringBuilder(key.replace('.', '_'));
+      StringBuilder labels = new StringBuilder();
+      for (int i = 2; i < end; i++) {
+        int separator = pieces[i].indexOf(Metric.TAG_SEPARATOR);
+        if (separator <= 0) {
+          // Not a tag, keep it in the name so different metrics stay apart
+          family.append('_').append(pieces[i]);
+          continue;
+        }
+        appendLabel(labels, sanitizeName(pieces[i].substring(0, separator), false),
+            MetricsSystem.unescape(pieces[i].substring(separator + 1)));
+      }
+      if (source != null) {
+        appendLabel(labels, SOURCE_LABEL, source);
+      }
+      String help = MetricKey.isValid(key) ? MetricKey.fromString(key).getDescription() : null;
+      return new Series(sanitizeName(family.toString(), true), labels.toString(), help);
+    }
+
+    private static boolean isInstance(String name) {
+      for (MetricsSystem.InstanceType type : MetricsSystem.InstanceType.values()) {
+        if (type.toString().equals(name)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static void appendLabel(StringBuilder labels, String name, String value) {
+      if (labels.length() > 0) {
+        labels.append(',');
+      }
+      labels.append(name).append("=\"").append(escapeLabelValue(value)).append('"');
+    }
+  }
+
+  /**
+   * The samples of a metric family.
+   */
+  private static final class Family {
+    private final String mName;
+    private final String mType;
+    @Nullable
+    private final String mHelp;
+    private final StringBuilder mSamples = new StringBuilder();
+
+    private Family(String name, String type, @Nullable String help) {
+      mName = name;
+      mType = type;
+      mHelp = help;
+    }
+
+    private void sample(String name, String labels, @Nullable String extraLabel, double value) {
+      mSamples.append(name);
+      if (!labels.isEmpty() || extraLabel != null) {
+        mSamples.append('{').append(labels);
+        if (extraLabel != null) {
+          if (!labels.isEmpty()) {
+            mSamples.append(',');
+          }
+          mSamples.append(extraLabel);
+        }
+        mSamples.append('}');
+      }
+      mSamples.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private void appendTo(StringBuilder out) {
+      if (mHelp != null) {
+        out.append("# HELP ").append(mName).append(' ')
+            .append(mHelp.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+      }
+      out.append("# TYPE ").append(mName).append(' ').append(mType).append('\n');
+      out.append(mSamples);
+    }
+  }
+}
@@ -11,26 +11,48 @@
 
 package alluxio.metrics.sink;
 
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
 import io.prometheus.client.CollectorRegistry;
-import io.prometheus.client.dropwizard.DropwizardExports;
-import io.prometheus.client.exporter.MetricsServlet;
+import io.prometheus.client.exporter.common.TextFormat;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Properties;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 /**
  * A sink that exposes metrics data in prometheus format by HTTP.
- * See https://github.com/prometheus/client_java/issues/101
+ *
+ * <p>
+ * The Alluxio metrics are rendered by {@link PrometheusExposition}, with the tags of a metric as
+ * labels. Metrics registered to the default Prometheus {@link CollectorRegistry}, such as the
+ * Ratis metrics of the journal, follow them. The output is reused for the scrapes within
+ * {@link PropertyKey#METRICS_PROMETHEUS_CACHE_DURATION}.
  */
-@NotThreadSafe
+@ThreadSafe
 public class PrometheusMetricsServlet implements Sink {
 
   private static final String SERVLET_PATH = "/metrics/prometheus";
 
-  private CollectorRegistry mCollectorRegistry;
+  private final PrometheusExposition mExposition;
+  private final CollectorRegistry mCollectorRegistry;
+  private final long mCacheDurationMs;
+
+  @GuardedBy("this")
+  private byte[] mCachedOutput;
+  @GuardedBy("this")
+  private long mCachedTimeMs;
 
   /**
    * Creates a new {@link alluxio.metrics.sink.PrometheusMetricsServlet} with a
@@ -39,8 +61,8 @@ public class PrometheusMetricsServlet implements Sink {
    * @param registry the metric registry to register
    */
   public PrometheusMetricsServlet(MetricRegistry registry) {
-    mCollectorRegistry = CollectorRegistry.defaultRegistry;
-    mCollectorRegistry.register(new DropwizardExports(registry));
+    this(registry, CollectorRegistry.defaultRegistry,
+        Configuration.getMs(PropertyKey.METRICS_PROMETHEUS_CACHE_DURATION));
   }
 
   /**
@@ -54,6 +76,54 @@ public class PrometheusMetricsServlet implements Sink {
     this(registry);
   }
 
+  /**
+   * @param registry the metric registry to render
+   * @param collectorRegistry the Prometheus registry of other collectors to render
+   * @param cacheDurationMs how long the output is reused
+   */
+  @VisibleForTesting
+  PrometheusMetricsServlet(MetricRegistry registry, CollectorRegistry collectorRegistry,
+      long cacheDurationMs) {
+    mExposition = new PrometheusExposition(registry);
+    mCollectorRegistry = collectorRegistry;
+    mCacheDurationMs = cacheDurationMs;
+  }
+
+  /**
+   * @return the metrics in the Prometheus text format, rendered at most once per cache duration
+   */
+  @VisibleForTesting
+  synchronized byte[] getOutput() throws IOException {
+    long nowMs = System.currentTimeMillis();
+    if (mCachedOutput != null && nowMs - mCachedTimeMs < mCacheDurationMs) {
+      return mCachedOutput;
+    }
+    StringBuilder sb = new StringBuilder(mCachedOutput == null ? 1024 : mCachedOutput.length);
+    mExposition.render(sb);
+    StringWriter writer = new StringWriter();
+    TextFormat.write004(writer, mCollectorRegistry.metricFamilySamples());
+    sb.append(writer.getBuffer());
+    mCachedOutput = sb.toString().getBytes(StandardCharsets.UTF_8);
+    mCachedTimeMs = nowMs;
+    return mCachedOutput;
+  }
+
+  private HttpServlet createServlet() {
+    return new HttpServlet() {
+      private static final long serialVersionUID = 6294870458432113458L;
+
+      @Override
+      protected void doGet(HttpServletRequest request, HttpServletResponse response)
+          throws IOException {
+        byte[] output = getOutput();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(TextFormat.CONTENT_TYPE_004);
+        response.setContentLength(output.length);
+        response.getOutputStream().write(output);
+      }
+    };
+  }
+
   /**
    * Gets the {@link ServletContextHandler} of the metrics servlet.
    *
@@ -62,7 +132,7 @@ public class PrometheusMetricsServlet implements Sink {
   public ServletContextHandler getHandler() {
     ServletContextHandler contextHandler = new ServletContextHandler();
     contextHandler.setContextPath(SERVLET_PATH);
-    contextHandler.addServlet(new ServletHolder(new MetricsServlet(mCollectorRegistry)), "/");
+    contextHandler.addServlet(new ServletHolder(createServlet()), "/");
     return contextHandler;
   }
 
@@ -78,4 +148,3 @@ public class PrometheusMetricsServlet implements Sink {
   public void report() {
   }
 }
-
@@ -59,7 +59,9 @@ import javax.annotation.concurrent.ThreadSafe;
  * Class for managing a rocksdb database. This class handles common functionality such as
  * initializing the database and performing database backup/restore.
  *
- * Thread safety is achieved by synchronizing all public methods.
+ * Thread safety is achieved by synchronizing all public methods which change the database, i.e.
+ * clear, checkpoint, restore and close. {@link #getDb()} is on the read path of every metadata
+ * access and does not take the lock unless the database is being re-created.
  */
 @ThreadSafe
 public final class RocksStore implements Closeable {
@@ -76,8 +78,13 @@ public final class RocksStore implements Closeable {
       PropertyKey.MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL);
   private final boolean mParallelBackup = Configuration.getBoolean(
       PropertyKey.MASTER_METASTORE_ROCKS_PARALLEL_BACKUP);
+  private final boolean mIncrementalCheckpoint = Configuration.getBoolean(
+      PropertyKey.MASTER_METASTORE_ROCKS_CHECKPOINT_INCREMENTAL);
+  // compressed SST files of the last checkpoint, see ParallelZipUtils#compressIncremental
+  private final String mDbCheckpointCachePath;
 
-  private RocksDB mDb;
+  // only written while holding the lock, read without it on the fast path of getDb()
+  private volatile RocksDB mDb;
   private Checkpoint mCheckpoint;
   // When we create the database, we must set these handles.
   private final List<AtomicReference<ColumnFamilyHandle>> mColumnHandles;
@@ -98,6 +105,7 @@ public final class RocksStore implements Closeable {
     mName = name;
     mDbPath = dbPath;
     mDbCheckpointPath = checkpointPath;
+    mDbCheckpointCachePath = checkpointPath + "-cache";
     mParallelBackupPoolSize = Configuration.getInt(
         PropertyKey.MASTER_METASTORE_ROCKS_PARALLEL_BACKUP_THREADS);
     mColumnFamilyDescriptors = columnFamilyDescriptors;
@@ -118,8 +126,15 @@ public final class RocksStore implements Closeable {
    * @return the underlying rocksdb instance. The instance changes when clear() is called, so if the
    *         caller caches the returned db, they must reset it after calling clear()
    */
-  public synchronized RocksDB getDb() {
-    return mDb;
+  public RocksDB getDb() {
+    RocksDB db = mDb;
+    if (db != null) {
+      return db;
+    }
+    // the database is being cleared or restored, wait for the new instance
+    synchronized (this) {
+      return mDb;
+    }
   }
 
   /**
@@ -142,7 +157,11 @@ public final class RocksStore implements Closeable {
 
   private void stopDb() {
     LOG.info("Closing {} rocks database", mName);
-    if (mDb != null) {
+    RocksDB db = mDb;
+    if (db != null) {
+      // Unpublish the database first, so that new readers wait on the lock instead of getting
+      // a database which is being closed.
+      mDb = null;
       try {
         // Column handles must be closed before closing the db, or an exception gets thrown.
         mColumnHandles.forEach(handle -> {
@@ -151,12 +170,11 @@ public final class RocksStore implements Closeable {
             handle.set(null);
           }
         });
-        mDb.close();
+        db.close();
         mCheckpoint.close();
       } catch (Throwable t) {
         LOG.error("Failed to close rocks database", t);
       }
-      mDb = null;
       mCheckpoint = null;
     }
   }
@@ -165,6 +183,7 @@ public final class RocksStore implements Closeable {
     try {
       FileUtils.deletePathRecursively(mDbPath);
       FileUtils.deletePathRecursively(mDbCheckpointPath);
+      FileUtils.deletePathRecursively(mDbCheckpointCachePath);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -177,6 +196,13 @@ public final class RocksStore implements Closeable {
    */
   private void createDb() throws RocksDBException {
     new File(mDbPath).mkdirs();
+    // SST file names are only unique within one database, so cached SST files of a previous
+    // database must not be reused
+    try {
+      FileUtils.deletePathRecursively(mDbCheckpointCachePath);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
     List<ColumnFamilyDescriptor> cfDescriptors = new ArrayList<>();
     cfDescriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY));
     cfDescriptors.addAll(mColumnFamilyDescriptors);
@@ -184,9 +210,10 @@ public final class RocksStore implements Closeable {
     List<ColumnFamilyHandle> columns = new ArrayList<>();
     final TimeoutRetry retryPolicy = new TimeoutRetry(ROCKS_OPEN_RETRY_TIMEOUT, 100);
     RocksDBException lastException = null;
+    RocksDB db = null;
     while (retryPolicy.attempt()) {
       try {
-        mDb = RocksDB.open(mDbOpts, mDbPath, cfDescriptors, columns);
+        db = RocksDB.open(mDbOpts, mDbPath, cfDescriptors, columns);
         break;
       } catch (RocksDBException e) {
         // sometimes the previous terminated process's lock may not have been fully cleared yet
@@ -194,14 +221,16 @@ public final class RocksStore implements Closeable {
         lastException = e;
       }
     }
-    if (mDb == null && lastException != null) {
+    if (db == null && lastException != null) {
       throw lastException;
     }
-    mCheckpoint = Checkpoint.create(mDb);
+    mCheckpoint = Checkpoint.create(db);
     for (int i = 0; i < columns.size() - 1; i++) {
       // Skip the default column.
       mColumnHandles.get(i).set(columns.get(i + 1));
     }
+    // publish the database only once the column handles are set
+    mDb = db;
     LOG.info("Opened rocks database under path {}", mDbPath);
   }
 
@@ -223,7 +252,16 @@ public final class RocksStore implements Closeable {
       throw new IOException(e);
     }
 
-    if (mParallelBackup) {
+    if (mParallelBackup && mIncrementalCheckpoint) {
+      CheckpointOutputStream out = new CheckpointOutputStream(output,
+          CheckpointType.ROCKS_PARALLEL);
+      LOG.info("Checkpoint complete, compressing new SST files with {} threads",
+          mParallelBackupPoolSize);
+      // SST files are immutable, and RocksDB never reuses the name of a deleted one
+      ParallelZipUtils.compressIncremental(Paths.get(mDbCheckpointPath), out,
+          Paths.get(mDbCheckpointCachePath), path -> path.toString().endsWith(".sst"),
+          mParallelBackupPoolSize, mCompressLevel);
+    } else if (mParallelBackup) {
       CheckpointOutputStream out = new CheckpointOutputStream(output,
           CheckpointType.ROCKS_PARALLEL);
       LOG.info("Checkpoint complete, compressing with {} threads", mParallelBackupPoolSize);
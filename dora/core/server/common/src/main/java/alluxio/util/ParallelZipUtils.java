@@ -40,12 +40,21 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -139,6 +148,128 @@ public class ParallelZipUtils {
         dirPath, parallelScatterZipCreator.getStatisticsMessage().toString());
   }
 
+  /**
+   * Creates a zipped archive from the given path like {@link #compress}, but keeps the compressed
+   * form of the immutable files in the given cache directory between calls. An immutable file
+   * whose name and size match a cached entry is copied into the archive as is instead of being
+   * compressed again. Cached entries of files which no longer exist are deleted.
+   *
+   * @param dirPath the path to archive
+   * @param outputStream the stream to write the archive to
+   * @param cacheDir the directory to keep the compressed immutable files in
+   * @param isImmutable whether the content of a file never changes once it has been created
+   * @param poolSize the number of threads compressing files
+   * @param compressionLevel the compression level
+   * @return the number of files copied from the cache
+   */
+  public static int compressIncremental(Path dirPath, OutputStream outputStream, Path cacheDir,
+      Predicate<Path> isImmutable, int poolSize, int compressionLevel)
+      throws IOException, InterruptedException {
+    LOG.info("compress incrementally in parallel for path {}", dirPath);
+    Files.createDirectories(cacheDir);
+    List<Path> paths;
+    try (Stream<Path> stream = Files.walk(dirPath)) {
+      paths = stream.collect(toList());
+    }
+    ExecutorService executor = ExecutorServiceFactories.fixedThreadPool(
+        "parallel-zip-compress-pool", poolSize).create();
+    // mutable files are compressed into a temporary directory every time
+    Path tmpDir = Files.createTempDirectory(cacheDir, "tmp");
+    Map<Path, Future<Path>> compressed = new HashMap<>();
+    Set<String> usedEntries = new HashSet<>();
+    int reused = 0;
+    try {
+      for (Path subPath : paths) {
+        if (!Files.isRegularFile(subPath)) {
+          continue;
+        }
+        String entryName = dirPath.relativize(subPath).toString();
+        Path target;
+        if (isImmutable.test(subPath)) {
+          String cachedName = String.format("%s-%d.zip",
+              entryName.replace(File.separatorChar, '_'), Files.size(subPath));
+          usedEntries.add(cachedName);
+          target = cacheDir.resolve(cachedName);
+          if (Files.exists(target)) {
+            compressed.put(subPath, CompletableFuture.completedFuture(target));
+            reused++;
+            continue;
+          }
+        } else {
+          target = tmpDir.resolve(compressed.size() + ".zip");
+        }
+        compressed.put(subPath, executor.submit(
+            () -> compressFile(subPath, entryName, target, compressionLevel)));
+      }
+
+      ZipArchiveOutputStream zipArchiveOutputStream = new ZipArchiveOutputStream(outputStream);
+      zipArchiveOutputStream.setUseZip64(Zip64Mode.Always);
+      for (Path subPath : paths) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        String entryName = dirPath.relativize(subPath).toString();
+        if (Files.isDirectory(subPath)) {
+          zipArchiveOutputStream.putArchiveEntry(
+              new ZipArchiveEntry(entryName + File.separator));
+          zipArchiveOutputStream.closeArchiveEntry();
+          continue;
+        }
+        Future<Path> entryZip = compressed.get(subPath);
+        if (entryZip == null) {
+          continue;
+        }
+        try (ZipFile zipFile = new ZipFile(entryZip.get().toFile())) {
+          ZipArchiveEntry entry = zipFile.getEntry(entryName);
+          try (InputStream rawStream = zipFile.getRawInputStream(entry)) {
+            zipArchiveOutputStream.addRawArchiveEntry(entry, rawStream);
+          }
+        }
+      }
+      zipArchiveOutputStream.finish();
+      zipArchiveOutputStream.flush();
+
+      try (Stream<Path> cached = Files.list(cacheDir)) {
+        for (Path cachedPath : cached.collect(toList())) {
+          if (Files.isRegularFile(cachedPath)
+              && !usedEntries.contains(cachedPath.getFileName().toString())) {
+            Files.delete(cachedPath);
+          }
+        }
+      }
+    } catch (ExecutionException e) {
+      LOG.error("Parallel compress rocksdb failed", e);
+      throw new IOException(e);
+    } finally {
+      ExecutorServiceUtils.shutdownAndAwaitTermination(executor);
+      FileUtils.deletePathRecursively(tmpDir.toString());
+    }
+    LOG.info("Completed incremental compression for path {}, reused {} of {} files",
+        dirPath, reused, compressed.size());
+    return reused;
+  }
+
+  /**
+   * Compresses a file into a zip archive holding just that file.
+   */
+  private static Path compressFile(Path file, String entryName, Path target,
+      int compressionLevel) throws IOException {
+    // write to a temporary file first, so that an interrupted compression never leaves a
+    // truncated archive behind under the name of a complete one
+    Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+    try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(tmp.toFile())) {
+      zip.setUseZip64(Zip64Mode.Always);
+      zip.setLevel(compressionLevel);
+      ZipArchiveEntry entry = new ZipArchiveEntry(entryName);
+      entry.setMethod(ZipArchiveEntry.DEFLATED);
+      zip.putArchiveEntry(entry);
+      Files.copy(file, zip);
+      zip.closeArchiveEntry();
+    }
+    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return target;
+  }
+
   /**
    * Reads a zipped archive from a path in parallel and writes it to the given path.
    *
@@ -15,6 +15,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -22,13 +24,21 @@ import static org.mockito.Mockito.verify;
 
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.util.CommonUtils;
 
+import com.codahale.metrics.Timer;
 import org.junit.After;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * Unit tests for {@link AsyncJournalWriter}.
@@ -53,6 +63,7 @@ public class AsyncJournalWriterTest {
     mMockJournalWriter = mock(JournalWriter.class);
     doNothing().when(mMockJournalWriter).write(any(JournalEntry.class));
     doNothing().when(mMockJournalWriter).flush();
+    doCallRealMethod().when(mMockJournalWriter).flushAsync();
     mAsyncJournalWriter = new AsyncJournalWriter(mMockJournalWriter, Collections::emptySet);
   }
 
@@ -200,4 +211,41 @@ public class AsyncJournalWriterTest {
   public void failedFlushWithBatching() throws Exception {
     failedFlushInternal(true);
   }
+
+  @Test(timeout = 10000)
+  public void flushesWhileEarlierFlushesAreInFlight() throws Exception {
+    setupAsyncJournalWriter(false);
+    mAsyncJournalWriter.stop();
+    List<CompletableFuture<Void>> asyncFlushes = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      asyncFlushes.add(future);
+      return future;
+    }).when(mMockJournalWriter).flushAsync();
+    CountDownLatch syncFlushLatch = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      syncFlushLatch.await();
+      return null;
+    }).when(mMockJournalWriter).flush();
+
+    Timer flushTimer = MetricsSystem.timer(MetricKey.MASTER_JOURNAL_FLUSH_TIMER.getName());
+    long flushCount = flushTimer.getCount();
+    int entries = 5;
+    for (int i = 0; i < entries; i++) {
+      mAsyncJournalWriter.appendEntry(JournalEntry.getDefaultInstance());
+    }
+    mAsyncJournalWriter.start();
+
+    // entries are submitted one by one while more are queued, the last one is flushed
+    CommonUtils.waitFor("asynchronous flushes", () -> asyncFlushes.size() == entries - 1);
+    // flushes are timed once they complete rather than once they are submitted
+    assertEquals(flushCount, flushTimer.getCount());
+    asyncFlushes.get(0).complete(null);
+    asyncFlushes.get(1).complete(null);
+    mAsyncJournalWriter.flush(2);
+    assertEquals(flushCount + 2, flushTimer.getCount());
+
+    syncFlushLatch.countDown();
+    mAsyncJournalWriter.flush(entries);
+  }
 }
@@ -0,0 +1,147 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics.sink;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.metrics.HistogramTimer;
+import alluxio.metrics.MetricKey;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.prometheus.client.CollectorRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link PrometheusExposition} and {@link PrometheusMetricsServlet}.
+ */
+public final class PrometheusExpositionTest {
+  private MetricRegistry mRegistry;
+
+  @Before
+  public void before() {
+    mRegistry = new MetricRegistry();
+  }
+
+  @Test
+  public void counterWithHelp() {
+    mRegistry.counter("Master.FilesCreated").inc(3);
+    assertEquals("# HELP Master_FilesCreated "
+        + MetricKey.MASTER_FILES_CREATED.getDescription() + "\n"
+        + "# TYPE Master_FilesCreated gauge\n"
+        + "Master_FilesCreated 3\n", render());
+  }
+
+  @Test
+  public void tagsAndSourceAsLabels() {
+    mRegistry.meter("Worker.BytesReadUfs.UFS:s3:%2F%2Fbucket%2Fdir%2Ef.worker-1").mark(10);
+    mRegistry.meter("Worker.BytesReadUfs.UFS:hdfs:%2F%2Fnn:9000.worker-1").mark(20);
+    String output = render();
+    assertTrue(output, output.contains("# TYPE Worker_BytesReadUfs_total counter\n"));
+    assertTrue(output, output.contains(
+        "Worker_BytesReadUfs_total{UFS=\"s3://bucket/dir.f\",source=\"worker-1\"} 10\n"));
+    assertTrue(output, output.contains(
+        "Worker_BytesReadUfs_total{UFS=\"hdfs://nn:9000\",source=\"worker-1\"} 20\n"));
+    // A single family for both series
+    assertEquals(output.indexOf("# TYPE"), output.lastIndexOf("# TYPE"));
+  }
+
+  @Test
+  public void histogramTimer() {
+    HistogramTimer timer =
+        (HistogramTimer) mRegistry.timer("Worker.ReadLatency.worker-1", HistogramTimer::new);
+    timer.update(200, TimeUnit.MICROSECONDS);
+    timer.update(3, TimeUnit.MILLISECONDS);
+    timer.update(2, TimeUnit.MINUTES);
+    String output = render();
+    assertTrue(output, output.contains("# TYPE Worker_ReadLatency_seconds histogram\n"));
+    assertTrue(output, output.contains(
+        "Worker_ReadLatency_seconds_bucket{source=\"worker-1\",le=\"0.0001\"} 0\n"));
+    assertTrue(output, output.contains(
+        "Worker_ReadLatency_seconds_bucket{source=\"worker-1\",le=\"0.00025\"} 1\n"));
+    assertTrue(output, output.contains(
+        "Worker_ReadLatency_seconds_bucket{source=\"worker-1\",le=\"0.005\"} 2\n"));
+    assertTrue(output, output.contains(
+        "Worker_ReadLatency_seconds_bucket{source=\"worker-1\",le=\"60\"} 2\n"));
+    assertTrue(output, output.contains(
+        "Worker_ReadLatency_seconds_bucket{source=\"worker-1\",le=\"+Inf\"} 3\n"));
+    assertTrue(output, output.contains(
+        "Worker_ReadLatency_seconds_sum{source=\"worker-1\"} 120.0032\n"));
+    assertTrue(output, output.contains(
+        "Worker_ReadLatency_seconds_count{source=\"worker-1\"} 3\n"));
+  }
+
+  @Test
+  public void plainTimerAsSummary() {
+    mRegistry.timer("Master.JournalFlushTimer").update(1, TimeUnit.SECONDS);
+    String output = render();
+    assertTrue(output, output.contains("# TYPE Master_JournalFlushTimer_seconds summary\n"));
+    assertTrue(output, output.contains(
+        "Master_JournalFlushTimer_seconds{quantile=\"0.99\"} 1\n"));
+    assertTrue(output, output.contains("Master_JournalFlushTimer_seconds_count 1\n"));
+  }
+
+  @Test
+  public void gauges() {
+    mRegistry.register("Master.Ready", (Gauge<Boolean>) () -> true);
+    mRegistry.register("Master.Version", (Gauge<String>) () -> "3.0");
+    mRegistry.register("Master.Ratio", (Gauge<Double>) () -> 0.25);
+    String output = render();
+    assertTrue(output, output.contains("Master_Ready 1\n"));
+    assertTrue(output, output.contains("Master_Ratio 0.25\n"));
+    assertFalse(output, output.contains("Master_Version"));
+  }
+
+  @Test
+  public void invalidCharacters() {
+    mRegistry.counter("Master.Cache-Hits.Tier-Name:MEM\"1\".x").inc();
+    mRegistry.counter("jvm.gc.G1-Old").inc();
+    String output = render();
+    assertTrue(output, output.contains(
+        "Master_Cache_Hits_x{Tier_Name=\"MEM\\\"1\\\"\"} 1\n"));
+    assertTrue(output, output.contains("jvm_gc_G1_Old 1\n"));
+  }
+
+  @Test
+  public void cachedOutput() throws Exception {
+    mRegistry.counter("Master.FilesCreated").inc();
+    PrometheusMetricsServlet servlet =
+        new PrometheusMetricsServlet(mRegistry, new CollectorRegistry(), Long.MAX_VALUE);
+    byte[] output = servlet.getOutput();
+    mRegistry.counter("Master.FilesCreated").inc();
+    assertSame(output, servlet.getOutput());
+
+    PrometheusMetricsServlet uncached =
+        new PrometheusMetricsServlet(mRegistry, new CollectorRegistry(), 0);
+    byte[] first = uncached.getOutput();
+    assertArrayEquals(first, uncached.getOutput());
+    mRegistry.counter("Master.FilesCreated").inc();
+    byte[] second = uncached.getOutput();
+    assertNotSame(first, second);
+    assertTrue(new String(second, StandardCharsets.UTF_8).contains("Master_FilesCreated 3\n"));
+  }
+
+  private String render() {
+    StringBuilder sb = new StringBuilder();
+    new PrometheusExposition(mRegistry).render(sb);
+    return sb.toString();
+  }
+}
@@ -12,6 +12,8 @@
 package alluxio.rocks;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
 
 import alluxio.master.journal.checkpoint.CheckpointInputStream;
 
@@ -32,6 +34,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class RocksStoreTest {
@@ -82,4 +85,38 @@ public class RocksStoreTest {
     store.close();
     cfOpts.close();
   }
+
+  @Test
+  public void getDbDuringClear() throws Exception {
+    List<ColumnFamilyDescriptor> columnDescriptors =
+        Arrays.asList(new ColumnFamilyDescriptor("test".getBytes()));
+    String dbDir = mFolder.newFolder("rocks").getAbsolutePath();
+    String backupsDir = mFolder.newFolder("rocks-backups").getAbsolutePath();
+    AtomicReference<ColumnFamilyHandle> testColumn = new AtomicReference<>();
+    DBOptions dbOpts = new DBOptions().setCreateIfMissing(true)
+        .setCreateMissingColumnFamilies(true);
+    RocksStore store =
+        new RocksStore("test", dbDir, backupsDir, dbOpts, columnDescriptors,
+            Arrays.asList(testColumn), true);
+    RocksDB oldDb = store.getDb();
+    AtomicBoolean done = new AtomicBoolean(false);
+    AtomicBoolean sawNull = new AtomicBoolean(false);
+    Thread reader = new Thread(() -> {
+      while (!done.get()) {
+        if (store.getDb() == null) {
+          sawNull.set(true);
+        }
+      }
+    });
+    reader.start();
+    for (int i = 0; i < 5; i++) {
+      store.clear();
+    }
+    done.set(true);
+    reader.join();
+    // readers wait for the new database while the store is being cleared
+    assertFalse(sawNull.get());
+    assertNotSame(oldDb, store.getDb());
+    store.close();
+  }
 }
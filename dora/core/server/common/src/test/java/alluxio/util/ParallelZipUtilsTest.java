@@ -22,6 +22,8 @@ import java.io.FileOutputStream;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Units tests for {@link ParallelZipUtils}.
@@ -111,6 +113,46 @@ public final class ParallelZipUtilsTest {
     Assert.assertTrue(nonCompressedSize > maxCompressedSize);
   }
 
+  @Test
+  public void incrementalCompression() throws Exception {
+    Path dir = mFolder.newFolder("incremental").toPath();
+    Path cache = mFolder.newFolder("cache").toPath();
+    Files.createDirectory(dir.resolve("subDir"));
+    Files.write(dir.resolve("1.sst"), "immutable content 1".getBytes());
+    Files.write(dir.resolve("subDir").resolve("2.sst"), "immutable content 2".getBytes());
+    Files.write(dir.resolve("MANIFEST"), "mutable content".getBytes());
+    Predicate<Path> isImmutable = path -> path.toString().endsWith(".sst");
+
+    Assert.assertEquals(0, incrementalZipUnzipTest(dir, cache, isImmutable));
+    Files.write(dir.resolve("MANIFEST"), "changed mutable content".getBytes());
+    Assert.assertEquals(2, incrementalZipUnzipTest(dir, cache, isImmutable));
+
+    // entries of files which are gone are dropped from the cache
+    Files.delete(dir.resolve("1.sst"));
+    Files.write(dir.resolve("3.sst"), "immutable content 3".getBytes());
+    Assert.assertEquals(1, incrementalZipUnzipTest(dir, cache, isImmutable));
+    try (Stream<Path> cached = Files.list(cache)) {
+      Assert.assertEquals(2, cached.count());
+    }
+  }
+
+  private int incrementalZipUnzipTest(Path path, Path cache, Predicate<Path> isImmutable)
+      throws Exception {
+    String zippedPath = mFolder.newFile("zipped").getPath();
+    int reused;
+    try (FileOutputStream fos = new FileOutputStream(zippedPath)) {
+      reused = ParallelZipUtils.compressIncremental(path, fos, cache, isImmutable, 5, -1);
+    }
+
+    Path reconstructed = mFolder.newFolder("unzipped").toPath();
+    reconstructed.toFile().delete();
+    ParallelZipUtils.decompress(reconstructed, zippedPath, 5);
+    FileUtil.assertDirectoriesEqual(path, reconstructed);
+    FileUtils.deletePathRecursively(reconstructed.toString());
+    FileUtils.delete(zippedPath);
+    return reused;
+  }
+
   private void zipUnzipTest(Path path) throws Exception {
     String zippedPath = mFolder.newFile("zipped").getPath();
     try (FileOutputStream fos = new FileOutputStream(zippedPath)) {
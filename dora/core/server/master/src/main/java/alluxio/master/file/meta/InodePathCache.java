@@ -0,0 +1,71 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.meta;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Caches the ids of the inodes along recently traversed paths, so that {@link LockedInodePath}
+ * can look up each inode by id instead of looking up the edge from its parent.
+ *
+ * Entries are not invalidated when the inode tree changes. A cached id is only used after the
+ * edge leading to it is locked, and only if the inode with that id still has the expected parent
+ * and name. Renames and deletes change one or the other, so an entry made stale by them fails
+ * the check and the traversal falls back to looking up the edge.
+ */
+@ThreadSafe
+public final class InodePathCache {
+  private final Cache<String, long[]> mCache;
+
+  /**
+   * @param maxSize the maximum number of paths to cache
+   */
+  public InodePathCache(long maxSize) {
+    mCache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * @param path the path
+   * @return the ids of the inodes along the path starting with the root, or null if the path is
+   *         not cached
+   */
+  @Nullable
+  public long[] get(String path) {
+    return mCache.getIfPresent(path);
+  }
+
+  /**
+   * @param path the path
+   * @param ids the ids of the inodes along the path starting with the root
+   */
+  public void put(String path, long[] ids) {
+    mCache.put(path, ids);
+  }
+
+  /**
+   * @param path the path to remove from the cache
+   */
+  public void invalidate(String path) {
+    mCache.invalidate(path);
+  }
+
+  /**
+   * @return the number of cached paths
+   */
+  public long size() {
+    return mCache.size();
+  }
+}
@@ -207,6 +207,10 @@ public class InodeTree implements DelegatingJournaled {
   private final ContainerIdGenerable mContainerIdGenerator;
   private final InodeDirectoryIdGenerator mDirectoryIdGenerator;
 
+  /** Cache of the inode ids along recently locked paths, null if disabled. */
+  @Nullable
+  private final InodePathCache mPathCache;
+
   /**
    * @param inodeStore the inode store
    * @param containerIdGenerator the container id generator to use to get new container ids
@@ -224,6 +228,8 @@ public class InodeTree implements DelegatingJournaled {
     mContainerIdGenerator = containerIdGenerator;
     mDirectoryIdGenerator = directoryIdGenerator;
     mMountTable = mountTable;
+    int pathCacheSize = Configuration.getInt(PropertyKey.MASTER_FILE_SYSTEM_PATH_CACHE_SIZE);
+    mPathCache = pathCacheSize > 0 ? new InodePathCache(pathCacheSize) : null;
   }
 
   /**
@@ -453,7 +459,8 @@ public class InodeTree implements DelegatingJournaled {
       throws InvalidPathException {
     LockedInodePath inodePath =
         new LockedInodePath(
-            uri, mInodeStore, mInodeLockManager, getRoot(), lockPattern, tryLock, journalContext
+            uri, mInodeStore, mInodeLockManager, getRoot(), lockPattern, tryLock, journalContext,
+            mPathCache
         );
     try {
       inodePath.traverse();
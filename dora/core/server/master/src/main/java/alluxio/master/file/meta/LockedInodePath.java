@@ -84,6 +84,12 @@ public class LockedInodePath implements Closeable {
   /** Tracker used for logging leaked resources. */
   @Nullable
   private final ResourceLeakTracker<LockedInodePath> mTracker;
+  /** Cache of the inode ids along paths, or null to always look up edges. */
+  @Nullable
+  private final InodePathCache mPathCache;
+  /** Cached ids of the inodes along the path, null if not cached or found to be stale. */
+  @Nullable
+  private long[] mCachedIds;
   /** To determine if we should flush the journals when lock is released or scope reduced. */
   private final boolean mMergeInodeJournals = Configuration.getBoolean(
       PropertyKey.MASTER_FILE_SYSTEM_MERGE_INODE_JOURNALS
@@ -150,6 +156,25 @@ public class LockedInodePath implements Closeable {
       InodeLockManager inodeLockManager, InodeDirectory root, LockPattern lockPattern,
       boolean tryLock, JournalContext journalContext)
       throws InvalidPathException {
+    this(uri, inodeStore, inodeLockManager, root, lockPattern, tryLock, journalContext, null);
+  }
+
+  /**
+   * Creates a new locked inode path.
+   *
+   * @param uri the uri for the path
+   * @param inodeStore the inode store for looking up inode children
+   * @param inodeLockManager the inode lock manager
+   * @param root the root inode
+   * @param lockPattern the pattern to lock in
+   * @param tryLock whether or not use {@link Lock#tryLock()} or {@link Lock#lock()}
+   * @param journalContext the journal context to flush when the lock is released
+   * @param pathCache the cache of inode ids along paths, or null to always look up edges
+   */
+  public LockedInodePath(AlluxioURI uri, ReadOnlyInodeStore inodeStore,
+      InodeLockManager inodeLockManager, InodeDirectory root, LockPattern lockPattern,
+      boolean tryLock, JournalContext journalContext, @Nullable InodePathCache pathCache)
+      throws InvalidPathException {
     mUri = uri;
     mPathComponents = PathUtils.getPathComponents(uri.getPath());
     mInodeStore = inodeStore;
@@ -159,6 +184,7 @@ public class LockedInodePath implements Closeable {
     mLockList = new SimpleInodeLockList(inodeLockManager, mUseTryLock);
     mTracker = DETECTOR.track(this);
     mJournalContext = journalContext;
+    mPathCache = pathCache;
   }
 
   /**
@@ -184,6 +210,7 @@ public class LockedInodePath implements Closeable {
     // So the new created LockInodePath instance must be on the same thread with
     // the original one and hence they will use the same JournalContext.
     mJournalContext = path.mJournalContext;
+    mPathCache = path.mPathCache;
   }
 
   /**
@@ -485,6 +512,10 @@ public class LockedInodePath implements Closeable {
   public void traverse() throws InvalidPathException {
     // This locks the root edge and inode.
     bootstrapTraversal();
+    boolean useCache = mPathCache != null && !fullPathExists();
+    if (useCache) {
+      mCachedIds = mPathCache.get(mUri.getPath());
+    }
 
     // Each iteration either locks a new inode/edge or hits a missing inode and returns.
     while (!fullPathExists()) {
@@ -505,8 +536,9 @@ public class LockedInodePath implements Closeable {
               "Traversal failed for path %s. Component %s(%s) is a file, not a directory.", mUri,
               lastInodeIndex, lastInode.getName()));
         }
-        Optional<Inode> nextInodeOpt =
-            mInodeStore.getChild(lastInode.asDirectory(), nextComponent);
+        Inode cachedInode = getCachedInode(lastInode, lastInodeIndex + 1);
+        Optional<Inode> nextInodeOpt = cachedInode != null ? Optional.of(cachedInode)
+            : mInodeStore.getChild(lastInode.asDirectory(), nextComponent);
         if (!nextInodeOpt.isPresent() && mLockPattern == LockPattern.WRITE_EDGE
             && !isFinalComponent) {
           // This pattern requires that we obtain a write lock on the final edge, so we must
@@ -536,6 +568,39 @@ public class LockedInodePath implements Closeable {
         }
       }
     }
+    if (useCache && mCachedIds == null) {
+      long[] ids = new long[mPathComponents.length];
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = mLockList.get(i).getId();
+      }
+      mPathCache.put(mUri.getPath(), ids);
+      mCachedIds = ids;
+    }
+  }
+
+  /**
+   * Looks up the inode at the given index of the path by its cached id. The edge leading to the
+   * inode must be locked, so that the inode is the child of the given parent exactly when it
+   * still has that parent and the expected name.
+   *
+   * @param parent the inode at the previous index
+   * @param index the index of the inode in the path
+   * @return the inode, or null if the path is not cached or has changed since it was cached
+   */
+  @Nullable
+  private Inode getCachedInode(Inode parent, int index) {
+    if (mCachedIds == null) {
+      return null;
+    }
+    Optional<Inode> inode = mInodeStore.get(mCachedIds[index]);
+    if (inode.isPresent() && inode.get().getParentId() == parent.getId()
+        && inode.get().getName().equals(mPathComponents[index])) {
+      return inode.get();
+    }
+    // The path was renamed or deleted, the traversal continues by looking up edges.
+    mPathCache.invalidate(mUri.getPath());
+    mCachedIds = null;
+    return null;
   }
 
   private void bootstrapTraversal() {
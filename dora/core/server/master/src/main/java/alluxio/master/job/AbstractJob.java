@@ -18,6 +18,7 @@ import alluxio.scheduler.job.Job;
 import alluxio.scheduler.job.JobState;
 import alluxio.scheduler.job.Task;
 
+import com.google.common.base.Preconditions;
 import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +41,9 @@ public abstract class AbstractJob<T extends Task<?>> implements Job<T> {
   protected final BlockingArrayQueue<Task<T>> mTaskList = new BlockingArrayQueue<>();
   protected Scheduler mMyScheduler;
   protected WorkerAssignPolicy mWorkerAssignPolicy;
+  private volatile int mPriority = 0;
+  private volatile int mWeight = 1;
+  private volatile int mMaxConcurrentTasks = Integer.MAX_VALUE;
 
   /**
    * Creates a new instance of {@link AbstractJob}.
@@ -70,6 +74,57 @@ public abstract class AbstractJob<T extends Task<?>> implements Job<T> {
     mWorkerAssignPolicy = assignPolicy;
   }
 
+  @Override
+  public int getPriority() {
+    return mPriority;
+  }
+
+  /**
+   * Sets the scheduling priority.
+   * @param priority the priority, higher is scheduled first
+   */
+  public void setPriority(int priority) {
+    mPriority = priority;
+  }
+
+  @Override
+  public int getWeight() {
+    return mWeight;
+  }
+
+  /**
+   * Sets the weight used to share worker task slots with jobs of the same priority.
+   * @param weight the weight, must be positive
+   */
+  public void setWeight(int weight) {
+    Preconditions.checkArgument(weight > 0, "weight must be positive");
+    mWeight = weight;
+  }
+
+  @Override
+  public int getMaxConcurrentTasks() {
+    return mMaxConcurrentTasks;
+  }
+
+  /**
+   * Sets the maximum number of tasks of this job running at the same time.
+   * @param maxConcurrentTasks the maximum number of concurrent tasks, must be positive
+   */
+  public void setMaxConcurrentTasks(int maxConcurrentTasks) {
+    Preconditions.checkArgument(maxConcurrentTasks > 0, "maxConcurrentTasks must be positive");
+    mMaxConcurrentTasks = maxConcurrentTasks;
+  }
+
+  /**
+   * Takes over the priority, weight and concurrency cap of another job.
+   * @param job the job to take the scheduling options from
+   */
+  protected void updateSchedulingOptions(Job<?> job) {
+    setPriority(job.getPriority());
+    setWeight(job.getWeight());
+    setMaxConcurrentTasks(job.getMaxConcurrentTasks());
+  }
+
   @Override
   public String getJobId() {
     return mJobId;
@@ -59,13 +59,16 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
@@ -106,6 +109,12 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
   private final Iterable<FileInfo> mFileIterable;
   private Optional<Iterator<FileInfo>> mFileIterator = Optional.empty();
   private OptionalLong mEndTime = OptionalLong.empty();
+  // the progress through the listing, journaled so that a restarted job resumes from it
+  private ListingCheckpoint<Long> mListingCheckpoint = new ListingCheckpoint<>();
+  // the position in the listing of the next file
+  private long mListedFileCount;
+  // the position in the listing of the routes not complete yet, by source path
+  private final Map<String, Long> mRoutePositions = new ConcurrentHashMap<>();
 
   /**
    * Constructor.
@@ -138,6 +147,23 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
     mOverwrite = overwrite;
   }
 
+  /**
+   * Restores the progress of the job from a checkpoint, so that the job skips the files
+   * already copied before it was restarted.
+   *
+   * @param listedFileCount the number of files at the start of the listing that were copied
+   * @param processedFileCount the number of files copied among them
+   * @param copiedByteCount the number of bytes copied among them
+   */
+  public void restoreCheckpoint(long listedFileCount, long processedFileCount,
+      long copiedByteCount) {
+    mListingCheckpoint = new ListingCheckpoint<>(
+        listedFileCount > 0 ? listedFileCount - 1 : null, processedFileCount, copiedByteCount);
+    mProcessedFileCount.set(processedFileCount);
+    mCopiedByteCount.set(copiedByteCount);
+    mTotalByteCount.set(copiedByteCount);
+  }
+
   /**
    * @return source file path
    */
@@ -269,6 +295,8 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
     mTotalFailureCount.addAndGet(mCurrentFailureCount.get());
     mProcessedFileCount.set(0);
     mCurrentFailureCount.set(0);
+    mListingCheckpoint = new ListingCheckpoint<>();
+    mRoutePositions.clear();
     mState = JobState.VERIFYING;
   }
 
@@ -296,6 +324,11 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
     FileInfo currentFile;
     if (!mFileIterator.isPresent()) {
       mFileIterator = Optional.of(mFileIterable.iterator());
+      // skip the files copied before the job was restarted
+      mListedFileCount = mListingCheckpoint.getMarker().map(marker -> marker + 1).orElse(0L);
+      for (long i = 0; i < mListedFileCount && mFileIterator.get().hasNext(); i++) {
+        mFileIterator.get().next();
+      }
       if (!mFileIterator.get().hasNext()) {
         return ImmutableList.of();
       }
@@ -319,6 +352,8 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
         mProcessedFileCount.incrementAndGet();
       }
       Route route = buildRoute(currentFile);
+      mListingCheckpoint.add(mListedFileCount);
+      mRoutePositions.put(route.getSrc(), mListedFileCount++);
       batchBuilder.add(route);
       // would be inaccurate when we initial verification, and we retry un-retryable blocks
       mTotalByteCount.addAndGet(currentFile.getLength());
@@ -354,10 +389,21 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
   public void addFailure(String src, String message, int code) {
     mFailedFiles.put(src,
         format("Status code: %s, message: %s", code, message));
+    Long position = mRoutePositions.remove(src);
+    if (position != null) {
+      mListingCheckpoint.skip(position);
+    }
     mCurrentFailureCount.incrementAndGet();
     COPY_FAIL_FILE_COUNT.inc();
   }
 
+  private void completeRoute(Route route) {
+    Long position = mRoutePositions.remove(route.getSrc());
+    if (position != null) {
+      mListingCheckpoint.complete(position, route.getLength());
+    }
+  }
+
   private Route buildRoute(FileInfo sourceFile) {
     String relativePath;
     try {
@@ -404,6 +450,12 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
     mUser.ifPresent(jobEntry::setUser);
     mBandwidth.ifPresent(jobEntry::setBandwidth);
     mEndTime.ifPresent(jobEntry::setEndTime);
+    jobEntry.setPriority(getPriority())
+        .setWeight(getWeight())
+        .setMaxConcurrentTasks(getMaxConcurrentTasks());
+    jobEntry.setListedFileCount(mListingCheckpoint.getMarker().map(marker -> marker + 1).orElse(0L))
+        .setProcessedFileCount(mListingCheckpoint.getFileCount())
+        .setCopiedByteCount(mListingCheckpoint.getByteCount());
     return Journal.JournalEntry
         .newBuilder()
         .setCopyJob(jobEntry.build())
@@ -427,16 +479,22 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
           .map(Route::getLength)
           .reduce(Long::sum)
           .orElse(0L);
+      Set<String> failedRoutes = new HashSet<>();
       if (response.getStatus() != TaskStatus.SUCCESS) {
         LOG.debug(format("Get failure from worker: %s", response.getFailuresList()));
         for (RouteFailure status : response.getFailuresList()) {
           totalBytes -= status.getRoute().getLength();
+          failedRoutes.add(status.getRoute().getSrc());
           if (!isHealthy() || !status.getRetryable() || !addToRetry(
               status.getRoute())) {
             addFailure(status.getRoute().getSrc(), status.getMessage(), status.getCode());
           }
         }
       }
+      // routes to retry stay in progress in the checkpoint until they are copied
+      task.getRoutes().stream()
+          .filter(route -> !failedRoutes.contains(route.getSrc()))
+          .forEach(this::completeRoute);
       addCopiedBytes(totalBytes);
       COPY_FILE_COUNT.inc(
           task.getRoutes().size() - response.getFailuresCount());
@@ -479,6 +537,7 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
     CopyJob targetJob = (CopyJob) job;
     updateBandwidth(targetJob.getBandwidth());
     setVerificationEnabled(targetJob.isVerificationEnabled());
+    updateSchedulingOptions(targetJob);
   }
 
   /**
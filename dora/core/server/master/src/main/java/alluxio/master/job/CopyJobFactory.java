@@ -65,8 +65,18 @@ public class CopyJobFactory implements JobFactory {
     Optional<String> user = Optional
         .ofNullable(AuthenticatedClientUser.getOrNull())
         .map(User::getName);
-    return new CopyJob(src, mRequest.getDst(), overwrite, user, UUID.randomUUID().toString(),
-        bandwidth, partialListing, verificationEnabled, fileIterator);
+    CopyJob job = new CopyJob(src, mRequest.getDst(), overwrite, user,
+        UUID.randomUUID().toString(), bandwidth, partialListing, verificationEnabled, fileIterator);
+    if (options.hasPriority()) {
+      job.setPriority(options.getPriority());
+    }
+    if (options.hasWeight()) {
+      job.setWeight(options.getWeight());
+    }
+    if (options.hasMaxConcurrentTasks()) {
+      job.setMaxConcurrentTasks(options.getMaxConcurrentTasks());
+    }
+    return job;
   }
 }
 
@@ -14,38 +14,48 @@ package alluxio.master.job;
 import static alluxio.client.file.DoraCacheFileSystem.DUMMY_MOUNT_ID;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
 
 import alluxio.AlluxioURI;
-import alluxio.client.ReadType;
+import alluxio.Constants;
 import alluxio.client.block.BlockWorkerInfo;
 import alluxio.client.block.stream.BlockWorkerClient;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
-import alluxio.client.file.dora.DoraCacheClient;
 import alluxio.client.file.dora.WorkerLocationPolicy;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.InvalidPathException;
 import alluxio.exception.runtime.AlluxioRuntimeException;
 import alluxio.exception.runtime.InternalRuntimeException;
 import alluxio.exception.runtime.InvalidArgumentRuntimeException;
+import alluxio.grpc.File;
+import alluxio.grpc.FileFailure;
 import alluxio.grpc.JobProgressReportFormat;
-import alluxio.grpc.ListStatusPOptions;
-import alluxio.grpc.OpenFilePOptions;
-import alluxio.grpc.ReadRequest;
+import alluxio.grpc.LoadFileRequest;
+import alluxio.grpc.LoadFileResponse;
+import alluxio.grpc.UfsReadOptions;
 import alluxio.job.JobDescription;
 import alluxio.master.scheduler.Scheduler;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
-import alluxio.proto.dataserver.Protocol;
 import alluxio.proto.journal.Journal;
 import alluxio.scheduler.job.Job;
 import alluxio.scheduler.job.JobState;
 import alluxio.scheduler.job.Task;
+import alluxio.underfs.Fingerprint;
+import alluxio.underfs.UfsFileStatus;
+import alluxio.underfs.UfsStatus;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.underfs.options.ListOptions;
+import alluxio.util.CommonUtils;
 import alluxio.util.FormatUtils;
+import alluxio.util.io.PathUtils;
+import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Meter;
@@ -59,24 +69,32 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -94,33 +112,44 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   private static final int FAILURE_COUNT_THRESHOLD = 100;
   private static final int RETRY_BLOCK_CAPACITY = 1000;
   private static final double RETRY_THRESHOLD = 0.8 * RETRY_BLOCK_CAPACITY;
-  private static final int BATCH_SIZE = Configuration.getInt(PropertyKey.JOB_BATCH_SIZE);
 
   // TODO(lucy) add logic to detect loaded files
 //  public static final Predicate<FileInfo> QUALIFIED_FILE_FILTER =
 //      (fileInfo) -> !fileInfo.isFolder() && fileInfo.isCompleted() && fileInfo.isPersisted()
 //          && fileInfo.getInAlluxioPercentage() != 100;
 
-  public static final int MAX_RUNNING_TASKS = 10; // modify this
+  // the tasks made ahead for each worker, so that the listing is not read far ahead of loading
+  private static final int MAX_READY_TASKS_PER_WORKER = 2;
   // Job configurations
   private final String mPath;
+  private final long mTaskBatchSize;
+  private final int mTaskBatchFiles;
+  private final long mFileSplitSize;
 
-  private OptionalLong mBandwidth;
+  private volatile OptionalLong mBandwidth;
   private boolean mUsePartialListing;
   private boolean mVerificationEnabled;
 
   // Job states
-  private final LinkedList<String> mRetryFiles = new LinkedList<>();
+  private final Queue<String> mRetryFiles = new ConcurrentLinkedQueue<>();
   private final Map<String, String> mFailedFiles = new HashMap<>();
+  // the files with ranges scheduled to workers, keyed by alluxio path
+  private final Map<String, FileProgress> mFileProgress = new ConcurrentHashMap<>();
+  // the tasks made for each worker and not taken by the scheduler yet
+  private final Map<WorkerInfo, Queue<DoraLoadTask>> mReadyTasks = new HashMap<>();
+  // the progress through the listing, journaled so that a restarted job resumes from it
+  private ListingCheckpoint<String> mListingCheckpoint = new ListingCheckpoint<>();
 
   private final AtomicLong mProcessedFileCount = new AtomicLong();
   private final AtomicLong mLoadedByteCount = new AtomicLong();
+  // the loaded bytes that workers had cached already and did not read from the UFS
+  private final AtomicLong mSkippedByteCount = new AtomicLong();
   private final AtomicLong mTotalByteCount = new AtomicLong();
   private final AtomicLong mProcessingFileCount = new AtomicLong();
   //including retry, do accurate stats later.
   private final AtomicLong mTotalFailureCount = new AtomicLong();
   private Optional<AlluxioRuntimeException> mFailedReason = Optional.empty();
-  private Optional<Iterator<URIStatus>> mFileIterator = Optional.empty();
+  private Optional<FileListFetcher> mFileIterator = Optional.empty();
   private final FileSystem mFs;
 
   /**
@@ -150,130 +179,274 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     mBandwidth = bandwidth;
     mUsePartialListing = usePartialListing;
     mVerificationEnabled = verificationEnabled;
-    FileSystem fs = FileSystem.Factory.create(scheduler.getFileSystemContext());
-    ListStatusPOptions listOptions = ListStatusPOptions
-        .newBuilder()
-        .setRecursive(true).build();
-    mFs = fs;
-    mFileIterator = Optional.of(new FileListFetcher(fs, mPath, listOptions));
+    mTaskBatchSize = Configuration.getBytes(PropertyKey.DORA_LOAD_TASK_BATCH_SIZE);
+    mTaskBatchFiles = Configuration.getInt(PropertyKey.DORA_LOAD_TASK_BATCH_FILES);
+    long pageSize = Configuration.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE);
+    // ranges are aligned to pages so that no page is loaded by two ranges
+    mFileSplitSize = Math.max(pageSize,
+        Configuration.getBytes(PropertyKey.DORA_LOAD_FILE_SPLIT_SIZE) / pageSize * pageSize);
+    mFs = FileSystem.Factory.create(scheduler.getFileSystemContext());
+    mFileIterator = Optional.of(newFileListFetcher(null));
+  }
+
+  private FileListFetcher newFileListFetcher(@Nullable String startAfter) {
+    return new FileListFetcher(Configuration.getString(PropertyKey.DORA_CLIENT_UFS_ROOT), mPath,
+        startAfter);
+  }
+
+  /**
+   * Restores the progress of the job from a checkpoint, so that the job skips the files
+   * already loaded before it was restarted.
+   *
+   * @param listingMarker the last listed file such that all files up to it were loaded
+   * @param processedFileCount the number of files loaded up to the marker
+   * @param loadedByteCount the number of bytes loaded up to the marker
+   * @param retryFiles the files to retry
+   */
+  public void restoreCheckpoint(@Nullable String listingMarker, long processedFileCount,
+      long loadedByteCount, Collection<String> retryFiles) {
+    mListingCheckpoint =
+        new ListingCheckpoint<>(listingMarker, processedFileCount, loadedByteCount);
+    mFileIterator = Optional.of(newFileListFetcher(listingMarker));
+    mProcessedFileCount.set(processedFileCount);
+    mLoadedByteCount.set(loadedByteCount);
+    mTotalByteCount.set(loadedByteCount);
+    mRetryFiles.addAll(retryFiles);
   }
 
+  /**
+   * Picks workers by consistent hashing of the file path, the same way Dora clients do.
+   * The candidates and the address lookup are built once per worker collection, as the
+   * collection passed in stays the same for a whole batch of files.
+   */
   private static class HashBasedWorkerAssignPolicy extends WorkerAssignPolicy {
     WorkerLocationPolicy mWorkerLocationPolicy = new WorkerLocationPolicy(2000);
+    private Collection<WorkerInfo> mWorkerInfos;
+    private List<BlockWorkerInfo> mCandidates = ImmutableList.of();
+    private Map<WorkerNetAddress, WorkerInfo> mWorkersByAddress = ImmutableMap.of();
 
     @Override
     protected WorkerInfo pickAWorker(String object, @Nullable Collection<WorkerInfo> workerInfos) {
       if (workerInfos == null) {
         return null;
       }
-      List<BlockWorkerInfo> candidates = workerInfos.stream()
-          .map(w -> new BlockWorkerInfo(w.getAddress(), w.getCapacityBytes(), w.getUsedBytes()))
-          .collect(toList());
+      if (workerInfos != mWorkerInfos) {
+        mCandidates = workerInfos.stream()
+            .map(w -> new BlockWorkerInfo(w.getAddress(), w.getCapacityBytes(), w.getUsedBytes()))
+            .collect(ImmutableList.toImmutableList());
+        mWorkersByAddress = workerInfos.stream()
+            .collect(ImmutableMap.toImmutableMap(WorkerInfo::getAddress, w -> w, (a, b) -> a));
+        mWorkerInfos = workerInfos;
+      }
       List<BlockWorkerInfo> blockWorkerInfo = mWorkerLocationPolicy
-          .getPreferredWorkers(candidates, object, 1);
+          .getPreferredWorkers(mCandidates, object, 1);
       if (blockWorkerInfo.isEmpty()) {
         return null;
       }
-      WorkerInfo returnWorker = workerInfos.stream().filter(workerInfo ->
-              workerInfo.getAddress().equals(blockWorkerInfo.get(0).getNetAddress()))
-          .findFirst().get();
-      return returnWorker;
+      return mWorkersByAddress.get(blockWorkerInfo.get(0).getNetAddress());
     }
   }
 
-  private static class FileListFetcher implements Iterator<URIStatus> {
-    public static final int PREFETCH_SIZE = 1000;
-    private final FileSystem mFs;
-    private String mPath;
-    ListStatusPOptions mListOption;
-    public LinkedBlockingQueue<URIStatus> mFiles = new LinkedBlockingQueue<>();
-    private Optional<String> mNextMarker = Optional.empty();
+  /**
+   * Lists the files to load from the UFS in path order. The listing is streamed from the UFS
+   * a few directories at a time rather than held in memory as a whole, and a listing that fails
+   * or is closed is opened again after the last file taken from it. A job restored from a
+   * checkpoint starts the listing after the checkpoint, without listing the directories before
+   * it again.
+   */
+  private static class FileListFetcher implements Iterator<URIStatus>, Closeable {
+    private final String mRootUfs;
+    private final String mUfsPath;
+    // the files up to this path were taken already, or listed before the job was restarted
+    @Nullable
+    private String mStartAfter;
+    @Nullable
+    private UnderFileSystem mUfs;
+    @Nullable
+    private Iterator<URIStatus> mFiles;
+    private boolean mDone;
     // any info on load percentage in dora?
 //    public static final Predicate<FileInfo> QUALIFIED_FILE_FILTER =
 //        (fileInfo) -> !fileInfo.isFolder() && fileInfo.isCompleted() && fileInfo.isPersisted()
 //            && fileInfo.getInAlluxioPercentage() != 100;
 
-    public FileListFetcher(FileSystem fs, String path, ListStatusPOptions listOption) {
-      mPath = path;
-      mListOption = listOption;
-      mFs = fs;
-      mNextMarker = Optional.of("");
+    public FileListFetcher(String rootUfs, String path, @Nullable String startAfter) {
+      mRootUfs = rootUfs;
+      mUfsPath = toUfsPath(rootUfs, path);
+      mStartAfter = startAfter;
     }
 
-    private int advance() {
-      try {
-        if (!mNextMarker.isPresent()) {
-          return 0;
-        }
-        // TODO(lucy) paginate list a PREFETCH_SIZE here.
-        List<URIStatus> uriStatuses = mFs.listStatus(new AlluxioURI(mPath), mListOption);
-        if (uriStatuses == null) {
-          mNextMarker = Optional.empty();
-          return 0;
-        }
-        uriStatuses.forEach(uriStatus -> mFiles.offer(uriStatus));
-        mNextMarker = Optional.empty();
-        // if paginated listing
-        // nextMarker = uriStatuses.get(uriStatuses.size()-1);
-        return uriStatuses.size();
-      } catch (IOException | AlluxioException e) {
-        throw AlluxioRuntimeException.from(e);
+    private Iterator<URIStatus> files() throws IOException {
+      if (mFiles == null) {
+        mUfs = UnderFileSystem.Factory.create(mUfsPath,
+            UnderFileSystemConfiguration.defaults(Configuration.global()));
+        mFiles = listFiles(mUfs, mRootUfs, mUfsPath, mStartAfter);
       }
+      return mFiles;
     }
 
     @Override
     public boolean hasNext() {
-      while (mFiles.size() < PREFETCH_SIZE * 0.2) {
-        if (advance() <= 0) {
-          break;
+      if (mDone) {
+        return false;
+      }
+      try {
+        if (files().hasNext()) {
+          return true;
         }
+      } catch (IOException | UncheckedIOException e) {
+        close();
+        throw AlluxioRuntimeException.from(e instanceof UncheckedIOException ? e.getCause() : e);
       }
-      return mFiles.peek() != null;
+      mDone = true;
+      close();
+      return false;
     }
 
     @Override
     public URIStatus next() {
-      while (mFiles.size() < PREFETCH_SIZE * 0.2) {
-        if (advance() <= 0) {
-          break;
-        }
-      }
-      URIStatus uriStatus = mFiles.poll();
-      if (uriStatus == null) {
+      if (!hasNext()) {
         throw new NoSuchElementException();
       }
+      URIStatus uriStatus;
+      try {
+        uriStatus = files().next();
+      } catch (IOException | UncheckedIOException e) {
+        close();
+        throw AlluxioRuntimeException.from(e instanceof UncheckedIOException ? e.getCause() : e);
+      }
+      mStartAfter = uriStatus.getPath();
       return uriStatus;
     }
+
+    @Override
+    public void close() {
+      mFiles = null;
+      if (mUfs != null) {
+        try {
+          mUfs.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close the UFS of {}", mUfsPath, e);
+        }
+        mUfs = null;
+      }
+    }
   }
 
-  private AtomicBoolean mTaskScheduling = new AtomicBoolean(false);
+  /**
+   * Resolves the path of a job the same way Dora clients do, either a full UFS path under the
+   * UFS root or a path relative to it.
+   *
+   * @param rootUfs the UFS root
+   * @param path the path
+   * @return the full UFS path
+   */
+  private static String toUfsPath(String rootUfs, String path) {
+    try {
+      if (new AlluxioURI(rootUfs).isAncestorOf(new AlluxioURI(path))) {
+        return path;
+      }
+    } catch (InvalidPathException e) {
+      throw new InvalidArgumentRuntimeException(e);
+    }
+    return PathUtils.concatPath(rootUfs, path);
+  }
 
   /**
-   * @return true if need continuation, false otherwise
+   * Lists a UFS path recursively in path order. The statuses have paths relative to the UFS root
+   * and are built the same way Dora workers build them. A file is listed as itself.
+   *
+   * @param ufs the UFS
+   * @param rootUfs the UFS root
+   * @param ufsPath the full UFS path to list
+   * @param startAfter the path relative to the UFS root to start the listing after, or null to
+   *        list from the start
+   * @return the statuses
    */
-  public boolean needContinuation() {
-    if (isCurrentPassDone()) {
-      setJobSuccess();
-      mMyScheduler.removeJob(this);
+  @VisibleForTesting
+  public static Iterator<URIStatus> listFiles(UnderFileSystem ufs, String rootUfs,
+      String ufsPath, @Nullable String startAfter) throws IOException {
+    String marker = startAfter == null ? null : PathUtils.concatPath(rootUfs, startAfter);
+    String prefix = PathUtils.normalizePath(ufsPath, AlluxioURI.SEPARATOR);
+    String startAfterName = "";
+    if (marker != null && marker.startsWith(prefix)) {
+      startAfterName = marker.substring(prefix.length());
+    } else if (marker != null && marker.compareTo(prefix) > 0) {
+      // all paths under the listed path are before the marker
+      return Collections.emptyIterator();
     }
-    if (!isHealthy() || mTaskList.size() >= MAX_RUNNING_TASKS
-        || mMyScheduler.getActiveWorkers().isEmpty()) {
-      return false;
+    Iterator<UfsStatus> statuses = ufs.listStatusIterator(ufsPath,
+        ListOptions.defaults().setRecursive(true).setStartAfter(startAfterName));
+    if (statuses == null) {
+      UfsStatus status = ufs.getStatus(ufsPath);
+      if (!status.isFile() || marker != null && marker.compareTo(ufsPath) >= 0) {
+        return Collections.emptyIterator();
+      }
+      return Iterators.singletonIterator(toUriStatus(ufs, rootUfs, status, ufsPath));
     }
-    return true;
+    return Iterators.transform(statuses, status -> toUriStatus(ufs, rootUfs, status,
+        PathUtils.concatPath(ufsPath, status.getName())));
+  }
+
+  private static URIStatus toUriStatus(UnderFileSystem ufs, String rootUfs, UfsStatus status,
+      String ufsFullPath) {
+    String relativePath = CommonUtils.stripPrefixIfPresent(ufsFullPath, rootUfs);
+    if (!relativePath.startsWith(AlluxioURI.SEPARATOR)) {
+      relativePath = AlluxioURI.SEPARATOR + relativePath;
+    }
+    FileInfo info = new FileInfo()
+        .setFileId(ufsFullPath.hashCode())
+        .setName(new AlluxioURI(ufsFullPath).getName())
+        .setPath(relativePath)
+        .setUfsPath(ufsFullPath)
+        .setMode(status.getMode())
+        .setFolder(status.isDirectory())
+        .setOwner(status.getOwner())
+        .setGroup(status.getGroup())
+        .setCompleted(true)
+        .setUfsFingerprint(Fingerprint.create(ufs.getUnderFSType(), status).serialize());
+    if (status instanceof UfsFileStatus) {
+      UfsFileStatus fileStatus = (UfsFileStatus) status;
+      info.setLength(fileStatus.getContentLength())
+          .setLastModificationTimeMs(status.getLastModifiedTime())
+          .setBlockSizeBytes(fileStatus.getBlockSize());
+    }
+    return new URIStatus(info);
+  }
+
+  @Override
+  public void continueJob() {
+    // NOOP, the scheduler takes the tasks of the job as the workers have free slots
   }
 
   /**
-   * Continues the job.
+   * Makes tasks from the files to retry and the next files of the listing, spread across the
+   * active workers by hash. A call takes at most a task worth of files from the listing however
+   * many workers there are, and none while the workers have enough tasks ready, so that the
+   * listing is read no faster than the workers load it.
    */
-  public void continueJob() {
-    LOG.info("continuejob, job:{}", this);
-    if (!needContinuation() || !mTaskScheduling.compareAndSet(false, true)) {
-      // (someone already kicked off, or no need to continue this job.)
+  private void prepareTasks() {
+    // take one snapshot of the workers so the assign policy builds its lookup once per batch
+    Collection<WorkerInfo> workers =
+        ImmutableList.copyOf(mMyScheduler.getActiveWorkers().keySet());
+    // the tasks of workers that left are made again for the active workers
+    Iterator<Map.Entry<WorkerInfo, Queue<DoraLoadTask>>> readyTasks =
+        mReadyTasks.entrySet().iterator();
+    while (readyTasks.hasNext()) {
+      Map.Entry<WorkerInfo, Queue<DoraLoadTask>> entry = readyTasks.next();
+      if (!mMyScheduler.getActiveWorkers().containsKey(entry.getKey())) {
+        readyTasks.remove();
+        for (DoraLoadTask task : entry.getValue()) {
+          mTaskList.remove(task);
+          task.getRanges().forEach(range -> completeRange(range, RangeResult.UNASSIGNED));
+        }
+      }
+    }
+    if (workers.isEmpty() || mReadyTasks.values().stream().mapToInt(Queue::size).sum()
+        >= workers.size() * MAX_READY_TASKS_PER_WORKER) {
       return;
     }
-
-    ImmutableList.Builder<URIStatus> batchBuilder = ImmutableList.builder();
+    Map<WorkerInfo, DoraLoadTask> pendingTasks = new HashMap<>();
     int i = 0;
     int startRetryListSize = mRetryFiles.size();
     int filesToLoad = 0;
@@ -283,7 +456,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       String path = mRetryFiles.poll();
       try {
         URIStatus uriStatus = mFs.getStatus(new AlluxioURI(path));
-        batchBuilder.add(uriStatus);
+        scheduleFile(uriStatus, workers, pendingTasks);
         ++filesToLoad;
       } catch (AlluxioException | IOException ex) {
         if (!(ex instanceof FileDoesNotExistException)) {
@@ -291,39 +464,117 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         }
       }
     }
-    while (filesToLoad < BATCH_SIZE && mFileIterator.get().hasNext()) {
-      try {
+    int listedFiles = 0;
+    try {
+      while (listedFiles < mTaskBatchFiles && mFileIterator.get().hasNext()) {
         URIStatus uriStatus = mFileIterator.get().next();
-        batchBuilder.add(uriStatus);
-        ++filesToLoad;
-      } catch (AlluxioRuntimeException e) {
-        LOG.warn(format("error getting next task for job %s", this), e);
-        if (!e.isRetryable()) {
-          failJob(e);
-          mMyScheduler.removeJob(this);
-        }
+        listedFiles++;
+        mListingCheckpoint.add(uriStatus.getPath());
+        scheduleFile(uriStatus, workers, pendingTasks);
+      }
+    } catch (AlluxioRuntimeException e) {
+      // the listing is opened again on the next call, unless it can't be
+      LOG.warn(format("error getting next task for job %s", this), e);
+      if (!e.isRetryable()) {
+        failJob(e);
       }
     }
+    // the remaining tasks are below the batch size, they are ready as they are
+    pendingTasks.forEach(this::addReadyTask);
+  }
 
-    Map<WorkerInfo, List<Task>> workerToTaskMap = new HashMap<>();
-    for (URIStatus uriStatus : batchBuilder.build()) {
-      // (?) active workers may not reflect all workers at start up,
-      // but hashbased policy will deterministiclly
-      // choose among current
-      WorkerInfo pickedWorker = mWorkerAssignPolicy.pickAWorker(uriStatus.getPath(),
-          mMyScheduler.getActiveWorkers().keySet());
-      Task task = new DoraLoadTask(uriStatus).withJob(this);
-      // enqueue the worker task q and kick it start
-      if (!mMyScheduler.getWorkerInfoHub().enqueueTaskForWorker(pickedWorker, task, true)) {
-        mRetryFiles.add(uriStatus.getPath());
+  /**
+   * Splits a file into ranges and adds them to the pending task of its worker. A task is ready
+   * once it reaches the batch size in bytes or in ranges, so that small files are loaded in
+   * batches while a large file is loaded in parallel by several ranges.
+   *
+   * @param status the file to load
+   * @param workers the active workers
+   * @param pendingTasks the tasks not ready yet, by worker
+   */
+  private void scheduleFile(URIStatus status, Collection<WorkerInfo> workers,
+      Map<WorkerInfo, DoraLoadTask> pendingTasks) {
+    // (?) active workers may not reflect all workers at start up,
+    // but hashbased policy will deterministiclly
+    // choose among current
+    WorkerInfo worker = mWorkerAssignPolicy.pickAWorker(status.getPath(), workers);
+    List<FileRange> ranges = splitFile(status, mFileSplitSize);
+    mFileProgress.put(status.getPath(), new FileProgress(ranges.size()));
+    mTotalByteCount.addAndGet(status.getLength());
+    mProcessingFileCount.addAndGet(1);
+    for (FileRange range : ranges) {
+      if (worker == null) {
+        completeRange(range, RangeResult.UNASSIGNED);
         continue;
       }
-      mTaskList.offer(task);
-      mTotalByteCount.addAndGet(uriStatus.getLength());
-      mProcessingFileCount.addAndGet(1);
-      // TODO(lucy) limit the num of tasks added to one worker
+      DoraLoadTask task = pendingTasks.computeIfAbsent(worker, w -> new DoraLoadTask());
+      task.addRange(range);
+      if (task.getLength() >= mTaskBatchSize || task.getRanges().size() >= mTaskBatchFiles) {
+        pendingTasks.remove(worker);
+        addReadyTask(worker, task);
+      }
+    }
+  }
+
+  private void addReadyTask(WorkerInfo worker, DoraLoadTask task) {
+    Task taskToRun = task.withJob(this);
+    // a ready task is in progress, the pass is not done until the scheduler has run it
+    mTaskList.offer(taskToRun);
+    mReadyTasks.computeIfAbsent(worker, w -> new ArrayDeque<>()).offer(task);
+  }
+
+  /**
+   * Splits a file into ranges of at most the given size. An empty file has a single range.
+   *
+   * @param status the file
+   * @param splitSize the max length of a range
+   * @return the ranges of the file
+   */
+  @VisibleForTesting
+  public static List<FileRange> splitFile(URIStatus status, long splitSize) {
+    long length = status.getLength();
+    if (length <= splitSize) {
+      return ImmutableList.of(new FileRange(status, 0, length));
+    }
+    ImmutableList.Builder<FileRange> ranges = ImmutableList.builder();
+    for (long offset = 0; offset < length; offset += splitSize) {
+      ranges.add(new FileRange(status, offset, Math.min(splitSize, length - offset)));
+    }
+    return ranges.build();
+  }
+
+  /**
+   * Records the result of a range, and of its file once all of its ranges are done.
+   *
+   * @param range the range
+   * @param result the result of the range
+   */
+  private void completeRange(FileRange range, RangeResult result) {
+    String path = range.getStatus().getPath();
+    FileProgress progress = mFileProgress.get(path);
+    if (progress == null || !progress.complete(result)) {
+      return;
+    }
+    mFileProgress.remove(path);
+    long length = range.getStatus().getLength();
+    if (progress.isFailed()) {
+      // check if we need to retry this task, add this file to job todo list for retry for now
+      // provide the filepath, always check the existence/eligibility
+      // to load at time of creating task
+      addFilesToRetry(path);
+      mListingCheckpoint.skip(path);
+    } else if (progress.isUnassigned()) {
+      // not sent to any worker, the file is counted again when it is retried
+      mRetryFiles.offer(path);
+      mListingCheckpoint.skip(path);
+      mTotalByteCount.addAndGet(-length);
+      mProcessingFileCount.addAndGet(-1);
+    } else {
+      mListingCheckpoint.complete(path, length);
+      mProcessedFileCount.addAndGet(1);
+      JOB_LOAD_FILE_COUNT.inc(1);
+      JOB_LOAD_FILE_SIZE.inc(length);
     }
-    mTaskScheduling.compareAndSet(true, false);
   }
 
   /**
@@ -348,13 +599,29 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   }
 
   /**
-   * Update bandwidth.
+   * Update bandwidth. Tasks sent to the workers afterwards carry the new bandwidth.
    * @param bandwidth new bandwidth
    */
   public void updateBandwidth(OptionalLong bandwidth) {
     mBandwidth = bandwidth;
   }
 
+  /**
+   * Gets the share of the bandwidth of each worker. The files of the job are spread across all
+   * active workers by hash, so the bandwidth is split evenly among them.
+   *
+   * @return the bandwidth of each worker, or empty if the job is not limited
+   */
+  @VisibleForTesting
+  public OptionalLong getWorkerBandwidth() {
+    OptionalLong bandwidth = mBandwidth;
+    if (!bandwidth.isPresent()) {
+      return bandwidth;
+    }
+    int workers = Math.max(1, mMyScheduler.getActiveWorkers().size());
+    return OptionalLong.of(Math.max(1, bandwidth.getAsLong() / workers));
+  }
+
   /**
    * Set load state to FAILED with given reason.
    * @param reason failure exception
@@ -372,6 +639,15 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     JOB_LOAD_SUCCESS.inc();
   }
 
+  @Override
+  public void setJobState(JobState state) {
+    super.setJobState(state);
+    if (!isRunning()) {
+      // the listing is opened again where it stopped if the job is resumed
+      mFileIterator.ifPresent(FileListFetcher::close);
+    }
+  }
+
   /**
    * Add bytes to total loaded bytes.
    * @param bytes bytes to be added to total
@@ -438,7 +714,12 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
 
   @Override
   public Optional<DoraLoadTask> getNextTask(WorkerInfo worker) {
-    return Optional.empty();
+    Queue<DoraLoadTask> tasks = mReadyTasks.get(worker);
+    if (tasks == null || tasks.isEmpty()) {
+      prepareTasks();
+      tasks = mReadyTasks.get(worker);
+    }
+    return tasks == null ? Optional.empty() : Optional.ofNullable(tasks.poll());
   }
 
   @Override
@@ -454,9 +735,12 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         .add("StartTime", mStartTime)
         .add("ProcessedFileCount", mProcessedFileCount)
         .add("LoadedByteCount", mLoadedByteCount)
+        .add("SkippedByteCount", mSkippedByteCount)
         .add("TotalFailureCount", mTotalFailureCount)
         .add("State", mState)
-        .add("BatchSize", BATCH_SIZE)
+        .add("TaskBatchSize", mTaskBatchSize)
+        .add("TaskBatchFiles", mTaskBatchFiles)
+        .add("FileSplitSize", mFileSplitSize)
         .add("FailedReason", mFailedReason)
         .add("FileIterator", mFileIterator)
         .add("EndTime", mEndTime)
@@ -475,6 +759,17 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     mUser.ifPresent(jobEntry::setUser);
     mBandwidth.ifPresent(jobEntry::setBandwidth);
     mEndTime.ifPresent(jobEntry::setEndTime);
+    jobEntry.setPriority(getPriority())
+        .setWeight(getWeight())
+        .setMaxConcurrentTasks(getMaxConcurrentTasks());
+    mListingCheckpoint.getMarker().ifPresent(jobEntry::setListingMarker);
+    jobEntry.setProcessedFileCount(mListingCheckpoint.getFileCount())
+        .setLoadedByteCount(mListingCheckpoint.getByteCount())
+        .addAllRetryFiles(mRetryFiles);
+    // files in progress that are not pending in the listing checkpoint come from the retry list
+    mFileProgress.keySet().stream()
+        .filter(path -> !mListingCheckpoint.isPending(path))
+        .forEach(jobEntry::addRetryFiles);
     return Journal.JournalEntry
         .newBuilder()
         .setLoadJob(jobEntry.build())
@@ -502,37 +797,31 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
 
   @Override
   public boolean processResponse(DoraLoadTask doraLoadTask) {
-    // process
-    // call continuejob at the end
-    boolean needRetryCheck = false;
+    boolean taskFailed = false;
+    Set<File> failedRanges = new HashSet<>();
     try {
       // what if timeout ? job needs to proactively check or task needs to be aware
-      boolean success = (Boolean) doraLoadTask.getResponseFuture().get();
-      if (!success) {
-        needRetryCheck = true;
-      } else {
-        addLoadedBytes(doraLoadTask.mFileToLoad.getLength());
-        JOB_LOAD_FILE_COUNT.inc(1);
-        JOB_LOAD_FILE_SIZE.inc(doraLoadTask.mFileToLoad.getLength());
-        JOB_LOAD_RATE.mark(doraLoadTask.mFileToLoad.getLength());
+      LoadFileResponse response = doraLoadTask.getResponseFuture().get();
+      for (FileFailure failure : response.getFilesList()) {
+        failedRanges.add(failure.getFile());
       }
+      mSkippedByteCount.addAndGet(response.getBytesSkipped());
     } catch (InterruptedException ex) {
-      needRetryCheck = true;
+      taskFailed = true;
     } catch (ExecutionException ex) {
-      needRetryCheck = needsRetry(ex.getCause());
+      taskFailed = needsRetry(ex.getCause());
     }
-    if (!needRetryCheck) {
-      mProcessedFileCount.addAndGet(1);
-    } else {
-      // check if we need to retry this task, add this file to job todo list for retry for now
-      // provide the filepath, always check the existence/eligibility
-      // to load at time of creating task
-      addFilesToRetry(doraLoadTask.mFileToLoad.getPath());
+    for (FileRange range : doraLoadTask.getRanges()) {
+      if (taskFailed || failedRanges.contains(range.toProto())) {
+        completeRange(range, RangeResult.FAILED);
+      } else {
+        addLoadedBytes(range.getLength());
+        JOB_LOAD_RATE.mark(range.getLength());
+        completeRange(range, RangeResult.LOADED);
+      }
     }
-    mMyScheduler.getWorkerInfoHub().removeTaskFromWorkerQ(doraLoadTask);
     mTaskList.remove(doraLoadTask);
-    continueJob(); // re-kick off job
-    return needRetryCheck;
+    return taskFailed || !failedRanges.isEmpty();
   }
 
   @Override
@@ -542,6 +831,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     }
     DoraLoadJob targetJob = (DoraLoadJob) job;
     updateBandwidth(targetJob.getBandwidth());
+    updateSchedulingOptions(targetJob);
   }
 
   /**
@@ -555,49 +845,148 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   }
 
   /**
-   * Dora load task.
+   * Dora load task, which loads a batch of file ranges on one worker.
    */
-  public class DoraLoadTask extends Task<Object> {
+  public class DoraLoadTask extends Task<LoadFileResponse> {
+    private final List<FileRange> mRanges = new ArrayList<>();
+    private long mLength;
 
-    public URIStatus mFileToLoad;
+    /**
+     * Adds a range to load.
+     * @param range the range
+     */
+    void addRange(FileRange range) {
+      mRanges.add(range);
+      mLength += range.getLength();
+    }
 
     /**
-     * Constructor.
-     * @param fileToLoad the file to load
+     * @return the ranges to load
      */
-    public DoraLoadTask(URIStatus fileToLoad) {
-      mFileToLoad = fileToLoad;
+    public List<FileRange> getRanges() {
+      return mRanges;
     }
 
-    public Map<URIStatus, ListenableFuture<Object>> mFileResponses = new HashMap<>();
+    /**
+     * @return the total length of the ranges
+     */
+    public long getLength() {
+      return mLength;
+    }
 
     @Override
-    protected ListenableFuture<Object> run(BlockWorkerClient workerClient) {
-      URIStatus uriStatus = mFileToLoad;
-      OpenFilePOptions openFilePOptions = OpenFilePOptions.newBuilder()
-          .setReadType(ReadType.CACHE.toProto()).build();
-      Protocol.OpenUfsBlockOptions openUfsBlockOptions =
-          Protocol.OpenUfsBlockOptions.newBuilder().setUfsPath(uriStatus.getUfsPath())
-              .setOffsetInFile(0).setBlockSize(uriStatus.getLength())
-              .setMaxUfsReadConcurrency(openFilePOptions.getMaxUfsReadConcurrency())
-              .setNoCache(!ReadType.fromProto(openFilePOptions.getReadType()).isCache())
-              .setMountId(DUMMY_MOUNT_ID)
-              .build();
-      ReadRequest.Builder readReqBuilder = ReadRequest.newBuilder()
-          .setOffset(0)
-          .setLength(uriStatus.getLength())
-          .setBlockId(DoraCacheClient.DUMMY_BLOCK_ID)
-          .setOpenUfsBlockOptions(openUfsBlockOptions)
-          .setChunkSize(mMyScheduler.getFileSystemContext().getClusterConf().getBytes(
-              PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES));
-      ListenableFuture<Object> listenableFuture = workerClient
-          .readBlockNoDataBack(readReqBuilder.build());
-      return listenableFuture;
+    protected ListenableFuture<LoadFileResponse> run(BlockWorkerClient workerClient) {
+      UfsReadOptions.Builder options = UfsReadOptions
+          .newBuilder()
+          .setTag(mJobId)
+          .setPositionShort(false);
+      getWorkerBandwidth().ifPresent(options::setBandwidth);
+      mUser.ifPresent(options::setUser);
+      LoadFileRequest.Builder request = LoadFileRequest
+          .newBuilder()
+          .setOptions(options.build());
+      mRanges.forEach(range -> request.addFiles(range.toProto()));
+      return workerClient.loadFile(request.build());
     }
+  }
 
-    @Override
-    public void onComplete(Executor executor) {
-      getResponseFuture().addListener(() -> mMyJob.processResponse(this), executor);
+  /**
+   * A range of a file to load.
+   */
+  public static final class FileRange {
+    private final URIStatus mStatus;
+    private final long mOffset;
+    private final long mLength;
+
+    /**
+     * @param status the file
+     * @param offset the offset of the range
+     * @param length the length of the range
+     */
+    FileRange(URIStatus status, long offset, long length) {
+      mStatus = status;
+      mOffset = offset;
+      mLength = length;
+    }
+
+    /**
+     * @return the file
+     */
+    public URIStatus getStatus() {
+      return mStatus;
+    }
+
+    /**
+     * @return the offset of the range
+     */
+    public long getOffset() {
+      return mOffset;
+    }
+
+    /**
+     * @return the length of the range
+     */
+    public long getLength() {
+      return mLength;
+    }
+
+    /**
+     * @return the range as the file to load in a load request
+     */
+    public File toProto() {
+      File.Builder file = File.newBuilder()
+          .setUfsPath(mStatus.getUfsPath())
+          .setLength(mStatus.getLength())
+          .setMountId(DUMMY_MOUNT_ID)
+          .setOffset(mOffset)
+          .setRangeLength(mLength);
+      // lets the worker tell whether the pages it has cached are of the same file version
+      String fingerprint = mStatus.getUfsFingerprint();
+      if (fingerprint != null && !fingerprint.equals(Constants.INVALID_UFS_FINGERPRINT)) {
+        file.setUfsFingerprint(fingerprint);
+      }
+      return file.build();
+    }
+  }
+
+  private enum RangeResult {
+    LOADED,
+    FAILED,
+    // not sent to a worker
+    UNASSIGNED,
+  }
+
+  /**
+   * The ranges of a file not completed yet.
+   */
+  private static final class FileProgress {
+    private int mRemainingRanges;
+    private boolean mFailed;
+    private boolean mUnassigned;
+
+    FileProgress(int ranges) {
+      mRemainingRanges = ranges;
+    }
+
+    /**
+     * @param result the result of a range
+     * @return true if it is the last range of the file
+     */
+    synchronized boolean complete(RangeResult result) {
+      if (result == RangeResult.FAILED) {
+        mFailed = true;
+      } else if (result == RangeResult.UNASSIGNED) {
+        mUnassigned = true;
+      }
+      return --mRemainingRanges == 0;
+    }
+
+    synchronized boolean isFailed() {
+      return mFailed;
+    }
+
+    synchronized boolean isUnassigned() {
+      return mUnassigned;
     }
   }
 
@@ -608,6 +997,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     private final boolean mVerificationEnabled;
     private final long mProcessedFileCount;
     private final long mLoadedByteCount;
+    private final long mSkippedByteCount;
     private final Long mTotalByteCount;
     private final Long mThroughput;
     private final double mFailurePercentage;
@@ -628,6 +1018,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       mVerificationEnabled = job.mVerificationEnabled;
       mProcessedFileCount = job.mProcessedFileCount.get();
       mLoadedByteCount = job.mLoadedByteCount.get();
+      mSkippedByteCount = job.mSkippedByteCount.get();
       if (!job.mUsePartialListing && job.mFileIterator.isPresent()) {
         mTotalByteCount = job.mTotalByteCount.get();
       }
@@ -687,6 +1078,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
           FormatUtils.getSizeFromBytes(mLoadedByteCount),
           mTotalByteCount == null
               ? "" : format(" out of %s", FormatUtils.getSizeFromBytes(mTotalByteCount))));
+      progress.append(format("\tBytes Skipped (already cached): %s%n",
+          FormatUtils.getSizeFromBytes(mSkippedByteCount)));
       if (mThroughput != null) {
         progress.append(format("\tThroughput: %s/s%n",
             FormatUtils.getSizeFromBytes(mThroughput)));
@@ -62,6 +62,19 @@ public class JournalCopyJobFactory implements JobFactory {
             mJobEntry.hasBandwidth() ? OptionalLong.of(mJobEntry.getBandwidth()) :
                 OptionalLong.empty(), mJobEntry.getPartialListing(), mJobEntry.getVerify(),
             fileIterator);
+    if (mJobEntry.hasPriority()) {
+      job.setPriority(mJobEntry.getPriority());
+    }
+    if (mJobEntry.hasWeight()) {
+      job.setWeight(mJobEntry.getWeight());
+    }
+    if (mJobEntry.hasMaxConcurrentTasks()) {
+      job.setMaxConcurrentTasks(mJobEntry.getMaxConcurrentTasks());
+    }
+    if (mJobEntry.hasListedFileCount()) {
+      job.restoreCheckpoint(mJobEntry.getListedFileCount(), mJobEntry.getProcessedFileCount(),
+          mJobEntry.getCopiedByteCount());
+    }
     return job;
   }
 }
@@ -51,6 +51,20 @@ public class JournalLoadJobFactory implements JobFactory {
         mJobEntry.hasBandwidth() ? OptionalLong.of(mJobEntry.getBandwidth()) : OptionalLong.empty(),
         mJobEntry.getPartialListing(), mJobEntry.getVerify(), mFsMaster.getScheduler());
     job.setJobState(JobState.fromProto(mJobEntry.getState()));
+    if (mJobEntry.hasPriority()) {
+      job.setPriority(mJobEntry.getPriority());
+    }
+    if (mJobEntry.hasWeight()) {
+      job.setWeight(mJobEntry.getWeight());
+    }
+    if (mJobEntry.hasMaxConcurrentTasks()) {
+      job.setMaxConcurrentTasks(mJobEntry.getMaxConcurrentTasks());
+    }
+    if (mJobEntry.hasListingMarker() || mJobEntry.getRetryFilesCount() > 0) {
+      job.restoreCheckpoint(mJobEntry.hasListingMarker() ? mJobEntry.getListingMarker() : null,
+          mJobEntry.getProcessedFileCount(), mJobEntry.getLoadedByteCount(),
+          mJobEntry.getRetryFilesList());
+    }
     if (mJobEntry.hasEndTime()) {
       job.setEndTime(mJobEntry.getEndTime());
     }
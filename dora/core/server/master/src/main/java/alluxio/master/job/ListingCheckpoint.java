@@ -0,0 +1,138 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.job;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the files a job takes from its listing until they complete, to find where the listing
+ * can resume after the job is restarted. The marker is the last listed file such that it and all
+ * the files listed before it are complete; files complete in any order, so the ones completed past
+ * the first pending file are kept until the marker reaches them.
+ *
+ * @param <K> the position of a file in the listing, in listing order
+ */
+@ThreadSafe
+public final class ListingCheckpoint<K extends Comparable<K>> {
+  private static final long PENDING = -1;
+  // completed, but not counted as processed, e.g. the file is retried separately
+  private static final long NOT_COUNTED = -2;
+
+  // the files after the marker, to the bytes processed or one of the states above
+  @GuardedBy("this")
+  private final TreeMap<K, Long> mFiles = new TreeMap<>();
+  @GuardedBy("this")
+  @Nullable
+  private K mMarker;
+  @GuardedBy("this")
+  private long mFileCount;
+  @GuardedBy("this")
+  private long mByteCount;
+
+  /**
+   * Creates a checkpoint at the start of the listing.
+   */
+  public ListingCheckpoint() {}
+
+  /**
+   * Creates a checkpoint restored from the journal.
+   *
+   * @param marker the marker
+   * @param fileCount the number of files processed up to the marker
+   * @param byteCount the number of bytes processed up to the marker
+   */
+  public ListingCheckpoint(@Nullable K marker, long fileCount, long byteCount) {
+    mMarker = marker;
+    mFileCount = fileCount;
+    mByteCount = byteCount;
+  }
+
+  /**
+   * Adds a file taken from the listing. Files must be added in listing order.
+   *
+   * @param position the position of the file
+   */
+  public synchronized void add(K position) {
+    mFiles.put(position, PENDING);
+  }
+
+  /**
+   * Completes a processed file.
+   *
+   * @param position the position of the file
+   * @param bytes the bytes processed
+   */
+  public void complete(K position, long bytes) {
+    update(position, bytes);
+  }
+
+  /**
+   * Completes a file without counting it as processed, e.g. when it has been handed to a
+   * retry list that is checkpointed separately.
+   *
+   * @param position the position of the file
+   */
+  public void skip(K position) {
+    update(position, NOT_COUNTED);
+  }
+
+  private synchronized void update(K position, long value) {
+    if (!mFiles.containsKey(position)) {
+      // not taken from the listing, or completed already
+      return;
+    }
+    mFiles.put(position, value);
+    while (!mFiles.isEmpty() && mFiles.firstEntry().getValue() != PENDING) {
+      Map.Entry<K, Long> first = mFiles.pollFirstEntry();
+      mMarker = first.getKey();
+      if (first.getValue() != NOT_COUNTED) {
+        mFileCount++;
+        mByteCount += first.getValue();
+      }
+    }
+  }
+
+  /**
+   * @param position the position of a file
+   * @return whether the file has been taken from the listing and is not complete
+   */
+  public synchronized boolean isPending(K position) {
+    Long value = mFiles.get(position);
+    return value != null && value == PENDING;
+  }
+
+  /**
+   * @return the last file such that all files up to it are complete
+   */
+  public synchronized Optional<K> getMarker() {
+    return Optional.ofNullable(mMarker);
+  }
+
+  /**
+   * @return the number of files processed up to the marker
+   */
+  public synchronized long getFileCount() {
+    return mFileCount;
+  }
+
+  /**
+   * @return the number of bytes processed up to the marker
+   */
+  public synchronized long getByteCount() {
+    return mByteCount;
+  }
+}
@@ -430,6 +430,9 @@ public class LoadJob extends AbstractJob<LoadJob.LoadTask> {
     mUser.ifPresent(jobEntry::setUser);
     mBandwidth.ifPresent(jobEntry::setBandwidth);
     mEndTime.ifPresent(jobEntry::setEndTime);
+    jobEntry.setPriority(getPriority())
+        .setWeight(getWeight())
+        .setMaxConcurrentTasks(getMaxConcurrentTasks());
     return Journal.JournalEntry
         .newBuilder()
         .setLoadJob(jobEntry.build())
@@ -505,6 +508,7 @@ public class LoadJob extends AbstractJob<LoadJob.LoadTask> {
     LoadJob targetJob = (LoadJob) job;
     updateBandwidth(targetJob.getBandwidth());
     setVerificationEnabled(targetJob.isVerificationEnabled());
+    updateSchedulingOptions(targetJob);
   }
 
   /**
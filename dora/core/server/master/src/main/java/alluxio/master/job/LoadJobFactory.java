@@ -57,10 +57,20 @@ public class LoadJobFactory implements JobFactory {
     Optional<String> user = Optional
         .ofNullable(AuthenticatedClientUser.getOrNull())
         .map(User::getName);
-    return new DoraLoadJob(path, user, UUID.randomUUID().toString(),
+    DoraLoadJob job = new DoraLoadJob(path, user, UUID.randomUUID().toString(),
         bandwidth,
         partialListing,
         verificationEnabled, mFsMaster.getScheduler());
+    if (options.hasPriority()) {
+      job.setPriority(options.getPriority());
+    }
+    if (options.hasWeight()) {
+      job.setWeight(options.getWeight());
+    }
+    if (options.hasMaxConcurrentTasks()) {
+      job.setMaxConcurrentTasks(options.getMaxConcurrentTasks());
+    }
+    return job;
   }
 }
 
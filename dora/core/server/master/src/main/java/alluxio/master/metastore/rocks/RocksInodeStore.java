@@ -55,12 +55,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
@@ -93,6 +96,9 @@ public class RocksInodeStore implements InodeStore {
   // using a fixed length prefix extractor.
   // See https://github.com/facebook/rocksdb/wiki/Prefix-Seek
   private final ReadOptions mIteratorOption;
+  // Used to scan the edges of a directory when listing its children.
+  private final ReadOptions mListingOption;
+  private final int mListingBatchSize;
 
   private final RocksStore mRocksStore;
   private final List<RocksObject> mToClose = new ArrayList<>();
@@ -113,6 +119,10 @@ public class RocksInodeStore implements InodeStore {
     mIteratorOption = new ReadOptions().setReadaheadSize(
         Configuration.getBytes(PropertyKey.MASTER_METASTORE_ITERATOR_READAHEAD_SIZE))
         .setTotalOrderSeek(true);
+    mListingOption = new ReadOptions().setPrefixSameAsStart(true).setReadaheadSize(
+        Configuration.getBytes(PropertyKey.MASTER_METASTORE_ROCKS_INODE_LISTING_READAHEAD_SIZE));
+    mListingBatchSize =
+        Configuration.getInt(PropertyKey.MASTER_METASTORE_ROCKS_INODE_LISTING_BATCH_SIZE);
     String dbPath = PathUtils.concatPath(baseDir, INODES_DB_NAME);
     String backupPath = PathUtils.concatPath(baseDir, INODES_DB_NAME + "-backup");
 
@@ -345,8 +355,12 @@ public class RocksInodeStore implements InodeStore {
     if (inode == null) {
       return Optional.empty();
     }
+    return Optional.of(parseInode(inode));
+  }
+
+  private static MutableInode<?> parseInode(byte[] inode) {
     try {
-      return Optional.of(MutableInode.fromProto(InodeMeta.Inode.parseFrom(inode)));
+      return MutableInode.fromProto(InodeMeta.Inode.parseFrom(inode));
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
@@ -354,7 +368,12 @@ public class RocksInodeStore implements InodeStore {
 
   @Override
   public CloseableIterator<Long> getChildIds(Long inodeId, ReadOption option) {
-    RocksIterator iter = db().newIterator(mEdgesColumn.get(), mReadPrefixSameAsStart);
+    return getChildIds(inodeId, option, mReadPrefixSameAsStart);
+  }
+
+  private CloseableIterator<Long> getChildIds(Long inodeId, ReadOption option,
+      ReadOptions readOptions) {
+    RocksIterator iter = db().newIterator(mEdgesColumn.get(), readOptions);
     // first seek to the correct bucket
     iter.seek(Longs.toByteArray(inodeId));
     // now seek to a specific file if needed
@@ -381,6 +400,56 @@ public class RocksInodeStore implements InodeStore {
     return CloseableIterator.create(idStream.iterator(), (any) -> iter.close());
   }
 
+  /**
+   * Lists the children by scanning the edges of the directory with read-ahead, and fetching the
+   * inodes of each batch of edges with one multi-get instead of one point lookup per child.
+   */
+  @Override
+  public CloseableIterator<? extends Inode> getChildren(Long inodeId, ReadOption option) {
+    CloseableIterator<Long> childIds = getChildIds(inodeId, option, mListingOption);
+    Iterator<Inode> iter = new Iterator<Inode>() {
+      private final Deque<Inode> mBatch = new ArrayDeque<>();
+
+      @Override
+      public boolean hasNext() {
+        advance();
+        return !mBatch.isEmpty();
+      }
+
+      @Override
+      public Inode next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException(
+              "No more children in iterator for inode id " + inodeId);
+        }
+        return mBatch.poll();
+      }
+
+      void advance() {
+        while (mBatch.isEmpty() && childIds.hasNext()) {
+          List<byte[]> keys = new ArrayList<>();
+          while (keys.size() < mListingBatchSize && childIds.hasNext()) {
+            keys.add(Longs.toByteArray(childIds.next()));
+          }
+          List<byte[]> inodes;
+          try {
+            inodes = db().multiGetAsList(
+                Collections.nCopies(keys.size(), mInodesColumn.get()), keys);
+          } catch (RocksDBException e) {
+            throw new RuntimeException(e);
+          }
+          for (byte[] inode : inodes) {
+            // Make sure the inode metadata still exists
+            if (inode != null) {
+              mBatch.add(Inode.wrap(parseInode(inode)));
+            }
+          }
+        }
+      }
+    };
+    return CloseableIterator.create(iter, (any) -> childIds.close());
+  }
+
   @Override
   public Optional<Long> getChildId(Long inodeId, String name, ReadOption option) {
     byte[] id;
@@ -585,6 +654,7 @@ public class RocksInodeStore implements InodeStore {
     mRocksStore.close();
     mDisableWAL.close();
     mReadPrefixSameAsStart.close();
+    mListingOption.close();
     // Close the elements in the reverse order they were added
     Collections.reverse(mToClose);
     mToClose.forEach(RocksObject::close);
@@ -65,16 +65,18 @@ public class JournaledJobMetaStore implements JobMetaStore, Journaled {
     if (!entry.hasLoadJob() && !entry.hasCopyJob()) {
       return false;
     }
+    Job<?> job;
     if (entry.hasLoadJob()) {
-      Job<?> job = JobFactoryProducer.create(entry, mFileSystemMaster).create();
-      mExistingJobs.add(job);
-    }
-    if (entry.hasCopyJob()) {
+      job = JobFactoryProducer.create(entry, mFileSystemMaster).create();
+    } else {
       UnderFileSystem ufs = UnderFileSystem.Factory.create(entry.getCopyJob().getSrc(),
           UnderFileSystemConfiguration.defaults(Configuration.global()));
-      Job<?> job = JobFactoryProducer.create(entry, ufs).create();
-      mExistingJobs.add(job);
+      job = JobFactoryProducer.create(entry, ufs).create();
     }
+    // jobs are equal by description, a later entry replaces the job with its latest state and
+    // progress checkpoint
+    mExistingJobs.remove(job);
+    mExistingJobs.add(job);
     return true;
   }
 
@@ -26,7 +26,6 @@ import alluxio.exception.runtime.ResourceExhaustedRuntimeException;
 import alluxio.exception.runtime.UnavailableRuntimeException;
 import alluxio.grpc.JobProgressReportFormat;
 import alluxio.job.JobDescription;
-import alluxio.master.job.DoraLoadJob;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.CloseableResource;
@@ -40,11 +39,15 @@ import alluxio.util.ThreadUtils;
 import alluxio.wire.WorkerInfo;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ConcurrentHashMultiset;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multiset;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
@@ -69,19 +72,34 @@ import javax.annotation.concurrent.ThreadSafe;
  *  3. The worker will execute the task and report the result to the job.
  *  4. The job will update the progress. And schedule the next task if the job is not done.
  *  5. One worker would have one task running for one job description at a time.
+ * Every worker has a number of task slots derived from its capacity. Free slots go to the running
+ * jobs with the highest priority first, and are shared between jobs of the same priority by
+ * weighted fair queueing, subject to the concurrency cap of each job. A slot is handed out again
+ * whenever the task running in it finishes, so that higher priority jobs take over slots held by
+ * lower priority jobs at task boundaries.
  */
 @ThreadSafe
 public final class Scheduler {
 
   private static final Logger LOG = LoggerFactory.getLogger(Scheduler.class);
-  private static final int CAPACITY = 100;
+  private static final int CAPACITY = Configuration.getInt(
+      PropertyKey.JOB_SCHEDULER_MAX_RUNNING_JOBS);
+  private static final long WORKER_SLOT_CAPACITY = Configuration.getBytes(
+      PropertyKey.JOB_SCHEDULER_WORKER_SLOT_CAPACITY);
+  private static final int WORKER_MAX_SLOTS = Configuration.getInt(
+      PropertyKey.JOB_SCHEDULER_WORKER_MAX_SLOTS);
   private static final long WORKER_UPDATE_INTERVAL = Configuration.getMs(
       PropertyKey.MASTER_WORKER_INFO_CACHE_REFRESH_TIME);
   private static final int EXECUTOR_SHUTDOWN_MS = 10 * Constants.SECOND_MS;
   private final Map<JobDescription, Job<?>>
       mExistingJobs = new ConcurrentHashMap<>();
   // this will be kept in job itself
-  private final Map<Job<?>, Set<WorkerInfo>> mRunningTasks = new ConcurrentHashMap<>();
+  // the workers running the tasks of each job, counted once per task
+  private final Map<Job<?>, Multiset<WorkerInfo>> mRunningTasks = new ConcurrentHashMap<>();
+  // start tags of the running jobs for weighted fair queueing, only accessed by scheduler thread
+  private final Map<Job<?>, Double> mVirtualTimes = new HashMap<>();
+  // start tag of the job that was last handed a task slot
+  private double mVirtualClock = 0;
   private final JobMetaStore mJobMetaStore;
   // initial thread in start method since we would stop and start thread when gainPrimacy
   private ScheduledExecutorService mSchedulerExecutor;
@@ -250,6 +268,9 @@ public final class Scheduler {
           WORKER_UPDATE_INTERVAL, TimeUnit.MILLISECONDS);
       mSchedulerExecutor.scheduleWithFixedDelay(this::processJobs, 0, 100, TimeUnit.MILLISECONDS);
       mSchedulerExecutor.scheduleWithFixedDelay(this::cleanupStaleJob, 1, 1, TimeUnit.HOURS);
+      long checkpointInterval = Configuration.getMs(PropertyKey.JOB_CHECKPOINT_INTERVAL);
+      mSchedulerExecutor.scheduleWithFixedDelay(this::checkpointJobs, checkpointInterval,
+          checkpointInterval, TimeUnit.MILLISECONDS);
       mRunning = true;
     }
   }
@@ -288,7 +309,7 @@ public final class Scheduler {
         mRunningTasks.remove(job);
       }
       else {
-        mRunningTasks.put(job, new HashSet<>());
+        mRunningTasks.put(job, ConcurrentHashMultiset.create());
       }
     }
   }
@@ -331,7 +352,7 @@ public final class Scheduler {
     }
     mJobMetaStore.updateJob(job);
     mExistingJobs.put(job.getDescription(), job);
-    mRunningTasks.put(job, new HashSet<>());
+    mRunningTasks.put(job, ConcurrentHashMultiset.create());
     LOG.info(format("start job: %s", job));
     return true;
   }
@@ -342,7 +363,7 @@ public final class Scheduler {
     LOG.debug(format("updated existing job: %s from %s", existingJob, newJob));
     if (existingJob.getJobState() == JobState.STOPPED) {
       existingJob.setJobState(JobState.RUNNING);
-      mRunningTasks.put(existingJob, new HashSet<>());
+      mRunningTasks.put(existingJob, ConcurrentHashMultiset.create());
       LOG.debug(format("restart existing job: %s", existingJob));
     }
   }
@@ -412,6 +433,25 @@ public final class Scheduler {
         PropertyKey.JOB_RETENTION_TIME)));
   }
 
+  /**
+   * Journals the progress of the running jobs, so that they resume from their last checkpoint
+   * after the master fails over or restarts.
+   */
+  @VisibleForTesting
+  public void checkpointJobs() {
+    for (Job<?> job : mRunningTasks.keySet()) {
+      if (!job.isRunning()) {
+        continue;
+      }
+      try {
+        mJobMetaStore.updateJob(job);
+      } catch (UnavailableRuntimeException e) {
+        // the next checkpoint would journal the progress made in between
+        LOG.warn("error journaling the progress of job {}", job.getJobId(), e);
+      }
+    }
+  }
+
   /**
    * Get jobs.
    *
@@ -427,15 +467,81 @@ public final class Scheduler {
       return;
     }
     mRunningTasks.forEach(this::processJob);
+    mVirtualTimes.keySet().retainAll(mRunningTasks.keySet());
+    mWorkerInfoHub.mActiveWorkers.forEach(this::fillWorkerSlots);
 //    mExistingJobs.forEach((jobDescription, job) -> job.continueJob());
   }
 
-  private void processJob(Job<?> job, Set<WorkerInfo> runningWorkers) {
-    // TO REMOVE IN FUTURE
-    if (job instanceof DoraLoadJob) {
-      job.setJobSuccess();
-      return;
+  /**
+   * @param workerInfo the worker
+   * @return the number of job tasks the worker may run at the same time
+   */
+  @VisibleForTesting
+  public static int getWorkerSlots(WorkerInfo workerInfo) {
+    long capacity = workerInfo.getCapacityBytes();
+    if (capacity <= 0) {
+      return WORKER_MAX_SLOTS;
     }
+    return (int) Math.max(1, Math.min(WORKER_MAX_SLOTS, capacity / WORKER_SLOT_CAPACITY));
+  }
+
+  /**
+   * Hands the free task slots of a worker to the running jobs one at a time, each to the job with
+   * the highest priority, and within the same priority the job with the smallest start tag, i.e.
+   * the job which received the least service relative to its weight. A job may take several slots
+   * of the same worker.
+   */
+  private void fillWorkerSlots(WorkerInfo workerInfo,
+      CloseableResource<BlockWorkerClient> workerClient) {
+    try {
+      int freeSlots = getWorkerSlots(workerInfo) - mRunningTasks.values().stream()
+          .mapToInt(tasks -> tasks.count(workerInfo)).sum();
+      // jobs without a task for the worker this round
+      Set<Job<?>> exhausted = new HashSet<>();
+      while (freeSlots > 0) {
+        Optional<Job<?>> next = mRunningTasks.entrySet().stream()
+            .filter(entry -> !exhausted.contains(entry.getKey())
+                && entry.getKey().isRunning() && entry.getKey().isHealthy()
+                && entry.getValue().size() < entry.getKey().getMaxConcurrentTasks())
+            .map(Map.Entry::getKey)
+            .min(Comparator.<Job<?>>comparingInt(job -> -job.getPriority())
+                .thenComparingDouble(this::getVirtualTime));
+        if (!next.isPresent()) {
+          return;
+        }
+        Job<?> job = next.get();
+        Multiset<WorkerInfo> runningTasks = mRunningTasks.get(job);
+        if (runningTasks == null) {
+          exhausted.add(job);
+          continue;
+        }
+        // take the slot before the task starts, its response may release the slot right away
+        runningTasks.add(workerInfo);
+        if (!scheduleTask(job, workerInfo, runningTasks, workerClient)) {
+          runningTasks.remove(workerInfo);
+          exhausted.add(job);
+          continue;
+        }
+        double startTag = getVirtualTime(job);
+        mVirtualClock = Math.max(mVirtualClock, startTag);
+        mVirtualTimes.put(job, startTag + 1.0 / job.getWeight());
+        freeSlots--;
+      }
+    } catch (Exception e) {
+      // Unknown exception. This should not happen, but if it happens we don't want to lose the
+      // scheduler thread, thus catching it here. Any exception surfaced here should be properly
+      // handled.
+      LOG.error("Unexpected exception thrown in fillWorkerSlots.", e);
+    }
+  }
+
+  private double getVirtualTime(Job<?> job) {
+    // a job joining the queue starts at the current virtual time instead of catching up on the
+    // service it missed while it was not running
+    return mVirtualTimes.computeIfAbsent(job, j -> mVirtualClock);
+  }
+
+  private void processJob(Job<?> job, Multiset<WorkerInfo> runningTasks) {
     try {
       if (!job.isRunning()) {
         try {
@@ -456,15 +562,7 @@ public final class Scheduler {
         return;
       }
 
-      // If there are new workers, schedule job onto new workers
-      mWorkerInfoHub.mActiveWorkers.forEach((workerInfo, workerClient) -> {
-        if (!runningWorkers.contains(workerInfo) && scheduleTask(job, workerInfo, runningWorkers,
-            workerClient)) {
-          runningWorkers.add(workerInfo);
-        }
-      });
-
-      if (runningWorkers.isEmpty() && job.isCurrentPassDone()) {
+      if (runningTasks.isEmpty() && job.isCurrentPassDone()) {
         if (job.needVerification()) {
           job.initiateVerification();
         }
@@ -489,7 +587,7 @@ public final class Scheduler {
   private boolean scheduleTask(
       @SuppressWarnings("rawtypes") Job job,
       WorkerInfo workerInfo,
-      Set<WorkerInfo> livingWorkers,
+      Multiset<WorkerInfo> runningTasks,
       CloseableResource<BlockWorkerClient> workerClient) {
     if (!job.isRunning()) {
       return false;
@@ -511,20 +609,14 @@ public final class Scheduler {
     currentTask.execute(workerClient.get(), workerInfo);
     currentTask.getResponseFuture().addListener(() -> {
       try {
-        if (!job.processResponse(currentTask)) {
-          livingWorkers.remove(workerInfo);
-        }
-        // Schedule next batch for healthy job
-        if (job.isHealthy()) {
-          if (mWorkerInfoHub.mActiveWorkers.containsKey(workerInfo)) {
-            if (!scheduleTask(job, workerInfo, livingWorkers,
-                mWorkerInfoHub.mActiveWorkers.get(workerInfo))) {
-              livingWorkers.remove(workerInfo);
-            }
-          }
-          else {
-            livingWorkers.remove(workerInfo);
-          }
+        job.processResponse(currentTask);
+        // Release the slot and hand it out again, so that a higher priority or less served job
+        // waiting for the worker takes it over from this job
+        runningTasks.remove(workerInfo);
+        CloseableResource<BlockWorkerClient> client =
+            mWorkerInfoHub.mActiveWorkers.get(workerInfo);
+        if (client != null) {
+          fillWorkerSlots(workerInfo, client);
         }
       } catch (Exception e) {
         // Unknown exception. This should not happen, but if it happens we don't want to lose the
@@ -26,6 +26,8 @@ import alluxio.exception.status.UnavailableException;
 import alluxio.master.file.meta.InodeTree.LockPattern;
 import alluxio.master.journal.JournalContext;
 import alluxio.master.journal.NoopJournalContext;
+import alluxio.master.metastore.ReadOnlyInodeStore;
+import alluxio.master.metastore.ReadOption;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -628,6 +630,67 @@ public class LockedInodePathTest extends BaseInodeLockingTest {
     Assert.assertEquals(3, journalFlushCount.get());
   }
 
+  @Test
+  public void cachedPathSkipsEdgeLookups() throws Exception {
+    InodePathCache pathCache = new InodePathCache(10);
+    ReadOnlyInodeStore inodeStore = Mockito.spy(mInodeStore);
+    try (LockedInodePath path = create("/a/b/c", LockPattern.READ, inodeStore, pathCache)) {
+      assertTrue(path.fullPathExists());
+    }
+    assertEquals(1, pathCache.size());
+    Mockito.clearInvocations(inodeStore);
+
+    mPath = create("/a/b/c", LockPattern.READ, inodeStore, pathCache);
+    Mockito.verify(inodeStore, Mockito.never()).getChild(Mockito.anyLong(), Mockito.anyString(),
+        Mockito.any(ReadOption.class));
+    assertEquals(Arrays.asList(mRootDir, mDirA, mDirB, mFileC), mPath.getInodeList());
+    checkOnlyNodesReadLocked(mRootDir, mDirA, mDirB, mFileC);
+    checkOnlyNodesWriteLocked();
+    checkOnlyIncomingEdgesReadLocked(mRootDir, mDirA, mDirB, mFileC);
+    checkOnlyIncomingEdgesWriteLocked();
+  }
+
+  @Test
+  public void cachedPathRenamed() throws Exception {
+    InodePathCache pathCache = new InodePathCache(10);
+    create("/a/b/c", LockPattern.READ, mInodeStore, pathCache).close();
+
+    // rename /a/b/c to /a/b/d
+    MutableInode<?> fileC = mInodeStore.getMutable(mFileC.getId()).get();
+    mInodeStore.removeChild(mDirB.getId(), "c");
+    fileC.setName("d");
+    mInodeStore.writeInode(fileC);
+    mInodeStore.addChild(mDirB.getId(), fileC);
+    try (LockedInodePath path = create("/a/b/c", LockPattern.READ, mInodeStore, pathCache)) {
+      assertFalse(path.fullPathExists());
+      assertEquals(Arrays.asList(mRootDir, mDirA, mDirB), path.getInodeList());
+    }
+    assertEquals(0, pathCache.size());
+
+    InodeFile newFileC = inodeFile(10, mDirB.getId(), "c");
+    mInodeStore.addChild(mDirB.getId(), newFileC);
+    try (LockedInodePath path = create("/a/b/c", LockPattern.READ, mInodeStore, pathCache)) {
+      assertEquals(newFileC, path.getInode());
+    }
+    mPath = create("/a/b/c", LockPattern.READ, mInodeStore, pathCache);
+    assertEquals(newFileC, mPath.getInode());
+  }
+
+  @Test
+  public void cachedPathDeleted() throws Exception {
+    InodePathCache pathCache = new InodePathCache(10);
+    create("/a/b/c", LockPattern.READ, mInodeStore, pathCache).close();
+
+    mInodeStore.removeInodeAndParentEdge(mFileC);
+    mPath = create("/a/b/c", LockPattern.WRITE_EDGE, mInodeStore, pathCache);
+    assertFalse(mPath.fullPathExists());
+    assertEquals(Arrays.asList(mRootDir, mDirA, mDirB), mPath.getInodeList());
+    checkOnlyNodesReadLocked(mRootDir, mDirA, mDirB);
+    checkOnlyNodesWriteLocked();
+    checkOnlyIncomingEdgesReadLocked(mRootDir, mDirA, mDirB);
+    checkIncomingEdgeWriteLocked(mDirB.getId(), "c");
+  }
+
   private LockedInodePath create(String path, LockPattern lockPattern) throws InvalidPathException {
     return create(path, lockPattern, NoopJournalContext.INSTANCE);
   }
@@ -640,4 +703,12 @@ public class LockedInodePathTest extends BaseInodeLockingTest {
     lockedPath.traverse();
     return lockedPath;
   }
+
+  private LockedInodePath create(String path, LockPattern lockPattern,
+      ReadOnlyInodeStore inodeStore, InodePathCache pathCache) throws InvalidPathException {
+    LockedInodePath lockedPath = new LockedInodePath(new AlluxioURI(path), inodeStore,
+        mInodeLockManager, mRootDir, lockPattern, false, NoopJournalContext.INSTANCE, pathCache);
+    lockedPath.traverse();
+    return lockedPath;
+  }
 }
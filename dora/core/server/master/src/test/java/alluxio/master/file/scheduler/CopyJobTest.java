@@ -30,9 +30,13 @@ import alluxio.grpc.Route;
 import alluxio.master.file.FileSystemMaster;
 import alluxio.master.job.CopyJob;
 import alluxio.master.job.FileIterable;
+import alluxio.master.job.JournalCopyJobFactory;
+import alluxio.proto.journal.Job;
 import alluxio.scheduler.job.JobState;
+import alluxio.underfs.UnderFileSystem;
 import alluxio.wire.FileInfo;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -60,6 +64,48 @@ public class CopyJobTest {
     Assert.assertEquals(5, nextTask.get().getRoutes().size());
   }
 
+  @Test
+  public void testResumeFromCheckpoint()
+      throws FileDoesNotExistException, AccessControlException, IOException, InvalidPathException {
+    String srcPath = "/src";
+    String dstPath = "/dst";
+    List<FileInfo> fileInfos = generateRandomFileInfoUnderRoot(5, 20, 64 * Constants.MB, srcPath);
+    FileSystemMaster fileSystemMaster = mock(FileSystemMaster.class);
+    when(fileSystemMaster.listStatus(any(), any())).thenReturn(fileInfos);
+    Optional<String> user = Optional.of("user");
+    FileIterable files =
+        new FileIterable(fileSystemMaster, srcPath, user, false, CopyJob.QUALIFIED_FILE_FILTER);
+    CopyJob copy = new CopyJob(srcPath, dstPath, false, user, "1",
+        OptionalLong.empty(), false, false, files);
+    copy.restoreCheckpoint(3, 3, 3 * 64 * Constants.MB);
+    List<Route> routes = copy.getNextRoutes(100);
+    assertEquals(2, routes.size());
+    assertEquals(fileInfos.get(3).getPath(), routes.get(0).getSrc());
+    // the routes in progress do not move the checkpoint
+    Job.CopyJobEntry entry = copy.toJournalEntry().getCopyJob();
+    assertEquals(3, entry.getListedFileCount());
+    assertEquals(3, entry.getProcessedFileCount());
+    assertEquals(3 * 64 * Constants.MB, entry.getCopiedByteCount());
+    // failed routes are not copied again after a restart
+    copy.addFailure(routes.get(0).getSrc(), "error", 2);
+    assertEquals(4, copy.toJournalEntry().getCopyJob().getListedFileCount());
+  }
+
+  @Test
+  public void testJournalSchedulingOptions() {
+    Optional<String> user = Optional.of("user");
+    CopyJob copy = new CopyJob("/src", "/dst", false, user, "1",
+        OptionalLong.empty(), false, false, ImmutableList.of());
+    copy.setPriority(2);
+    copy.setWeight(3);
+    copy.setMaxConcurrentTasks(4);
+    alluxio.scheduler.job.Job<?> restored = new JournalCopyJobFactory(
+        copy.toJournalEntry().getCopyJob(), mock(UnderFileSystem.class)).create();
+    assertEquals(2, restored.getPriority());
+    assertEquals(3, restored.getWeight());
+    assertEquals(4, restored.getMaxConcurrentTasks());
+  }
+
   @Test
   public void testIsHealthy()
       throws FileDoesNotExistException, AccessControlException, IOException, InvalidPathException {
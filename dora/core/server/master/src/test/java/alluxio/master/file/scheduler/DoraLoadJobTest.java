@@ -0,0 +1,191 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.ConfigurationRule;
+import alluxio.Constants;
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.URIStatus;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.grpc.JobProgressReportFormat;
+import alluxio.master.job.DoraLoadJob;
+import alluxio.master.job.DoraLoadJob.FileRange;
+import alluxio.master.scheduler.Scheduler;
+import alluxio.resource.CloseableResource;
+import alluxio.scheduler.job.JobMetaStore;
+import alluxio.scheduler.job.WorkerProvider;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.util.io.PathUtils;
+import alluxio.wire.FileInfo;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Closeable;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+public class DoraLoadJobTest {
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  @Test
+  public void testSplitSmallFile() {
+    URIStatus status = status(3 * Constants.MB);
+    List<FileRange> ranges = DoraLoadJob.splitFile(status, 8 * Constants.MB);
+    assertEquals(1, ranges.size());
+    assertEquals(0, ranges.get(0).getOffset());
+    assertEquals(3 * Constants.MB, ranges.get(0).getLength());
+  }
+
+  @Test
+  public void testSplitEmptyFile() {
+    List<FileRange> ranges = DoraLoadJob.splitFile(status(0), 8 * Constants.MB);
+    assertEquals(1, ranges.size());
+    assertEquals(0, ranges.get(0).getLength());
+  }
+
+  @Test
+  public void testSplitLargeFile() {
+    long length = 20 * Constants.MB + 1;
+    List<FileRange> ranges = DoraLoadJob.splitFile(status(length), 8 * Constants.MB);
+    assertEquals(3, ranges.size());
+    long offset = 0;
+    for (FileRange range : ranges) {
+      assertEquals(offset, range.getOffset());
+      assertEquals(offset, range.toProto().getOffset());
+      assertEquals(range.getLength(), range.toProto().getRangeLength());
+      assertEquals(length, range.toProto().getLength());
+      offset += range.getLength();
+    }
+    assertEquals(length, offset);
+    assertEquals(4 * Constants.MB + 1, ranges.get(2).getLength());
+  }
+
+  @Test
+  public void testListFilesInPathOrder() throws Exception {
+    File root = mFolder.newFolder("root");
+    // '!' sorts before '/', so b! is listed between b and the files under b
+    Files.write(new File(root, "a").toPath(), new byte[3]);
+    Files.write(new File(root, "b!").toPath(), new byte[0]);
+    new File(root, "b").mkdir();
+    Files.write(new File(root, "b/c").toPath(), new byte[5]);
+    String rootUfs = root.getAbsolutePath();
+    try (UnderFileSystem ufs = UnderFileSystem.Factory.create(rootUfs,
+        UnderFileSystemConfiguration.defaults(Configuration.global()))) {
+      List<URIStatus> statuses =
+          ImmutableList.copyOf(DoraLoadJob.listFiles(ufs, rootUfs, rootUfs, null));
+      assertEquals(ImmutableList.of("/a", "/b", "/b!", "/b/c"),
+          statuses.stream().map(URIStatus::getPath).collect(Collectors.toList()));
+      URIStatus status = statuses.get(3);
+      assertEquals(PathUtils.concatPath(rootUfs, "b/c"), status.getUfsPath());
+      assertEquals(5, status.getLength());
+      assertFalse(status.getUfsFingerprint().isEmpty());
+
+      statuses = ImmutableList.copyOf(
+          DoraLoadJob.listFiles(ufs, rootUfs, PathUtils.concatPath(rootUfs, "a"), null));
+      assertEquals(1, statuses.size());
+      assertEquals("/a", statuses.get(0).getPath());
+      assertEquals(3, statuses.get(0).getLength());
+    }
+  }
+
+  @Test
+  public void testListFilesAfterMarker() throws Exception {
+    File root = mFolder.newFolder("root");
+    Files.write(new File(root, "a").toPath(), new byte[3]);
+    Files.write(new File(root, "b!").toPath(), new byte[0]);
+    new File(root, "b").mkdir();
+    Files.write(new File(root, "b/c").toPath(), new byte[5]);
+    String rootUfs = root.getAbsolutePath();
+    try (UnderFileSystem ufs = UnderFileSystem.Factory.create(rootUfs,
+        UnderFileSystemConfiguration.defaults(Configuration.global()))) {
+      assertEquals(ImmutableList.of("/b", "/b!", "/b/c"), listPaths(ufs, rootUfs, rootUfs, "/a"));
+      assertEquals(ImmutableList.of("/b/c"), listPaths(ufs, rootUfs, rootUfs, "/b!"));
+      assertEquals(ImmutableList.of(), listPaths(ufs, rootUfs, rootUfs, "/b/c"));
+      // a listing of a subdirectory starts after a marker before, in or after it
+      String dir = PathUtils.concatPath(rootUfs, "b");
+      assertEquals(ImmutableList.of("/b/c"), listPaths(ufs, rootUfs, dir, "/a"));
+      assertEquals(ImmutableList.of(), listPaths(ufs, rootUfs, dir, "/b/c"));
+      assertEquals(ImmutableList.of(), listPaths(ufs, rootUfs, dir, "/c"));
+      String file = PathUtils.concatPath(rootUfs, "a");
+      assertEquals(ImmutableList.of("/a"), listPaths(ufs, rootUfs, file, "/"));
+      assertEquals(ImmutableList.of(), listPaths(ufs, rootUfs, file, "/a"));
+    }
+  }
+
+  @Test
+  public void testNextTaskTakesBoundedFiles() throws Exception {
+    File root = mFolder.newFolder("root");
+    for (int i = 0; i < 50; i++) {
+      Files.write(new File(root, "file" + i).toPath(), new byte[1]);
+    }
+    try (Closeable c = new ConfigurationRule(ImmutableMap.of(
+        PropertyKey.DORA_CLIENT_UFS_ROOT, root.getAbsolutePath(),
+        PropertyKey.DORA_LOAD_TASK_BATCH_FILES, 8), Configuration.modifiableGlobal())
+        .toResource()) {
+      FileSystemContext context = mock(FileSystemContext.class);
+      when(context.getClusterConf()).thenReturn(Configuration.global());
+      Scheduler scheduler = new Scheduler(context, mock(WorkerProvider.class),
+          mock(JobMetaStore.class));
+      Map<WorkerInfo, CloseableResource<BlockWorkerClient>> workers = new HashMap<>();
+      for (int i = 0; i < 4; i++) {
+        workers.put(new WorkerInfo().setId(i)
+            .setAddress(new WorkerNetAddress().setHost("worker" + i).setDataPort(i)), null);
+      }
+      scheduler.getWorkerInfoHub().mActiveWorkers = workers;
+      DoraLoadJob job = new DoraLoadJob("/", Optional.empty(), "job", OptionalLong.empty(),
+          false, false, scheduler);
+
+      // the files of one call are spread across the workers rather than taken per worker
+      WorkerInfo worker = workers.keySet().iterator().next();
+      int ranges = job.getNextTask(worker).map(task -> task.getRanges().size()).orElse(0);
+      assertTrue(ranges < 8);
+      assertTrue(job.getProgress(JobProgressReportFormat.JSON, false)
+          .contains("\"mTotalByteCount\":8"));
+    }
+  }
+
+  private static List<String> listPaths(UnderFileSystem ufs, String rootUfs, String ufsPath,
+      String startAfter) throws Exception {
+    List<String> paths = new ArrayList<>();
+    DoraLoadJob.listFiles(ufs, rootUfs, ufsPath, startAfter)
+        .forEachRemaining(status -> paths.add(status.getPath()));
+    return paths;
+  }
+
+  private static URIStatus status(long length) {
+    return new URIStatus(new FileInfo().setPath("/test").setUfsPath("/ufs/test")
+        .setLength(length));
+  }
+}
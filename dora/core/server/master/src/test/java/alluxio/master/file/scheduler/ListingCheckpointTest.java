@@ -0,0 +1,72 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.file.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.master.job.ListingCheckpoint;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+public class ListingCheckpointTest {
+  @Test
+  public void testCompleteInOrder() {
+    ListingCheckpoint<String> checkpoint = new ListingCheckpoint<>();
+    assertEquals(Optional.empty(), checkpoint.getMarker());
+    checkpoint.add("/a");
+    checkpoint.add("/b");
+    checkpoint.complete("/a", 10);
+    assertEquals(Optional.of("/a"), checkpoint.getMarker());
+    checkpoint.complete("/b", 20);
+    assertEquals(Optional.of("/b"), checkpoint.getMarker());
+    assertEquals(2, checkpoint.getFileCount());
+    assertEquals(30, checkpoint.getByteCount());
+  }
+
+  @Test
+  public void testCompleteOutOfOrder() {
+    ListingCheckpoint<Long> checkpoint = new ListingCheckpoint<>();
+    for (long i = 0; i < 4; i++) {
+      checkpoint.add(i);
+    }
+    checkpoint.complete(1L, 1);
+    checkpoint.complete(3L, 1);
+    // the first file is still in progress
+    assertEquals(Optional.empty(), checkpoint.getMarker());
+    assertTrue(checkpoint.isPending(0L));
+    assertFalse(checkpoint.isPending(1L));
+    checkpoint.complete(0L, 1);
+    assertEquals(Optional.of(1L), checkpoint.getMarker());
+    checkpoint.skip(2L);
+    assertEquals(Optional.of(3L), checkpoint.getMarker());
+    // skipped files are not counted
+    assertEquals(3, checkpoint.getFileCount());
+    assertEquals(3, checkpoint.getByteCount());
+  }
+
+  @Test
+  public void testRestore() {
+    ListingCheckpoint<String> checkpoint = new ListingCheckpoint<>("/b", 2, 30);
+    // files not taken from the listing are ignored
+    checkpoint.complete("/a", 10);
+    assertEquals(Optional.of("/b"), checkpoint.getMarker());
+    checkpoint.add("/c");
+    checkpoint.complete("/c", 5);
+    assertEquals(Optional.of("/c"), checkpoint.getMarker());
+    assertEquals(3, checkpoint.getFileCount());
+    assertEquals(35, checkpoint.getByteCount());
+  }
+}
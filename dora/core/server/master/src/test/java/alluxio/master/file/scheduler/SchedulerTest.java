@@ -20,11 +20,16 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import alluxio.ConfigurationRule;
 import alluxio.Constants;
 import alluxio.client.block.stream.BlockWorkerClient;
 import alluxio.client.file.FileSystemContext;
@@ -36,43 +41,65 @@ import alluxio.exception.runtime.ResourceExhaustedRuntimeException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.BlockStatus;
 import alluxio.grpc.JobProgressReportFormat;
+import alluxio.grpc.LoadFileRequest;
+import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.LoadRequest;
 import alluxio.grpc.LoadResponse;
 import alluxio.grpc.TaskStatus;
 import alluxio.job.JobDescription;
 import alluxio.master.file.FileSystemMaster;
+import alluxio.master.job.DoraLoadJob;
 import alluxio.master.job.FileIterable;
+import alluxio.master.job.JournalLoadJobFactory;
 import alluxio.master.job.LoadJob;
 import alluxio.master.journal.JournalContext;
 import alluxio.master.scheduler.DefaultWorkerProvider;
 import alluxio.master.scheduler.JournaledJobMetaStore;
 import alluxio.master.scheduler.Scheduler;
 import alluxio.proto.journal.Job;
+import alluxio.proto.journal.Journal;
 import alluxio.resource.CloseableResource;
+import alluxio.scheduler.job.JobMetaStore;
 import alluxio.scheduler.job.JobState;
+import alluxio.scheduler.job.Task;
+import alluxio.scheduler.job.WorkerProvider;
 import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.underfs.UfsManager;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerInfo;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.grpc.Status;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public final class SchedulerTest {
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
 
   @BeforeClass
   public static void before() {
@@ -547,4 +574,296 @@ public final class SchedulerTest {
             .build())));
     Configuration.modifiableGlobal().unset(PropertyKey.JOB_RETENTION_TIME);
   }
+
+  @Test
+  public void testLoadJobThroughScheduler() throws Exception {
+    File root = mFolder.newFolder("root");
+    for (int i = 0; i < 10; i++) {
+      Files.write(new File(root, "file" + i).toPath(), new byte[1]);
+    }
+    try (Closeable c = new ConfigurationRule(PropertyKey.DORA_CLIENT_UFS_ROOT,
+        root.getAbsolutePath(), Configuration.modifiableGlobal()).toResource()) {
+      FileSystemContext context = mock(FileSystemContext.class);
+      when(context.getClusterConf()).thenReturn(Configuration.global());
+      List<LoadFileRequest> requests = new CopyOnWriteArrayList<>();
+      BlockWorkerClient client = mock(BlockWorkerClient.class);
+      when(client.loadFile(any())).thenAnswer(invocation -> {
+        requests.add(invocation.getArgument(0));
+        return Futures.immediateFuture(LoadFileResponse.getDefaultInstance());
+      });
+      CloseableResource<BlockWorkerClient> clientResource = mock(CloseableResource.class);
+      when(clientResource.get()).thenReturn(client);
+      WorkerProvider workerProvider = mock(WorkerProvider.class);
+      when(workerProvider.getWorkerInfos()).thenReturn(ImmutableList.of(
+          new WorkerInfo().setId(1)
+              .setAddress(new WorkerNetAddress().setHost("worker1").setRpcPort(1234)),
+          new WorkerInfo().setId(2)
+              .setAddress(new WorkerNetAddress().setHost("worker2").setRpcPort(1234))));
+      when(workerProvider.getWorkerClient(any())).thenReturn(clientResource);
+      Scheduler scheduler = new Scheduler(context, workerProvider, mock(JobMetaStore.class));
+      DoraLoadJob job = new DoraLoadJob("/", Optional.of("user"), "1", OptionalLong.of(1000),
+          false, false, scheduler);
+      scheduler.submitJob(job);
+      scheduler.start();
+      CommonUtils.waitFor("load job to finish", () -> job.getJobState() == JobState.SUCCEEDED,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      scheduler.stop();
+      // each worker gets an even share of the job bandwidth
+      assertTrue(requests.stream().allMatch(r -> r.getOptions().getBandwidth() == 500));
+      assertEquals(10, requests.stream().mapToInt(LoadFileRequest::getFilesCount).sum());
+    }
+  }
+
+  @Test
+  public void testLoadJobMaxConcurrentTasks() throws Exception {
+    File root = mFolder.newFolder("root");
+    for (int i = 0; i < 10; i++) {
+      Files.write(new File(root, "file" + i).toPath(), new byte[1]);
+    }
+    try (Closeable c = new ConfigurationRule(ImmutableMap.of(
+        PropertyKey.DORA_CLIENT_UFS_ROOT, root.getAbsolutePath(),
+        PropertyKey.DORA_LOAD_TASK_BATCH_FILES, 1), Configuration.modifiableGlobal())
+        .toResource()) {
+      FileSystemContext context = mock(FileSystemContext.class);
+      when(context.getClusterConf()).thenReturn(Configuration.global());
+      List<SettableFuture<LoadFileResponse>> responses = new CopyOnWriteArrayList<>();
+      BlockWorkerClient client = mock(BlockWorkerClient.class);
+      when(client.loadFile(any())).thenAnswer(invocation -> {
+        SettableFuture<LoadFileResponse> response = SettableFuture.create();
+        responses.add(response);
+        return response;
+      });
+      CloseableResource<BlockWorkerClient> clientResource = mock(CloseableResource.class);
+      when(clientResource.get()).thenReturn(client);
+      WorkerProvider workerProvider = mock(WorkerProvider.class);
+      when(workerProvider.getWorkerInfos()).thenReturn(ImmutableList.of(new WorkerInfo().setId(1)
+          .setAddress(new WorkerNetAddress().setHost("worker1").setRpcPort(1234))));
+      when(workerProvider.getWorkerClient(any())).thenReturn(clientResource);
+      Scheduler scheduler = new Scheduler(context, workerProvider, mock(JobMetaStore.class));
+      DoraLoadJob job = new DoraLoadJob("/", Optional.of("user"), "1", OptionalLong.empty(),
+          false, false, scheduler);
+      job.setMaxConcurrentTasks(2);
+      scheduler.submitJob(job);
+      scheduler.start();
+      for (int sent = 2; sent <= 10; sent += 2) {
+        int expected = sent;
+        CommonUtils.waitFor("load tasks to be sent", () -> responses.size() >= expected,
+            WaitForOptions.defaults().setTimeoutMs(10000));
+        // the worker has free slots, yet the job takes no more until its tasks complete
+        Thread.sleep(300);
+        assertEquals(expected, responses.size());
+        responses.forEach(response -> response.set(LoadFileResponse.getDefaultInstance()));
+      }
+      CommonUtils.waitFor("load job to finish", () -> job.getJobState() == JobState.SUCCEEDED,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      scheduler.stop();
+    }
+  }
+
+  @Test
+  public void testLoadJobResumesFromCheckpoint() throws Exception {
+    File root = mFolder.newFolder("root");
+    for (int i = 0; i < 10; i++) {
+      Files.write(new File(root, "file" + i).toPath(), new byte[1]);
+    }
+    try (Closeable c = new ConfigurationRule(ImmutableMap.of(
+        PropertyKey.DORA_CLIENT_UFS_ROOT, root.getAbsolutePath(),
+        PropertyKey.DORA_LOAD_TASK_BATCH_FILES, 1), Configuration.modifiableGlobal())
+        .toResource()) {
+      FileSystemContext context = mock(FileSystemContext.class);
+      when(context.getClusterConf()).thenReturn(Configuration.global());
+      WorkerProvider workerProvider = mock(WorkerProvider.class);
+      when(workerProvider.getWorkerInfos()).thenReturn(ImmutableList.of(new WorkerInfo().setId(1)
+          .setAddress(new WorkerNetAddress().setHost("worker1").setRpcPort(1234))));
+      // the first four files are loaded, the load of the fifth one never completes
+      List<LoadFileRequest> requests = new CopyOnWriteArrayList<>();
+      BlockWorkerClient client = mock(BlockWorkerClient.class);
+      when(client.loadFile(any())).thenAnswer(invocation -> {
+        requests.add(invocation.getArgument(0));
+        return requests.size() <= 4 ? Futures.immediateFuture(LoadFileResponse.getDefaultInstance())
+            : SettableFuture.create();
+      });
+      CloseableResource<BlockWorkerClient> clientResource = mock(CloseableResource.class);
+      when(clientResource.get()).thenReturn(client);
+      when(workerProvider.getWorkerClient(any())).thenReturn(clientResource);
+      List<Journal.JournalEntry> checkpoints = new CopyOnWriteArrayList<>();
+      JobMetaStore jobMetaStore = mock(JobMetaStore.class);
+      doAnswer(invocation -> checkpoints.add(
+          invocation.<alluxio.scheduler.job.Job<?>>getArgument(0).toJournalEntry()))
+          .when(jobMetaStore).updateJob(any());
+      Scheduler scheduler = new Scheduler(context, workerProvider, jobMetaStore);
+      DoraLoadJob job = new DoraLoadJob("/", Optional.of("user"), "1", OptionalLong.empty(),
+          false, false, scheduler);
+      job.setMaxConcurrentTasks(1);
+      scheduler.submitJob(job);
+      scheduler.start();
+      CommonUtils.waitFor("the fifth file to be loaded", () -> requests.size() == 5,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      scheduler.checkpointJobs();
+      scheduler.stop();
+      Job.LoadJobEntry checkpoint = checkpoints.get(checkpoints.size() - 1).getLoadJob();
+      assertEquals("/file3", checkpoint.getListingMarker());
+      assertEquals(4, checkpoint.getProcessedFileCount());
+
+      // the restarted job lists the files after the marker only
+      requests.clear();
+      doAnswer(invocation -> {
+        requests.add(invocation.getArgument(0));
+        return Futures.immediateFuture(LoadFileResponse.getDefaultInstance());
+      }).when(client).loadFile(any());
+      JobMetaStore restartedMetaStore = mock(JobMetaStore.class);
+      Scheduler restarted = new Scheduler(context, workerProvider, restartedMetaStore);
+      FileSystemMaster fileSystemMaster = mock(FileSystemMaster.class);
+      when(fileSystemMaster.getScheduler()).thenReturn(restarted);
+      alluxio.scheduler.job.Job<?> restored =
+          new JournalLoadJobFactory(checkpoint, fileSystemMaster).create();
+      when(restartedMetaStore.getJobs()).thenReturn(ImmutableSet.of(restored));
+      restarted.start();
+      CommonUtils.waitFor("load job to finish",
+          () -> restored.getJobState() == JobState.SUCCEEDED,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      restarted.stop();
+      assertEquals(ImmutableList.of("file4", "file5", "file6", "file7", "file8", "file9"),
+          requests.stream()
+              .flatMap(request -> request.getFilesList().stream())
+              .map(file -> new File(file.getUfsPath()).getName())
+              .sorted()
+              .collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testWorkerSlots() {
+    assertEquals(Configuration.getInt(PropertyKey.JOB_SCHEDULER_WORKER_MAX_SLOTS),
+        Scheduler.getWorkerSlots(new WorkerInfo()));
+    long slotCapacity = Configuration.getBytes(PropertyKey.JOB_SCHEDULER_WORKER_SLOT_CAPACITY);
+    assertEquals(1, Scheduler.getWorkerSlots(new WorkerInfo().setCapacityBytes(1)));
+    assertEquals(3,
+        Scheduler.getWorkerSlots(new WorkerInfo().setCapacityBytes(slotCapacity * 3 + 1)));
+    assertEquals(Configuration.getInt(PropertyKey.JOB_SCHEDULER_WORKER_MAX_SLOTS),
+        Scheduler.getWorkerSlots(new WorkerInfo().setCapacityBytes(Long.MAX_VALUE)));
+  }
+
+  @Test
+  public void testPriorityScheduling() throws Exception {
+    Scheduler scheduler = createSingleSlotScheduler();
+    SettableFuture<Object> urgentResponse = SettableFuture.create();
+    alluxio.scheduler.job.Job<Task<?>> bulk = mockJob("bulk", 0, 1);
+    when(bulk.getNextTask(any())).thenReturn(Optional.of(new TestTask(SettableFuture.create())));
+    alluxio.scheduler.job.Job<Task<?>> urgent = mockJob("urgent", 1, 1);
+    when(urgent.getNextTask(any()))
+        .thenReturn(Optional.of(new TestTask(urgentResponse)))
+        .thenReturn(Optional.empty());
+    scheduler.submitJob(bulk);
+    scheduler.submitJob(urgent);
+    scheduler.start();
+    verify(urgent, timeout(10000)).getNextTask(any());
+    Thread.sleep(500);
+    verify(bulk, never()).getNextTask(any());
+    // the slot goes to the bulk job once the urgent job releases it
+    urgentResponse.set(new Object());
+    verify(bulk, timeout(10000)).getNextTask(any());
+    scheduler.stop();
+  }
+
+  @Test
+  public void testWeightedFairScheduling() throws Exception {
+    Scheduler scheduler = createSingleSlotScheduler();
+    alluxio.scheduler.job.Job<Task<?>> heavy = mockJob("heavy", 0, 3);
+    when(heavy.getNextTask(any()))
+        .thenAnswer(invocation -> Optional.of(new TestTask(Futures.immediateFuture(null))));
+    alluxio.scheduler.job.Job<Task<?>> light = mockJob("light", 0, 1);
+    when(light.getNextTask(any()))
+        .thenAnswer(invocation -> Optional.of(new TestTask(Futures.immediateFuture(null))));
+    scheduler.submitJob(heavy);
+    scheduler.submitJob(light);
+    scheduler.start();
+    verify(light, timeout(10000).atLeast(20)).getNextTask(any());
+    scheduler.stop();
+    double ratio = (double) countNextTaskCalls(heavy) / countNextTaskCalls(light);
+    assertTrue("unexpected ratio " + ratio, ratio > 2 && ratio < 4);
+  }
+
+  @Test
+  public void testSeveralSlotsOfOneWorker() throws Exception {
+    Scheduler scheduler = createScheduler(3);
+    alluxio.scheduler.job.Job<Task<?>> job = mockJob("job", 0, 1);
+    when(job.getNextTask(any()))
+        .thenAnswer(invocation -> Optional.of(new TestTask(SettableFuture.create())));
+    scheduler.submitJob(job);
+    scheduler.start();
+    verify(job, timeout(10000).times(3)).getNextTask(any());
+    Thread.sleep(500);
+    verify(job, times(3)).getNextTask(any());
+    scheduler.stop();
+  }
+
+  @Test
+  public void testMaxConcurrentTasks() throws Exception {
+    Scheduler scheduler = createScheduler(3);
+    alluxio.scheduler.job.Job<Task<?>> capped = mockJob("capped", 1, 1);
+    when(capped.getMaxConcurrentTasks()).thenReturn(2);
+    when(capped.getNextTask(any()))
+        .thenAnswer(invocation -> Optional.of(new TestTask(SettableFuture.create())));
+    alluxio.scheduler.job.Job<Task<?>> other = mockJob("other", 0, 1);
+    when(other.getNextTask(any()))
+        .thenAnswer(invocation -> Optional.of(new TestTask(SettableFuture.create())));
+    scheduler.submitJob(capped);
+    scheduler.submitJob(other);
+    scheduler.start();
+    // the slot the capped job may not take goes to the lower priority job
+    verify(other, timeout(10000)).getNextTask(any());
+    Thread.sleep(500);
+    verify(capped, times(2)).getNextTask(any());
+    verify(other, times(1)).getNextTask(any());
+    scheduler.stop();
+  }
+
+  private Scheduler createSingleSlotScheduler() {
+    return createScheduler(1);
+  }
+
+  private Scheduler createScheduler(int slots) {
+    WorkerProvider workerProvider = mock(WorkerProvider.class);
+    when(workerProvider.getWorkerInfos()).thenReturn(ImmutableList.of(
+        new WorkerInfo().setId(1)
+            .setAddress(new WorkerNetAddress().setHost("worker1").setRpcPort(1234))
+            .setCapacityBytes(slots
+                * Configuration.getBytes(PropertyKey.JOB_SCHEDULER_WORKER_SLOT_CAPACITY))));
+    CloseableResource<BlockWorkerClient> blockWorkerClientResource = mock(CloseableResource.class);
+    when(workerProvider.getWorkerClient(any())).thenReturn(blockWorkerClientResource);
+    return new Scheduler(mock(FileSystemContext.class), workerProvider,
+        mock(JobMetaStore.class));
+  }
+
+  private alluxio.scheduler.job.Job<Task<?>> mockJob(String path, int priority, int weight) {
+    alluxio.scheduler.job.Job<Task<?>> job = mock(alluxio.scheduler.job.Job.class);
+    when(job.getDescription())
+        .thenReturn(JobDescription.newBuilder().setPath(path).setType("test").build());
+    when(job.isRunning()).thenReturn(true);
+    when(job.isHealthy()).thenReturn(true);
+    when(job.getPriority()).thenReturn(priority);
+    when(job.getWeight()).thenReturn(weight);
+    when(job.getMaxConcurrentTasks()).thenReturn(Integer.MAX_VALUE);
+    return job;
+  }
+
+  private static long countNextTaskCalls(alluxio.scheduler.job.Job<?> job) {
+    return mockingDetails(job).getInvocations().stream()
+        .filter(invocation -> invocation.getMethod().getName().equals("getNextTask"))
+        .count();
+  }
+
+  private static class TestTask extends Task<Object> {
+    private final ListenableFuture<Object> mResponse;
+
+    TestTask(ListenableFuture<Object> response) {
+      mResponse = response;
+    }
+
+    @Override
+    protected ListenableFuture<Object> run(BlockWorkerClient client) {
+      return mResponse;
+    }
+  }
 }
@@ -0,0 +1,141 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal.raft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import alluxio.ConfigurationRule;
+import alluxio.Constants;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.master.journal.Journaled;
+import alluxio.master.journal.sink.JournalSink;
+import alluxio.proto.journal.Block;
+import alluxio.proto.journal.File;
+import alluxio.proto.journal.Journal;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for {@link BufferedJournalApplier}.
+ */
+public class BufferedJournalApplierTest {
+  @Rule
+  public ConfigurationRule mConfigurationRule =
+      new ConfigurationRule(PropertyKey.MASTER_EMBEDDED_JOURNAL_APPLY_PARALLELISM, 4,
+          Configuration.modifiableGlobal());
+
+  private final List<Journal.JournalEntry> mFsEntries =
+      Collections.synchronizedList(new ArrayList<>());
+  private final List<Journal.JournalEntry> mBlockEntries =
+      Collections.synchronizedList(new ArrayList<>());
+  private final List<Journal.JournalEntry> mSinkEntries =
+      Collections.synchronizedList(new ArrayList<>());
+  private BufferedJournalApplier mApplier;
+
+  @Before
+  public void before() {
+    Map<String, RaftJournal> journals = ImmutableMap.of(
+        Constants.FILE_SYSTEM_MASTER_NAME, createJournal(mFsEntries),
+        Constants.BLOCK_MASTER_NAME, createJournal(mBlockEntries));
+    JournalSink sink = new JournalSink() {
+      @Override
+      public void append(Journal.JournalEntry entry) {
+        mSinkEntries.add(entry);
+      }
+    };
+    mApplier = new BufferedJournalApplier(journals, () -> Collections.singleton(sink));
+  }
+
+  @After
+  public void after() {
+    mApplier.close();
+  }
+
+  @Test
+  public void appliesEntriesOfEachMasterInOrder() {
+    List<Journal.JournalEntry> entries = createEntries(0, 1000);
+    mApplier.processJournalEntries(entries);
+
+    assertEquals(entries, mSinkEntries);
+    assertEquals(filter(entries, true), mFsEntries);
+    assertEquals(filter(entries, false), mBlockEntries);
+  }
+
+  @Test
+  public void appliesBufferedEntriesOnResume() throws Exception {
+    List<Journal.JournalEntry> entries = createEntries(0, 5000);
+    mApplier.suspend();
+    mApplier.processJournalEntries(entries.subList(0, 3000));
+    for (Journal.JournalEntry entry : entries.subList(3000, 5000)) {
+      mApplier.processJournalEntry(entry);
+    }
+    assertTrue(mSinkEntries.isEmpty());
+
+    mApplier.resume();
+    assertEquals(entries, mSinkEntries);
+    assertEquals(filter(entries, true), mFsEntries);
+    assertEquals(filter(entries, false), mBlockEntries);
+  }
+
+  private static RaftJournal createJournal(List<Journal.JournalEntry> applied) {
+    Journaled master = mock(Journaled.class);
+    doAnswer(invocation -> applied.add(invocation.getArgument(0)))
+        .when(master).processJournalEntry(any());
+    return new RaftJournal(master, URI.create("/"), new AtomicReference<>());
+  }
+
+  /**
+   * Creates entries alternating between the file system and block masters in runs of varying
+   * length.
+   */
+  private static List<Journal.JournalEntry> createEntries(long start, int count) {
+    List<Journal.JournalEntry> entries = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      long sn = start + i;
+      Journal.JournalEntry.Builder entry = Journal.JournalEntry.newBuilder().setSequenceNumber(sn);
+      if ((sn / (sn % 7 + 1)) % 2 == 0) {
+        entry.setDeleteFile(File.DeleteFileEntry.newBuilder().setId(sn));
+      } else {
+        entry.setDeleteBlock(Block.DeleteBlockEntry.newBuilder().setBlockId(sn));
+      }
+      entries.add(entry.build());
+    }
+    return entries;
+  }
+
+  private static List<Journal.JournalEntry> filter(List<Journal.JournalEntry> entries,
+      boolean fileSystem) {
+    List<Journal.JournalEntry> filtered = new ArrayList<>();
+    for (Journal.JournalEntry entry : entries) {
+      if (entry.hasDeleteFile() == fileSystem) {
+        filtered.add(entry);
+      }
+    }
+    return filtered;
+  }
+}
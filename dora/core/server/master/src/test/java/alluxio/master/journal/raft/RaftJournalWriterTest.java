@@ -11,6 +11,9 @@
 
 package alluxio.master.journal.raft;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
@@ -34,8 +37,12 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -44,11 +51,12 @@ import java.util.concurrent.TimeUnit;
 public class RaftJournalWriterTest {
   private RaftJournalAppender mClient;
   private RaftJournalWriter mRaftJournalWriter;
+  private RaftClientReply mReply;
 
   @Before
   public void setupRaftJournalWriter() throws IOException  {
     mClient = mock(RaftJournalAppender.class);
-    RaftClientReply reply = RaftClientReply.newBuilder()
+    mReply = RaftClientReply.newBuilder()
             .setClientId(ClientId.randomId())
             .setServerId(
               RaftGroupMemberId.valueOf(RaftJournalUtils.getPeerId(new InetSocketAddress(1)),
@@ -79,12 +87,12 @@ public class RaftJournalWriterTest {
 
       @Override
       public RaftClientReply get() {
-        return reply;
+        return mReply;
       }
 
       @Override
       public RaftClientReply get(long timeout, TimeUnit unit) {
-        return reply;
+        return mReply;
       }
     };
     when(mClient.sendAsync(any())).thenReturn(future);
@@ -114,6 +122,99 @@ public class RaftJournalWriterTest {
     verify(mClient, times(2)).sendAsync(any());
   }
 
+  @Test
+  public void flushAsyncCommitsInOrder() throws Exception {
+    List<CompletableFuture<RaftClientReply>> replies = new ArrayList<>();
+    when(mClient.sendAsync(any())).thenAnswer(invocation -> {
+      CompletableFuture<RaftClientReply> reply = new CompletableFuture<>();
+      replies.add(reply);
+      return reply;
+    });
+
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> first = mRaftJournalWriter.flushAsync();
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> second = mRaftJournalWriter.flushAsync();
+    // both batches are sent before either is committed
+    verify(mClient, times(2)).sendAsync(any());
+
+    replies.get(1).complete(mReply);
+    assertFalse(second.isDone());
+    replies.get(0).complete(mReply);
+    assertTrue(first.isDone());
+    assertTrue(second.isDone());
+
+    mRaftJournalWriter.flush();
+    verify(mClient, times(2)).sendAsync(any());
+  }
+
+  @Test
+  public void flushResendsFailedBatches() throws Exception {
+    List<CompletableFuture<RaftClientReply>> replies = new ArrayList<>();
+    when(mClient.sendAsync(any())).thenAnswer(invocation -> {
+      CompletableFuture<RaftClientReply> reply = new CompletableFuture<>();
+      if (replies.size() >= 2) {
+        reply.complete(mReply);
+      }
+      replies.add(reply);
+      return reply;
+    });
+
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> first = mRaftJournalWriter.flushAsync();
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<Void> second = mRaftJournalWriter.flushAsync();
+    replies.get(0).completeExceptionally(new IOException("append failed"));
+    replies.get(1).complete(mReply);
+    assertTrue(first.isCompletedExceptionally());
+    // a batch is not committed unless the batches sent before it are
+    assertTrue(second.isCompletedExceptionally());
+
+    // both batches are sent again in order
+    mRaftJournalWriter.flush();
+    verify(mClient, times(4)).sendAsync(any());
+  }
+
+  @Test
+  public void noNewBatchAfterFailedBatch() throws Exception {
+    List<Message> sent = new ArrayList<>();
+    List<CompletableFuture<RaftClientReply>> replies = new ArrayList<>();
+    when(mClient.sendAsync(any())).thenAnswer(invocation -> {
+      CompletableFuture<RaftClientReply> reply = new CompletableFuture<>();
+      if (replies.size() >= 2) {
+        reply.complete(mReply);
+      }
+      sent.add(invocation.getArgument(0));
+      replies.add(reply);
+      return reply;
+    });
+
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    mRaftJournalWriter.flushAsync();
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    mRaftJournalWriter.flushAsync();
+    replies.get(0).completeExceptionally(new IOException("append failed"));
+
+    mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
+    CompletableFuture<CompletableFuture<Void>> third = CompletableFuture.supplyAsync(() -> {
+      try {
+        return mRaftJournalWriter.flushAsync();
+      } catch (Exception e) {
+        throw new CompletionException(e);
+      }
+    });
+    // nothing is sent while a batch sent before the failure may still be committed
+    Thread.sleep(500);
+    assertFalse(third.isDone());
+    verify(mClient, times(2)).sendAsync(any());
+
+    replies.get(1).complete(mReply);
+    assertTrue(third.get().isDone());
+    // the failed batch and the one after it are sent again before the new batch
+    assertEquals(Arrays.asList(sent.get(0), sent.get(1)), sent.subList(2, 4));
+    verify(mClient, times(5)).sendAsync(any());
+  }
+
   @Test
   public void writeTriggerFlush() throws Exception {
     int flushBatchSize = 128;
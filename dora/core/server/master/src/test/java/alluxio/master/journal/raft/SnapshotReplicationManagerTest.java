@@ -57,6 +57,7 @@ import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -439,6 +440,28 @@ public class SnapshotReplicationManagerTest {
     validateSnapshotFile(mLeaderStore);
   }
 
+  @Test
+  public void resumeSnapshotDownloadToFollower() throws Exception {
+    before(1);
+    createSnapshotFile(mLeaderStore);
+
+    Follower follower = mFollowers.values().stream().findFirst().get();
+    String source = String.valueOf(
+        follower.mSnapshotManager.createJournalServiceClient().getRemoteSockAddress());
+    java.io.File partial = RaftJournalUtils.getPartialSnapshotFile(follower.mStore,
+        TermIndex.valueOf(DEFAULT_SNAPSHOT_TERM, DEFAULT_SNAPSHOT_INDEX), source);
+    // the first half of the snapshot was downloaded by an interrupted attempt
+    FileUtils.writeByteArrayToFile(partial,
+        Arrays.copyOf(BufferUtils.getIncreasingByteArray(SNAPSHOT_SIZE), SNAPSHOT_SIZE / 2));
+
+    follower.mSnapshotManager.installSnapshotFromLeader();
+
+    CommonUtils.waitFor("follower snapshot to complete",
+        () -> follower.mStore.getLatestSnapshot() != null, mWaitOptions);
+    validateSnapshotFile(follower.mStore);
+    Assert.assertFalse(partial.exists());
+  }
+
   private class Follower {
     final String mHost;
     final int mRpcPort;
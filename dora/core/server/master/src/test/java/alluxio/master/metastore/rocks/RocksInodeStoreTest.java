@@ -15,15 +15,23 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.conf.Source;
 import alluxio.master.file.contexts.CreateDirectoryContext;
+import alluxio.master.file.meta.Inode;
 import alluxio.master.file.meta.MutableInodeDirectory;
 import alluxio.master.metastore.InodeStore.WriteBatch;
+import alluxio.master.metastore.ReadOption;
+import alluxio.resource.CloseableIterator;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class RocksInodeStoreTest {
   @Rule
@@ -52,4 +60,41 @@ public class RocksInodeStoreTest {
     assertEquals("dir", store.get(1).get().getName());
     assertThat(store.toStringEntries(), containsString("name=dir"));
   }
+
+  @Test
+  public void getChildrenInBatches() throws IOException {
+    Configuration.modifiableGlobal().set(
+        PropertyKey.MASTER_METASTORE_ROCKS_INODE_LISTING_BATCH_SIZE, 3, Source.RUNTIME);
+    try {
+      RocksInodeStore store = new RocksInodeStore(mFolder.newFolder().getAbsolutePath());
+      store.writeInode(
+          MutableInodeDirectory.create(1, 0, "dir", CreateDirectoryContext.defaults()));
+      List<String> expected = new ArrayList<>();
+      for (int i = 10; i < 20; i++) {
+        String name = "child" + i;
+        store.writeInode(
+            MutableInodeDirectory.create(i, 1, name, CreateDirectoryContext.defaults()));
+        store.addChild(1, name, (long) i);
+        expected.add(name);
+      }
+      // an edge whose inode no longer exists is skipped
+      store.remove(15L);
+      expected.remove("child15");
+      assertEquals(expected, listNames(store.getChildren(1L, ReadOption.defaults())));
+      assertEquals(expected.subList(5, 9), listNames(store.getChildren(1L,
+          ReadOption.newBuilder().setReadFrom("child16").build())));
+      store.close();
+    } finally {
+      Configuration.modifiableGlobal().unset(
+          PropertyKey.MASTER_METASTORE_ROCKS_INODE_LISTING_BATCH_SIZE);
+    }
+  }
+
+  private static List<String> listNames(CloseableIterator<? extends Inode> children) {
+    List<String> names = new ArrayList<>();
+    try (CloseableIterator<? extends Inode> iter = children) {
+      iter.forEachRemaining(inode -> names.add(inode.getName()));
+    }
+    return names;
+  }
 }
@@ -39,7 +39,6 @@ import com.google.common.base.Stopwatch;
 import com.google.common.io.ByteStreams;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ByteString;
-import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.binary.StringUtils;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.jetty.server.Request;
@@ -49,8 +48,9 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.security.DigestOutputStream;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -268,21 +268,24 @@ public class CompleteMultipartUploadHandler extends AbstractHandler {
         CreateFilePOptions createFileOption = prepareForCreateTempFile(metaStatus);
         objTempPath = objectPath + ".temp." + UUID.randomUUID();
         AlluxioURI objectTempUri = new AlluxioURI(objTempPath);
-        FileOutStream os = mUserFs.createFile(objectTempUri, createFileOption);
-        MessageDigest md5 = MessageDigest.getInstance("MD5");
-
-        try (DigestOutputStream digestOutputStream = new DigestOutputStream(os, md5);
+        List<byte[]> partDigests = new ArrayList<>(uploadedParts.size());
+        try (FileOutStream os = mUserFs.createFile(objectTempUri, createFileOption);
              Timer.Context ctx = MetricsSystem
                      .uniformTimer(MetricKey.PROXY_COMPLETE_MP_UPLOAD_MERGE_LATENCY
                              .getName()).time()) {
           for (URIStatus part : uploadedParts) {
+            // the ETag is derived from the part ETags as in the v2 API,
+            // a part is only digested if it has no recorded ETag
+            byte[] digest = MultipartUploadMerger.getRecordedDigest(part);
+            MessageDigest md5 = digest == null ? MessageDigest.getInstance("MD5") : null;
             try (FileInStream is = mUserFs.openFile(new AlluxioURI(part.getPath()))) {
-              ByteStreams.copy(is, digestOutputStream);
+              ByteStreams.copy(md5 == null ? is : new DigestInputStream(is, md5), os);
             }
+            partDigests.add(md5 == null ? digest : md5.digest());
           }
         }
         // persist the ETag via xAttr
-        String entityTag = Hex.encodeHexString(md5.digest());
+        String entityTag = MultipartUploadMerger.computeEntityTag(partDigests);
         // TODO(czhu): try to compute the ETag prior to creating the file to reduce total RPC RTT
         S3RestUtils.setEntityTag(mUserFs, objectTempUri, entityTag);
         // rename the temp file to the target object file path
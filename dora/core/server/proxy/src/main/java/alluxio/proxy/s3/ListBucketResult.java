@@ -30,7 +30,6 @@ import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -198,26 +197,23 @@ public class ListBucketResult {
     // used when handling truncating
     int[] keyCount = {0}; // must use an array to have a mutable variable during sequential stream
 
-    //sort use uri path
-    children.sort(Comparator.comparing(URIStatus::getPath));
+    //sort use object key, in which folders end with a separator
+    children.sort(S3ObjectListing.KEY_ORDER);
     mContents = children.stream()
         //marker filter
         .filter(status -> {
-          String path = status.getPath().substring(bucketPrefix.length());
-          return (path.startsWith(mPrefix) //prefix filter
-              && path.compareTo(marker) > 0 //marker filter
+          String key = S3ObjectListing.keyOf(status).substring(bucketPrefix.length());
+          return (key.startsWith(mPrefix) //prefix filter
+              && key.compareTo(marker) > 0 //marker filter
               //startAfter filter for listObjectV2
               && (!isVersion2() || mStartAfter == null
-                || path.compareTo(mStartAfter) > 0));
-        })
-        .map(status -> {
-          String path = status.getPath().substring(bucketPrefix.length());
-          return new Content(
-              status.isFolder() ? path + AlluxioURI.SEPARATOR : path,
-              S3RestUtils.toS3Date(status.getLastModificationTimeMs()),
-              status.isFolder() ? "0" : String.valueOf(status.getLength())
-          );
+                || key.compareTo(mStartAfter) > 0));
         })
+        .map(status -> new Content(
+            S3ObjectListing.keyOf(status).substring(bucketPrefix.length()),
+            S3RestUtils.toS3Date(status.getLastModificationTimeMs()),
+            status.isFolder() ? "0" : String.valueOf(status.getLength())
+        ))
         .filter(content -> {
           String path = content.getKey();
           if (StringUtils.isEmpty(mDelimiter)) {
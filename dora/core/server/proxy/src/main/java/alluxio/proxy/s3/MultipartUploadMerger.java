@@ -0,0 +1,235 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import alluxio.Constants;
+import alluxio.client.file.URIStatus;
+import alluxio.exception.AlluxioException;
+
+import com.google.common.base.Preconditions;
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Concatenates the parts of a multipart upload into one stream.
+ * <p>
+ * Up to a given number of parts are read ahead concurrently, each into a small bounded queue of
+ * chunks, while the chunks are written to the output in part order. The ETag of the merged
+ * object is computed as S3 does, from the MD5 digests of the parts recorded when they were
+ * uploaded: the hex encoded MD5 of the concatenated part digests, followed by "-" and the
+ * number of parts. The bytes of a part are only digested when it has no recorded ETag.
+ */
+public final class MultipartUploadMerger {
+  private static final int CHUNK_SIZE = 2 * Constants.MB;
+  private static final int CHUNKS_PER_PART = 4;
+  private static final ByteBuffer END_OF_PART = ByteBuffer.allocate(0);
+  private static final long POLL_INTERVAL_MS = 100;
+
+  private final ExecutorService mExecutor;
+  private final int mParallelism;
+
+  /**
+   * Opens a part of the multipart upload.
+   */
+  @FunctionalInterface
+  public interface PartOpener {
+    /**
+     * @param part the status of the part
+     * @return a stream over the content of the part
+     */
+    InputStream open(URIStatus part) throws IOException, AlluxioException;
+  }
+
+  /**
+   * @param executor the executor reading the parts, must not run the caller of
+   *                 {@link #merge(List, PartOpener, OutputStream)}
+   * @param parallelism the maximum number of parts read concurrently
+   */
+  public MultipartUploadMerger(ExecutorService executor, int parallelism) {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+    mExecutor = executor;
+    mParallelism = parallelism;
+  }
+
+  /**
+   * Writes the content of the parts, in order, to the output stream.
+   *
+   * @param parts the statuses of the parts in order
+   * @param opener opens the parts
+   * @param out the output stream, not closed by this method
+   * @return the ETag of the merged object
+   */
+  public String merge(List<URIStatus> parts, PartOpener opener, OutputStream out)
+      throws IOException {
+    List<byte[]> digests = new ArrayList<>(parts.size());
+    Deque<PartReader> readers = new ArrayDeque<>();
+    int next = 0;
+    try {
+      while (next < parts.size() || !readers.isEmpty()) {
+        while (next < parts.size() && readers.size() < mParallelism) {
+          PartReader reader = new PartReader(parts.get(next++), opener);
+          reader.mFuture = mExecutor.submit(reader::read);
+          readers.add(reader);
+        }
+        PartReader reader = readers.poll();
+        reader.drainTo(out);
+        digests.add(reader.getDigest());
+      }
+    } finally {
+      for (PartReader reader : readers) {
+        reader.mFuture.cancel(true);
+      }
+    }
+    return computeEntityTag(digests);
+  }
+
+  /**
+   * Computes the ETag of a multipart object as S3 does.
+   *
+   * @param partDigests the MD5 digests of the parts in order
+   * @return the ETag
+   */
+  public static String computeEntityTag(List<byte[]> partDigests) {
+    MessageDigest md5 = newMd5();
+    for (byte[] digest : partDigests) {
+      md5.update(digest);
+    }
+    return Hex.encodeHexString(md5.digest()) + "-" + partDigests.size();
+  }
+
+  /**
+   * @param part the status of a part
+   * @return the MD5 digest recorded as the ETag of the part, or null if there is none
+   */
+  @Nullable
+  static byte[] getRecordedDigest(URIStatus part) {
+    String entityTag = S3RestUtils.getEntityTag(part);
+    if (entityTag == null || entityTag.length() != 32) {
+      return null;
+    }
+    try {
+      return Hex.decodeHex(entityTag);
+    } catch (DecoderException e) {
+      return null;
+    }
+  }
+
+  private static MessageDigest newMd5() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Reads a part into a bounded queue of chunks.
+   */
+  private static final class PartReader {
+    private final URIStatus mPart;
+    private final PartOpener mOpener;
+    private final BlockingQueue<ByteBuffer> mChunks = new ArrayBlockingQueue<>(CHUNKS_PER_PART);
+    @Nullable
+    private final byte[] mRecordedDigest;
+    private Future<byte[]> mFuture;
+
+    PartReader(URIStatus part, PartOpener opener) {
+      mPart = part;
+      mOpener = opener;
+      mRecordedDigest = getRecordedDigest(part);
+    }
+
+    /**
+     * @return the MD5 digest of the part
+     */
+    byte[] read() throws Exception {
+      MessageDigest md5 = mRecordedDigest == null ? newMd5() : null;
+      try (InputStream in = md5 == null ? mOpener.open(mPart)
+          : new DigestInputStream(mOpener.open(mPart), md5)) {
+        while (true) {
+          byte[] buf = new byte[CHUNK_SIZE];
+          int length = 0;
+          int read;
+          while (length < buf.length && (read = in.read(buf, length, buf.length - length)) > 0) {
+            length += read;
+          }
+          if (length > 0) {
+            mChunks.put(ByteBuffer.wrap(buf, 0, length));
+          }
+          if (length < buf.length) {
+            break;
+          }
+        }
+      }
+      mChunks.put(END_OF_PART);
+      return md5 == null ? mRecordedDigest : md5.digest();
+    }
+
+    void drainTo(OutputStream out) throws IOException {
+      try {
+        while (true) {
+          ByteBuffer chunk = mChunks.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+          if (chunk == null) {
+            if (mFuture.isDone() && mChunks.isEmpty()) {
+              // the reader failed, rethrows its error
+              getDigest();
+              throw new IOException("Part " + mPart.getPath() + " ended unexpectedly");
+            }
+            continue;
+          }
+          if (chunk == END_OF_PART) {
+            return;
+          }
+          out.write(chunk.array(), chunk.position(), chunk.remaining());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while merging " + mPart.getPath());
+      }
+    }
+
+    byte[] getDigest() throws IOException {
+      try {
+        return mFuture.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while merging " + mPart.getPath());
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+        throw new IOException("Failed to read part " + mPart.getPath(), cause);
+      }
+    }
+  }
+}
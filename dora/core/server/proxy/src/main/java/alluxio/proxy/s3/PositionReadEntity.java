@@ -0,0 +1,146 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import alluxio.Constants;
+import alluxio.PositionReader;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.RateLimiter;
+import org.eclipse.jetty.server.HttpOutput;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import javax.annotation.Nullable;
+
+/**
+ * The entity of a GetObject response streaming a range of an object from a
+ * {@link PositionReader}.
+ * <p>
+ * When the response is written to Jetty, the range is read into a direct buffer which is handed
+ * as is to Jetty, so the bytes are not copied through heap arrays on their way to the socket.
+ * Writes block until Jetty has flushed the buffer, which applies back-pressure on the reads.
+ */
+public class PositionReadEntity implements Closeable {
+  private static final int BUFFER_SIZE = Constants.MB;
+  private static final ThreadLocal<ByteBuffer> DIRECT_BUFFER =
+      ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+  private static final ThreadLocal<byte[]> HEAP_BUFFER =
+      ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+  private final PositionReader mReader;
+  private final long mOffset;
+  private final long mLength;
+  private final RateLimiter[] mRateLimiters;
+
+  /**
+   * Writes buffers to the destination of the entity.
+   */
+  @FunctionalInterface
+  public interface ByteBufferSink {
+    /**
+     * Writes all remaining bytes of the buffer.
+     *
+     * @param buffer the buffer
+     */
+    void write(ByteBuffer buffer) throws IOException;
+  }
+
+  /**
+   * @param reader the reader of the object, closed with this entity
+   * @param offset the offset of the range in the object
+   * @param length the length of the range
+   * @param rateLimiters the rate limiters applied to the reads, null ones are ignored
+   */
+  public PositionReadEntity(PositionReader reader, long offset, long length,
+      @Nullable RateLimiter... rateLimiters) {
+    Preconditions.checkArgument(offset >= 0 && length >= 0, "invalid range");
+    mReader = reader;
+    mOffset = offset;
+    mLength = length;
+    mRateLimiters = rateLimiters == null ? new RateLimiter[0] : rateLimiters;
+  }
+
+  /**
+   * @return the length of the range
+   */
+  public long getLength() {
+    return mLength;
+  }
+
+  /**
+   * Writes the range to an output stream, through direct buffers if it is a Jetty output.
+   *
+   * @param out the output stream
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    if (out instanceof HttpOutput) {
+      HttpOutput httpOutput = (HttpOutput) out;
+      writeTo(httpOutput::write);
+      return;
+    }
+    byte[] buffer = HEAP_BUFFER.get();
+    long position = mOffset;
+    long end = mOffset + mLength;
+    while (position < end) {
+      int length = (int) Math.min(buffer.length, end - position);
+      acquire(length);
+      int read = mReader.read(position, buffer, length);
+      if (read <= 0) {
+        throw new EOFException(String.format(
+            "Object ended at %d before the end of the range at %d", position, end));
+      }
+      out.write(buffer, 0, read);
+      position += read;
+    }
+  }
+
+  /**
+   * Writes the range to a sink of direct buffers.
+   *
+   * @param sink the sink
+   */
+  public void writeTo(ByteBufferSink sink) throws IOException {
+    ByteBuffer buffer = DIRECT_BUFFER.get();
+    long position = mOffset;
+    long end = mOffset + mLength;
+    while (position < end) {
+      int length = (int) Math.min(buffer.capacity(), end - position);
+      buffer.clear();
+      acquire(length);
+      int read = mReader.read(position, buffer, length);
+      if (read <= 0) {
+        throw new EOFException(String.format(
+            "Object ended at %d before the end of the range at %d", position, end));
+      }
+      buffer.flip();
+      sink.write(buffer);
+      position += read;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    mReader.close();
+  }
+
+  private void acquire(int permits) {
+    for (RateLimiter rateLimiter : mRateLimiters) {
+      if (rateLimiter != null) {
+        rateLimiter.acquire(permits);
+      }
+    }
+  }
+}
@@ -25,7 +25,6 @@ import alluxio.exception.InvalidPathException;
 import alluxio.grpc.Bits;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.DeletePOptions;
-import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.PMode;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.proto.journal.File;
@@ -248,6 +247,28 @@ public class S3BucketTask extends S3BaseTask {
       return normalizedBucket + normalizedPrefix;
     }
 
+    /**
+     * @param options the list bucket options
+     * @return the key after which objects are listed, the greatest of the marker, the decoded
+     *         continuation token and the start-after key
+     */
+    private String getListingStartKey(ListBucketOptions options) throws S3Exception {
+      String after = S3Constants.EMPTY;
+      if (options.getListType() == null || options.getListType() != 2) {
+        if (options.getMarker() != null) {
+          after = options.getMarker();
+        }
+      } else {
+        if (options.getContinuationToken() != null) {
+          after = ListBucketResult.decodeToken(options.getContinuationToken());
+        }
+        if (options.getStartAfter() != null && options.getStartAfter().compareTo(after) > 0) {
+          after = options.getStartAfter();
+        }
+      }
+      return after;
+    }
+
     public Response continueTask() {
       return S3RestUtils.call(mHandler.getBucket(), () -> {
         String path = S3RestUtils.parsePath(AlluxioURI.SEPARATOR + mHandler.getBucket());
@@ -281,6 +302,11 @@ public class S3BucketTask extends S3BaseTask {
 
           List<URIStatus> children;
           try {
+            // Only the keys of the requested page, plus one to tell if it is truncated, are
+            // listed, walking the directories in key order from the marker.
+            String bucketPath = path.replace(S3Constants.BUCKET_SEPARATOR, AlluxioURI.SEPARATOR);
+            String after = getListingStartKey(listBucketOptions);
+            int limit = maxKeys <= 0 ? 0 : maxKeys + 1;
             // TODO(czhu): allow non-"/" delimiters by parsing the prefix & delimiter pair to
             //             determine what directory to list the contents of
             //             only list the direct children if delimiter is not null
@@ -290,14 +316,14 @@ public class S3BucketTask extends S3BaseTask {
               } else {
                 path = parsePathWithDelimiter(path, prefixParam, delimiterParam);
               }
-              children = userFs.listStatus(new AlluxioURI(path));
+              children = S3ObjectListing.list(userFs, bucketPath, path, false, prefixParam,
+                  after, limit);
             } else {
               if (prefixParam != null) {
                 path = parsePathWithDelimiter(path, prefixParam, AlluxioURI.SEPARATOR);
               }
-              ListStatusPOptions options = ListStatusPOptions.newBuilder()
-                  .setRecursive(true).build();
-              children = userFs.listStatus(new AlluxioURI(path), options);
+              children = S3ObjectListing.list(userFs, bucketPath, path, true, prefixParam,
+                  after, limit);
             }
           } catch (FileDoesNotExistException e) {
             // Since we've called S3RestUtils.checkPathIsAlluxioDirectory() on the bucket path
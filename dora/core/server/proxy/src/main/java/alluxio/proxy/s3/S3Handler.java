@@ -190,7 +190,20 @@ public class S3Handler {
       if (response.hasEntity()) {
         ServletOutputStream servletOut = servletResponse.getOutputStream();
         Object entity = response.getEntity();
-        if (entity instanceof InputStream) {
+        if (entity instanceof PositionReadEntity) {
+          try {
+            ((PositionReadEntity) entity).writeTo(servletOut);
+          } catch (IOException ex) {
+            if (!servletResponse.isCommitted()) {
+              Response errorResponse = S3ErrorResponse.createErrorResponse(ex, "");
+              S3Handler.processResponse(servletResponse, errorResponse);
+              return;
+            }
+            throw ex;
+          } finally {
+            ((PositionReadEntity) entity).close();
+          }
+        } else if (entity instanceof InputStream) {
           InputStream is = (InputStream) entity;
           byte[] bytesArray = TLS_BYTES.get();
           int read;
@@ -0,0 +1,122 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.exception.AlluxioException;
+import alluxio.exception.FileDoesNotExistException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Lists a page of the objects of a bucket in the lexicographic order of their keys.
+ * <p>
+ * Rather than listing the whole prefix and filtering in memory, directories are listed one
+ * level at a time and walked depth first in key order. Subtrees whose keys all sort before the
+ * marker or do not match the prefix are skipped, and the walk stops as soon as enough keys are
+ * found, so the cost of a page depends on its size and on the size of the directories along
+ * the way rather than on the size of the bucket.
+ */
+public final class S3ObjectListing {
+  /**
+   * Orders statuses by their object keys, in which directories end with a separator.
+   */
+  public static final Comparator<URIStatus> KEY_ORDER =
+      Comparator.comparing(S3ObjectListing::keyOf);
+
+  private final FileSystem mFs;
+  private final int mBucketPrefixLength;
+  private final String mPrefix;
+  private final String mAfter;
+  private final int mLimit;
+  private final List<URIStatus> mResult = new ArrayList<>();
+
+  private S3ObjectListing(FileSystem fs, String bucketPath, @Nullable String prefix,
+      @Nullable String after, int limit) {
+    mFs = fs;
+    mBucketPrefixLength = bucketPath.length() + AlluxioURI.SEPARATOR.length();
+    mPrefix = prefix == null ? "" : prefix;
+    mAfter = after == null ? "" : after;
+    mLimit = limit;
+  }
+
+  /**
+   * Lists the first statuses, in key order, under a directory of a bucket whose keys match the
+   * prefix and sort after the given key.
+   *
+   * @param fs the file system
+   * @param bucketPath the path of the bucket
+   * @param dirPath the directory to list, the bucket or a directory in it
+   * @param recursive whether to list the directory recursively
+   * @param prefix the prefix of the keys, relative to the bucket
+   * @param after only keys sorting after it are listed
+   * @param limit the maximum number of statuses to list
+   * @return the statuses in key order
+   */
+  public static List<URIStatus> list(FileSystem fs, String bucketPath, String dirPath,
+      boolean recursive, @Nullable String prefix, @Nullable String after, int limit)
+      throws IOException, AlluxioException {
+    S3ObjectListing listing = new S3ObjectListing(fs, bucketPath, prefix, after, limit);
+    if (limit > 0) {
+      listing.visit(dirPath, recursive);
+    }
+    return listing.mResult;
+  }
+
+  /**
+   * @param status the status of a file or directory
+   * @return its path, with a trailing separator for directories
+   */
+  public static String keyOf(URIStatus status) {
+    return status.isFolder() ? status.getPath() + AlluxioURI.SEPARATOR : status.getPath();
+  }
+
+  private void visit(String dirPath, boolean recursive) throws IOException, AlluxioException {
+    List<URIStatus> children;
+    try {
+      children = mFs.listStatus(new AlluxioURI(dirPath));
+    } catch (FileDoesNotExistException e) {
+      // the directory was removed during the listing
+      return;
+    }
+    children.sort(KEY_ORDER);
+    for (URIStatus child : children) {
+      if (mResult.size() >= mLimit) {
+        return;
+      }
+      String key = keyOf(child).substring(mBucketPrefixLength);
+      if (key.compareTo(mAfter) > 0 && key.startsWith(mPrefix)) {
+        mResult.add(child);
+      }
+      if (recursive && child.isFolder() && mayContainMatches(key)) {
+        visit(child.getPath(), true);
+      }
+    }
+  }
+
+  /**
+   * @param dirKey the key of a directory, ending with a separator
+   * @return whether keys in the subtree of the directory may be listed
+   */
+  private boolean mayContainMatches(String dirKey) {
+    // all keys in the subtree start with dirKey
+    boolean matchesPrefix = dirKey.startsWith(mPrefix) || mPrefix.startsWith(dirKey);
+    boolean reachesAfter = dirKey.compareTo(mAfter) > 0 || mAfter.startsWith(dirKey);
+    return matchesPrefix && reachesAfter;
+  }
+}
@@ -13,6 +13,7 @@ package alluxio.proxy.s3;
 
 import alluxio.AlluxioURI;
 import alluxio.Constants;
+import alluxio.PositionReader;
 import alluxio.client.WriteType;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileOutStream;
@@ -24,10 +25,12 @@ import alluxio.exception.AlluxioException;
 import alluxio.exception.DirectoryNotEmptyException;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.runtime.UnimplementedRuntimeException;
 import alluxio.grpc.Bits;
 import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.PMode;
 import alluxio.grpc.RenamePOptions;
 import alluxio.grpc.S3SyntaxOptions;
@@ -69,6 +72,7 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -289,11 +293,35 @@ public class S3ObjectTask extends S3BaseTask {
   } // end of PutObjectTaggingTask
 
   private static final class GetObjectTask extends S3ObjectTask {
+    private final boolean mPositionReadEnabled = Configuration.getBoolean(
+        PropertyKey.PROXY_S3_V2_GET_OBJECT_POSITION_READ_ENABLED);
 
     public GetObjectTask(S3Handler handler, OpType opType) {
       super(handler, opType);
     }
 
+    /**
+     * Opens a position reader over the requested range, so that the response can be written
+     * from direct buffers.
+     *
+     * @return the entity, or null if the file system does not support position reads
+     */
+    @Nullable
+    private PositionReadEntity openPositionReadEntity(FileSystem userFs, URIStatus status,
+        S3RangeSpec s3Range, @Nullable RateLimiter globalRateLimiter,
+        @Nullable RateLimiter currentRateLimiter) {
+      PositionReader reader;
+      try {
+        reader = userFs.openPositionRead(status, OpenFilePOptions.getDefaultInstance());
+      } catch (UnimplementedRuntimeException | UnsupportedOperationException e) {
+        LOG.debug("Position read is not supported, falling back to streaming {}",
+            status.getPath());
+        return null;
+      }
+      return new PositionReadEntity(reader, s3Range.getOffset(status.getLength()),
+          s3Range.getLength(status.getLength()), globalRateLimiter, currentRateLimiter);
+    }
+
     @Override
     public Response continueTask() {
       return S3RestUtils.call(getObjectTaskResource(), () -> {
@@ -308,24 +336,30 @@ public class S3ObjectTask extends S3BaseTask {
             mOPType.name(), user, mHandler.getBucket(), mHandler.getObject())) {
           try {
             URIStatus status = userFs.getStatus(objectUri);
-            FileInStream is = userFs.openFile(objectUri);
             S3RangeSpec s3Range = S3RangeSpec.Factory.create(range);
-            RangeFileInStream ris = RangeFileInStream.Factory.create(
-                is, status.getLength(), s3Range);
-
-            InputStream inputStream;
             RateLimiter globalRateLimiter = (RateLimiter) mHandler.getServletContext()
                 .getAttribute(ProxyWebServer.GLOBAL_RATE_LIMITER_SERVLET_RESOURCE_KEY);
             long rate = (long) mHandler.getMetaFS().getConf()
                 .getInt(PropertyKey.PROXY_S3_SINGLE_CONNECTION_READ_RATE_LIMIT_MB) * Constants.MB;
             RateLimiter currentRateLimiter = S3RestUtils.createRateLimiter(rate).orElse(null);
-            if (currentRateLimiter == null && globalRateLimiter == null) {
-              inputStream = ris;
-            } else {
-              inputStream = new RateLimitInputStream(ris, globalRateLimiter, currentRateLimiter);
+
+            Object entity = null;
+            if (mPositionReadEnabled) {
+              entity = openPositionReadEntity(userFs, status, s3Range, globalRateLimiter,
+                  currentRateLimiter);
+            }
+            if (entity == null) {
+              FileInStream is = userFs.openFile(objectUri);
+              RangeFileInStream ris = RangeFileInStream.Factory.create(
+                  is, status.getLength(), s3Range);
+              if (currentRateLimiter == null && globalRateLimiter == null) {
+                entity = ris;
+              } else {
+                entity = new RateLimitInputStream(ris, globalRateLimiter, currentRateLimiter);
+              }
             }
 
-            Response.ResponseBuilder res = Response.ok(inputStream,
+            Response.ResponseBuilder res = Response.ok(entity,
                     MediaType.APPLICATION_OCTET_STREAM_TYPE)
                 .lastModified(new Date(status.getLastModificationTimeMs()))
                 .header(S3Constants.S3_CONTENT_LENGTH_HEADER,
@@ -937,6 +971,8 @@ public class S3ObjectTask extends S3BaseTask {
         PropertyKey.PROXY_S3_COMPLETE_MULTIPART_UPLOAD_KEEPALIVE_ENABLED);
     private final Long mKeepAliveTime = Configuration.getMs(
         PropertyKey.PROXY_S3_COMPLETE_MULTIPART_UPLOAD_KEEPALIVE_TIME_INTERVAL);
+    private final int mMergeParallelism = Configuration.getInt(
+        PropertyKey.PROXY_S3_COMPLETE_MULTIPART_UPLOAD_MERGE_PARALLELISM);
     private String mUploadId;
     private FileSystem mUserFs;
     private String mBucket;
@@ -1071,21 +1107,18 @@ public class S3ObjectTask extends S3BaseTask {
           CreateFilePOptions createFileOption = prepareForCreateTempFile(metaStatus);
           objTempPath = objectPath + ".temp." + UUID.randomUUID();
           AlluxioURI objectTempUri = new AlluxioURI(objTempPath);
-          FileOutStream os = mUserFs.createFile(objectTempUri, createFileOption);
-          MessageDigest md5 = MessageDigest.getInstance("MD5");
-
-          try (DigestOutputStream digestOutputStream = new DigestOutputStream(os, md5);
+          String entityTag;
+          try (FileOutStream os = mUserFs.createFile(objectTempUri, createFileOption);
                com.codahale.metrics.Timer.Context ctx = MetricsSystem
                    .uniformTimer(MetricKey.PROXY_COMPLETE_MP_UPLOAD_MERGE_LATENCY
                        .getName()).time()) {
-            for (URIStatus part : uploadedParts) {
-              try (FileInStream is = mUserFs.openFile(new AlluxioURI(part.getPath()))) {
-                ByteStreams.copy(is, digestOutputStream);
-              }
-            }
+            // parts are read ahead concurrently, and the ETag is derived from the part ETags
+            ExecutorService mergePool = (ExecutorService) mHandler.getServletContext()
+                .getAttribute(S3RequestServlet.PROXY_S3_V2_MERGE_POOL);
+            entityTag = new MultipartUploadMerger(mergePool, mMergeParallelism).merge(
+                uploadedParts, part -> mUserFs.openFile(new AlluxioURI(part.getPath())), os);
           }
           // persist the ETag via xAttr
-          String entityTag = Hex.encodeHexString(md5.digest());
           // TODO(czhu): try to compute the ETag prior to creating the file to reduce total RPC RTT
           S3RestUtils.setEntityTag(mUserFs, objectTempUri, entityTag);
           // rename the temp file to the target object file path
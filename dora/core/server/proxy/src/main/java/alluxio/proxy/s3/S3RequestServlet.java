@@ -47,6 +47,7 @@ public class S3RequestServlet extends HttpServlet {
    * light-weighted metadata-centric requests and heavy io requests */
   public static final String PROXY_S3_V2_LIGHT_POOL = "Proxy S3 V2 Light Pool";
   public static final String PROXY_S3_V2_HEAVY_POOL = "Proxy S3 V2 Heavy Pool";
+  public static final String PROXY_S3_V2_MERGE_POOL = "Proxy S3 V2 Merge Pool";
 
   /**
    * Implementation to serve the HttpServletRequest and returns HttpServletResponse.
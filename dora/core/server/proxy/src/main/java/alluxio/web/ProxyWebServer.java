@@ -44,6 +44,8 @@ import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -71,6 +73,8 @@ public final class ProxyWebServer extends WebServer {
   private final RateLimiter mGlobalRateLimiter;
   private final FileSystem mFileSystem;
   private AsyncUserAccessAuditLogWriter mAsyncAuditLogWriter;
+  /** Reads the parts merged by the v2 S3 API, created when its servlet is initialized. */
+  private volatile ExecutorService mMergePool;
   public static final String PROXY_S3_HANDLER_MAP = "Proxy S3 Handler Map";
   public ConcurrentHashMap<Request, S3Handler> mS3HandlerMap = new ConcurrentHashMap<>();
 
@@ -174,6 +178,11 @@ public final class ProxyWebServer extends WebServer {
                   new ThreadPoolExecutor(8, 64, 0,
                   TimeUnit.SECONDS, new ArrayBlockingQueue<>(64 * 1024),
                   ThreadFactoryUtils.build("S3-HEAVYPOOL-%d", false)));
+              // reads the parts merged by CompleteMultipartUpload tasks of the heavy pool
+              mMergePool = Executors.newFixedThreadPool(Configuration.getInt(
+                  PropertyKey.PROXY_S3_COMPLETE_MULTIPART_UPLOAD_POOL_SIZE),
+                  ThreadFactoryUtils.build("S3-MERGEPOOL-%d", true));
+              getServletContext().setAttribute(PROXY_S3_V2_MERGE_POOL, mMergePool);
               getServletContext().setAttribute(PROXY_S3_HANDLER_MAP, mS3HandlerMap);
             }
           });
@@ -195,6 +204,10 @@ public final class ProxyWebServer extends WebServer {
     }
     mFileSystem.close();
     super.stop();
+    if (mMergePool != null) {
+      mMergePool.shutdownNow();
+      mMergePool = null;
+    }
   }
 
   /**
@@ -0,0 +1,116 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import alluxio.Constants;
+import alluxio.client.file.URIStatus;
+import alluxio.wire.FileInfo;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.codec.binary.Hex;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class MultipartUploadMergerTest {
+  private final ExecutorService mExecutor = Executors.newFixedThreadPool(4);
+  private final Map<String, byte[]> mContents = new HashMap<>();
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void mergeInOrder() throws Exception {
+    Random random = new Random(0);
+    List<URIStatus> parts = new ArrayList<>();
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    List<byte[]> digests = new ArrayList<>();
+    // part sizes around the chunk size, including an empty part
+    int[] sizes = {5 * Constants.MB, 0, 2 * Constants.MB, 1, 3 * Constants.MB + 7, 100};
+    for (int i = 0; i < sizes.length; i++) {
+      byte[] content = new byte[sizes[i]];
+      random.nextBytes(content);
+      expected.write(content);
+      byte[] digest = MessageDigest.getInstance("MD5").digest(content);
+      digests.add(digest);
+      // only some parts have a recorded ETag
+      parts.add(addPart(Integer.toString(i + 1), content,
+          i % 2 == 0 ? Hex.encodeHexString(digest) : null));
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    String entityTag = new MultipartUploadMerger(mExecutor, 2).merge(parts, this::open, out);
+    assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    assertEquals(MultipartUploadMerger.computeEntityTag(digests), entityTag);
+  }
+
+  @Test
+  public void entityTag() throws Exception {
+    byte[] digest1 = MessageDigest.getInstance("MD5").digest("a".getBytes());
+    byte[] digest2 = MessageDigest.getInstance("MD5").digest("b".getBytes());
+    MessageDigest md5 = MessageDigest.getInstance("MD5");
+    md5.update(digest1);
+    md5.update(digest2);
+    assertEquals(Hex.encodeHexString(md5.digest()) + "-2",
+        MultipartUploadMerger.computeEntityTag(Arrays.asList(digest1, digest2)));
+  }
+
+  @Test
+  public void partFailure() throws Exception {
+    List<URIStatus> parts = new ArrayList<>();
+    for (int i = 1; i <= 4; i++) {
+      parts.add(addPart(Integer.toString(i), new byte[3 * Constants.MB], null));
+    }
+    MultipartUploadMerger.PartOpener failing = part -> {
+      if (part.getName().equals("3")) {
+        throw new IOException("failed to open part");
+      }
+      return open(part);
+    };
+    IOException e = assertThrows(IOException.class, () -> new MultipartUploadMerger(mExecutor, 4)
+        .merge(parts, failing, new ByteArrayOutputStream()));
+    assertEquals("failed to open part", e.getMessage());
+  }
+
+  private URIStatus addPart(String name, byte[] content, String entityTag) {
+    String path = "/bucket/object_upload/" + name;
+    mContents.put(path, content);
+    FileInfo info = new FileInfo().setPath(path).setName(name).setLength(content.length);
+    if (entityTag != null) {
+      info.setXAttr(ImmutableMap.of(S3Constants.ETAG_XATTR_KEY,
+          entityTag.getBytes(S3Constants.XATTR_STR_CHARSET)));
+    }
+    return new URIStatus(info);
+  }
+
+  private InputStream open(URIStatus part) {
+    return new ByteArrayInputStream(mContents.get(part.getPath()));
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.PositionReader;
+import alluxio.file.ReadTargetBuffer;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.util.Arrays;
+import java.util.Random;
+
+public final class PositionReadEntityTest {
+  private final byte[] mData = new byte[3 * Constants.MB + 17];
+  private boolean mClosed;
+
+  private final PositionReader mReader = new PositionReader() {
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length) {
+      if (position >= mData.length) {
+        return -1;
+      }
+      int read = (int) Math.min(length, mData.length - position);
+      buffer.writeBytes(mData, (int) position, read);
+      return read;
+    }
+
+    @Override
+    public void close() {
+      mClosed = true;
+    }
+  };
+
+  public PositionReadEntityTest() {
+    new Random(0).nextBytes(mData);
+  }
+
+  @Test
+  public void writeToStream() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PositionReadEntity entity = new PositionReadEntity(mReader, 0, mData.length)) {
+      entity.writeTo(out);
+    }
+    assertArrayEquals(mData, out.toByteArray());
+    assertTrue(mClosed);
+  }
+
+  @Test
+  public void writeRangeToSink() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    long offset = Constants.MB - 3;
+    long length = 2 * Constants.MB + 5;
+    new PositionReadEntity(mReader, offset, length).writeTo(buffer -> {
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      out.write(bytes);
+    });
+    assertArrayEquals(Arrays.copyOfRange(mData, (int) offset, (int) (offset + length)),
+        out.toByteArray());
+  }
+
+  @Test
+  public void rangeBeyondObject() {
+    PositionReadEntity entity = new PositionReadEntity(mReader, mData.length - 1, 2);
+    assertThrows(EOFException.class, () -> entity.writeTo(new ByteArrayOutputStream()));
+  }
+}
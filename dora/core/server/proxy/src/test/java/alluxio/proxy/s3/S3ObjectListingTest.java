@@ -0,0 +1,139 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy.s3;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.wire.FileInfo;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public final class S3ObjectListingTest {
+  private static final String BUCKET = "/bucket";
+
+  private final Map<String, List<URIStatus>> mDirs = new HashMap<>();
+  private final List<String> mAllKeys = new ArrayList<>();
+  private FileSystem mFs;
+
+  @Before
+  public void before() throws Exception {
+    mDirs.put(BUCKET, new ArrayList<>());
+    for (String key : Arrays.asList("a", "a-b", "a/x", "a/y/z", "b", "c/d", "c/e", "c0")) {
+      add(key);
+    }
+    Collections.sort(mAllKeys);
+    mFs = mock(FileSystem.class);
+    when(mFs.listStatus(any(AlluxioURI.class))).thenAnswer(invocation -> {
+      String path = invocation.<AlluxioURI>getArgument(0).getPath();
+      List<URIStatus> children = mDirs.get(path);
+      if (children == null) {
+        throw new FileDoesNotExistException(path);
+      }
+      return new ArrayList<>(children);
+    });
+  }
+
+  @Test
+  public void listAllInKeyOrder() throws Exception {
+    assertEquals(mAllKeys, keys(S3ObjectListing.list(mFs, BUCKET, BUCKET, true, null, null,
+        Integer.MAX_VALUE)));
+    assertEquals(Arrays.asList("a", "a-b", "a/", "a/x", "a/y/", "a/y/z", "b", "c/", "c/d",
+        "c/e", "c0"), mAllKeys);
+  }
+
+  @Test
+  public void listPages() throws Exception {
+    List<String> listed = new ArrayList<>();
+    String after = null;
+    while (true) {
+      List<String> page = keys(S3ObjectListing.list(mFs, BUCKET, BUCKET, true, null, after, 3));
+      listed.addAll(page);
+      if (page.size() < 3) {
+        break;
+      }
+      after = page.get(page.size() - 1);
+    }
+    assertEquals(mAllKeys, listed);
+  }
+
+  @Test
+  public void skipSubtreesBeforeMarker() throws Exception {
+    assertEquals(Arrays.asList("c/", "c/d"),
+        keys(S3ObjectListing.list(mFs, BUCKET, BUCKET, true, null, "b", 2)));
+    verify(mFs, never()).listStatus(new AlluxioURI(BUCKET + "/a"));
+    verify(mFs, never()).listStatus(new AlluxioURI(BUCKET + "/a/y"));
+  }
+
+  @Test
+  public void prefix() throws Exception {
+    assertEquals(Arrays.asList("a/", "a/x", "a/y/", "a/y/z"),
+        keys(S3ObjectListing.list(mFs, BUCKET, BUCKET, true, "a/", null, 10)));
+    verify(mFs, never()).listStatus(new AlluxioURI(BUCKET + "/c"));
+    assertEquals(Arrays.asList("c/d", "c/e"),
+        keys(S3ObjectListing.list(mFs, BUCKET, BUCKET + "/c", true, "c/", null, 10)));
+  }
+
+  @Test
+  public void nonRecursive() throws Exception {
+    assertEquals(Arrays.asList("a-b", "a/", "b"),
+        keys(S3ObjectListing.list(mFs, BUCKET, BUCKET, false, null, "a", 3)));
+  }
+
+  @Test
+  public void missingDirectory() throws Exception {
+    assertEquals(Collections.emptyList(),
+        S3ObjectListing.list(mFs, BUCKET, BUCKET + "/missing", true, null, null, 10));
+  }
+
+  private void add(String key) {
+    String[] components = key.split("/");
+    String parent = BUCKET;
+    for (int i = 0; i < components.length; i++) {
+      String path = parent + AlluxioURI.SEPARATOR + components[i];
+      boolean isFolder = i < components.length - 1;
+      String entryKey = path.substring(BUCKET.length() + 1) + (isFolder ? "/" : "");
+      if (!mAllKeys.contains(entryKey)) {
+        mAllKeys.add(entryKey);
+        mDirs.get(parent).add(new URIStatus(new FileInfo().setPath(path)
+            .setName(components[i]).setFolder(isFolder)));
+        if (isFolder) {
+          mDirs.put(path, new ArrayList<>());
+        }
+      }
+      parent = path;
+    }
+  }
+
+  private static List<String> keys(List<URIStatus> statuses) {
+    return statuses.stream()
+        .map(status -> S3ObjectListing.keyOf(status).substring(BUCKET.length() + 1))
+        .collect(Collectors.toList());
+  }
+}
@@ -30,6 +30,7 @@ import alluxio.grpc.GetConfigurationPOptions;
 import alluxio.master.block.BlockId;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.trace.ReadTracer;
 import alluxio.util.ConfigurationUtils;
 import alluxio.util.FormatUtils;
 import alluxio.util.LogUtils;
@@ -107,6 +108,7 @@ public final class AlluxioWorkerRestServiceHandler {
 
   // endpoints
   public static final String GET_INFO = "info";
+  public static final String GET_SLOW_READS = "slow_reads";
 
   // webui endpoints // TODO(william): DRY up these enpoints
   public static final String WEBUI_INIT = "webui_init";
@@ -617,6 +619,17 @@ public final class AlluxioWorkerRestServiceHandler {
     return tierToDirPaths;
   }
 
+  /**
+   * @summary get the most recent slow sampled read requests, newest first. Read requests are
+   *    sampled on the client by {@link PropertyKey#USER_READ_TRACE_SAMPLE_RATIO}
+   * @return the response object
+   */
+  @GET
+  @Path(GET_SLOW_READS)
+  public Response getSlowReads() {
+    return RestUtils.call(() -> ReadTracer.worker().getSlowReads(), Configuration.global());
+  }
+
   /**
    * @summary set the Alluxio log information
    * @param logName the log's name
@@ -16,6 +16,7 @@ import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.file;
 import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.DefaultStorageTierAssoc;
+import alluxio.PositionReader;
 import alluxio.Server;
 import alluxio.StorageTierAssoc;
 import alluxio.client.file.FileSystem;
@@ -41,10 +42,12 @@ import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GrpcService;
 import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.Route;
 import alluxio.grpc.RouteFailure;
 import alluxio.grpc.Scope;
 import alluxio.grpc.ServiceType;
+import alluxio.grpc.TaskStatus;
 import alluxio.grpc.UfsReadOptions;
 import alluxio.grpc.WriteOptions;
 import alluxio.heartbeat.HeartbeatContext;
@@ -58,6 +61,7 @@ import alluxio.retry.RetryPolicy;
 import alluxio.retry.RetryUtils;
 import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.security.user.ServerUserState;
+import alluxio.underfs.Fingerprint;
 import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsInputStreamCache;
 import alluxio.underfs.UfsManager;
@@ -86,6 +90,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Closer;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.inject.Inject;
 import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
@@ -96,12 +101,17 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * Page store based dora worker.
@@ -116,6 +126,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   private final CacheManager mCacheManager;
   private final DoraUfsManager mUfsManager;
   private final UfsInputStreamCache mUfsStreamCache;
+  private final UfsReadThrottle mUfsReadThrottle;
   private final long mPageSize;
   private final AlluxioConfiguration mConf;
   private final BlockMasterClientPool mBlockMasterClientPool;
@@ -155,6 +166,8 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     mRootUFS = Configuration.getString(PropertyKey.DORA_CLIENT_UFS_ROOT);
     mUfsManager = mResourceCloser.register(new DoraUfsManager());
     mUfsStreamCache = new UfsInputStreamCache();
+    mUfsReadThrottle = new UfsReadThrottle(
+        Configuration.getDuration(PropertyKey.WORKER_UFS_LOAD_FOREGROUND_WAIT_MAX));
     mUfs = UnderFileSystem.Factory.create(
         mRootUFS,
         UnderFileSystemConfiguration.defaults(Configuration.global()));
@@ -481,7 +494,8 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         .setFolder(status.isDirectory())
         .setOwner(status.getOwner())
         .setGroup(status.getGroup())
-        .setCompleted(true);
+        .setCompleted(true)
+        .setUfsFingerprint(Fingerprint.create(mUfs.getUnderFSType(), status).serialize());
     if (status instanceof UfsFileStatus) {
       UfsFileStatus fileStatus = (UfsFileStatus) status;
       infoBuilder.setLength(fileStatus.getContentLength())
@@ -522,6 +536,13 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   @Override
   public BlockReader createFileReader(String fileId, long offset, boolean positionShort,
       Protocol.OpenUfsBlockOptions options) throws IOException, AccessControlException {
+    return createFileReader(fileId, offset, options, mUfsReadThrottle::foreground);
+  }
+
+  private PagedFileReader createFileReader(String fileId, long offset,
+      Protocol.OpenUfsBlockOptions options,
+      Function<PositionReader, PositionReader> ufsReaderWrapper)
+      throws IOException, AccessControlException {
     UfsManager.UfsClient ufsClient;
     try {
       ufsClient = mUfsManager.get(MOUNT_POINT);
@@ -536,41 +557,103 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       }
     }
     return PagedFileReader.create(mConf, mCacheManager, ufsClient, fileId,
-        options.getUfsPath(), options.getBlockSize(), offset);
+        options.getUfsPath(), options.getBlockSize(), offset, ufsReaderWrapper);
   }
 
   @Override
-  public ListenableFuture<List<FileFailure>> load(List<File> files, UfsReadOptions options) {
+  public ListenableFuture<LoadFileResponse> load(List<File> files, UfsReadOptions options) {
     List<ListenableFuture<Void>> futures = new ArrayList<>();
     List<FileFailure> errors = Collections.synchronizedList(new ArrayList<>());
-    for (File file : files) {
-      ListenableFuture<Void> loadFuture = Futures.submit(() -> {
-        try {
-          if (options.hasUser()) {
-            AuthenticatedClientUser.set(options.getUser());
-          }
-          load(file.getUfsPath(), file.getMountId(), file.getLength());
-        } catch (Exception e) {
-          AlluxioRuntimeException t = AlluxioRuntimeException.from(e);
-          errors.add(FileFailure.newBuilder().setFile(file).setCode(t.getStatus().getCode().value())
-                                .setMessage(t.getMessage()).build());
+    AtomicLong skippedBytes = new AtomicLong();
+    RateLimiter limiter = mUfsReadThrottle.getLimiter(options);
+    // the ranges of a file share one check of whether the file changed since it was cached
+    Map<String, List<File>> rangesByPath = files.stream().collect(
+        Collectors.groupingBy(File::getUfsPath, LinkedHashMap::new, Collectors.toList()));
+    for (List<File> ranges : rangesByPath.values()) {
+      File first = ranges.get(0);
+      ListenableFuture<Boolean> invalidated = Futures.submit(() -> {
+        if (options.hasUser()) {
+          AuthenticatedClientUser.set(options.getUser());
         }
+        return invalidateIfChanged(first.getUfsPath(),
+            first.hasUfsFingerprint() ? first.getUfsFingerprint() : null);
       }, GrpcExecutors.BLOCK_READER_EXECUTOR);
-      futures.add(loadFuture);
+      for (File file : ranges) {
+        ListenableFuture<Void> loadFuture = Futures.whenAllComplete(invalidated).run(() -> {
+          try {
+            if (options.hasUser()) {
+              AuthenticatedClientUser.set(options.getUser());
+            }
+            skippedBytes.addAndGet(load(file, limiter, Futures.getDone(invalidated)));
+          } catch (Exception e) {
+            AlluxioRuntimeException t = AlluxioRuntimeException.from(
+                e instanceof ExecutionException ? e.getCause() : e);
+            errors.add(FileFailure.newBuilder().setFile(file)
+                                  .setCode(t.getStatus().getCode().value())
+                                  .setMessage(t.getMessage()).build());
+          }
+        }, GrpcExecutors.BLOCK_READER_EXECUTOR);
+        futures.add(loadFuture);
+      }
     }
-    return Futures.whenAllComplete(futures).call(() -> errors, GrpcExecutors.BLOCK_READER_EXECUTOR);
+    return Futures.whenAllComplete(futures).call(() -> {
+      TaskStatus taskStatus = TaskStatus.SUCCESS;
+      if (errors.size() > 0) {
+        taskStatus = files.size() > errors.size()
+            ? TaskStatus.PARTIAL_FAILURE : TaskStatus.FAILURE;
+      }
+      return LoadFileResponse.newBuilder()
+          .addAllFiles(errors)
+          .setStatus(taskStatus)
+          .setBytesSkipped(skippedBytes.get())
+          .build();
+    }, GrpcExecutors.BLOCK_READER_EXECUTOR);
   }
 
-  private void load(String ufsPath, long mountId, long length) {
+  /**
+   * Loads a range of a file, reading from the UFS only the pages not cached yet.
+   *
+   * @param invalidated whether the cached pages of the file were just invalidated
+   * @return the bytes skipped as they were cached already
+   */
+  private long load(File file, @Nullable RateLimiter limiter, boolean invalidated) {
+    String ufsPath = file.getUfsPath();
+    long length = file.getLength();
+    long offset = file.hasOffset() ? file.getOffset() : 0;
+    long rangeLength = file.hasRangeLength() ? file.getRangeLength() : length - offset;
     Protocol.OpenUfsBlockOptions options =
-        Protocol.OpenUfsBlockOptions.newBuilder().setUfsPath(ufsPath).setMountId(mountId)
+        Protocol.OpenUfsBlockOptions.newBuilder().setUfsPath(ufsPath).setMountId(file.getMountId())
                                     .setNoCache(false).setOffsetInFile(0).setBlockSize(length)
                                     .build();
     String fileId = new AlluxioURI(ufsPath).hash();
     ByteBuf buf = PooledDirectNioByteBuf.allocate((int) (4 * mPageSize));
-    try (BlockReader fileReader = createFileReader(fileId, 0, false, options)) {
-      while (fileReader.transferTo(buf) != -1) {
-        buf.clear();
+    long end = Math.min(length, offset + rangeLength);
+    long skipped = 0;
+    try (PagedFileReader fileReader = createFileReader(fileId, offset, options,
+        reader -> mUfsReadThrottle.background(reader, limiter))) {
+      Set<Long> cachedPages = invalidated ? Collections.emptySet()
+          : getCachedPages(fileId, offset, end);
+      long pos = offset;
+      // stop at the end of the range, the rest of the file may be loaded by another range
+      while (pos < end) {
+        long pageEnd = Math.min(end, (pos / mPageSize + 1) * mPageSize);
+        if (cachedPages.contains(pos / mPageSize)) {
+          skipped += pageEnd - pos;
+          pos = pageEnd;
+          continue;
+        }
+        // read the missing pages from here on together, up to the size of the buffer
+        long readEnd = pageEnd;
+        while (readEnd < end && readEnd - pos < buf.capacity()
+            && !cachedPages.contains(readEnd / mPageSize)) {
+          readEnd = Math.min(end, readEnd + mPageSize);
+        }
+        int bytesToRead = (int) Math.min(buf.capacity(), readEnd - pos);
+        int bytesRead = fileReader.read(pos, buf.clear(), bytesToRead);
+        if (bytesRead <= 0) {
+          break;
+        }
+        pos += bytesRead;
       }
     } catch (IOException | AccessControlException e) {
       throw AlluxioRuntimeException.from(e);
@@ -578,6 +661,70 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     finally {
       buf.release();
     }
+    return skipped;
+  }
+
+  /**
+   * Gets the pages of a file that are cached within a range. The per-file cache usage tells
+   * whether any page is cached before looking them up.
+   *
+   * @param fileId the file ID in the cache
+   * @param offset the start of the range in the file
+   * @param end the end of the range in the file
+   * @return the indexes of the cached pages
+   */
+  private Set<Long> getCachedPages(String fileId, long offset, long end) {
+    Optional<Long> cachedBytes = mCacheManager.getUsage()
+        .flatMap(usage -> usage.partitionedBy(file(fileId)))
+        .map(CacheUsage::used);
+    if (end <= offset || (cachedBytes.isPresent() && cachedBytes.get() == 0)) {
+      return Collections.emptySet();
+    }
+    return mCacheManager.getCachedPageIdsByFileId(fileId, offset, end).stream()
+        .map(PageId::getPageIndex)
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Invalidates the cached pages of a file if its fingerprint differs from the one in the
+   * metadata cached along with them. The metadata of a file is cached when it is first loaded,
+   * so that a later load can tell whether the file changed.
+   *
+   * @param ufsPath the UFS path of the file
+   * @param fingerprint the current fingerprint of the file, or null if unknown
+   * @return true if the cached pages were invalidated
+   */
+  private boolean invalidateIfChanged(String ufsPath, @Nullable String fingerprint)
+      throws IOException {
+    DoraMeta.FileStatus cachedStatus = mUfsStatusCache.getIfPresent(ufsPath);
+    if (cachedStatus == null && mMetaStore != null) {
+      cachedStatus = mMetaStore.getDoraMeta(ufsPath).orElse(null);
+    }
+    if (cachedStatus != null) {
+      Fingerprint cachedFingerprint =
+          Fingerprint.parse(cachedStatus.getFileInfo().getUfsFingerprint());
+      Fingerprint currentFingerprint = fingerprint == null ? null : Fingerprint.parse(fingerprint);
+      if (cachedFingerprint == null || currentFingerprint == null
+          || cachedFingerprint.matchContent(currentFingerprint)) {
+        return false;
+      }
+      invalidateCachedFile(GrpcUtils.fromProto(cachedStatus.getFileInfo()));
+      mUfsStatusCache.invalidate(ufsPath);
+    }
+    try {
+      DoraMeta.FileStatus status = mUfsStatusCache.get(ufsPath);
+      if (mMetaStore != null) {
+        mMetaStore.putDoraMeta(ufsPath, status);
+      }
+    } catch (ExecutionException e) {
+      Throwable throwable = e.getCause();
+      if (throwable instanceof IOException) {
+        throw (IOException) throwable;
+      }
+      throw new InternalException("Unexpected exception when retrieving UFS file status",
+          throwable);
+    }
+    return cachedStatus != null;
   }
 
   @Override
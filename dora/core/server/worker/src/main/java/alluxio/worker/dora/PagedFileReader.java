@@ -13,7 +13,6 @@ package alluxio.worker.dora;
 
 import alluxio.CloseableSupplier;
 import alluxio.PositionReader;
-import alluxio.client.file.CacheContext;
 import alluxio.client.file.cache.CacheManager;
 import alluxio.client.file.cache.LocalCachePositionReader;
 import alluxio.conf.AlluxioConfiguration;
@@ -22,6 +21,7 @@ import alluxio.file.FileId;
 import alluxio.file.NettyBufTargetBuffer;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.resource.CloseableResource;
+import alluxio.trace.ReadTraceCacheContext;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.worker.block.io.BlockReadableChannel;
@@ -34,6 +34,7 @@ import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.ReadableByteChannel;
+import java.util.function.Function;
 
 /**
  * Paged file reader.
@@ -61,13 +62,36 @@ public class PagedFileReader extends BlockReader implements PositionReader {
   public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
       UfsManager.UfsClient ufsClient, String fileId,
       String ufsPath, long fileSize, long startPosition) {
+    return create(conf, cacheManager, ufsClient, fileId, ufsPath, fileSize, startPosition,
+        Function.identity());
+  }
+
+  /**
+   * Creates a new {@link PagedFileReader} whose reads from the UFS go through a wrapper of the
+   * UFS reader.
+   *
+   * @param conf
+   * @param cacheManager
+   * @param ufsClient
+   * @param fileId
+   * @param ufsPath
+   * @param fileSize
+   * @param startPosition
+   * @param ufsReaderWrapper wraps the UFS reader, e.g. to throttle the reads
+   * @return a new {@link PagedFileReader}
+   */
+  public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
+      UfsManager.UfsClient ufsClient, String fileId,
+      String ufsPath, long fileSize, long startPosition,
+      Function<PositionReader, PositionReader> ufsReaderWrapper) {
     FileId fileIdField = FileId.of(fileId);
     CloseableResource<UnderFileSystem> ufs = ufsClient.acquireUfsResource();
     try {
       return new PagedFileReader(ufs, LocalCachePositionReader.create(cacheManager,
-          new CloseableSupplier<>(() -> ufs.get().openPositionRead(ufsPath, fileSize)),
+          new CloseableSupplier<>(() -> ufsReaderWrapper.apply(
+              ufs.get().openPositionRead(ufsPath, fileSize))),
           fileIdField, fileSize, conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE),
-          CacheContext.defaults()), fileSize, startPosition);
+          ReadTraceCacheContext.forCurrentTrace()), fileSize, startPosition);
     } catch (Throwable t) {
       try {
         ufs.close();
@@ -0,0 +1,193 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.PositionReader;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.grpc.UfsReadOptions;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Arbitrates the UFS reads of a worker between client requests in the foreground and load jobs
+ * in the background.
+ *
+ * Background reads are limited by a token bucket per job, whose rate is the share of the job
+ * bandwidth assigned to this worker. The rate follows the bandwidth sent with the latest load
+ * request of the job, so a bandwidth update takes effect on the next request. Background reads
+ * also wait for the foreground reads in progress to finish first, up to a bounded time so that
+ * a busy worker still makes progress on its load jobs.
+ */
+@ThreadSafe
+public final class UfsReadThrottle {
+  /** Limiters of jobs which sent no load request for this long are dropped. */
+  private static final Duration LIMITER_EXPIRY = Duration.ofMinutes(10);
+
+  private final long mForegroundWaitMaxNs;
+  private final AtomicInteger mForegroundReads = new AtomicInteger();
+  private final Object mForegroundDone = new Object();
+  private final Cache<String, RateLimiter> mJobLimiters = CacheBuilder.newBuilder()
+      .expireAfterAccess(LIMITER_EXPIRY)
+      .build();
+
+  /**
+   * @param foregroundWaitMax the longest time a background read waits for foreground reads
+   */
+  public UfsReadThrottle(Duration foregroundWaitMax) {
+    mForegroundWaitMaxNs = foregroundWaitMax.toNanos();
+  }
+
+  /**
+   * Gets the limiter of the load job sending a request, updating its rate to the bandwidth of
+   * the request.
+   *
+   * @param options the UFS read options of the load request
+   * @return the limiter, or null if the job is not limited
+   */
+  @Nullable
+  public RateLimiter getLimiter(UfsReadOptions options) {
+    if (!options.hasBandwidth()) {
+      mJobLimiters.invalidate(options.getTag());
+      return null;
+    }
+    long bandwidth = options.getBandwidth();
+    Preconditions.checkArgument(bandwidth > 0, "bandwidth must be positive: %s", bandwidth);
+    RateLimiter limiter;
+    try {
+      limiter = mJobLimiters.get(options.getTag(), () -> RateLimiter.create(bandwidth));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+    if (limiter.getRate() != bandwidth) {
+      limiter.setRate(bandwidth);
+    }
+    return limiter;
+  }
+
+  /**
+   * @param reader the UFS reader of a client request
+   * @return the reader whose reads are served before background reads
+   */
+  public PositionReader foreground(PositionReader reader) {
+    return new ForegroundReader(reader);
+  }
+
+  /**
+   * @param reader the UFS reader of a load job
+   * @param limiter the limiter of the job, or null if the job is not limited
+   * @return the reader whose reads yield to foreground reads and are limited by the limiter
+   */
+  public PositionReader background(PositionReader reader, @Nullable RateLimiter limiter) {
+    return new BackgroundReader(reader, limiter);
+  }
+
+  /**
+   * @return the number of foreground reads in progress
+   */
+  @VisibleForTesting
+  int getForegroundReads() {
+    return mForegroundReads.get();
+  }
+
+  private void startForeground() {
+    mForegroundReads.incrementAndGet();
+  }
+
+  private void finishForeground() {
+    if (mForegroundReads.decrementAndGet() == 0) {
+      synchronized (mForegroundDone) {
+        mForegroundDone.notifyAll();
+      }
+    }
+  }
+
+  private void awaitForeground() throws InterruptedException {
+    if (mForegroundReads.get() == 0) {
+      return;
+    }
+    long deadline = System.nanoTime() + mForegroundWaitMaxNs;
+    synchronized (mForegroundDone) {
+      long remaining = mForegroundWaitMaxNs;
+      while (mForegroundReads.get() > 0 && remaining > 0) {
+        TimeUnit.NANOSECONDS.timedWait(mForegroundDone, remaining);
+        remaining = deadline - System.nanoTime();
+      }
+    }
+  }
+
+  private final class ForegroundReader implements PositionReader {
+    private final PositionReader mReader;
+
+    ForegroundReader(PositionReader reader) {
+      mReader = reader;
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      startForeground();
+      try {
+        return mReader.readInternal(position, buffer, length);
+      } finally {
+        finishForeground();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      mReader.close();
+    }
+  }
+
+  private final class BackgroundReader implements PositionReader {
+    private final PositionReader mReader;
+    @Nullable
+    private final RateLimiter mLimiter;
+
+    BackgroundReader(PositionReader reader, @Nullable RateLimiter limiter) {
+      mReader = reader;
+      mLimiter = limiter;
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      try {
+        awaitForeground();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for foreground reads", e);
+      }
+      if (mLimiter != null && length > 0) {
+        mLimiter.acquire(length);
+      }
+      return mReader.readInternal(position, buffer, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+      mReader.close();
+    }
+  }
+}
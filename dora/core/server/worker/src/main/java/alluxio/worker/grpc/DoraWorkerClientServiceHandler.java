@@ -23,7 +23,6 @@ import alluxio.exception.runtime.NotFoundRuntimeException;
 import alluxio.grpc.BlockWorkerGrpc;
 import alluxio.grpc.CopyRequest;
 import alluxio.grpc.CopyResponse;
-import alluxio.grpc.FileFailure;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcUtils;
@@ -112,18 +111,8 @@ public class DoraWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorkerI
   @Override
   public void loadFile(LoadFileRequest request, StreamObserver<LoadFileResponse> responseObserver) {
     try {
-
-      ListenableFuture<List<FileFailure>> failures =
+      ListenableFuture<LoadFileResponse> future =
           mWorker.load(request.getFilesList(), request.getOptions());
-      ListenableFuture<LoadFileResponse> future = Futures.transform(failures, fail -> {
-        int numFiles = request.getFilesCount();
-        TaskStatus taskStatus = TaskStatus.SUCCESS;
-        if (fail.size() > 0) {
-          taskStatus = numFiles > fail.size() ? TaskStatus.PARTIAL_FAILURE : TaskStatus.FAILURE;
-        }
-        LoadFileResponse.Builder response = LoadFileResponse.newBuilder();
-        return response.addAllFiles(fail).setStatus(taskStatus).build();
-      }, GrpcExecutors.BLOCK_WRITER_EXECUTOR);
       RpcUtils.invoke(LOG, future, "loadFile", "request=%s", responseObserver, request);
     } catch (Exception e) {
       LOG.debug(String.format("Failed to load file %s: ", request.getFilesList()), e);
@@ -17,6 +17,9 @@ import alluxio.network.protocol.RPCMessage;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.proto.dataserver.Protocol;
+import alluxio.trace.ReadStage;
+import alluxio.trace.ReadTrace;
+import alluxio.trace.ReadTracer;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -95,6 +98,11 @@ abstract class AbstractReadHandler<T extends ReadRequestContext<?>>
 
     // Create and submit a task for reading and sending packet
     T requestContext = createRequestContext(msg);
+    ReadTrace trace = msg.hasTraceId() ? ReadTracer.worker().start(msg.getTraceId(),
+        String.format("%s@%d+%d from %s", msg.getOpenUfsBlockOptions().getUfsPath(),
+            msg.getOffset(), msg.getLength(), ctx.channel().remoteAddress())) : null;
+    requestContext.setTrace(trace);
+    long submitTimeNs = System.nanoTime();
     requestContext.setPosToQueue(requestContext.getRequest().getStart());
     requestContext.setPosToWrite(requestContext.getRequest().getStart());
     PacketReader packetReader = createPacketReader();
@@ -103,10 +111,16 @@ abstract class AbstractReadHandler<T extends ReadRequestContext<?>>
         new PacketReadTask<>(taskId, requestContext, ctx.channel(), packetReader);
     mTasksMap.put(taskId, packetReadTask);
     mPacketReaderExecutor.submit(() -> {
-      try {
+      if (trace != null) {
+        trace.record(ReadStage.WORKER_QUEUE, System.nanoTime() - submitTimeNs);
+      }
+      try (ReadTracer.Scope scope = ReadTracer.activate(trace)) {
         packetReadTask.call();
       } finally {
         mTasksMap.remove(taskId);
+        if (trace != null) {
+          ReadTracer.worker().finish(trace);
+        }
       }
     });
     LOG.debug("taskMap.size(): " + mTasksMap.size());
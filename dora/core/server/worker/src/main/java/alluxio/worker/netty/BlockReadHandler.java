@@ -17,7 +17,7 @@ import alluxio.StorageTierAssoc;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.BlockDoesNotExistException;
-import alluxio.metrics.MetricsSystem;
+import alluxio.metrics.CounterHandle;
 import alluxio.network.netty.FileTransferType;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
@@ -51,6 +51,7 @@ public final class BlockReadHandler extends AbstractReadHandler<BlockReadRequest
   private static final Logger LOG = LoggerFactory.getLogger(BlockReadHandler.class);
   private static final long UFS_BLOCK_OPEN_TIMEOUT_MS =
       Configuration.getMs(PropertyKey.WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS);
+  private static final CounterHandle BYTES_READ_ALLUXIO = new CounterHandle("BytesReadAlluxio");
 
   /**
    * The Block Worker.
@@ -147,9 +148,8 @@ public final class BlockReadHandler extends AbstractReadHandler<BlockReadRequest
         try {
           BlockReader reader = mWorker.createBlockReader(request.getSessionId(), request.getId(),
               request.getStart(), false, request.getOpenUfsBlockOptions());
-          String metricName = "BytesReadAlluxio";
           context.setBlockReader(reader);
-          context.setCounter(MetricsSystem.counter(metricName));
+          context.setCounter(BYTES_READ_ALLUXIO);
           mWorker.accessBlock(request.getSessionId(), request.getId());
           if (reader.getChannel() instanceof FileChannel) {
             ((FileChannel) reader.getChannel()).position(request.getStart());
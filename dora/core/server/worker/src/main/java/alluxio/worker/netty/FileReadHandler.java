@@ -15,7 +15,7 @@ import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
-import alluxio.metrics.MetricsSystem;
+import alluxio.metrics.CounterHandle;
 import alluxio.network.netty.FileTransferType;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
@@ -23,6 +23,7 @@ import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.retry.RetryPolicy;
 import alluxio.retry.TimeoutRetry;
+import alluxio.trace.ReadStage;
 import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.block.io.LocalFileBlockReader;
 import alluxio.worker.dora.DoraWorker;
@@ -46,6 +47,7 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequestContext
 
   private static final long UFS_BLOCK_OPEN_TIMEOUT_MS =
       Configuration.getMs(PropertyKey.WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS);
+  private static final CounterHandle BYTES_READ_ALLUXIO = new CounterHandle("BytesReadAlluxio");
 
   private final DoraWorker mWorker;
 
@@ -148,14 +150,17 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequestContext
       RetryPolicy retryPolicy = new TimeoutRetry(UFS_BLOCK_OPEN_TIMEOUT_MS, retryInterval);
       do {
         try {
+          long startNs = System.nanoTime();
           BlockReader reader =
               mWorker.createFileReader(
                   new AlluxioURI(blockReadRequest.getOpenUfsBlockOptions().getUfsPath()).hash(),
                   blockReadRequest.getStart(),
                   false, blockReadRequest.getOpenUfsBlockOptions());
-          String metricName = "BytesReadAlluxio";
+          if (context.getTrace() != null) {
+            context.getTrace().record(ReadStage.READER_OPEN, System.nanoTime() - startNs);
+          }
           context.setBlockReader(reader);
-          context.setCounter(MetricsSystem.counter(metricName));
+          context.setCounter(BYTES_READ_ALLUXIO);
           if (reader.getChannel() instanceof FileChannel) {
             ((FileChannel) reader.getChannel()).position(blockReadRequest.getStart());
           }
@@ -15,11 +15,11 @@ import alluxio.client.file.dora.netty.DebugLoggingTracer;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.status.AlluxioStatusException;
+import alluxio.metrics.CounterHandle;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.util.CommonUtils;
 
-import com.codahale.metrics.Counter;
 import com.github.oxo42.stateless4j.StateMachine;
 import com.github.oxo42.stateless4j.StateMachineConfig;
 import com.github.oxo42.stateless4j.transitions.Transition;
@@ -477,7 +477,7 @@ public class PacketReadTaskStateMachine<T extends ReadRequestContext<?>> {
      * @param bytesRead bytes read
      */
     private void incrementMetrics(long bytesRead) {
-      Counter counter = mContext.getCounter();
+      CounterHandle counter = mContext.getCounter();
       Preconditions.checkState(counter != null);
       counter.inc(bytesRead);
     }
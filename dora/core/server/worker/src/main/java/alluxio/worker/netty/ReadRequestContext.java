@@ -11,7 +11,8 @@
 
 package alluxio.worker.netty;
 
-import com.codahale.metrics.Counter;
+import alluxio.metrics.CounterHandle;
+import alluxio.trace.ReadTrace;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -71,7 +72,11 @@ public class ReadRequestContext<T extends ReadRequest> {
   private boolean mCancel;
   private Error mError;
 
-  private Counter mCounter;
+  private CounterHandle mCounter;
+
+  /** The trace of the request if it is sampled by the client. */
+  @Nullable
+  private ReadTrace mTrace;
 
   /** This is set when the SUCCESS or CANCEL response is sent. This is only for sanity check. */
   private volatile boolean mDone;
@@ -157,10 +162,18 @@ public class ReadRequestContext<T extends ReadRequest> {
    * @return metrics counter associated with this request
    */
   @Nullable
-  public Counter getCounter() {
+  public CounterHandle getCounter() {
     return mCounter;
   }
 
+  /**
+   * @return the trace of the request, or null if the request is not sampled
+   */
+  @Nullable
+  public ReadTrace getTrace() {
+    return mTrace;
+  }
+
   /**
    * @param packetReaderActive packet reader state to set
    */
@@ -219,7 +232,14 @@ public class ReadRequestContext<T extends ReadRequest> {
   /**
    * @param counter counter to set
    */
-  public void setCounter(Counter counter) {
+  public void setCounter(CounterHandle counter) {
     mCounter = counter;
   }
+
+  /**
+   * @param trace the trace of the request
+   */
+  public void setTrace(@Nullable ReadTrace trace) {
+    mTrace = trace;
+  }
 }
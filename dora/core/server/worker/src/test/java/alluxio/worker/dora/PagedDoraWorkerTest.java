@@ -21,12 +21,16 @@ import alluxio.client.file.cache.PageMetaStore;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.grpc.FileFailure;
+import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.Route;
 import alluxio.grpc.RouteFailure;
 import alluxio.grpc.UfsReadOptions;
 import alluxio.grpc.WriteOptions;
+import alluxio.underfs.Fingerprint;
+import alluxio.underfs.UnderFileSystem;
 import alluxio.util.io.BufferUtils;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.junit.After;
 import org.junit.Assert;
@@ -83,9 +87,9 @@ public class PagedDoraWorkerTest {
     BufferUtils.writeBufferToFile(ufsPath, buffer);
     alluxio.grpc.File file =
         alluxio.grpc.File.newBuilder().setUfsPath(ufsPath).setLength(length).setMountId(1).build();
-    ListenableFuture<List<FileFailure>> load = mWorker.load(Collections.singletonList(file),
+    ListenableFuture<LoadFileResponse> load = mWorker.load(Collections.singletonList(file),
         UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false).build());
-    List<FileFailure> fileFailures = load.get(30, TimeUnit.SECONDS);
+    List<FileFailure> fileFailures = load.get(30, TimeUnit.SECONDS).getFilesList();
     Assert.assertEquals(0, fileFailures.size());
     List<PageId> cachedPages =
         mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(ufsPath).hash(), length);
@@ -99,6 +103,167 @@ public class PagedDoraWorkerTest {
     }
   }
 
+  @Test
+  public void testLoadWithBandwidth()
+      throws ExecutionException, InterruptedException, TimeoutException, IOException {
+    int numPages = 4;
+    long length = mPageSize * numPages;
+    String ufsPath = mTestFolder.newFile("test").getAbsolutePath();
+    byte[] buffer = BufferUtils.getIncreasingByteArray((int) length);
+    BufferUtils.writeBufferToFile(ufsPath, buffer);
+    alluxio.grpc.File file =
+        alluxio.grpc.File.newBuilder().setUfsPath(ufsPath).setLength(length).setMountId(1).build();
+    long start = System.nanoTime();
+    // two pages per second: the first page is read right away, the other three take 1.5 seconds
+    ListenableFuture<LoadFileResponse> load = mWorker.load(Collections.singletonList(file),
+        UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false)
+            .setBandwidth(2 * mPageSize).build());
+    List<FileFailure> fileFailures = load.get(30, TimeUnit.SECONDS).getFilesList();
+    Assert.assertEquals(0, fileFailures.size());
+    assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+    List<PageId> cachedPages =
+        mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(ufsPath).hash(), length);
+    Assert.assertEquals(numPages, cachedPages.size());
+  }
+
+  @Test
+  public void testLoadRanges()
+      throws ExecutionException, InterruptedException, TimeoutException, IOException {
+    int numPages = 10;
+    long length = mPageSize * numPages;
+    String ufsPath = mTestFolder.newFile("test").getAbsolutePath();
+    byte[] buffer = BufferUtils.getIncreasingByteArray((int) length);
+    BufferUtils.writeBufferToFile(ufsPath, buffer);
+    alluxio.grpc.File.Builder file =
+        alluxio.grpc.File.newBuilder().setUfsPath(ufsPath).setLength(length).setMountId(1);
+    long half = mPageSize * numPages / 2;
+    // load the first range only
+    ListenableFuture<LoadFileResponse> load = mWorker.load(
+        ImmutableList.of(file.setOffset(0).setRangeLength(half).build()),
+        UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false).build());
+    Assert.assertEquals(0, load.get(30, TimeUnit.SECONDS).getFilesCount());
+    Assert.assertEquals(numPages / 2,
+        mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(ufsPath).hash(), length).size());
+    // the second range completes the file
+    load = mWorker.load(
+        ImmutableList.of(file.setOffset(half).setRangeLength(length - half).build()),
+        UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false).build());
+    Assert.assertEquals(0, load.get(30, TimeUnit.SECONDS).getFilesCount());
+    List<PageId> cachedPages =
+        mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(ufsPath).hash(), length);
+    Assert.assertEquals(numPages, cachedPages.size());
+    int start = 0;
+    for (PageId pageId : cachedPages) {
+      byte[] buff = new byte[(int) mPageSize];
+      mCacheManager.get(pageId, (int) mPageSize, buff, 0);
+      assertTrue(BufferUtils.equalIncreasingByteArray(start, (int) mPageSize, buff));
+      start += mPageSize;
+    }
+  }
+
+  @Test
+  public void testLoadSkipsCachedPages()
+      throws ExecutionException, InterruptedException, TimeoutException, IOException {
+    int numPages = 10;
+    long length = mPageSize * numPages;
+    String ufsPath = mTestFolder.newFile("test").getAbsolutePath();
+    BufferUtils.writeBufferToFile(ufsPath, BufferUtils.getIncreasingByteArray((int) length));
+    alluxio.grpc.File.Builder file =
+        alluxio.grpc.File.newBuilder().setUfsPath(ufsPath).setLength(length).setMountId(1);
+    UfsReadOptions options =
+        UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false).build();
+    LoadFileResponse response = mWorker.load(
+        ImmutableList.of(file.setOffset(mPageSize).setRangeLength(3 * mPageSize).build()),
+        options).get(30, TimeUnit.SECONDS);
+    Assert.assertEquals(0, response.getBytesSkipped());
+    // only the pages not loaded by the first range are read
+    response = mWorker.load(ImmutableList.of(file.clearOffset().clearRangeLength().build()),
+        options).get(30, TimeUnit.SECONDS);
+    Assert.assertEquals(0, response.getFilesCount());
+    Assert.assertEquals(3 * mPageSize, response.getBytesSkipped());
+    Assert.assertEquals(numPages,
+        mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(ufsPath).hash(), length).size());
+    response = mWorker.load(ImmutableList.of(file.build()), options).get(30, TimeUnit.SECONDS);
+    Assert.assertEquals(length, response.getBytesSkipped());
+  }
+
+  @Test
+  public void testLoadChangedFile()
+      throws ExecutionException, InterruptedException, TimeoutException, IOException {
+    int numPages = 4;
+    long length = mPageSize * numPages;
+    String ufsPath = mTestFolder.newFile("test").getAbsolutePath();
+    BufferUtils.writeBufferToFile(ufsPath, BufferUtils.getIncreasingByteArray((int) length));
+    UfsReadOptions options =
+        UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false).build();
+    LoadFileResponse response = mWorker.load(ImmutableList.of(alluxio.grpc.File.newBuilder()
+        .setUfsPath(ufsPath).setLength(length).setMountId(1).build()), options)
+        .get(30, TimeUnit.SECONDS);
+    Assert.assertEquals(0, response.getFilesCount());
+
+    // the file is rewritten with other content and length
+    long newLength = length + mPageSize;
+    BufferUtils.writeBufferToFile(ufsPath,
+        BufferUtils.getIncreasingByteArray(1, (int) newLength));
+    UnderFileSystem ufs = UnderFileSystem.Factory.create(ufsPath, Configuration.global());
+    String fingerprint =
+        Fingerprint.create(ufs.getUnderFSType(), ufs.getStatus(ufsPath)).serialize();
+    response = mWorker.load(ImmutableList.of(alluxio.grpc.File.newBuilder()
+        .setUfsPath(ufsPath).setLength(newLength).setMountId(1).setUfsFingerprint(fingerprint)
+        .build()), options).get(30, TimeUnit.SECONDS);
+    Assert.assertEquals(0, response.getFilesCount());
+    Assert.assertEquals(0, response.getBytesSkipped());
+    List<PageId> cachedPages =
+        mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(ufsPath).hash(), newLength);
+    Assert.assertEquals(numPages + 1, cachedPages.size());
+    byte[] buff = new byte[(int) mPageSize];
+    mCacheManager.get(cachedPages.get(0), (int) mPageSize, buff, 0);
+    assertTrue(BufferUtils.equalIncreasingByteArray(1, (int) mPageSize, buff));
+  }
+
+  @Test
+  public void testLoadChangedFileRanges()
+      throws ExecutionException, InterruptedException, TimeoutException, IOException {
+    int numPages = 4;
+    long length = mPageSize * numPages;
+    String ufsPath = mTestFolder.newFile("test").getAbsolutePath();
+    BufferUtils.writeBufferToFile(ufsPath, BufferUtils.getIncreasingByteArray((int) length));
+    UfsReadOptions options =
+        UfsReadOptions.newBuilder().setUser("test").setTag("1").setPositionShort(false).build();
+    LoadFileResponse response = mWorker.load(ImmutableList.of(alluxio.grpc.File.newBuilder()
+        .setUfsPath(ufsPath).setLength(length).setMountId(1).build()), options)
+        .get(30, TimeUnit.SECONDS);
+    Assert.assertEquals(0, response.getFilesCount());
+
+    // the file is rewritten, and all its ranges are loaded at once
+    numPages++;
+    length += mPageSize;
+    BufferUtils.writeBufferToFile(ufsPath, BufferUtils.getIncreasingByteArray(1, (int) length));
+    UnderFileSystem ufs = UnderFileSystem.Factory.create(ufsPath, Configuration.global());
+    String fingerprint =
+        Fingerprint.create(ufs.getUnderFSType(), ufs.getStatus(ufsPath)).serialize();
+    alluxio.grpc.File.Builder file = alluxio.grpc.File.newBuilder().setUfsPath(ufsPath)
+        .setLength(length).setMountId(1).setUfsFingerprint(fingerprint);
+    List<alluxio.grpc.File> ranges = new ArrayList<>();
+    for (int i = 0; i < numPages; i++) {
+      ranges.add(file.setOffset(i * mPageSize).setRangeLength(mPageSize).build());
+    }
+    response = mWorker.load(ranges, options).get(30, TimeUnit.SECONDS);
+    Assert.assertEquals(0, response.getFilesCount());
+    Assert.assertEquals(0, response.getBytesSkipped());
+    // the file is invalidated once, so no range drops the pages another range just loaded
+    List<PageId> cachedPages =
+        mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(ufsPath).hash(), length);
+    Assert.assertEquals(numPages, cachedPages.size());
+    int start = 1;
+    for (PageId pageId : cachedPages) {
+      byte[] buff = new byte[(int) mPageSize];
+      mCacheManager.get(pageId, (int) mPageSize, buff, 0);
+      assertTrue(BufferUtils.equalIncreasingByteArray(start, (int) mPageSize, buff));
+      start += mPageSize;
+    }
+  }
+
   @Test
   public void testSingleFileCopy() throws IOException, ExecutionException, InterruptedException {
     File srcRoot = mTestFolder.newFolder("src");
@@ -0,0 +1,133 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.PositionReader;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.grpc.UfsReadOptions;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for {@link UfsReadThrottle}.
+ */
+public final class UfsReadThrottleTest {
+  private final ExecutorService mExecutor = Executors.newFixedThreadPool(2);
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void limiterFollowsBandwidth() {
+    UfsReadThrottle throttle = new UfsReadThrottle(Duration.ofMillis(100));
+    assertNull(throttle.getLimiter(options("job")));
+
+    RateLimiter limiter = throttle.getLimiter(options("job").toBuilder().setBandwidth(100).build());
+    assertEquals(100, limiter.getRate(), 0);
+    RateLimiter updated =
+        throttle.getLimiter(options("job").toBuilder().setBandwidth(200).build());
+    assertSame(limiter, updated);
+    assertEquals(200, updated.getRate(), 0);
+    RateLimiter other = throttle.getLimiter(options("other").toBuilder().setBandwidth(50).build());
+    assertEquals(50, other.getRate(), 0);
+    assertEquals(200, limiter.getRate(), 0);
+  }
+
+  @Test
+  public void backgroundWaitsForForeground() throws Exception {
+    UfsReadThrottle throttle = new UfsReadThrottle(Duration.ofMinutes(1));
+    CountDownLatch foregroundStarted = new CountDownLatch(1);
+    CountDownLatch foregroundRelease = new CountDownLatch(1);
+    PositionReader foreground = throttle.foreground((position, buffer, length) -> {
+      foregroundStarted.countDown();
+      try {
+        foregroundRelease.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return length;
+    });
+    PositionReader background = throttle.background((position, buffer, length) -> length, null);
+
+    Future<Integer> foregroundRead = mExecutor.submit(() -> read(foreground));
+    assertTrue(foregroundStarted.await(10, TimeUnit.SECONDS));
+    assertEquals(1, throttle.getForegroundReads());
+    Future<Integer> backgroundRead = mExecutor.submit(() -> read(background));
+    Thread.sleep(200);
+    assertFalse(backgroundRead.isDone());
+
+    foregroundRelease.countDown();
+    assertEquals(1, (int) foregroundRead.get(10, TimeUnit.SECONDS));
+    assertEquals(1, (int) backgroundRead.get(10, TimeUnit.SECONDS));
+    assertEquals(0, throttle.getForegroundReads());
+  }
+
+  @Test
+  public void backgroundWaitIsBounded() throws Exception {
+    UfsReadThrottle throttle = new UfsReadThrottle(Duration.ofMillis(50));
+    CountDownLatch foregroundStarted = new CountDownLatch(1);
+    CountDownLatch foregroundRelease = new CountDownLatch(1);
+    PositionReader foreground = throttle.foreground((position, buffer, length) -> {
+      foregroundStarted.countDown();
+      try {
+        foregroundRelease.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return length;
+    });
+    PositionReader background = throttle.background((position, buffer, length) -> length, null);
+
+    mExecutor.submit(() -> read(foreground));
+    assertTrue(foregroundStarted.await(10, TimeUnit.SECONDS));
+    assertEquals(1, read(background));
+    foregroundRelease.countDown();
+  }
+
+  @Test
+  public void backgroundIsRateLimited() throws Exception {
+    UfsReadThrottle throttle = new UfsReadThrottle(Duration.ofMillis(100));
+    RateLimiter limiter =
+        throttle.getLimiter(options("job").toBuilder().setBandwidth(1000).build());
+    PositionReader background = throttle.background((position, buffer, length) -> length, limiter);
+    long start = System.nanoTime();
+    // the first read takes the tokens in advance, the second waits for them to be refilled
+    background.read(0, new byte[1000], 1000);
+    background.read(0, new byte[500], 500);
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900));
+  }
+
+  private static int read(PositionReader reader) throws Exception {
+    return reader.readInternal(0, new ByteArrayTargetBuffer(new byte[1], 0), 1);
+  }
+
+  private static UfsReadOptions options(String tag) {
+    return UfsReadOptions.newBuilder().setTag(tag).setPositionShort(false).build();
+  }
+}
@@ -723,6 +723,7 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       }
     }
     super.umount(force);
+    mStreamFactory.close();
   }
 
   @VisibleForTesting
@@ -16,6 +16,8 @@ import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
 import alluxio.concurrent.LockMode;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.runtime.AlluxioRuntimeException;
@@ -32,6 +34,8 @@ import com.google.common.base.Preconditions;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -44,6 +48,12 @@ public class FuseFileInStream implements FuseFileStream {
   private final FileStatus mFileStatus;
   private final AlluxioURI mURI;
   private final CloseableResource<Lock> mLockResource;
+  private final long mReorderTimeoutNs = TimeUnit.MILLISECONDS.toNanos(
+      Configuration.getMs(PropertyKey.FUSE_SEQUENTIAL_READ_REORDER_TIMEOUT));
+  /** Number of reads of this stream that have been dispatched but not finished yet. */
+  private final AtomicInteger mPendingReads = new AtomicInteger(0);
+  /** The offset right after the last served read, guarded by this. */
+  private long mNextOffset = 0;
   private volatile boolean mClosed = false;
 
   /**
@@ -101,7 +111,16 @@ public class FuseFileInStream implements FuseFileStream {
   }
 
   @Override
-  public synchronized int read(ByteBuffer buf, long size, long offset) {
+  public int read(ByteBuffer buf, long size, long offset) {
+    mPendingReads.incrementAndGet();
+    try {
+      return readInOrder(buf, size, offset);
+    } finally {
+      mPendingReads.decrementAndGet();
+    }
+  }
+
+  private synchronized int readInOrder(ByteBuffer buf, long size, long offset) {
     Preconditions.checkArgument(size >= 0 && offset >= 0 && size <= buf.capacity(),
         PreconditionMessage.ERR_BUFFER_STATE.toString(), buf.capacity(), offset, size);
     if (size == 0) {
@@ -110,6 +129,7 @@ public class FuseFileInStream implements FuseFileStream {
     if (offset >= mFileStatus.getFileLength()) {
       return 0;
     }
+    awaitPrecedingReads(offset);
     final int sz = (int) size;
     int totalRead = 0;
     int currentRead;
@@ -123,10 +143,41 @@ public class FuseFileInStream implements FuseFileStream {
       } while (currentRead > 0 && totalRead < sz);
     } catch (IOException e) {
       throw AlluxioRuntimeException.from(e);
+    } finally {
+      mNextOffset = offset + totalRead;
+      notifyAll();
     }
     return totalRead == 0 ? currentRead : totalRead;
   }
 
+  /**
+   * Multiple libfuse threads may serve the kernel read-ahead requests of one file handle,
+   * so a read may arrive before the read of the range right in front of it.
+   * Gives the other in-flight reads a bounded chance to go first so that
+   * the underlying sequential stream keeps moving forward instead of seeking.
+   * Must be called while holding the monitor of this stream.
+   *
+   * @param offset the offset of the current read
+   */
+  private void awaitPrecedingReads(long offset) {
+    if (mReorderTimeoutNs <= 0) {
+      return;
+    }
+    long deadline = System.nanoTime() + mReorderTimeoutNs;
+    while (offset > mNextOffset && mPendingReads.get() > 1) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+      try {
+        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
   @Override
   public void write(ByteBuffer buf, long size, long offset) {
     throw new FailedPreconditionRuntimeException(String
@@ -22,6 +22,7 @@ import alluxio.fuse.lock.FuseReadWriteLockManager;
 
 import jnr.constants.platform.OpenFlags;
 
+import java.io.Closeable;
 import java.nio.ByteBuffer;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -75,13 +76,15 @@ public interface FuseFileStream extends AutoCloseable {
    * Factory for {@link FuseFileInStream}.
    */
   @ThreadSafe
-  class Factory {
+  class Factory implements Closeable {
     private final FuseReadWriteLockManager mLockManager = new FuseReadWriteLockManager();
     private final FileSystem mFileSystem;
     private final AuthPolicy mAuthPolicy;
     // TODO(lu) allow different threads reading from same file to share the same position reader
     private final boolean mPositionReadEnabled
         = Configuration.getBoolean(PropertyKey.FUSE_POSITION_READ_ENABLED);
+    private final FuseReadAheadManager mReadAheadManager
+        = FuseReadAheadManager.create(Configuration.global());
 
     /**
      * Creates an instance of {@link FuseFileStream.Factory} for
@@ -109,7 +112,7 @@ public interface FuseFileStream extends AutoCloseable {
       switch (OpenFlags.valueOf(flags & O_ACCMODE.intValue())) {
         case O_RDONLY:
           if (mPositionReadEnabled) {
-            return FusePositionReader.create(mFileSystem, mLockManager, uri);
+            return FusePositionReader.create(mFileSystem, mLockManager, uri, mReadAheadManager);
           }
           return FuseFileInStream.create(mFileSystem, mLockManager, uri);
         case O_WRONLY:
@@ -123,5 +126,13 @@ public interface FuseFileStream extends AutoCloseable {
               uri, flags, mode);
       }
     }
+
+    /**
+     * Releases the resources shared by the created streams.
+     */
+    @Override
+    public void close() {
+      mReadAheadManager.close();
+    }
   }
 }
@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -47,6 +48,19 @@ public class FusePositionReader implements FuseFileStream {
   public static FusePositionReader create(
       FileSystem fileSystem, FuseReadWriteLockManager lockManager,
       AlluxioURI uri) {
+    return create(fileSystem, lockManager, uri, null);
+  }
+
+  /**
+   * @param fileSystem
+   * @param lockManager
+   * @param uri
+   * @param readAheadManager the read-ahead manager, or null to read without read-ahead
+   * @return Fuse position reader
+   */
+  public static FusePositionReader create(
+      FileSystem fileSystem, FuseReadWriteLockManager lockManager,
+      AlluxioURI uri, @Nullable FuseReadAheadManager readAheadManager) {
     Preconditions.checkNotNull(fileSystem);
     Preconditions.checkNotNull(uri);
     // Make sure file is not being written by current FUSE
@@ -64,7 +78,10 @@ public class FusePositionReader implements FuseFileStream {
 
       PositionReader reader = fileSystem.openPositionRead(status.get(),
           OpenFilePOptions.getDefaultInstance());
-      return new FusePositionReader(reader, lockResource,
+      FuseReadAheadBuffer readAheadBuffer = readAheadManager != null
+          && readAheadManager.isEnabled()
+          ? new FuseReadAheadBuffer(reader, status.get().getLength(), readAheadManager) : null;
+      return new FusePositionReader(reader, readAheadBuffer, lockResource,
           new FileStatus(status.get().getLength()), uri);
     } catch (Throwable t) {
       lockResource.close();
@@ -73,15 +90,19 @@ public class FusePositionReader implements FuseFileStream {
   }
 
   private final PositionReader mPositionReader;
+  @Nullable
+  private final FuseReadAheadBuffer mReadAheadBuffer;
   private final FileStatus mFileStatus;
   private final AlluxioURI mURI;
   private final CloseableResource<Lock> mLockResource;
   private volatile boolean mClosed = false;
 
   private FusePositionReader(PositionReader reader,
+      @Nullable FuseReadAheadBuffer readAheadBuffer,
       CloseableResource<Lock> lockResource,
       FileStatus fileStatus, AlluxioURI uri) {
     mPositionReader = Preconditions.checkNotNull(reader);
+    mReadAheadBuffer = readAheadBuffer;
     mLockResource = Preconditions.checkNotNull(lockResource);
     mFileStatus = Preconditions.checkNotNull(fileStatus);
     mURI = Preconditions.checkNotNull(uri);
@@ -92,8 +113,19 @@ public class FusePositionReader implements FuseFileStream {
     if (mClosed) {
       throw new FailedPreconditionRuntimeException("Position reader is closed");
     }
+    int served = 0;
+    if (mReadAheadBuffer != null) {
+      served = mReadAheadBuffer.read(buf, (int) size, offset);
+      if (served == size) {
+        return served;
+      }
+    }
     try {
-      return mPositionReader.read(offset, buf, (int) size);
+      int read = mPositionReader.read(offset + served, buf, (int) size - served);
+      if (read <= 0) {
+        return served > 0 ? served : read;
+      }
+      return served + read;
     } catch (IOException e) {
       throw AlluxioRuntimeException.from(e);
     }
@@ -125,6 +157,9 @@ public class FusePositionReader implements FuseFileStream {
       return;
     }
     mClosed = true;
+    if (mReadAheadBuffer != null) {
+      mReadAheadBuffer.close();
+    }
     try {
       mPositionReader.close();
     } catch (IOException e) {
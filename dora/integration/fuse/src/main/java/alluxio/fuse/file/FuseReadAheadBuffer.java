@@ -0,0 +1,311 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.file;
+
+import alluxio.Constants;
+import alluxio.PositionReader;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Adaptive read-ahead buffer of one FUSE file handle.
+ * <p>
+ * The kernel splits FUSE reads into small requests (128KB by default). Once the handle
+ * reads sequentially, the buffer fetches a larger window of the file in the background
+ * and serves the following kernel reads from memory. The window doubles every time it is
+ * refilled while the reads stay sequential, up to the configured maximum, and the next
+ * window is fetched as soon as half of the current one has been consumed.
+ * Random reads drop the buffered data and are left to the caller.
+ */
+@ThreadSafe
+final class FuseReadAheadBuffer implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(FuseReadAheadBuffer.class);
+  /** The size of the first read-ahead window. */
+  private static final int INITIAL_WINDOW_SIZE = Constants.MB;
+  /** The number of sequential reads in a row before read-ahead starts. */
+  private static final int SEQUENTIAL_READS_THRESHOLD = 2;
+
+  private final PositionReader mReader;
+  private final long mFileLength;
+  private final FuseReadAheadManager mManager;
+  private final int mInitialWindowSize;
+
+  /** The offset a sequential read would start at next. */
+  private long mNextOffset = 0;
+  private int mSequentialReads = 0;
+  private int mWindowSize;
+  /** The window serving the current reads. */
+  @Nullable
+  private Window mCurrent = null;
+  /** The window right after the current one, fetched in advance. */
+  @Nullable
+  private Window mNext = null;
+  private boolean mClosed = false;
+
+  /**
+   * @param reader the position reader of the file
+   * @param fileLength the length of the file
+   * @param manager the read-ahead manager
+   */
+  FuseReadAheadBuffer(PositionReader reader, long fileLength, FuseReadAheadManager manager) {
+    mReader = Preconditions.checkNotNull(reader);
+    mManager = Preconditions.checkNotNull(manager);
+    Preconditions.checkArgument(manager.isEnabled(), "read-ahead is disabled");
+    mFileLength = fileLength;
+    mInitialWindowSize = Math.min(INITIAL_WINDOW_SIZE, manager.getMaxReadAheadSize());
+    mWindowSize = mInitialWindowSize;
+  }
+
+  /**
+   * Serves a read from the read-ahead data.
+   * The caller is expected to read the remaining bytes, if any, from the file directly.
+   *
+   * @param buf the buffer to read into, starting from its position
+   * @param size the number of bytes to read
+   * @param offset the file offset to read from
+   * @return the number of bytes served from the read-ahead data
+   */
+  synchronized int read(ByteBuffer buf, int size, long offset) {
+    if (mClosed || size <= 0) {
+      return 0;
+    }
+    if (offset == mNextOffset) {
+      mSequentialReads++;
+    } else {
+      mSequentialReads = 0;
+      mWindowSize = mInitialWindowSize;
+    }
+    mNextOffset = offset + size;
+    int served = 0;
+    while (served < size) {
+      Window window = locate(offset + served);
+      if (window == null) {
+        break;
+      }
+      int copied = window.copyTo(buf, offset + served, size - served);
+      if (copied < 0) {
+        discardAll();
+        break;
+      }
+      if (copied == 0) {
+        break;
+      }
+      served += copied;
+    }
+    prefetch();
+    return served;
+  }
+
+  /**
+   * Drops the buffered data. Waits for the background reads still running, so that the
+   * position reader can be closed once this returns.
+   */
+  @Override
+  public synchronized void close() {
+    mClosed = true;
+    Window current = mCurrent;
+    Window next = mNext;
+    discardAll();
+    if (current != null) {
+      current.awaitDone();
+    }
+    if (next != null) {
+      next.awaitDone();
+    }
+  }
+
+  /**
+   * Finds the window containing the given offset. Moves on to the prefetched window or
+   * starts a new one if the reads are sequential.
+   *
+   * @param offset the file offset
+   * @return the window containing the offset, or null if the offset is not buffered
+   */
+  @Nullable
+  private Window locate(long offset) {
+    if (mCurrent != null && mCurrent.contains(offset)) {
+      return mCurrent;
+    }
+    if (mCurrent != null && mNext != null && mNext.contains(offset)) {
+      mCurrent.discard();
+      mCurrent = mNext;
+      mNext = null;
+      return mCurrent;
+    }
+    discardAll();
+    if (mSequentialReads < SEQUENTIAL_READS_THRESHOLD) {
+      return null;
+    }
+    mCurrent = startWindow(offset);
+    return mCurrent;
+  }
+
+  /**
+   * Fetches the next window once half of the current one is consumed.
+   */
+  private void prefetch() {
+    if (mCurrent == null || mNext != null || mSequentialReads < SEQUENTIAL_READS_THRESHOLD
+        || mNextOffset < mCurrent.mOffset + mCurrent.mData.length / 2) {
+      return;
+    }
+    mWindowSize = (int) Math.min((long) mWindowSize * 2, mManager.getMaxReadAheadSize());
+    mNext = startWindow(mCurrent.end());
+  }
+
+  @Nullable
+  private Window startWindow(long offset) {
+    long size = Math.min(mWindowSize, mFileLength - offset);
+    if (size <= 0 || !mManager.tryReserve(size)) {
+      return null;
+    }
+    Window window = new Window(offset, (int) size);
+    try {
+      mManager.getExecutor().execute(window::load);
+    } catch (RejectedExecutionException e) {
+      // the manager is closed
+      mManager.release(size);
+      return null;
+    }
+    return window;
+  }
+
+  private void discardAll() {
+    if (mCurrent != null) {
+      mCurrent.discard();
+      mCurrent = null;
+    }
+    if (mNext != null) {
+      mNext.discard();
+      mNext = null;
+    }
+  }
+
+  /**
+   * A range of the file fetched in the background.
+   */
+  private final class Window {
+    private static final int NEW = 0;
+    private static final int LOADING = 1;
+    private static final int CANCELLED = 2;
+
+    private final long mOffset;
+    private final byte[] mData;
+    /** Completed once the background read finishes or is cancelled before it starts. */
+    private final CompletableFuture<Integer> mLoaded = new CompletableFuture<>();
+    private final AtomicInteger mState = new AtomicInteger(NEW);
+
+    Window(long offset, int size) {
+      mOffset = offset;
+      mData = new byte[size];
+    }
+
+    private void load() {
+      if (!mState.compareAndSet(NEW, LOADING)) {
+        return;
+      }
+      int loaded = 0;
+      try {
+        while (loaded < mData.length) {
+          int read = mReader.read(mOffset + loaded, mData, loaded, mData.length - loaded);
+          if (read <= 0) {
+            break;
+          }
+          loaded += read;
+        }
+        mLoaded.complete(loaded);
+      } catch (IOException | RuntimeException e) {
+        mLoaded.completeExceptionally(e);
+      }
+    }
+
+    boolean contains(long offset) {
+      return offset >= mOffset && offset < end();
+    }
+
+    long end() {
+      return mOffset + mData.length;
+    }
+
+    /**
+     * Waits for the window to be loaded and copies data out of it.
+     *
+     * @param buf the target buffer
+     * @param offset the file offset to copy from
+     * @param length the maximum number of bytes to copy
+     * @return the number of bytes copied, or -1 if the window failed to load
+     */
+    int copyTo(ByteBuffer buf, long offset, int length) {
+      int loaded;
+      try {
+        loaded = mLoaded.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return -1;
+      } catch (ExecutionException e) {
+        LOG.debug("Failed to read ahead {} bytes at offset {}", mData.length, mOffset, e);
+        return -1;
+      }
+      int start = (int) (offset - mOffset);
+      int copied = Math.min(length, loaded - start);
+      if (copied <= 0) {
+        return 0;
+      }
+      buf.put(mData, start, copied);
+      return copied;
+    }
+
+    /**
+     * Cancels the background read if it has not started yet, and returns the memory of the
+     * window to the budget once the read is done.
+     */
+    void discard() {
+      if (mState.compareAndSet(NEW, CANCELLED)) {
+        mLoaded.cancel(false);
+      }
+      mLoaded.whenComplete((loaded, error) -> mManager.release(mData.length));
+    }
+
+    /**
+     * Waits for a discarded window to stop reading from the file.
+     */
+    void awaitDone() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          mLoaded.get();
+          break;
+        } catch (InterruptedException e) {
+          // the read must finish before the reader is closed
+          interrupted = true;
+        } catch (ExecutionException | CancellationException e) {
+          break;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
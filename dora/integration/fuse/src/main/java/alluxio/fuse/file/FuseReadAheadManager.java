@@ -0,0 +1,122 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.file;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.executor.ExecutorServiceFactories;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Shares the read-ahead memory budget and the background read threads
+ * among all the {@link FuseReadAheadBuffer}s of a FUSE process.
+ */
+@ThreadSafe
+public final class FuseReadAheadManager implements Closeable {
+  private final long mMaxReadAheadSize;
+  private final long mMemoryBudget;
+  private final AtomicLong mReservedBytes = new AtomicLong(0);
+  private final ExecutorService mExecutor;
+
+  /**
+   * Creates a {@link FuseReadAheadManager} from the configuration.
+   *
+   * @param conf the Alluxio configuration
+   * @return the read-ahead manager
+   */
+  public static FuseReadAheadManager create(AlluxioConfiguration conf) {
+    return new FuseReadAheadManager(conf.getBytes(PropertyKey.FUSE_READ_AHEAD_MAX_SIZE),
+        conf.getBytes(PropertyKey.FUSE_READ_AHEAD_MEMORY_BUDGET));
+  }
+
+  /**
+   * @param maxReadAheadSize the largest single read-ahead in bytes, 0 to disable read-ahead
+   * @param memoryBudget the total bytes of all read-ahead buffers
+   */
+  FuseReadAheadManager(long maxReadAheadSize, long memoryBudget) {
+    Preconditions.checkArgument(maxReadAheadSize >= 0 && maxReadAheadSize <= Integer.MAX_VALUE,
+        "max read-ahead size should be between 0 and %s", Integer.MAX_VALUE);
+    Preconditions.checkArgument(memoryBudget >= 0, "memory budget should not be negative");
+    mMaxReadAheadSize = maxReadAheadSize;
+    mMemoryBudget = memoryBudget;
+    mExecutor = ExecutorServiceFactories.cachedThreadPool("fuse-read-ahead").create();
+  }
+
+  /**
+   * @return whether read-ahead is enabled
+   */
+  public boolean isEnabled() {
+    return mMaxReadAheadSize > 0 && mMemoryBudget > 0;
+  }
+
+  /**
+   * @return the largest single read-ahead in bytes
+   */
+  public int getMaxReadAheadSize() {
+    return (int) mMaxReadAheadSize;
+  }
+
+  /**
+   * Tries to reserve memory for a read-ahead buffer.
+   *
+   * @param bytes the size of the buffer
+   * @return true if the memory is reserved and should be released later
+   */
+  public boolean tryReserve(long bytes) {
+    while (true) {
+      long reserved = mReservedBytes.get();
+      if (reserved + bytes > mMemoryBudget) {
+        return false;
+      }
+      if (mReservedBytes.compareAndSet(reserved, reserved + bytes)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Releases memory reserved by {@link #tryReserve(long)}.
+   *
+   * @param bytes the size of the buffer
+   */
+  public void release(long bytes) {
+    mReservedBytes.addAndGet(-bytes);
+  }
+
+  /**
+   * @return the bytes currently reserved by read-ahead buffers
+   */
+  public long getReservedBytes() {
+    return mReservedBytes.get();
+  }
+
+  /**
+   * @return the executor running the background reads
+   */
+  ExecutorService getExecutor() {
+    return mExecutor;
+  }
+
+  /**
+   * Stops the background read threads. Buffers of handles still open stop reading ahead.
+   */
+  @Override
+  public void close() {
+    mExecutor.shutdownNow();
+  }
+}
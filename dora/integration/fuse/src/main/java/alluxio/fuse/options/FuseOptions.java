@@ -96,7 +96,8 @@ public class FuseOptions {
         LOG.error("FUSE 3 does not support direct_io mount option");
       }
       if (mountOptions.stream().noneMatch(a -> a.startsWith("max_idle_threads"))) {
-        String idleThreadsOption = "max_idle_threads=64";
+        String idleThreadsOption = "max_idle_threads="
+            + conf.getInt(PropertyKey.FUSE_JNIFUSE_MAX_IDLE_THREADS);
         mountOptions.add(idleThreadsOption);
         LOG.info("Added fuse mount option {} for FUSE 3", idleThreadsOption);
       }
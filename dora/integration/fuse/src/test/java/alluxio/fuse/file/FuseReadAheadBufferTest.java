@@ -0,0 +1,150 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ByteArrayPositionReader;
+import alluxio.Constants;
+import alluxio.PositionReader;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for {@link FuseReadAheadBuffer}.
+ */
+public final class FuseReadAheadBufferTest {
+  private static final int FILE_LEN = 4 * Constants.MB;
+  private static final int KERNEL_READ_SIZE = 128 * Constants.KB;
+
+  private final byte[] mData = BufferUtils.getIncreasingByteArray(FILE_LEN);
+  private final ByteArrayPositionReader mReader = new ByteArrayPositionReader(mData);
+
+  @Test
+  public void sequentialReads() throws Exception {
+    FuseReadAheadManager manager = new FuseReadAheadManager(2 * Constants.MB, 8 * Constants.MB);
+    long servedBytes = 0;
+    try (FuseReadAheadBuffer buffer = new FuseReadAheadBuffer(mReader, FILE_LEN, manager)) {
+      for (int offset = 0; offset < FILE_LEN; offset += KERNEL_READ_SIZE) {
+        servedBytes += readAndCheck(buffer, offset, KERNEL_READ_SIZE);
+        assertTrue(manager.getReservedBytes() <= 8 * Constants.MB);
+      }
+    }
+    // only the first read before sequential access is detected goes to the file directly
+    assertEquals(FILE_LEN - KERNEL_READ_SIZE, servedBytes);
+    waitForRelease(manager);
+  }
+
+  @Test
+  public void randomReads() throws Exception {
+    FuseReadAheadManager manager = new FuseReadAheadManager(2 * Constants.MB, 8 * Constants.MB);
+    try (FuseReadAheadBuffer buffer = new FuseReadAheadBuffer(mReader, FILE_LEN, manager)) {
+      for (int offset : new int[] {3 * Constants.MB, Constants.MB, 2 * Constants.MB, 0}) {
+        assertEquals(0, readAndCheck(buffer, offset, KERNEL_READ_SIZE));
+      }
+    }
+    assertEquals(0, manager.getReservedBytes());
+  }
+
+  @Test
+  public void exhaustedBudget() throws Exception {
+    FuseReadAheadManager manager = new FuseReadAheadManager(2 * Constants.MB, Constants.KB);
+    try (FuseReadAheadBuffer buffer = new FuseReadAheadBuffer(mReader, FILE_LEN, manager)) {
+      for (int offset = 0; offset < FILE_LEN; offset += KERNEL_READ_SIZE) {
+        assertEquals(0, readAndCheck(buffer, offset, KERNEL_READ_SIZE));
+      }
+    }
+    assertEquals(0, manager.getReservedBytes());
+  }
+
+  @Test
+  public void readAcrossWindows() throws Exception {
+    FuseReadAheadManager manager = new FuseReadAheadManager(Constants.MB, 8 * Constants.MB);
+    try (FuseReadAheadBuffer buffer = new FuseReadAheadBuffer(mReader, FILE_LEN, manager)) {
+      int offset = 0;
+      int size = 3 * KERNEL_READ_SIZE;
+      while (offset < FILE_LEN) {
+        int length = Math.min(size, FILE_LEN - offset);
+        readAndCheck(buffer, offset, length);
+        offset += length;
+      }
+    }
+    waitForRelease(manager);
+  }
+
+  @Test
+  public void closeWaitsForBackgroundReads() throws Exception {
+    FuseReadAheadManager manager = new FuseReadAheadManager(Constants.MB, 8 * Constants.MB);
+    CountDownLatch unblock = new CountDownLatch(1);
+    AtomicInteger activeReads = new AtomicInteger(0);
+    // reads of the first window go through, reads of the prefetched window block
+    PositionReader reader = (position, buffer, length) -> {
+      activeReads.incrementAndGet();
+      try {
+        if (position >= Constants.MB) {
+          unblock.await();
+        }
+        return mReader.read(position, buffer, length);
+      } catch (InterruptedException e) {
+        throw new IOException(e);
+      } finally {
+        activeReads.decrementAndGet();
+      }
+    };
+    FuseReadAheadBuffer buffer = new FuseReadAheadBuffer(reader, FILE_LEN, manager);
+    for (int offset = 0; offset < Constants.MB; offset += KERNEL_READ_SIZE) {
+      readAndCheck(buffer, offset, KERNEL_READ_SIZE);
+    }
+    CommonUtils.waitFor("next window to be fetched", () -> activeReads.get() == 1);
+    CompletableFuture<Void> close = CompletableFuture.runAsync(buffer::close);
+    Thread.sleep(100);
+    assertFalse(close.isDone());
+    unblock.countDown();
+    close.get();
+    assertEquals(0, activeReads.get());
+    waitForRelease(manager);
+    manager.close();
+  }
+
+  /**
+   * Reads like {@link FusePositionReader}, serving what the buffer has and reading the rest
+   * from the file, then checks the content.
+   *
+   * @return the number of bytes served by the read-ahead buffer
+   */
+  private int readAndCheck(FuseReadAheadBuffer buffer, int offset, int length) throws Exception {
+    ByteBuffer buf = ByteBuffer.allocate(length);
+    int served = buffer.read(buf, length, offset);
+    if (served < length) {
+      assertEquals(length - served, mReader.read(offset + served, buf, length - served));
+    }
+    buf.flip();
+    assertTrue(BufferUtils.equalIncreasingByteBuffer(offset, length, buf));
+    return served;
+  }
+
+  private static void waitForRelease(FuseReadAheadManager manager) throws Exception {
+    CommonUtils.waitFor("read-ahead memory to be released",
+        () -> manager.getReservedBytes() == 0, WaitForOptions.defaults().setTimeoutMs(10000));
+  }
+}
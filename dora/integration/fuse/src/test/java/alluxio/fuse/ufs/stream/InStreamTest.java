@@ -11,19 +11,38 @@
 
 package alluxio.fuse.ufs.stream;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
 import alluxio.AlluxioURI;
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.runtime.FailedPreconditionRuntimeException;
 import alluxio.exception.runtime.NotFoundRuntimeException;
 import alluxio.exception.runtime.UnimplementedRuntimeException;
+import alluxio.fuse.file.FuseFileInStream;
 import alluxio.fuse.file.FuseFileStream;
+import alluxio.fuse.lock.FuseReadWriteLockManager;
+import alluxio.grpc.OpenFilePOptions;
+import alluxio.util.CommonUtils;
 import alluxio.util.io.BufferUtils;
 
 import jnr.constants.platform.OpenFlags;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.AdditionalAnswers;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.FutureTask;
 
 /**
  * This class includes the tests for {@link alluxio.fuse.file.FuseFileInStream}.
@@ -85,6 +104,55 @@ public class InStreamTest extends AbstractStreamTest {
     }
   }
 
+  @Test
+  public void concurrentOutOfOrderRead() throws Exception {
+    AlluxioURI alluxioURI = getTestFileUri();
+    writeIncreasingByteArrayToFile(alluxioURI, DEFAULT_FILE_LEN);
+    // records the offsets the underlying stream is positioned at, in order
+    List<Long> seeks = Collections.synchronizedList(new ArrayList<>());
+    FileSystem fileSystem = mock(FileSystem.class, AdditionalAnswers.delegatesTo(mFileSystem));
+    doAnswer(invocation -> {
+      FileInStream inStream = (FileInStream) invocation.callRealMethod();
+      FileInStream recordingStream =
+          mock(FileInStream.class, AdditionalAnswers.delegatesTo(inStream));
+      doAnswer(seek -> {
+        seeks.add(seek.getArgument(0));
+        inStream.seek(seek.getArgument(0));
+        return null;
+      }).when(recordingStream).seek(anyLong());
+      return recordingStream;
+    }).when(fileSystem).openFile(any(URIStatus.class), any(OpenFilePOptions.class));
+    Configuration.set(PropertyKey.FUSE_SEQUENTIAL_READ_REORDER_TIMEOUT, "1min");
+    try (FuseFileInStream inStream = FuseFileInStream.create(fileSystem,
+        new FuseReadWriteLockManager(), alluxioURI)) {
+      int half = DEFAULT_FILE_LEN / 2;
+      ByteBuffer first = ByteBuffer.allocate(half);
+      ByteBuffer second = ByteBuffer.allocate(DEFAULT_FILE_LEN - half);
+      FutureTask<Integer> secondRead =
+          new FutureTask<>(() -> inStream.read(second, DEFAULT_FILE_LEN - half, half));
+      FutureTask<Integer> firstRead = new FutureTask<>(() -> inStream.read(first, half, 0));
+      Thread secondThread = new Thread(secondRead);
+      Thread firstThread = new Thread(firstRead);
+      // the later read is dispatched first and both reads are in flight together
+      synchronized (inStream) {
+        secondThread.start();
+        CommonUtils.waitFor("second read to be dispatched",
+            () -> secondThread.getState() == Thread.State.BLOCKED);
+        firstThread.start();
+        CommonUtils.waitFor("first read to be dispatched",
+            () -> firstThread.getState() == Thread.State.BLOCKED);
+      }
+      Assert.assertEquals(half, (int) firstRead.get());
+      Assert.assertEquals(DEFAULT_FILE_LEN - half, (int) secondRead.get());
+      Assert.assertEquals(Arrays.asList(0L, (long) half), seeks);
+      Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(0, half, first));
+      Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(
+          half, DEFAULT_FILE_LEN - half, second));
+    } finally {
+      Configuration.unset(PropertyKey.FUSE_SEQUENTIAL_READ_REORDER_TIMEOUT);
+    }
+  }
+
   @Test (expected = FailedPreconditionRuntimeException.class)
   public void write() throws Exception {
     AlluxioURI alluxioURI = getTestFileUri();
@@ -104,6 +104,30 @@ public interface Job<T extends Task<?>> {
    */
   boolean isDone();
 
+  /**
+   * Jobs with a higher priority are handed free worker task slots first, and take over the slots
+   * of lower priority jobs as their in-flight tasks finish.
+   * @return the scheduling priority of the job
+   */
+  default int getPriority() {
+    return 0;
+  }
+
+  /**
+   * @return the share of worker task slots the job gets relative to other jobs of the same
+   *  priority
+   */
+  default int getWeight() {
+    return 1;
+  }
+
+  /**
+   * @return the maximum number of tasks of the job that may run at the same time
+   */
+  default int getMaxConcurrentTasks() {
+    return Integer.MAX_VALUE;
+  }
+
   /**
    * Check whether the current pass is finished.
    * @return true if the current pass of job is finished, false if not
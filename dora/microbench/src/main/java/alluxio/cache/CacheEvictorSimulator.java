@@ -0,0 +1,212 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.cache;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
+import alluxio.client.file.cache.evictor.LFUCacheEvictor;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.evictor.TwoChoiceRandomEvictor;
+import alluxio.client.file.cache.evictor.WindowTinyLFUCacheEvictor;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Replays a page access trace against client cache evictors and reports their hit ratios.
+ * <p>
+ * A trace has one access per line, as a file id and a page index separated by whitespace or a
+ * comma. Without a trace, a synthetic one is generated: accesses to a Zipf-distributed working
+ * set, interleaved with sequential scans over pages read only once.
+ */
+public class CacheEvictorSimulator {
+  private static final List<Class<? extends CacheEvictor>> DEFAULT_EVICTORS = Arrays.asList(
+      LRUCacheEvictor.class, LFUCacheEvictor.class, FIFOCacheEvictor.class,
+      TwoChoiceRandomEvictor.class, WindowTinyLFUCacheEvictor.class);
+
+  private CacheEvictorSimulator() {} // prevent instantiation
+
+  /**
+   * Simulates a cache with the given evictor.
+   *
+   * @param evictor the evictor
+   * @param trace the page accesses
+   * @param capacity the number of pages the cache holds
+   * @return the number of hits
+   */
+  public static long simulate(CacheEvictor evictor, List<PageId> trace, int capacity) {
+    Set<PageId> cached = new HashSet<>();
+    long hits = 0;
+    for (PageId page : trace) {
+      if (cached.contains(page)) {
+        hits++;
+        evictor.updateOnGet(page);
+        continue;
+      }
+      if (cached.size() >= capacity) {
+        PageId victim = evictor.evict();
+        evictor.updateOnDelete(victim);
+        cached.remove(victim);
+      }
+      evictor.updateOnPut(page);
+      cached.add(page);
+    }
+    return hits;
+  }
+
+  /**
+   * Generates a trace of Zipf-distributed accesses to hot pages mixed with one-off scans.
+   *
+   * @param accesses the number of accesses
+   * @param hotPages the number of distinct hot pages
+   * @param skew the skew of the Zipf distribution
+   * @param scanInterval the number of hot accesses between two scans, or 0 for no scans
+   * @param scanLength the number of pages read by a scan
+   * @param seed the random seed
+   * @return the trace
+   */
+  public static List<PageId> generateTrace(int accesses, int hotPages, double skew,
+      int scanInterval, int scanLength, long seed) {
+    double[] cdf = new double[hotPages];
+    double sum = 0;
+    for (int i = 0; i < hotPages; i++) {
+      sum += 1 / Math.pow(i + 1, skew);
+      cdf[i] = sum;
+    }
+    Random random = new Random(seed);
+    List<PageId> trace = new ArrayList<>(accesses);
+    long scannedPages = 0;
+    while (trace.size() < accesses) {
+      int rank = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+      trace.add(new PageId("hot", rank < 0 ? -rank - 1 : rank));
+      if (scanInterval > 0 && trace.size() % scanInterval == 0) {
+        for (int i = 0; i < scanLength && trace.size() < accesses; i++) {
+          trace.add(new PageId("scan", scannedPages++));
+        }
+      }
+    }
+    return trace;
+  }
+
+  /**
+   * @param path the path of the trace file
+   * @return the trace
+   */
+  public static List<PageId> readTrace(String path) throws IOException {
+    List<PageId> trace = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(Paths.get(path),
+        StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+        String[] fields = line.split("[,\\s]+");
+        trace.add(new PageId(fields[0], fields.length > 1 ? Long.parseLong(fields[1]) : 0));
+      }
+    }
+    return trace;
+  }
+
+  /**
+   * @param args -c | --capacity the number of pages the cache holds
+   *             -t | --trace the trace file, a synthetic trace is used if not given
+   *             -e | --evictors comma-separated evictor classes, all evictors if not given
+   *             -n | --accesses, -p | --hot-pages, -z | --skew, -si | --scan-interval,
+   *             -sl | --scan-length configure the synthetic trace
+   */
+  public static void main(String[] args) throws Exception {
+    Options options = new Options();
+    Option capacityOpt = new Option("c", "capacity", true, "number of pages the cache holds.");
+    capacityOpt.setRequired(true);
+    options.addOption(capacityOpt);
+    options.addOption(new Option("t", "trace", true,
+        "trace file with a '<file id> <page index>' access per line."));
+    options.addOption(new Option("e", "evictors", true,
+        "comma-separated evictor classes to compare."));
+    options.addOption(new Option("n", "accesses", true,
+        "number of accesses of the synthetic trace, 1000000 by default."));
+    options.addOption(new Option("p", "hot-pages", true,
+        "number of hot pages of the synthetic trace, 10 times the capacity by default."));
+    options.addOption(new Option("z", "skew", true,
+        "Zipf skew of the hot pages of the synthetic trace, 0.9 by default."));
+    options.addOption(new Option("si", "scan-interval", true,
+        "number of hot accesses between scans of the synthetic trace, 10000 by default."));
+    options.addOption(new Option("sl", "scan-length", true,
+        "number of pages per scan of the synthetic trace, twice the capacity by default."));
+
+    CommandLineParser parser = new DefaultParser();
+    HelpFormatter formatter = new HelpFormatter();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (ParseException e) {
+      System.out.println(e.getMessage());
+      formatter.printHelp("cache-evictor-simulator", options);
+      System.exit(1);
+    }
+
+    int capacity = Integer.parseInt(cmd.getOptionValue("capacity"));
+    List<PageId> trace;
+    if (cmd.hasOption("trace")) {
+      trace = readTrace(cmd.getOptionValue("trace"));
+    } else {
+      trace = generateTrace(
+          Integer.parseInt(cmd.getOptionValue("accesses", "1000000")),
+          Integer.parseInt(cmd.getOptionValue("hot-pages", String.valueOf(capacity * 10))),
+          Double.parseDouble(cmd.getOptionValue("skew", "0.9")),
+          Integer.parseInt(cmd.getOptionValue("scan-interval", "10000")),
+          Integer.parseInt(cmd.getOptionValue("scan-length", String.valueOf(capacity * 2))),
+          0L);
+    }
+    List<Class<? extends CacheEvictor>> evictors = new ArrayList<>();
+    if (cmd.hasOption("evictors")) {
+      for (String name : cmd.getOptionValue("evictors").split(",")) {
+        evictors.add(Class.forName(name.trim()).asSubclass(CacheEvictor.class));
+      }
+    } else {
+      evictors.addAll(DEFAULT_EVICTORS);
+    }
+
+    System.out.printf("%d accesses, cache of %d pages%n", trace.size(), capacity);
+    System.out.printf("%-30s %12s %10s %12s%n", "evictor", "hits", "hit ratio", "time (ms)");
+    for (Class<? extends CacheEvictor> evictorClass : evictors) {
+      CacheEvictor evictor = CacheEvictor.create(
+          new CacheEvictorOptions().setEvictorClass(evictorClass));
+      long start = System.nanoTime();
+      long hits = simulate(evictor, trace, capacity);
+      long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+      System.out.printf("%-30s %12d %9.2f%% %12d%n", evictorClass.getSimpleName(), hits,
+          100.0 * hits / trace.size(), elapsedMs);
+    }
+  }
+}
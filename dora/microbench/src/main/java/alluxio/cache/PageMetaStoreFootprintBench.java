@@ -0,0 +1,126 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.cache;
+
+import alluxio.client.file.cache.CompactPageMetaStore;
+import alluxio.client.file.cache.DefaultPageMetaStore;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageMetaStore;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.evictor.UnevictableCacheEvictor;
+import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreDir;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.util.function.Function;
+
+/**
+ * Compares the heap retained by the page metadata stores of the client cache, including the
+ * evictor state they rely on.
+ * <p>
+ * Each store is filled with the same pages, whose file IDs are 32-character strings like the
+ * hashed file IDs of the cache, and the heap used is measured after garbage collection. Run with
+ * a fixed heap size, such as -Xms4g -Xmx4g, for stable numbers.
+ */
+public class PageMetaStoreFootprintBench {
+  private PageMetaStoreFootprintBench() {} // prevent instantiation
+
+  /**
+   * Fills a meta store and measures the heap it retains.
+   *
+   * @param factory creates a meta store over the given directory
+   * @param evictorClass the evictor of the directory
+   * @param numPages the number of pages to add
+   * @param pagesPerFile the number of pages of each file
+   * @return the number of bytes retained
+   */
+  public static long measure(Function<PageStoreDir, PageMetaStore> factory,
+      Class<? extends CacheEvictor> evictorClass, int numPages, int pagesPerFile) {
+    long baseline = usedHeap();
+    PageStoreOptions options = new PageStoreOptions().setCacheSize(Long.MAX_VALUE / 2);
+    PageStoreDir dir = new MemoryPageStoreDir(options, new MemoryPageStore(1),
+        CacheEvictor.create(new CacheEvictorOptions().setEvictorClass(evictorClass)));
+    PageMetaStore metaStore = factory.apply(dir);
+    String fileId = null;
+    for (int i = 0; i < numPages; i++) {
+      if (i % pagesPerFile == 0) {
+        fileId = String.format("%032x", i / pagesPerFile);
+      }
+      PageId pageId = new PageId(fileId, i % pagesPerFile);
+      metaStore.addPage(pageId, new PageInfo(pageId, 1, dir));
+    }
+    long used = usedHeap() - baseline;
+    if (metaStore.numPages() != numPages) {
+      throw new IllegalStateException("Unexpected number of pages " + metaStore.numPages());
+    }
+    return used;
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    long used = Long.MAX_VALUE;
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+    }
+    return used;
+  }
+
+  /**
+   * @param args -n | --pages the number of pages, 1000000 by default
+   *             -f | --pages-per-file the number of pages per file, 64 by default
+   */
+  public static void main(String[] args) {
+    Options options = new Options();
+    options.addOption(new Option("n", "pages", true,
+        "number of pages to add, 1000000 by default."));
+    options.addOption(new Option("f", "pages-per-file", true,
+        "number of pages per file, 64 by default."));
+
+    CommandLineParser parser = new DefaultParser();
+    HelpFormatter formatter = new HelpFormatter();
+    CommandLine cmd = null;
+    try {
+      cmd = parser.parse(options, args);
+    } catch (ParseException e) {
+      System.out.println(e.getMessage());
+      formatter.printHelp("page-meta-store-footprint-bench", options);
+      System.exit(1);
+    }
+    int numPages = Integer.parseInt(cmd.getOptionValue("pages", "1000000"));
+    int pagesPerFile = Integer.parseInt(cmd.getOptionValue("pages-per-file", "64"));
+
+    System.out.printf("%d pages, %d pages per file%n", numPages, pagesPerFile);
+    System.out.printf("%-30s %14s %14s%n", "meta store", "heap (bytes)", "bytes/page");
+    long defaultBytes = measure(dir -> new DefaultPageMetaStore(ImmutableList.of(dir)),
+        LRUCacheEvictor.class, numPages, pagesPerFile);
+    System.out.printf("%-30s %14d %14.1f%n", "DefaultPageMetaStore (LRU)", defaultBytes,
+        (double) defaultBytes / numPages);
+    long compactBytes = measure(dir -> new CompactPageMetaStore(ImmutableList.of(dir)),
+        UnevictableCacheEvictor.class, numPages, pagesPerFile);
+    System.out.printf("%-30s %14d %14.1f%n", "CompactPageMetaStore", compactBytes,
+        (double) compactBytes / numPages);
+  }
+}
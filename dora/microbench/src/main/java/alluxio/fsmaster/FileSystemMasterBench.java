@@ -13,6 +13,8 @@ package alluxio.fsmaster;
 
 import alluxio.BaseFileStructure;
 import alluxio.BaseThreadState;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.security.authentication.AuthenticatedClientUser;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -67,11 +69,16 @@ public class FileSystemMasterBench {
 
     @Param({"ZIPF"})
     public Distribution mDistribution;
+
+    /** Size of the inode path cache, 0 to resolve every path by looking up edges. */
+    @Param({"0", "100000"})
+    public int mPathCacheSize;
     FileSystemMasterBase mBase = new FileSystemMasterBase();
 
     @Setup(Level.Trial)
     public void setup() throws Exception {
       super.init(mDepth, mWidth, mFileCount, mDistribution);
+      Configuration.set(PropertyKey.MASTER_FILE_SYSTEM_PATH_CACHE_SIZE, mPathCacheSize);
       mBase.init();
       mBase.createPathDepths(mDepth);
       for (int d = 0; d < mDepth + 1; d++) {
@@ -11,6 +11,7 @@
 
 package alluxio.inode;
 
+import static alluxio.inode.InodeBenchBase.ROCKS;
 import static alluxio.inode.InodeBenchBase.ROCKSCACHE;
 
 import alluxio.BaseFileStructure;
@@ -44,7 +45,10 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
  *   according to a Zipfian distribution. This means that directories
  *   with shallow depth will be more likely to be chosen, and files with
  *   larger ids are more likely to be chosen (i.e. those written later).
- * mType - the type of inode storage to use
+ * mType - the type of inode storage to use. Listing with the uncached rocks store scans the
+ *   edges of the directory and fetches the children with batched multi-gets, run it with e.g.
+ *   -p mType=rocks -p mSingleFile=false -p mDepth=0 -p mFileCount=1000000 to measure listing a
+ *   large directory.
  * mRocksConfig - see {@link RocksBenchConfig}
  */
 public class InodeBenchRead {
@@ -69,7 +73,7 @@ public class InodeBenchRead {
     @Param({"true", "false"})
     public boolean mSingleFile;
 
-    @Param({ROCKSCACHE})
+    @Param({ROCKSCACHE, ROCKS})
     public String mType;
 
     @Param({RocksBenchConfig.JAVA_CONFIG})
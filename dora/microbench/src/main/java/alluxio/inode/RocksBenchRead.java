@@ -49,6 +49,9 @@ import java.io.IOException;
  *  The more likely keys to be read will be the ones written last,
  *  meaning that they will more likely be in the RocksDB memtable.
  * mRocksConfig - see {@link RocksBenchConfig}
+ * The serialized read type goes through {@link alluxio.master.metastore.rocks.RocksInodeStore}
+ * and thus the same path as metadata reads on the master. Run it with an increasing number of
+ * threads (the main method runs 1, 4 and 16) to see how reads scale.
  */
 public class RocksBenchRead {
   @State(Scope.Thread)
@@ -125,8 +128,10 @@ public class RocksBenchRead {
   }
 
   public static void main(String []args) throws RunnerException {
-    Options opt = new OptionsBuilder().include(RocksBenchRead.class.getSimpleName())
-        .forks(1).addProfiler(StackProfiler.class).build();
-    new Runner(opt).run();
+    for (int threads : new int[] {1, 4, 16}) {
+      Options opt = new OptionsBuilder().include(RocksBenchRead.class.getSimpleName())
+          .forks(1).threads(threads).addProfiler(StackProfiler.class).build();
+      new Runner(opt).run();
+    }
   }
 }
@@ -0,0 +1,192 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal;
+
+import alluxio.Constants;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.master.journal.raft.BufferedJournalApplier;
+import alluxio.master.journal.raft.RaftJournal;
+import alluxio.proto.journal.Block;
+import alluxio.proto.journal.File;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.proto.journal.Meta;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Benchmarks replaying a journal through the {@link BufferedJournalApplier} used by the
+ * embedded journal, with entries of different masters applied in parallel. The journal is read
+ * from a file of length delimited entries, by default one recorded with a synthetic mix of file
+ * system, block and meta master entries. Masters do a configurable amount of work per entry.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JournalApplyBench {
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"1", "4"})
+    public int mParallelism;
+
+    @Param({"256"})
+    public int mBatchSize;
+
+    /** Work done by a master per entry, in {@link Blackhole#consumeCPU} tokens. */
+    @Param({"500"})
+    public long mApplyCost;
+
+    /** A file of length delimited journal entries, or empty to record a synthetic journal. */
+    @Param({""})
+    public String mJournalFile;
+
+    @Param({"100000"})
+    public int mSyntheticEntries;
+
+    List<List<JournalEntry>> mBatches;
+    BufferedJournalApplier mApplier;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      Configuration.set(PropertyKey.MASTER_EMBEDDED_JOURNAL_APPLY_PARALLELISM, mParallelism);
+      List<JournalEntry> entries;
+      if (mJournalFile.isEmpty()) {
+        Path file = Files.createTempFile("journal-apply-bench", ".log");
+        try {
+          record(file, mSyntheticEntries);
+          entries = read(file);
+        } finally {
+          Files.delete(file);
+        }
+      } else {
+        entries = read(Paths.get(mJournalFile));
+      }
+      mBatches = new ArrayList<>();
+      for (int i = 0; i < entries.size(); i += mBatchSize) {
+        mBatches.add(entries.subList(i, Math.min(i + mBatchSize, entries.size())));
+      }
+      Map<String, RaftJournal> journals = new HashMap<>();
+      for (String name : new String[] {Constants.FILE_SYSTEM_MASTER_NAME,
+          Constants.BLOCK_MASTER_NAME, Constants.META_MASTER_NAME, Constants.TABLE_MASTER_NAME}) {
+        journals.put(name, new RaftJournal(new NoopJournaled() {
+          @Override
+          public boolean processJournalEntry(JournalEntry entry) {
+            Blackhole.consumeCPU(mApplyCost);
+            return true;
+          }
+        }, URI.create("/" + name), new AtomicReference<>()));
+      }
+      mApplier = new BufferedJournalApplier(journals, Collections::emptySet);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      mApplier.close();
+    }
+  }
+
+  /**
+   * Replays the whole journal.
+   *
+   * @param state the benchmark state
+   */
+  @Benchmark
+  public void replay(BenchState state) {
+    for (List<JournalEntry> batch : state.mBatches) {
+      state.mApplier.processJournalEntries(batch);
+    }
+  }
+
+  private static void record(Path file, int count) throws IOException {
+    Random random = new Random(0);
+    try (OutputStream out = new FileOutputStream(file.toFile())) {
+      for (int i = 0; i < count; i++) {
+        JournalEntry.Builder entry = JournalEntry.newBuilder();
+        int kind = random.nextInt(20);
+        if (kind < 14) {
+          entry.setDeleteFile(File.DeleteFileEntry.newBuilder().setId(i));
+        } else if (kind < 19) {
+          entry.setDeleteBlock(Block.DeleteBlockEntry.newBuilder().setBlockId(i));
+        } else {
+          entry.setRemovePathProperties(
+              Meta.RemovePathPropertiesEntry.newBuilder().setPath("/" + i));
+        }
+        entry.build().writeDelimitedTo(out);
+      }
+    }
+  }
+
+  private static List<JournalEntry> read(Path file) throws IOException {
+    List<JournalEntry> entries = new ArrayList<>();
+    try (InputStream in = new FileInputStream(file.toFile())) {
+      JournalEntry entry;
+      while ((entry = JournalEntry.parseDelimitedFrom(in)) != null) {
+        entries.add(entry.toBuilder().setSequenceNumber(entries.size()).build());
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * @param args command line arguments
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(JournalApplyBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
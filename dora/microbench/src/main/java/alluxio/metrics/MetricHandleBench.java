@@ -0,0 +1,157 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.metrics;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the per-call overhead of updating metrics, looked up by name in the
+ * {@link MetricsSystem} on every call as opposed to through pre-resolved {@link MetricHandle}s.
+ * Run with {@code -t} to measure contended updates.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricHandleBench {
+  private static final MetricKey KEY = MetricKey.CLIENT_CACHE_BYTES_READ_CACHE;
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    final Meter mMeter = new Meter();
+    final StripedMeter mStripedMeter = new StripedMeter();
+    final Timer mTimer = new HistogramTimer();
+    final Timer mHdrTimer = new HistogramTimer(new HdrHistogramReservoir());
+  }
+
+  /**
+   * Marks a meter looked up by name.
+   */
+  @Benchmark
+  public void meterByName() {
+    MetricsSystem.meter(KEY.getName()).mark(4096);
+  }
+
+  /**
+   * Marks a meter through its handle.
+   */
+  @Benchmark
+  public void meterByHandle() {
+    KEY.meter().mark(4096);
+  }
+
+  /**
+   * Marks a default meter held directly.
+   *
+   * @param state the benchmark state
+   */
+  @Benchmark
+  public void defaultMeter(BenchState state) {
+    state.mMeter.mark(4096);
+  }
+
+  /**
+   * Marks a striped meter held directly.
+   *
+   * @param state the benchmark state
+   */
+  @Benchmark
+  public void stripedMeter(BenchState state) {
+    state.mStripedMeter.mark(4096);
+  }
+
+  /**
+   * Increments a counter looked up by name.
+   */
+  @Benchmark
+  public void counterByName() {
+    MetricsSystem.counter(KEY.getName()).inc();
+  }
+
+  /**
+   * Increments a counter through its handle.
+   */
+  @Benchmark
+  public void counterByHandle() {
+    KEY.counter().inc();
+  }
+
+  /**
+   * Records to a timer looked up by name.
+   */
+  @Benchmark
+  public void timerByName() {
+    MetricsSystem.timer(KEY.getName()).update(1000, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records to a timer through its handle.
+   */
+  @Benchmark
+  public void timerByHandle() {
+    KEY.timer().update(1000, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records to a timer sampling with the default exponentially decaying reservoir.
+   *
+   * @param state the benchmark state
+   */
+  @Benchmark
+  public void decayingTimer(BenchState state) {
+    state.mTimer.update(1000, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records to a timer backed by an HdrHistogram recorder.
+   *
+   * @param state the benchmark state
+   */
+  @Benchmark
+  public void hdrTimer(BenchState state) {
+    state.mHdrTimer.update(1000, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @param args command line arguments
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(MetricHandleBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.proxy;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.Constants;
+import alluxio.PositionReader;
+import alluxio.file.ByteBufferTargetBuffer;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.proxy.s3.PositionReadEntity;
+import alluxio.proxy.s3.S3Handler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+/**
+ * Benchmarks for writing GetObject responses of the S3 proxy, comparing the file stream copied
+ * through heap buffers with the position read entity, which hands direct buffers to Jetty.
+ * Objects are read from memory and written to /dev/null, so only the copies are measured.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class S3GetObjectBench {
+
+  @State(Scope.Thread)
+  public static class BenchState {
+    @Param({"64"})
+    public int mObjectSizeMB;
+
+    ByteBuffer mObject;
+    FileOutputStream mDevNull;
+    HttpServletResponse mServletResponse;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      byte[] bytes = new byte[mObjectSizeMB * Constants.MB];
+      ThreadLocalRandom.current().nextBytes(bytes);
+      // data received from workers is held in direct buffers
+      mObject = ByteBuffer.allocateDirect(bytes.length);
+      mObject.put(bytes).flip();
+      mDevNull = new FileOutputStream("/dev/null");
+      FileChannel channel = mDevNull.getChannel();
+      ServletOutputStream out = new ServletOutputStream() {
+        private final OutputStream mOut = Channels.newOutputStream(channel);
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {}
+
+        @Override
+        public void write(int b) throws IOException {
+          mOut.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          mOut.write(b, off, len);
+        }
+      };
+      mServletResponse = mock(HttpServletResponse.class);
+      when(mServletResponse.getOutputStream()).thenReturn(out);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      mDevNull.close();
+    }
+
+    PositionReader newReader() {
+      return new PositionReader() {
+        @Override
+        public int readInternal(long position, ReadTargetBuffer buffer, int length) {
+          if (position >= mObject.limit()) {
+            return -1;
+          }
+          int read = (int) Math.min(length, mObject.limit() - position);
+          ByteBuffer src = mObject.duplicate();
+          src.position((int) position).limit((int) position + read);
+          if (buffer instanceof ByteBufferTargetBuffer) {
+            buffer.byteBuffer().put(src);
+          } else {
+            ByteBuffer.wrap(buffer.byteArray(), buffer.offset(), read).put(src);
+            buffer.offset(buffer.offset() + read);
+          }
+          return read;
+        }
+      };
+    }
+  }
+
+  /**
+   * The file stream entity written by {@link S3Handler#processResponse}.
+   *
+   * @param state the benchmark state
+   */
+  @Benchmark
+  public void fileStream(BenchState state) throws IOException {
+    PositionReader reader = state.newReader();
+    InputStream in = new InputStream() {
+      private long mPosition;
+
+      @Override
+      public int read() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        int read = reader.read(mPosition, b, off, len);
+        if (read > 0) {
+          mPosition += read;
+        }
+        return read;
+      }
+    };
+    S3Handler.processResponse(state.mServletResponse,
+        Response.ok(in, MediaType.APPLICATION_OCTET_STREAM_TYPE).build());
+  }
+
+  /**
+   * The position read entity written to a non-Jetty output, through a heap buffer.
+   *
+   * @param state the benchmark state
+   */
+  @Benchmark
+  public void positionReadHeap(BenchState state) throws IOException {
+    S3Handler.processResponse(state.mServletResponse, Response.ok(
+        new PositionReadEntity(state.newReader(), 0, state.mObject.limit()),
+        MediaType.APPLICATION_OCTET_STREAM_TYPE).build());
+  }
+
+  /**
+   * The position read entity written through direct buffers, as to Jetty.
+   *
+   * @param state the benchmark state
+   */
+  @Benchmark
+  public void positionReadDirect(BenchState state) throws IOException {
+    FileChannel channel = state.mDevNull.getChannel();
+    try (PositionReadEntity entity =
+        new PositionReadEntity(state.newReader(), 0, state.mObject.limit())) {
+      entity.writeTo(buffer -> {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      });
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(S3GetObjectBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.underfs.local.LocalUnderFileSystem;
+import alluxio.underfs.options.ListOptions;
+import alluxio.util.io.FileUtils;
+import alluxio.util.io.PathUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Benchmarks for recursively listing a directory tree of the local under file system, with
+ * different numbers of directories listed concurrently. A latency can be added to each directory
+ * listing to emulate the metadata round trip of a remote hierarchical under file system.
+ */
+@Fork(value = 1, jvmArgsPrepend = "-server")
+@Warmup(iterations = 2, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 3, timeUnit = TimeUnit.SECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class UfsRecursiveListingBench {
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"0", "4", "16"})
+    public int mParallelism;
+
+    @Param({"4"})
+    public int mDepth;
+
+    @Param({"8"})
+    public int mFanOut;
+
+    @Param({"0", "500"})
+    public int mListingLatencyUs;
+
+    File mRoot;
+    UnderFileSystem mUfs;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+      mRoot = Files.createTempDirectory("ufs-listing-bench").toFile();
+      createTree(mRoot, mDepth);
+      InstancedConfiguration conf = Configuration.copyGlobal();
+      conf.set(PropertyKey.UNDERFS_LISTING_PARALLELISM, mParallelism);
+      mUfs = new LocalUnderFileSystem(new AlluxioURI(mRoot.getAbsolutePath()),
+          UnderFileSystemConfiguration.defaults(conf)) {
+        @Override
+        public UfsStatus[] listStatus(String path) throws IOException {
+          if (mListingLatencyUs > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(mListingLatencyUs));
+          }
+          return super.listStatus(path);
+        }
+      };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+      mUfs.close();
+      FileUtils.deletePathRecursively(mRoot.getAbsolutePath());
+    }
+
+    private void createTree(File dir, int depth) throws IOException {
+      for (int i = 0; i < mFanOut; i++) {
+        File child = new File(PathUtils.concatPath(dir.getAbsolutePath(), "entry" + i));
+        if (depth > 1) {
+          if (!child.mkdir()) {
+            throw new IOException("Failed to create " + child);
+          }
+          createTree(child, depth - 1);
+        } else if (!child.createNewFile()) {
+          throw new IOException("Failed to create " + child);
+        }
+      }
+    }
+  }
+
+  /**
+   * Lists the whole tree into an array.
+   *
+   * @param state the benchmark state
+   * @return the number of statuses listed
+   */
+  @Benchmark
+  public int listStatus(BenchState state) throws IOException {
+    return state.mUfs.listStatus(state.mRoot.getAbsolutePath(),
+        ListOptions.defaults().setRecursive(true)).length;
+  }
+
+  /**
+   * Streams the whole tree through the listing iterator.
+   *
+   * @param state the benchmark state
+   * @return the number of statuses listed
+   */
+  @Benchmark
+  public int listStatusIterator(BenchState state) throws IOException {
+    Iterator<UfsStatus> statuses = state.mUfs.listStatusIterator(
+        state.mRoot.getAbsolutePath(), ListOptions.defaults().setRecursive(true));
+    int count = 0;
+    while (statuses.hasNext()) {
+      statuses.next();
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * @param args command line arguments
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .parent(argsCli)
+        .include(UfsRecursiveListingBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
@@ -14,6 +14,7 @@ package alluxio.cli.fs.command;
 import alluxio.AlluxioURI;
 import alluxio.annotation.PublicApi;
 import alluxio.cli.CommandUtils;
+import alluxio.cli.fs.FileSystemShellUtils;
 import alluxio.client.block.BlockStoreClient;
 import alluxio.client.block.policy.BlockLocationPolicy;
 import alluxio.client.block.stream.BlockInStream;
@@ -55,7 +56,6 @@ import org.apache.commons.cli.Options;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
-import java.util.OptionalLong;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -118,6 +118,30 @@ public final class LoadCommand extends AbstractFileSystemCommand {
       .desc("Single worker read bandwidth limit.")
       .build();
 
+  private static final Option PRIORITY_OPTION = Option.builder()
+      .longOpt("priority")
+      .required(false)
+      .hasArg(true)
+      .desc("Scheduling priority of the job, jobs with a higher priority get worker task slots "
+          + "first. Default is 0.")
+      .build();
+
+  private static final Option WEIGHT_OPTION = Option.builder()
+      .longOpt("weight")
+      .required(false)
+      .hasArg(true)
+      .desc("Share of worker task slots of the job relative to other jobs of the same priority. "
+          + "Default is 1.")
+      .build();
+
+  private static final Option MAX_CONCURRENT_TASKS_OPTION = Option.builder()
+      .longOpt("max-concurrent-tasks")
+      .required(false)
+      .hasArg(true)
+      .desc("Maximum number of tasks of the job running at the same time across all workers. "
+          + "Unlimited if not set.")
+      .build();
+
   private static final Option PROGRESS_FORMAT = Option.builder()
       .longOpt("format")
       .required(false)
@@ -158,6 +182,9 @@ public final class LoadCommand extends AbstractFileSystemCommand {
         .addOption(BANDWIDTH_OPTION)
         .addOption(PARTIAL_LISTING_OPTION)
         .addOption(VERIFY_OPTION)
+        .addOption(PRIORITY_OPTION)
+        .addOption(WEIGHT_OPTION)
+        .addOption(MAX_CONCURRENT_TASKS_OPTION)
         .addOption(SUBMIT_OPTION)
         .addOption(STOP_OPTION)
         .addOption(PROGRESS_OPTION)
@@ -180,16 +207,24 @@ public final class LoadCommand extends AbstractFileSystemCommand {
     }
 
     if (cl.hasOption(SUBMIT_OPTION.getLongOpt())) {
-      OptionalLong bandwidth = OptionalLong.empty();
+      LoadJobPOptions.Builder options = LoadJobPOptions.newBuilder()
+          .setPartialListing(cl.hasOption(PARTIAL_LISTING_OPTION.getLongOpt()))
+          .setVerify(cl.hasOption(VERIFY_OPTION.getLongOpt()));
       if (cl.hasOption(BANDWIDTH_OPTION.getLongOpt())) {
-        bandwidth = OptionalLong.of(FormatUtils.parseSpaceSize(
+        options.setBandwidth(FormatUtils.parseSpaceSize(
             cl.getOptionValue(BANDWIDTH_OPTION.getLongOpt())));
       }
-      return submitLoad(
-          path,
-          bandwidth,
-          cl.hasOption(PARTIAL_LISTING_OPTION.getLongOpt()),
-          cl.hasOption(VERIFY_OPTION.getLongOpt()));
+      if (cl.hasOption(PRIORITY_OPTION.getLongOpt())) {
+        options.setPriority(FileSystemShellUtils.getIntArg(cl, PRIORITY_OPTION, 0));
+      }
+      if (cl.hasOption(WEIGHT_OPTION.getLongOpt())) {
+        options.setWeight(FileSystemShellUtils.getIntArg(cl, WEIGHT_OPTION, 1));
+      }
+      if (cl.hasOption(MAX_CONCURRENT_TASKS_OPTION.getLongOpt())) {
+        options.setMaxConcurrentTasks(
+            FileSystemShellUtils.getIntArg(cl, MAX_CONCURRENT_TASKS_OPTION, Integer.MAX_VALUE));
+      }
+      return submitLoad(path, options.build());
     }
 
     if (cl.hasOption(STOP_OPTION.getLongOpt())) {
@@ -210,7 +245,8 @@ public final class LoadCommand extends AbstractFileSystemCommand {
   public String getUsage() {
     return "For backward compatibility: load [--local] <path>\n"
         + "For distributed load:\n"
-        + "\tload <path> --submit [--bandwidth N] [--verify] [--partial-listing]\n"
+        + "\tload <path> --submit [--bandwidth N] [--verify] [--partial-listing]"
+        + " [--priority N] [--weight N] [--max-concurrent-tasks N]\n"
         + "\tload <path> --stop\n"
         + "\tload <path> --progress [--format TEXT|JSON] [--verbose]\n";
   }
@@ -237,17 +273,18 @@ public final class LoadCommand extends AbstractFileSystemCommand {
       if (commands != 1) {
         throw new InvalidArgumentException("Must have one of submit / stop / progress");
       }
+      for (Option option : new Option[] {WEIGHT_OPTION, MAX_CONCURRENT_TASKS_OPTION}) {
+        if (cl.hasOption(option.getLongOpt())
+            && FileSystemShellUtils.getIntArg(cl, option, 1) <= 0) {
+          throw new InvalidArgumentException(
+              String.format("--%s must be positive", option.getLongOpt()));
+        }
+      }
     }
   }
 
-  private int submitLoad(AlluxioURI path, OptionalLong bandwidth,
-      boolean usePartialListing, boolean verify) {
-    LoadJobPOptions.Builder options = alluxio.grpc.LoadJobPOptions
-        .newBuilder().setPartialListing(usePartialListing).setVerify(verify);
-    if (bandwidth.isPresent()) {
-      options.setBandwidth(bandwidth.getAsLong());
-    }
-    LoadJobRequest job = new LoadJobRequest(path.getPath(), options.build());
+  private int submitLoad(AlluxioURI path, LoadJobPOptions options) {
+    LoadJobRequest job = new LoadJobRequest(path.getPath(), options);
     try {
       Optional<String> jobId = mFileSystem.submitJob(job);
       if (jobId.isPresent()) {
@@ -256,8 +293,8 @@ public final class LoadCommand extends AbstractFileSystemCommand {
         System.out.printf("Load already running for path '%s', updated the job with "
                 + "new bandwidth: %s, verify: %s%n",
             path,
-            bandwidth.isPresent() ? String.valueOf(bandwidth.getAsLong()) : "unlimited",
-            verify);
+            options.hasBandwidth() ? String.valueOf(options.getBandwidth()) : "unlimited",
+            options.getVerify());
       }
       return 0;
     } catch (StatusRuntimeException e) {
@@ -29,6 +29,13 @@ public final class FuseIOParameters extends Parameters {
       required = true)
   public FuseIOOperation mOperation;
 
+  @Parameter(names = {"--read-mode"},
+      description = "How the read operations read file data. Options are [Stream, Direct, "
+          + "Transfer], where \"Transfer\" lets the kernel move the data without copying it "
+          + "into the benchmark process.",
+      converter = FuseIOReadModeConverter.class)
+  public FuseIOReadMode mReadMode = FuseIOReadMode.STREAM;
+
   @Parameter(names = {"--threads"}, description = "the number of concurrent threads to use")
   public int mThreads = 1;
 
@@ -71,4 +78,14 @@ public final class FuseIOParameters extends Parameters {
       return FuseIOOperation.fromString(value);
     }
   }
+
+  /**
+   * Converts from String to FuseIOReadMode instance.
+   */
+  public static class FuseIOReadModeConverter implements IStringConverter<FuseIOReadMode> {
+    @Override
+    public FuseIOReadMode convert(String value) {
+      return FuseIOReadMode.fromString(value);
+    }
+  }
 }
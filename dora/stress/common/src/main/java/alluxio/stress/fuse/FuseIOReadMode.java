@@ -0,0 +1,54 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.stress.fuse;
+
+/**
+ * The ways a FUSE stress test reads file data through the local mount point.
+ */
+public enum FuseIOReadMode {
+  /** Reads into a heap buffer through {@link java.io.FileInputStream}. */
+  STREAM("Stream"),
+  /** Reads into a direct buffer through {@link java.nio.channels.FileChannel}. */
+  DIRECT("Direct"),
+  /**
+   * Moves the data to /dev/null with {@link java.nio.channels.FileChannel#transferTo}, so the
+   * kernel splices the pages and the benchmark process never copies them to user space.
+   */
+  TRANSFER("Transfer"),
+  ;
+
+  private final String mName;
+
+  FuseIOReadMode(String name) {
+    mName = name;
+  }
+
+  @Override
+  public String toString() {
+    return mName;
+  }
+
+  /**
+   * Creates an instance type from the string. This method is case insensitive.
+   *
+   * @param text the instance type in string
+   * @return the created instance
+   */
+  public static FuseIOReadMode fromString(String text) {
+    for (FuseIOReadMode type : FuseIOReadMode.values()) {
+      if (type.toString().equalsIgnoreCase(text)) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("No constant with text " + text + " found");
+  }
+}
@@ -36,7 +36,8 @@ public final class MasterBenchParameters extends MasterBenchBaseParameters {
 
   @Parameter(names = {OPERATION_OPTION_NAME},
       description = "the operation to perform. Options are [CreateFile, GetBlockLocations, "
-          + "GetFileStatus, OpenFile, CreateDir, ListDir, ListDirLocated, RenameFile, DeleteFile]",
+          + "GetFileStatus, OpenFile, CreateDir, ListDir, ListDirLocated, RenameFile, DeleteFile, "
+          + "CreateDeleteFile]",
       converter = OperationConverter.class,
       required = true)
   public Operation mOperation;
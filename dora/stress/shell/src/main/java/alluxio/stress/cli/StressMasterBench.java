@@ -82,6 +82,12 @@ public class StressMasterBench extends StressMasterBenchBase<MasterBenchTaskResu
             + "5s warmup.",
         "$ bin/alluxio runClass alluxio.stress.cli.StressMasterBench --operation ListDir \\",
         "--warmup 5s --duration 30s --cluster",
+        "",
+        "# this would measure the ops/s and response time percentiles of a workload bound by "
+            + "journal flushes, creating and deleting an empty file in each operation.",
+        "$ bin/alluxio runClass alluxio.stress.cli.StressMasterBench \\",
+        "--operation CreateDeleteFile --warmup 5s --duration 30s --threads 256 \\",
+        "--target-throughput 100000 --cluster",
         ""
     ));
   }
@@ -116,7 +122,8 @@ public class StressMasterBench extends StressMasterBenchBase<MasterBenchTaskResu
       }
 
       if (mParameters.mOperation == Operation.CREATE_FILE
-          || mParameters.mOperation == Operation.CREATE_DIR) {
+          || mParameters.mOperation == Operation.CREATE_DIR
+          || mParameters.mOperation == Operation.CREATE_DELETE_FILE) {
         LOG.info("Cleaning base path: {}", basePath);
         long start = CommonUtils.getCurrentMs();
         deletePaths(prepareFs, basePath);
@@ -386,6 +393,13 @@ public class StressMasterBench extends StressMasterBenchBase<MasterBenchTaskResu
             throw new IOException(String.format("Failed to delete (%s)", path));
           }
           break;
+        case CREATE_DELETE_FILE:
+          path = new Path(mBasePath, Long.toString(counter));
+          mFs.create(path).close();
+          if (!mFs.delete(path, false)) {
+            throw new IOException(String.format("Failed to delete (%s)", path));
+          }
+          break;
         default:
           throw new IllegalStateException("Unknown operation: " + mParameters.mOperation);
       }
@@ -496,6 +510,11 @@ public class StressMasterBench extends StressMasterBenchBase<MasterBenchTaskResu
           }
           Files.delete(path);
           break;
+        case CREATE_DELETE_FILE:
+          path = mFuseBasePath.resolve(Long.toString(counter));
+          new FileOutputStream(String.valueOf(path)).close();
+          Files.delete(path);
+          break;
         default:
           throw new IllegalStateException("Unknown operation: " + mParameters.mOperation);
       }
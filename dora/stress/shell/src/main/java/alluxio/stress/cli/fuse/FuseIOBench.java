@@ -36,6 +36,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -102,6 +104,10 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
             + "Fuse and run \"ListFile\" before \"Read\" to cache the metadata of the test files "
             + "and eliminate the effect of metadata operations while getting the reading "
             + "throughput data.",
+        "The \"--read-mode\" option selects how data is read: Stream reads into a heap "
+            + "buffer, Direct reads into a direct buffer, and Transfer lets the kernel move "
+            + "the data to /dev/null without copying it to user space, which shows the cost "
+            + "of the user space copies on the reading side.",
         "Note that \"--operation\" is required, \"--local-path\" can be a local filesystem "
             + "path or a mounted Fuse path, and non-cluster mode only supports local read.",
         "",
@@ -334,6 +340,10 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
 
     private FileInputStream mInStream = null;
     private FileOutputStream mOutStream = null;
+    /** Direct buffer for the Direct read mode, allocated on first use. */
+    private ByteBuffer mDirectBuffer = null;
+    /** Sink channel for the Transfer read mode, opened on first use. */
+    private FileChannel mDiscardChannel = null;
     private long mCurrentOffset;
     private final long mRecordMs;
 
@@ -361,6 +371,7 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
       } finally {
         closeInStream();
         closeOutStream();
+        closeDiscardChannel();
       }
 
       mContext.mergeThreadResult(mFuseIOTaskResult);
@@ -503,7 +514,7 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
           if (mInStream == null) {
             mInStream = new FileInputStream(filePath);
           }
-          int bytesRead = mInStream.read(mBuffer);
+          long bytesRead = readFromInStream();
           if (bytesRead < 0) {
             closeInStream();
           }
@@ -527,6 +538,39 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
       }
     }
 
+    /**
+     * Reads the next chunk of the current file according to the read mode.
+     *
+     * @return the number of bytes read, or -1 if the end of the file is reached
+     */
+    @SuppressFBWarnings(value = "DMI_HARDCODED_ABSOLUTE_FILENAME")
+    private long readFromInStream() throws IOException {
+      switch (mParameters.mReadMode) {
+        case DIRECT: {
+          if (mDirectBuffer == null) {
+            mDirectBuffer = ByteBuffer.allocateDirect(mBuffer.length);
+          }
+          mDirectBuffer.clear();
+          return mInStream.getChannel().read(mDirectBuffer);
+        }
+        case TRANSFER: {
+          if (mDiscardChannel == null) {
+            mDiscardChannel = new FileOutputStream("/dev/null").getChannel();
+          }
+          long transferred = mInStream.getChannel()
+              .transferTo(mCurrentOffset, mBuffer.length, mDiscardChannel);
+          if (transferred <= 0) {
+            return -1;
+          }
+          mCurrentOffset += transferred;
+          return transferred;
+        }
+        case STREAM: // fall through
+        default:
+          return mInStream.read(mBuffer);
+      }
+    }
+
     private void finishProcessingFiles() {
       if (FuseIOOperation.isRead(mParameters.mOperation)
           || (mParameters.mOperation == FuseIOOperation.WRITE
@@ -549,6 +593,18 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
       }
     }
 
+    private void closeDiscardChannel() {
+      try {
+        if (mDiscardChannel != null) {
+          mDiscardChannel.close();
+        }
+      } catch (IOException e) {
+        mFuseIOTaskResult.addErrorMessage(e.getMessage());
+      } finally {
+        mDiscardChannel = null;
+      }
+    }
+
     private void closeOutStream() {
       try {
         if (mOutStream != null) {
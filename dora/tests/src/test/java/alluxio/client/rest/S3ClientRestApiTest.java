@@ -43,6 +43,7 @@ import alluxio.proxy.s3.ListBucketOptions;
 import alluxio.proxy.s3.ListBucketResult;
 import alluxio.proxy.s3.ListMultipartUploadsResult;
 import alluxio.proxy.s3.ListPartsResult;
+import alluxio.proxy.s3.MultipartUploadMerger;
 import alluxio.proxy.s3.S3Constants;
 import alluxio.proxy.s3.S3Error;
 import alluxio.proxy.s3.S3ErrorCode;
@@ -78,6 +79,8 @@ import java.io.File;
 import java.net.HttpURLConnection;
 import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -1478,8 +1481,8 @@ public final class S3ClientRestApiTest extends RestApiTest {
     // Verify that the response is expected.
     String expectedCombinedObject = object1 + object2;
     MessageDigest md5 = MessageDigest.getInstance("MD5");
-    byte[] digest = md5.digest(expectedCombinedObject.getBytes());
-    String etag = Hex.encodeHexString(digest);
+    String etag = MultipartUploadMerger.computeEntityTag(Arrays.asList(
+        md5.digest(object1.getBytes()), md5.digest(object2.getBytes())));
     String objectPath = AlluxioURI.SEPARATOR + objectKey;
     CompleteMultipartUploadResult completeMultipartUploadResult =
         new CompleteMultipartUploadResult(objectPath, bucketName, objectName, etag);
@@ -1554,8 +1557,8 @@ public final class S3ClientRestApiTest extends RestApiTest {
     // Verify that the response is expected.
     String expectedCombinedObject = object1 + object2;
     MessageDigest md5 = MessageDigest.getInstance("MD5");
-    byte[] digest = md5.digest(expectedCombinedObject.getBytes());
-    String etag = Hex.encodeHexString(digest);
+    String etag = MultipartUploadMerger.computeEntityTag(Arrays.asList(
+        md5.digest(object1.getBytes()), md5.digest(object2.getBytes())));
     String objectPath = AlluxioURI.SEPARATOR + objectKey;
     CompleteMultipartUploadResult completeMultipartUploadResult1 =
         new CompleteMultipartUploadResult(objectPath, bucketName, objectName, etag);
@@ -1589,8 +1592,8 @@ public final class S3ClientRestApiTest extends RestApiTest {
     Assert.assertEquals(result2, result2Retry);
 
     // Verify that the response is expected.
-    digest = md5.digest(object3.getBytes());
-    etag = Hex.encodeHexString(digest);
+    etag = MultipartUploadMerger.computeEntityTag(
+        Collections.singletonList(md5.digest(object3.getBytes())));
     CompleteMultipartUploadResult completeMultipartUploadResult2 =
         new CompleteMultipartUploadResult(objectPath, bucketName, objectName, etag);
     Assert.assertEquals(XML_MAPPER.writeValueAsString(completeMultipartUploadResult2),
@@ -0,0 +1,120 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decides how many ranged GET requests a {@link S3APositionReader} issues concurrently.
+ *
+ * <p>
+ * A single S3 connection is usually much slower than the network of the host. The tuner keeps a
+ * moving average of the throughput observed on a single connection, and splits a read into as
+ * many concurrent parts as needed to reach the target throughput. It is shared by all readers
+ * of one {@link S3AUnderFileSystem}.
+ */
+@ThreadSafe
+public class S3AParallelReadTuner {
+  /** Weight of a new sample in the moving average of the connection throughput. */
+  private static final double SAMPLE_WEIGHT = 0.2;
+
+  private final long mPartSize;
+  private final int mMaxParts;
+  private final long mTargetThroughput;
+
+  /** Throughput of a single connection in bytes per second, or 0 before the first sample. */
+  @GuardedBy("this")
+  private double mConnectionThroughput;
+
+  /**
+   * @param conf the configuration of the ufs
+   * @return a tuner configured from the ufs configuration
+   */
+  public static S3AParallelReadTuner create(AlluxioConfiguration conf) {
+    return new S3AParallelReadTuner(
+        conf.getBytes(PropertyKey.UNDERFS_S3_PARALLEL_READ_PART_SIZE),
+        conf.getInt(PropertyKey.UNDERFS_S3_PARALLEL_READ_MAX_PARTS),
+        conf.getBytes(PropertyKey.UNDERFS_S3_PARALLEL_READ_TARGET_THROUGHPUT));
+  }
+
+  /**
+   * @param partSize the size of each ranged request
+   * @param maxParts the maximum number of concurrent ranged requests of a read
+   * @param targetThroughput the throughput a read aims for, in bytes per second
+   */
+  public S3AParallelReadTuner(long partSize, int maxParts, long targetThroughput) {
+    Preconditions.checkArgument(partSize > 0, "partSize must be positive");
+    Preconditions.checkArgument(targetThroughput > 0, "targetThroughput must be positive");
+    mPartSize = partSize;
+    mMaxParts = Math.max(1, maxParts);
+    mTargetThroughput = targetThroughput;
+  }
+
+  /**
+   * @return the size of each ranged request
+   */
+  public long getPartSize() {
+    return mPartSize;
+  }
+
+  /**
+   * @param length the length of a read
+   * @return the number of ranged requests to issue concurrently for the read, 1 if it should not
+   *         be split
+   */
+  public int getParallelism(long length) {
+    if (mMaxParts < 2 || length < 2 * mPartSize) {
+      return 1;
+    }
+    long parts = (length + mPartSize - 1) / mPartSize;
+    double connectionThroughput;
+    synchronized (this) {
+      connectionThroughput = mConnectionThroughput;
+    }
+    long wanted = connectionThroughput <= 0 ? mMaxParts
+        : (long) Math.ceil(mTargetThroughput / connectionThroughput);
+    return (int) Math.max(1, Math.min(wanted, Math.min(parts, mMaxParts)));
+  }
+
+  /**
+   * Records a ranged request which completed.
+   *
+   * @param bytes the number of bytes read
+   * @param elapsedNanos the time the request took, including reading its content
+   */
+  public void recordRequest(long bytes, long elapsedNanos) {
+    // Small requests are dominated by the request latency and would underestimate the throughput
+    if (bytes < mPartSize || elapsedNanos <= 0) {
+      return;
+    }
+    double sample = bytes * 1e9 / elapsedNanos;
+    synchronized (this) {
+      mConnectionThroughput = mConnectionThroughput <= 0 ? sample
+          : mConnectionThroughput + SAMPLE_WEIGHT * (sample - mConnectionThroughput);
+    }
+  }
+
+  /**
+   * @return the moving average of the throughput of a single connection in bytes per second
+   */
+  @VisibleForTesting
+  synchronized double getConnectionThroughput() {
+    return mConnectionThroughput;
+  }
+}
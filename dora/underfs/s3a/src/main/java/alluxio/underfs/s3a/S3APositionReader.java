@@ -19,12 +19,27 @@ import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.google.common.io.ByteStreams;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Implementation of {@link PositionReader} that reads from S3A object store.
+ *
+ * <p>
+ * When created with an executor, large reads are split into part-sized ranged GET requests which
+ * run concurrently on the executor, up to the parallelism chosen by the
+ * {@link S3AParallelReadTuner}. The caller fetches the first part itself and copies the others
+ * into the target buffer in order.
  */
 @ThreadSafe
 public class S3APositionReader implements PositionReader {
@@ -34,6 +49,11 @@ public class S3APositionReader implements PositionReader {
   protected AmazonS3 mClient;
   /** Name of the bucket the object resides in. */
   protected final String mBucketName;
+  /** Executor for the parts of parallel reads, or null to read with a single request. */
+  @Nullable
+  private final ExecutorService mExecutor;
+  @Nullable
+  private final S3AParallelReadTuner mTuner;
 
   /**
    * @param client the amazon s3 client
@@ -42,11 +62,26 @@ public class S3APositionReader implements PositionReader {
    * @param fileLength the file length
    */
   public S3APositionReader(AmazonS3 client, String bucketName, String path, long fileLength) {
+    this(client, bucketName, path, fileLength, null, null);
+  }
+
+  /**
+   * @param client the amazon s3 client
+   * @param bucketName the bucket name
+   * @param path the file path
+   * @param fileLength the file length
+   * @param executor the executor to fetch parts of large reads on
+   * @param tuner the tuner deciding how many parts of a read are fetched concurrently
+   */
+  public S3APositionReader(AmazonS3 client, String bucketName, String path, long fileLength,
+      @Nullable ExecutorService executor, @Nullable S3AParallelReadTuner tuner) {
     mClient = client;
     mBucketName = bucketName;
     // TODO(lu) path needs to be transform to not include bucket
     mPath = path;
     mFileLength = fileLength;
+    mExecutor = executor;
+    mTuner = tuner;
   }
 
   @Override
@@ -55,8 +90,114 @@ public class S3APositionReader implements PositionReader {
     if (position >= mFileLength) { // at end of file
       return -1;
     }
-    S3Object object;
     int bytesToRead = (int) Math.min(mFileLength - position, length);
+    int parallelism =
+        mExecutor == null || mTuner == null ? 1 : mTuner.getParallelism(bytesToRead);
+    if (parallelism > 1) {
+      return readParallel(position, buffer, bytesToRead, parallelism);
+    }
+    int totalRead = 0;
+    int currentRead = 0;
+    try (S3ObjectInputStream in = getRange(position, bytesToRead).getObjectContent()) {
+      while (totalRead < bytesToRead) {
+        currentRead = buffer.readFromInputStream(in, bytesToRead - totalRead);
+        if (currentRead <= 0) {
+          break;
+        }
+        totalRead += currentRead;
+      }
+    }
+    return totalRead == 0 ? currentRead : totalRead;
+  }
+
+  private int readParallel(long position, ReadTargetBuffer buffer, int length, int parallelism)
+      throws IOException {
+    int partSize = (int) mTuner.getPartSize();
+    int numParts = (length + partSize - 1) / partSize;
+    // Parts after the first one in order, submitted so that at most parallelism requests of
+    // this read are running at a time
+    Deque<Future<byte[]>> parts = new ArrayDeque<>();
+    int nextPart = 1;
+    try {
+      for (; nextPart < Math.min(parallelism, numParts); nextPart++) {
+        parts.addLast(submitPart(position, length, partSize, nextPart));
+      }
+      long startNs = System.nanoTime();
+      int totalRead = 0;
+      try (S3ObjectInputStream in = getRange(position, partSize).getObjectContent()) {
+        while (totalRead < partSize) {
+          int currentRead = buffer.readFromInputStream(in, partSize - totalRead);
+          if (currentRead <= 0) {
+            break;
+          }
+          totalRead += currentRead;
+        }
+      }
+      mTuner.recordRequest(totalRead, System.nanoTime() - startNs);
+      if (totalRead < partSize) {
+        return totalRead;
+      }
+      if (nextPart < numParts) {
+        parts.addLast(submitPart(position, length, partSize, nextPart++));
+      }
+      for (int part = 1; part < numParts; part++) {
+        byte[] bytes = getPart(parts.removeFirst());
+        if (nextPart < numParts) {
+          parts.addLast(submitPart(position, length, partSize, nextPart++));
+        }
+        buffer.writeBytes(bytes, 0, bytes.length);
+        totalRead += bytes.length;
+        if (bytes.length < partLength(length, partSize, part)) {
+          // The object is shorter than expected, the remaining parts cannot be read either
+          break;
+        }
+      }
+      return totalRead;
+    } finally {
+      for (Future<byte[]> part : parts) {
+        part.cancel(true);
+      }
+    }
+  }
+
+  private Future<byte[]> submitPart(long position, int length, int partSize, int part) {
+    long partPosition = position + (long) part * partSize;
+    int partLength = partLength(length, partSize, part);
+    return mExecutor.submit(() -> {
+      long startNs = System.nanoTime();
+      byte[] bytes = new byte[partLength];
+      int read;
+      try (S3ObjectInputStream in = getRange(partPosition, partLength).getObjectContent()) {
+        read = ByteStreams.read(in, bytes, 0, partLength);
+      }
+      mTuner.recordRequest(read, System.nanoTime() - startNs);
+      return read == partLength ? bytes : Arrays.copyOf(bytes, read);
+    });
+  }
+
+  private static int partLength(int length, int partSize, int part) {
+    return Math.min(partSize, length - part * partSize);
+  }
+
+  private static byte[] getPart(Future<byte[]> part) throws IOException {
+    try {
+      return part.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading a part of the object");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  private S3Object getRange(long position, int length) {
     try {
       // Range check approach: set range (inclusive start, inclusive end)
       // start: should be < file length, error out otherwise
@@ -66,30 +207,18 @@ public class S3APositionReader implements PositionReader {
       //      if start <= end < file length, read from start to end
       //      if end >= file length, read from start to file length - 1
       GetObjectRequest getObjectRequest = new GetObjectRequest(mBucketName, mPath);
-      getObjectRequest.setRange(position, position + bytesToRead - 1);
-      object = mClient.getObject(getObjectRequest);
+      getObjectRequest.setRange(position, position + length - 1);
+      return mClient.getObject(getObjectRequest);
     } catch (AmazonS3Exception e) {
       if (e.getStatusCode() == 416) {
         // InvalidRange exception when mPos >= file length
         throw AlluxioS3Exception.from(String
             .format("Underlying file may be changed. "
                 + "Expected file length is %s but read %s bytes from position %s is out of range",
-                mFileLength, bytesToRead, position), e);
+                mFileLength, length, position), e);
       }
       throw AlluxioS3Exception.from(String
           .format("Failed to get object: %s bucket: %s", mPath, mBucketName), e);
     }
-    int totalRead = 0;
-    int currentRead = 0;
-    try (S3ObjectInputStream in = object.getObjectContent()) {
-      while (totalRead < bytesToRead) {
-        currentRead = buffer.readFromInputStream(in, bytesToRead - totalRead);
-        if (currentRead <= 0) {
-          break;
-        }
-        totalRead += currentRead;
-      }
-    }
-    return totalRead == 0 ? currentRead : totalRead;
   }
 }
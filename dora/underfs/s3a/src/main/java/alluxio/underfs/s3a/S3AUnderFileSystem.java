@@ -105,12 +105,19 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
   /** Executor for executing upload tasks in streaming upload. */
   private final ListeningExecutorService mExecutor;
 
+  /** Executor for the parts of parallel position reads, or null if reads are not split. */
+  @Nullable
+  private final ExecutorService mReadExecutor;
+
   /** Transfer Manager for efficient I/O to S3. */
   private final TransferManager mManager;
 
   /** Whether the streaming upload is enabled. */
   private final boolean mStreamingUploadEnabled;
 
+  /** Decides how many ranged requests a position read issues concurrently. */
+  private final S3AParallelReadTuner mReadTuner;
+
   /** The permissions associated with the bucket. Fetched once and assumed to be immutable. */
   private final Supplier<ObjectPermissions> mPermissions
       = CommonUtils.memoize(this::getPermissionsInternal);
@@ -192,6 +199,10 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
               numThreads, numAdminThreads, numTransferThreads);
       numThreads = numAdminThreads + numTransferThreads;
     }
+    if (conf.getInt(PropertyKey.UNDERFS_S3_PARALLEL_READ_MAX_PARTS) > 1) {
+      // the parts of parallel reads have their own threads, and so their own connections
+      numThreads += conf.getInt(PropertyKey.UNDERFS_S3_PARALLEL_READ_THREADS_MAX);
+    }
     clientConf.setMaxConnections(numThreads);
 
     // Set client request timeout for all requests since multipart copy is used,
@@ -336,11 +347,26 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
     mExecutor = MoreExecutors.listeningDecorator(executor);
     mManager = transferManager;
     mStreamingUploadEnabled = streamingUploadEnabled;
+    mReadTuner = S3AParallelReadTuner.create(conf);
+    // threads are only started as parts are submitted
+    mReadExecutor = conf.getInt(PropertyKey.UNDERFS_S3_PARALLEL_READ_MAX_PARTS) > 1
+        ? ExecutorServiceFactories.fixedThreadPool("alluxio-s3-parallel-read",
+            conf.getInt(PropertyKey.UNDERFS_S3_PARALLEL_READ_THREADS_MAX)).create()
+        : null;
   }
 
   @Override
   public S3APositionReader openPositionRead(String path, long fileLength) {
-    return new S3APositionReader(mClient, mBucketName, stripPrefixIfPresent(path), fileLength);
+    return new S3APositionReader(mClient, mBucketName, stripPrefixIfPresent(path), fileLength,
+        mReadExecutor, mReadTuner);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (mReadExecutor != null) {
+      mReadExecutor.shutdownNow();
+    }
+    super.close();
   }
 
   @Override
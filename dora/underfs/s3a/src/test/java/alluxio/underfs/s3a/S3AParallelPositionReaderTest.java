@@ -0,0 +1,159 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import alluxio.Constants;
+import alluxio.PositionReaderTest;
+import alluxio.util.io.BufferUtils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for parallel ranged reads of the {@link S3APositionReader}, against an in-memory S3
+ * stand-in which serves ranged GET requests of a single object.
+ */
+public class S3AParallelPositionReaderTest {
+  private static final String BUCKET_NAME = "bucket";
+  private static final String PATH = "object";
+  private static final int PART_SIZE = Constants.KB;
+  private static final int FILE_LEN = 10 * PART_SIZE + 7;
+
+  private final AtomicInteger mRequests = new AtomicInteger();
+  private final AtomicInteger mRunning = new AtomicInteger();
+  private final AtomicInteger mMaxRunning = new AtomicInteger();
+  private byte[] mObject;
+  private AmazonS3 mClient;
+  private ExecutorService mExecutor;
+  private volatile long mRequestLatencyMs;
+  private volatile long mFailedPosition = -1;
+
+  @Before
+  public void before() {
+    mObject = BufferUtils.getIncreasingByteArray(FILE_LEN);
+    mClient = Mockito.mock(AmazonS3.class);
+    Mockito.when(mClient.getObject(ArgumentMatchers.any(GetObjectRequest.class)))
+        .thenAnswer(invocation -> getObject(invocation.getArgument(0)));
+    mExecutor = Executors.newFixedThreadPool(8);
+  }
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void allCornerCases() throws Exception {
+    S3APositionReader reader = createReader(4);
+    new PositionReaderTest(reader, FILE_LEN).testAllCornerCases();
+    new PositionReaderTest(reader, FILE_LEN).testReadRandomPart();
+    new PositionReaderTest(reader, FILE_LEN).concurrentReadPart();
+  }
+
+  @Test
+  public void splitIntoParts() throws Exception {
+    mRequestLatencyMs = 20;
+    S3APositionReader reader = createReader(4);
+    byte[] buffer = new byte[FILE_LEN];
+    assertEquals(FILE_LEN, reader.read(0, buffer, FILE_LEN));
+    assertArrayEquals(mObject, buffer);
+    assertEquals(11, mRequests.get());
+    assertTrue("Parts should be fetched concurrently", mMaxRunning.get() > 1);
+    assertTrue("At most 4 parts should be fetched at a time", mMaxRunning.get() <= 4);
+  }
+
+  @Test
+  public void unalignedRead() throws Exception {
+    S3APositionReader reader = createReader(4);
+    int position = PART_SIZE / 2 + 3;
+    int length = 5 * PART_SIZE + 11;
+    byte[] buffer = new byte[length];
+    assertEquals(length, reader.read(position, buffer, length));
+    assertArrayEquals(BufferUtils.getIncreasingByteArray(position, length), buffer);
+  }
+
+  @Test
+  public void singleRequestWithoutExecutor() throws Exception {
+    S3APositionReader reader = new S3APositionReader(mClient, BUCKET_NAME, PATH, FILE_LEN);
+    byte[] buffer = new byte[FILE_LEN];
+    assertEquals(FILE_LEN, reader.read(0, buffer, FILE_LEN));
+    assertArrayEquals(mObject, buffer);
+    assertEquals(1, mRequests.get());
+  }
+
+  @Test
+  public void shorterObject() throws Exception {
+    // The reader expects the object to be longer than it actually is
+    S3APositionReader reader = new S3APositionReader(mClient, BUCKET_NAME, PATH,
+        FILE_LEN + 3L * PART_SIZE, mExecutor, new S3AParallelReadTuner(PART_SIZE, 4, Constants.GB));
+    byte[] buffer = new byte[FILE_LEN + 3 * PART_SIZE];
+    assertEquals(FILE_LEN, reader.read(0, buffer, buffer.length));
+  }
+
+  @Test
+  public void failedPart() throws Exception {
+    mFailedPosition = 3 * PART_SIZE;
+    S3APositionReader reader = createReader(4);
+    try {
+      reader.read(0, new byte[FILE_LEN], FILE_LEN);
+      fail("Expected the read of the fourth part to fail");
+    } catch (AlluxioS3Exception e) {
+      assertTrue(e.getMessage().contains(PATH));
+    }
+  }
+
+  private S3APositionReader createReader(int maxParts) {
+    return new S3APositionReader(mClient, BUCKET_NAME, PATH, FILE_LEN, mExecutor,
+        new S3AParallelReadTuner(PART_SIZE, maxParts, Constants.GB));
+  }
+
+  private S3Object getObject(GetObjectRequest request) throws InterruptedException {
+    mRequests.incrementAndGet();
+    mMaxRunning.accumulateAndGet(mRunning.incrementAndGet(), Math::max);
+    try {
+      Thread.sleep(mRequestLatencyMs);
+      long[] range = request.getRange();
+      if (range[0] == mFailedPosition) {
+        throw new AmazonS3Exception("injected");
+      }
+      if (range[0] >= mObject.length) {
+        AmazonS3Exception e = new AmazonS3Exception("InvalidRange");
+        e.setStatusCode(416);
+        throw e;
+      }
+      int start = (int) range[0];
+      int end = (int) Math.min(range[1] + 1, mObject.length);
+      S3Object object = new S3Object();
+      object.setObjectContent(new ByteArrayInputStream(mObject, start, end - start));
+      return object;
+    } finally {
+      mRunning.decrementAndGet();
+    }
+  }
+}
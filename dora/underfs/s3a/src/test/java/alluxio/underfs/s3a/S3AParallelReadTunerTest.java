@@ -0,0 +1,73 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import static org.junit.Assert.assertEquals;
+
+import alluxio.Constants;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link S3AParallelReadTuner}.
+ */
+public class S3AParallelReadTunerTest {
+  private static final long PART_SIZE = Constants.MB;
+
+  @Test
+  public void smallReadsAreNotSplit() {
+    S3AParallelReadTuner tuner = new S3AParallelReadTuner(PART_SIZE, 8, Constants.GB);
+    assertEquals(1, tuner.getParallelism(PART_SIZE));
+    assertEquals(1, tuner.getParallelism(2 * PART_SIZE - 1));
+    assertEquals(2, tuner.getParallelism(2 * PART_SIZE));
+  }
+
+  @Test
+  public void disabled() {
+    S3AParallelReadTuner tuner = new S3AParallelReadTuner(PART_SIZE, 1, Constants.GB);
+    assertEquals(1, tuner.getParallelism(64 * PART_SIZE));
+  }
+
+  @Test
+  public void maxPartsBeforeFirstSample() {
+    S3AParallelReadTuner tuner = new S3AParallelReadTuner(PART_SIZE, 8, Constants.GB);
+    assertEquals(8, tuner.getParallelism(64 * PART_SIZE));
+    // Never more parts than the read has
+    assertEquals(3, tuner.getParallelism(3 * PART_SIZE));
+  }
+
+  @Test
+  public void adaptsToConnectionThroughput() {
+    S3AParallelReadTuner tuner = new S3AParallelReadTuner(PART_SIZE, 16, 400 * PART_SIZE);
+    // 100 parts per second on a connection, 4 connections reach the target
+    tuner.recordRequest(PART_SIZE, Constants.SECOND_NANO / 100);
+    assertEquals(4, tuner.getParallelism(64 * PART_SIZE));
+    // Connections slow down to 50 parts per second
+    for (int i = 0; i < 50; i++) {
+      tuner.recordRequest(PART_SIZE, Constants.SECOND_NANO / 50);
+    }
+    assertEquals(8, tuner.getParallelism(64 * PART_SIZE));
+    // Connections fast enough to reach the target alone
+    for (int i = 0; i < 50; i++) {
+      tuner.recordRequest(PART_SIZE, Constants.SECOND_NANO / 1000);
+    }
+    assertEquals(1, tuner.getParallelism(64 * PART_SIZE));
+  }
+
+  @Test
+  public void ignoresSmallRequests() {
+    S3AParallelReadTuner tuner = new S3AParallelReadTuner(PART_SIZE, 16, 400 * PART_SIZE);
+    tuner.recordRequest(PART_SIZE / 2, Constants.SECOND_NANO);
+    assertEquals(0, tuner.getConnectionThroughput(), 0);
+    assertEquals(16, tuner.getParallelism(64 * PART_SIZE));
+  }
+}
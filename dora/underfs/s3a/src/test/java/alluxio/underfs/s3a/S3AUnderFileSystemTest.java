@@ -13,6 +13,7 @@ package alluxio.underfs.s3a;
 
 import alluxio.AlluxioURI;
 import alluxio.ConfigurationRule;
+import alluxio.Constants;
 import alluxio.conf.Configuration;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
@@ -20,6 +21,7 @@ import alluxio.underfs.ObjectUnderFileSystem;
 import alluxio.underfs.UfsMode;
 import alluxio.underfs.UnderFileSystemConfiguration;
 import alluxio.underfs.options.DeleteOptions;
+import alluxio.util.io.BufferUtils;
 
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
@@ -28,10 +30,13 @@ import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.AccessControlList;
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.Owner;
+import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.transfer.TransferManager;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import org.junit.Assert;
 import org.junit.Before;
@@ -41,6 +46,7 @@ import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.HashMap;
@@ -264,4 +270,32 @@ public class S3AUnderFileSystemTest {
     // throw NPE before https://github.com/Alluxio/alluxio/pull/14641
     mS3UnderFileSystem.getObjectStatus(PATH);
   }
+
+  @Test
+  public void parallelReadOffUploadExecutor() throws Exception {
+    byte[] object = BufferUtils.getIncreasingByteArray(8 * Constants.KB);
+    Mockito.when(mClient.getObject(ArgumentMatchers.any(GetObjectRequest.class)))
+        .thenAnswer(invocation -> {
+          long[] range = ((GetObjectRequest) invocation.getArgument(0)).getRange();
+          S3Object s3Object = new S3Object();
+          s3Object.setObjectContent(new ByteArrayInputStream(object, (int) range[0],
+              (int) Math.min(range[1] + 1, object.length) - (int) range[0]));
+          return s3Object;
+        });
+    UnderFileSystemConfiguration conf = UnderFileSystemConfiguration.defaults(CONF)
+        .createMountSpecificConf(ImmutableMap.of(
+            PropertyKey.UNDERFS_S3_PARALLEL_READ_PART_SIZE.getName(), "1KB"));
+    try (S3AUnderFileSystem ufs = new S3AUnderFileSystem(
+        new AlluxioURI("s3a://" + BUCKET_NAME), mClient, BUCKET_NAME, mExecutor, mManager,
+        conf, false)) {
+      byte[] buffer = new byte[object.length];
+      Assert.assertEquals(object.length,
+          ufs.openPositionRead(PATH, object.length).read(0, buffer, object.length));
+      Assert.assertArrayEquals(object, buffer);
+      // the parts are fetched on the read threads, not on the upload threads
+      Mockito.verify(mClient, Mockito.atLeast(2))
+          .getObject(ArgumentMatchers.any(GetObjectRequest.class));
+      Mockito.verifyNoInteractions(mExecutor);
+    }
+  }
 }